@@ -2,12 +2,14 @@ package com.oncoresi;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * 医师规培管理系统 - 主启动类
  * @author oncoresi
  */
 @SpringBootApplication
+@EnableScheduling
 public class OncoresiApplication {
 
     public static void main(String[] args) {
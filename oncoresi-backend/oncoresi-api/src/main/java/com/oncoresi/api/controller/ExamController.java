@@ -0,0 +1,326 @@
+package com.oncoresi.api.controller;
+
+import cn.dev33.satoken.annotation.SaCheckRole;
+import cn.dev33.satoken.annotation.SaMode;
+import cn.dev33.satoken.stp.StpUtil;
+import com.oncoresi.api.support.ExamPaperPayloadCache;
+import com.oncoresi.api.support.ItemStatisticsResponses;
+import com.oncoresi.application.service.AdaptiveTestService;
+import com.oncoresi.application.service.AdaptiveTestService.AdaptiveStep;
+import com.oncoresi.application.service.ExamGradingService;
+import com.oncoresi.application.service.ExamService;
+import com.oncoresi.application.service.ExamSessionService;
+import com.oncoresi.application.service.ExamSubmissionIngestService;
+import com.oncoresi.application.service.ItemAnalysisService;
+import com.oncoresi.application.service.QuestionBankService;
+import com.oncoresi.domain.aggregate.Question;
+import com.oncoresi.domain.aggregate.AdaptiveSession;
+import com.oncoresi.domain.aggregate.ExamAggregate;
+import com.oncoresi.domain.exception.DomainException;
+import com.oncoresi.domain.valueobject.AdaptiveTestSpec;
+import com.oncoresi.domain.valueobject.AnswerKey;
+import com.oncoresi.domain.valueobject.AnswerKey.ItemType;
+import com.oncoresi.domain.valueobject.CourseCategory;
+import com.oncoresi.domain.valueobject.ExamPaper;
+import com.oncoresi.domain.valueobject.PaperBlueprint;
+import com.oncoresi.domain.valueobject.SubmissionReceipt;
+import com.oncoresi.types.dto.AdaptiveAnswerRequest;
+import com.oncoresi.types.dto.AdaptiveSpecRequest;
+import com.oncoresi.types.dto.AdaptiveStepResponse;
+import com.oncoresi.types.dto.AnswerKeyRequest;
+import com.oncoresi.types.dto.ExamPaperResponse;
+import com.oncoresi.types.dto.ExamSubmitRequest;
+import com.oncoresi.types.dto.ExamSummaryResponse;
+import com.oncoresi.types.dto.ItemStatisticsResponse;
+import com.oncoresi.types.dto.PaperAssembleRequest;
+import com.oncoresi.types.dto.Result;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 考试控制器
+ *
+ * @author OncoResi Team
+ */
+@Tag(name = "考试管理", description = "考试作答与交卷接口")
+@RestController
+@RequestMapping("/exams")
+@RequiredArgsConstructor
+public class ExamController {
+
+    private final ExamService examService;
+
+    private final ExamSubmissionIngestService examSubmissionIngestService;
+
+    private final ExamSessionService examSessionService;
+
+    private final ExamGradingService examGradingService;
+
+    private final QuestionBankService questionBankService;
+
+    private final ItemAnalysisService itemAnalysisService;
+
+    private final AdaptiveTestService adaptiveTestService;
+
+    private final ExamPaperPayloadCache paperPayloadCache;
+
+    /**
+     * 开始作答
+     */
+    @Operation(summary = "开始作答", description = "创建本人作答会话并返回个人截止时间，到时未交卷按草稿自动交卷")
+    @PostMapping("/{examId}/sessions")
+    @SaCheckRole("TRAINEE")
+    public Result<LocalDateTime> startSession(@PathVariable Long examId) {
+        return Result.success(examSessionService.startSession(examId, StpUtil.getLoginIdAsLong()).getDeadline());
+    }
+
+    /**
+     * 保存作答草稿
+     */
+    @Operation(summary = "保存草稿", description = "保存本人作答草稿，到时自动交卷时提交最后一次保存的草稿")
+    @PutMapping("/{examId}/sessions/me/draft")
+    @SaCheckRole("TRAINEE")
+    public Result<Void> saveDraft(@PathVariable Long examId, @Valid @RequestBody ExamSubmitRequest request) {
+        examSessionService.saveDraft(examId, StpUtil.getLoginIdAsLong(), request.getAnswers());
+        return Result.success(null);
+    }
+
+    /**
+     * 延长学员作答时间
+     */
+    @Operation(summary = "延长作答时间", description = "延长指定学员的个人截止时间，返回延长后的截止时间")
+    @PutMapping("/{examId}/sessions/{traineeId}/extension")
+    @SaCheckRole("HOSPITAL_ADMIN")
+    public Result<LocalDateTime> extend(@PathVariable Long examId, @PathVariable Long traineeId,
+                                        @RequestParam int minutes) {
+        return Result.success(examSessionService.extend(examId, traineeId, minutes).getDeadline());
+    }
+
+    /**
+     * 交卷（写入收件箱后立即返回回执，后台评分入库）
+     */
+    @Operation(summary = "交卷", description = "答卷写入收件箱后即返回回执，成绩由服务端按标准答案评分（没有标准答案的考试待阅卷评分）；"
+            + "重复提交返回第一次的回执")
+    @PostMapping("/{examId}/submissions")
+    @SaCheckRole("TRAINEE")
+    public Result<SubmissionReceipt> submit(@PathVariable Long examId,
+                                            @Valid @RequestBody ExamSubmitRequest request) {
+        return Result.success(examSubmissionIngestService.receive(
+                examId, StpUtil.getLoginIdAsLong(), request.getAnswers()));
+    }
+
+    /**
+     * 阅卷录入成绩
+     */
+    @Operation(summary = "录入成绩", description = "没有标准答案的考试（技能考试等）由阅卷老师录入或更正学员成绩，返回成绩")
+    @PutMapping("/{examId}/submissions/{traineeId}/score")
+    @SaCheckRole(value = {"HOSPITAL_ADMIN", "TEACHER"}, mode = SaMode.OR)
+    public Result<Integer> recordScore(@PathVariable Long examId, @PathVariable Long traineeId,
+                                       @RequestParam int score) {
+        return Result.success(examGradingService.recordScore(examId, traineeId, score).score());
+    }
+
+    /**
+     * 查询本人交卷处理状态
+     */
+    @Operation(summary = "查询交卷状态", description = "返回本人交卷回执：PENDING/PROCESSING/ACCEPTED/REJECTED/FAILED")
+    @GetMapping("/{examId}/submissions/me")
+    @SaCheckRole("TRAINEE")
+    public Result<SubmissionReceipt> getMySubmission(@PathVariable Long examId) {
+        return Result.success(examSubmissionIngestService.getReceipt(examId, StpUtil.getLoginIdAsLong()));
+    }
+
+    /**
+     * 查询本人错题
+     */
+    @Operation(summary = "查询错题", description = "按标准答案返回本人答错的题号（从1开始）")
+    @GetMapping("/{examId}/submissions/me/wrong-items")
+    @SaCheckRole("TRAINEE")
+    public Result<List<Integer>> getMyWrongItems(@PathVariable Long examId) {
+        return Result.success(examGradingService.getWrongItems(examId, StpUtil.getLoginIdAsLong()));
+    }
+
+    /**
+     * 录入或更正标准答案
+     */
+    @Operation(summary = "录入标准答案", description = "录入或更正理论考试标准答案，已提交的答卷立即重新评分，返回成绩变化的答卷数")
+    @PutMapping("/{examId}/answer-key")
+    @SaCheckRole("HOSPITAL_ADMIN")
+    public Result<Integer> updateAnswerKey(@PathVariable Long examId,
+                                           @Valid @RequestBody AnswerKeyRequest request) {
+        List<AnswerKey.Item> items = request.getItems().stream()
+                .map(item -> new AnswerKey.Item(
+                        ItemType.valueOf(item.getType()), item.getCorrectOptions(), item.getPoints()))
+                .toList();
+        return Result.success(examGradingService.updateAnswerKey(new AnswerKey(examId, items)));
+    }
+
+    /**
+     * 随机组卷
+     */
+    @Operation(summary = "随机组卷", description = "按分层蓝图从题库中抽题：逐人组卷时每名考生一份不同的试卷，返回组卷数量；"
+            + "共用试卷时全体考生共用一份试卷、题目与选项顺序因人而异，返回试卷题数")
+    @PostMapping("/{examId}/papers")
+    @SaCheckRole("HOSPITAL_ADMIN")
+    public Result<Integer> assemblePapers(@PathVariable Long examId,
+                                          @Valid @RequestBody PaperAssembleRequest request) {
+        List<PaperBlueprint.Stratum> strata = request.getStrata().stream()
+                .map(stratum -> new PaperBlueprint.Stratum(
+                        stratum.getSubject(),
+                        stratum.getCategory() != null ? CourseCategory.valueOf(stratum.getCategory()) : null,
+                        stratum.getType() != null ? ItemType.valueOf(stratum.getType()) : null,
+                        stratum.getDifficulty(),
+                        stratum.getCount()))
+                .toList();
+        PaperBlueprint blueprint = new PaperBlueprint(
+                strata, request.getTargetDifficulty(), request.getTolerance(), request.getCooldownDays());
+        long seed = request.getSeed() != null ? request.getSeed() : ThreadLocalRandom.current().nextLong();
+
+        if (Boolean.TRUE.equals(request.getShared())) {
+            return Result.success(questionBankService.assembleSharedPaper(examId, blueprint, seed));
+        }
+        if (request.getTraineeIds() == null || request.getTraineeIds().isEmpty()) {
+            throw DomainException.of("考生不能为空");
+        }
+        return Result.success(questionBankService.assemblePapers(examId, blueprint, request.getTraineeIds(), seed));
+    }
+
+    /**
+     * 查询本人试卷
+     */
+    @Operation(summary = "查询本人试卷", description = "考试开始后返回本人试卷的题目（不含正确答案），答案按本试卷的题号与选项字母提交")
+    @GetMapping("/{examId}/papers/me")
+    @SaCheckRole("TRAINEE")
+    public Result<ExamPaperResponse> getMyPaper(@PathVariable Long examId) {
+        return Result.success(toResponse(questionBankService.getCandidatePaper(examId, StpUtil.getLoginIdAsLong())));
+    }
+
+    /**
+     * 下载共用试卷
+     */
+    @Operation(summary = "下载共用试卷", description = "考试开始后返回全体考生共用的试卷（基准顺序，不含正确答案），"
+            + "响应体预先序列化并压缩，支持 ETag 与 gzip；客户端用个人种子重排后展示")
+    @GetMapping("/{examId}/papers/shared")
+    @SaCheckRole("TRAINEE")
+    public void getSharedPaper(@PathVariable Long examId, HttpServletRequest request,
+                               HttpServletResponse response) throws IOException {
+        ExamPaper paper = questionBankService.getStartedSharedPaper(examId);
+        ExamPaperPayloadCache.Payload payload = paperPayloadCache.get(
+                examId, paper.questionIds(), () -> Result.success(toResponse(paper)));
+        paperPayloadCache.write(payload, request, response);
+    }
+
+    /**
+     * 查询本人个人种子
+     */
+    @Operation(summary = "查询个人种子", description = "返回本人在共用试卷上的个人种子（十进制64位整数字符串），"
+            + "客户端按 SplitMix64 洗牌重排题目与选项，答案按重排后的题号与选项字母提交")
+    @GetMapping("/{examId}/papers/me/seed")
+    @SaCheckRole("TRAINEE")
+    public Result<String> getMyShuffleSeed(@PathVariable Long examId) {
+        return Result.success(Long.toString(
+                questionBankService.getCandidateSeed(examId, StpUtil.getLoginIdAsLong())));
+    }
+
+    /**
+     * 查询考试题目分析
+     */
+    @Operation(summary = "查询考试题目分析", description = "本场考试各题的答对率、点二列相关、高低分组区分度与各选项选择率，"
+            + "只包含题目来自题库的试卷")
+    @GetMapping("/{examId}/item-statistics")
+    @SaCheckRole(value = {"HOSPITAL_ADMIN", "SUPERVISOR", "TEACHER"}, mode = SaMode.OR)
+    public Result<List<ItemStatisticsResponse>> getItemStatistics(@PathVariable Long examId) {
+        return Result.success(itemAnalysisService.getExamItemStatistics(examId).stream()
+                .map(item -> ItemStatisticsResponses.toResponse(item.question(), item.statistics()))
+                .toList());
+    }
+
+    /**
+     * 查询考试概况
+     */
+    @Operation(summary = "查询考试概况", description = "返回考试状态、交卷人数、及格人数与通过率（按统计计数，不加载答卷）")
+    @GetMapping("/{examId}/summary")
+    @SaCheckRole(value = {"HOSPITAL_ADMIN", "SUPERVISOR", "TEACHER"}, mode = SaMode.OR)
+    public Result<ExamSummaryResponse> getExamSummary(@PathVariable Long examId) {
+        ExamAggregate exam = examService.getExamSummary(examId);
+        return Result.success(new ExamSummaryResponse(exam.getId(), exam.getExamName(), exam.getStatus().name(),
+                exam.getStartTime(), exam.getEndTime(), exam.getSubmittedCount(), exam.getPassedCount(),
+                exam.getPassRate()));
+    }
+
+    /**
+     * 设置自适应考试规则
+     */
+    @Operation(summary = "设置自适应规则", description = "设置自适应考试的题库范围（学科、课程类别）与结束条件（题数范围、目标标准误），"
+            + "考试开始前可修改")
+    @PutMapping("/{examId}/adaptive/spec")
+    @SaCheckRole("HOSPITAL_ADMIN")
+    public Result<Void> configureAdaptive(@PathVariable Long examId,
+                                          @Valid @RequestBody AdaptiveSpecRequest request) {
+        adaptiveTestService.configure(new AdaptiveTestSpec(
+                examId,
+                request.getSubject(),
+                request.getCategory() != null ? CourseCategory.valueOf(request.getCategory()) : null,
+                request.getMinItems(),
+                request.getMaxItems(),
+                request.getTargetStandardError()));
+        return Result.success(null);
+    }
+
+    /**
+     * 查询自适应考试当前题
+     */
+    @Operation(summary = "查询当前题", description = "自适应考试逐题作答：首次调用开始作答并出第一题，之后返回尚未作答的当前题；"
+            + "已结束时返回成绩")
+    @GetMapping("/{examId}/adaptive/current")
+    @SaCheckRole("TRAINEE")
+    public Result<AdaptiveStepResponse> getAdaptiveItem(@PathVariable Long examId) {
+        return Result.success(toResponse(adaptiveTestService.current(examId, StpUtil.getLoginIdAsLong())));
+    }
+
+    /**
+     * 作答自适应考试当前题
+     */
+    @Operation(summary = "作答当前题", description = "提交当前题的作答，返回按最新能力估计选出的下一题；"
+            + "测量精度达到要求或题数达到上限时结束并自动交卷，返回成绩")
+    @PostMapping("/{examId}/adaptive/answers")
+    @SaCheckRole("TRAINEE")
+    public Result<AdaptiveStepResponse> answerAdaptiveItem(@PathVariable Long examId,
+                                                           @Valid @RequestBody AdaptiveAnswerRequest request) {
+        return Result.success(toResponse(adaptiveTestService.answer(
+                examId, StpUtil.getLoginIdAsLong(), request.getQuestionId(), request.getAnswer())));
+    }
+
+    private ExamPaperResponse toResponse(ExamPaper paper) {
+        List<ExamPaperResponse.Item> items = new ArrayList<>(paper.questions().size());
+        for (int i = 0; i < paper.questions().size(); i++) {
+            Question question = paper.questions().get(i);
+            items.add(new ExamPaperResponse.Item(i + 1, question.getId(), question.getType().name(),
+                    question.getStem(), question.getOptions(), question.getPoints()));
+        }
+        return new ExamPaperResponse(paper.examId(), paper.totalPoints(), items);
+    }
+
+    private AdaptiveStepResponse toResponse(AdaptiveStep step) {
+        AdaptiveSession session = step.session();
+        AdaptiveStepResponse.Item item = null;
+        if (!step.isFinished()) {
+            Question question = step.question();
+            item = new AdaptiveStepResponse.Item(session.getAnsweredCount() + 1, question.getId(),
+                    question.getType().name(), question.getStem(), question.getOptions());
+        }
+        return new AdaptiveStepResponse(step.isFinished(), session.getAnsweredCount(),
+                session.getEstimate().theta(), session.getEstimate().standardError(), session.getScore(), item);
+    }
+}
@@ -0,0 +1,65 @@
+package com.oncoresi.api.controller;
+
+import cn.dev33.satoken.annotation.SaCheckRole;
+import cn.dev33.satoken.stp.StpUtil;
+import com.oncoresi.application.service.PracticeService;
+import com.oncoresi.application.service.PracticeService.PracticeItem;
+import com.oncoresi.application.service.PracticeService.PracticeResult;
+import com.oncoresi.domain.aggregate.Question;
+import com.oncoresi.domain.valueobject.CourseCategory;
+import com.oncoresi.types.dto.PracticeAnswerRequest;
+import com.oncoresi.types.dto.PracticeItemResponse;
+import com.oncoresi.types.dto.PracticeResultResponse;
+import com.oncoresi.types.dto.Result;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * 日常练习控制器
+ *
+ * @author OncoResi Team
+ */
+@Tag(name = "日常练习", description = "按间隔重复安排的题库练习接口")
+@RestController
+@RequestMapping("/practice")
+@RequiredArgsConstructor
+public class PracticeController {
+
+    private final PracticeService practiceService;
+
+    /**
+     * 获取下一道练习题
+     */
+    @Operation(summary = "获取下一道练习题",
+            description = "到期的复习题优先（不分学科），没有时从所选学科抽一道新题；今日练习已完成时返回空")
+    @GetMapping("/next")
+    @SaCheckRole("TRAINEE")
+    public Result<PracticeItemResponse> next(@RequestParam(required = false) String subject,
+                                             @RequestParam(required = false) CourseCategory category) {
+        return Result.success(practiceService.next(StpUtil.getLoginIdAsLong(), subject, category)
+                .map(PracticeController::toResponse)
+                .orElse(null));
+    }
+
+    /**
+     * 提交练习作答
+     */
+    @Operation(summary = "提交练习作答", description = "返回是否答对与正确答案，并按结果安排下次复习时间")
+    @PostMapping("/answers")
+    @SaCheckRole("TRAINEE")
+    public Result<PracticeResultResponse> answer(@Valid @RequestBody PracticeAnswerRequest request) {
+        PracticeResult result = practiceService.answer(StpUtil.getLoginIdAsLong(), request.getQuestionId(),
+                request.getAnswer());
+        return Result.success(new PracticeResultResponse(result.correct(), result.question().getCorrectOptions(),
+                result.card().intervalDays(), result.card().dueTime()));
+    }
+
+    private static PracticeItemResponse toResponse(PracticeItem item) {
+        Question question = item.question();
+        return new PracticeItemResponse(question.getId(), question.getType().name(), question.getStem(),
+                question.getOptions(), item.isReview(), item.isReview() ? item.card().repetitions() : 0);
+    }
+}
@@ -0,0 +1,73 @@
+package com.oncoresi.api.controller;
+
+import cn.dev33.satoken.annotation.SaCheckRole;
+import cn.dev33.satoken.annotation.SaMode;
+import com.oncoresi.api.support.ItemStatisticsResponses;
+import com.oncoresi.application.service.ItemAnalysisService;
+import com.oncoresi.application.service.QuestionBankService;
+import com.oncoresi.domain.valueobject.AnswerKey.ItemType;
+import com.oncoresi.domain.valueobject.CourseCategory;
+import com.oncoresi.types.dto.ItemStatisticsResponse;
+import com.oncoresi.types.dto.QuestionCreateRequest;
+import com.oncoresi.types.dto.Result;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * 题库控制器
+ *
+ * @author OncoResi Team
+ */
+@Tag(name = "题库管理", description = "题目录入、停用与题目统计接口")
+@RestController
+@RequestMapping("/questions")
+@RequiredArgsConstructor
+public class QuestionController {
+
+    private final QuestionBankService questionBankService;
+
+    private final ItemAnalysisService itemAnalysisService;
+
+    /**
+     * 录入题目
+     */
+    @Operation(summary = "录入题目", description = "录入一道客观题（单选、多选、判断），返回题目ID")
+    @PostMapping
+    @SaCheckRole(value = {"HOSPITAL_ADMIN", "SUPERVISOR", "TEACHER"}, mode = SaMode.OR)
+    public Result<Long> addQuestion(@Valid @RequestBody QuestionCreateRequest request) {
+        return Result.success(questionBankService.addQuestion(
+                request.getSubject(),
+                CourseCategory.valueOf(request.getCategory()),
+                ItemType.valueOf(request.getType()),
+                request.getDifficulty(),
+                request.getStem(),
+                request.getOptions(),
+                request.getCorrectOptions(),
+                request.getPoints()));
+    }
+
+    /**
+     * 停用题目
+     */
+    @Operation(summary = "停用题目", description = "停用后不再参与组卷，已组成的试卷不受影响")
+    @PutMapping("/{questionId}/retire")
+    @SaCheckRole(value = {"HOSPITAL_ADMIN", "SUPERVISOR", "TEACHER"}, mode = SaMode.OR)
+    public Result<Void> retireQuestion(@PathVariable Long questionId) {
+        questionBankService.retireQuestion(questionId);
+        return Result.success(null);
+    }
+
+    /**
+     * 查询题目统计
+     */
+    @Operation(summary = "查询题目统计", description = "题目在全部考试中的答对率、点二列相关、高低分组区分度与各选项选择率")
+    @GetMapping("/{questionId}/statistics")
+    @SaCheckRole(value = {"HOSPITAL_ADMIN", "SUPERVISOR", "TEACHER"}, mode = SaMode.OR)
+    public Result<ItemStatisticsResponse> getQuestionStatistics(@PathVariable Long questionId) {
+        return Result.success(ItemStatisticsResponses.toResponse(questionBankService.getQuestion(questionId),
+                itemAnalysisService.getQuestionStatistics(questionId)));
+    }
+}
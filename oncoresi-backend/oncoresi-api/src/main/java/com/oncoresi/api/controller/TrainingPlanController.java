@@ -0,0 +1,75 @@
+package com.oncoresi.api.controller;
+
+import cn.dev33.satoken.annotation.SaCheckRole;
+import com.oncoresi.application.service.TrainingPlanService;
+import com.oncoresi.domain.aggregate.TrainingPlanAggregate;
+import com.oncoresi.domain.service.RotationScheduler;
+import com.oncoresi.domain.service.RotationScheduler.Problem;
+import com.oncoresi.domain.service.RotationScheduler.Requirement;
+import com.oncoresi.domain.service.RotationScheduler.Supervisor;
+import com.oncoresi.domain.valueobject.RotationPeriod;
+import com.oncoresi.types.dto.CohortPlanCloneRequest;
+import com.oncoresi.types.dto.Result;
+import com.oncoresi.types.dto.RotationScheduleRequest;
+import com.oncoresi.types.dto.RotationScheduleResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 培训计划控制器
+ *
+ * @author OncoResi Team
+ */
+@Tag(name = "培训计划", description = "培训计划管理接口")
+@RestController
+@RequestMapping("/training-plans")
+@RequiredArgsConstructor
+public class TrainingPlanController {
+
+    private final TrainingPlanService trainingPlanService;
+
+    /**
+     * 按模板为新一届学员生成培训计划
+     */
+    @Operation(summary = "按模板生成届次计划", description = "复制模板计划的阶段与轮转，按新开始日期平移并分配给新一届学员")
+    @PostMapping("/{templatePlanId}/cohort-clone")
+    @SaCheckRole("HOSPITAL_ADMIN")
+    public Result<Long> cloneForCohort(@PathVariable Long templatePlanId,
+                                       @Valid @RequestBody CohortPlanCloneRequest request) {
+        TrainingPlanAggregate plan = trainingPlanService.cloneForCohort(
+                templatePlanId, request.getPlanName(), request.getStartDate(), request.getTraineeIds());
+        return Result.success(plan.getId());
+    }
+
+    /**
+     * 轮转自动排班
+     */
+    @Operation(summary = "轮转自动排班",
+            description = "按必修科室与时长、科室容量和带教老师可带教时段为学员自动排定轮转并写入计划，避开学员已有轮转")
+    @PostMapping("/{planId}/rotations/auto-schedule")
+    @SaCheckRole("HOSPITAL_ADMIN")
+    public Result<RotationScheduleResponse> scheduleRotations(@PathVariable Long planId,
+                                                              @Valid @RequestBody RotationScheduleRequest request) {
+        List<Requirement> requirements = request.getRequirements().stream()
+                .map(requirement -> new Requirement(requirement.getDepartmentId(), requirement.getDurationDays()))
+                .toList();
+        List<Supervisor> supervisors = request.getSupervisors() == null ? List.of() : request.getSupervisors()
+                .stream()
+                .map(supervisor -> new Supervisor(supervisor.getSupervisorId(), supervisor.getDepartmentId(),
+                        supervisor.getMaxTrainees(), RotationPeriod.of(supervisor.getStartDate(),
+                        supervisor.getEndDate())))
+                .toList();
+
+        RotationScheduler.Result result = trainingPlanService.scheduleRotations(planId,
+                new Problem(request.getTraineeIds(), requirements, request.getDepartmentCapacities(), supervisors,
+                        Duration.ofSeconds(request.getTimeBudgetSeconds())));
+        return Result.success(new RotationScheduleResponse(result.rotations().size(),
+                result.capacityOverloadDays(), result.unassignedSupervisors(), result.feasible()));
+    }
+}
@@ -0,0 +1,213 @@
+package com.oncoresi.api.controller;
+
+import cn.dev33.satoken.annotation.SaCheckRole;
+import cn.dev33.satoken.annotation.SaMode;
+import com.oncoresi.query.analytics.ScoreDimension;
+import com.oncoresi.query.dto.DepartmentOccupantDTO;
+import com.oncoresi.query.dto.DepartmentPerformanceDTO;
+import com.oncoresi.query.dto.HospitalStatisticsSummaryDTO;
+import com.oncoresi.query.dto.OccupancyWindowDTO;
+import com.oncoresi.query.dto.ScoreDistributionDTO;
+import com.oncoresi.query.service.DataScopeGuard;
+import com.oncoresi.query.service.DepartmentOccupancyService;
+import com.oncoresi.query.service.HospitalStatisticsFanOutService;
+import com.oncoresi.query.rollup.RollupPeriod;
+import com.oncoresi.query.service.PerformanceAnalyticsService;
+import com.oncoresi.query.service.PerformanceRollupService;
+import com.oncoresi.query.service.ScoreDistributionService;
+import com.oncoresi.query.service.TrainingStatisticsExportService;
+import com.oncoresi.types.dto.Result;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 培训统计控制器（绩效分析）
+ *
+ * @author OncoResi Team
+ */
+@Tag(name = "培训统计", description = "培训统计查询与报表导出接口")
+@RestController
+@RequestMapping("/statistics")
+@RequiredArgsConstructor
+public class TrainingStatisticsController {
+
+    private static final MediaType XLSX_MEDIA_TYPE =
+            MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
+
+    private static final MediaType CSV_MEDIA_TYPE = new MediaType("text", "csv", StandardCharsets.UTF_8);
+
+    private final TrainingStatisticsExportService exportService;
+
+    private final PerformanceRollupService performanceRollupService;
+
+    private final PerformanceAnalyticsService performanceAnalyticsService;
+
+    private final HospitalStatisticsFanOutService hospitalStatisticsFanOutService;
+
+    private final ScoreDistributionService scoreDistributionService;
+
+    private final DepartmentOccupancyService departmentOccupancyService;
+
+    private final DataScopeGuard dataScopeGuard;
+
+    /**
+     * 全院培训统计汇总（按科室并行计算，超时科室以部分结果返回）
+     */
+    @Operation(summary = "全院培训统计汇总", description = "按科室并行计算统计切片后合并排序")
+    @GetMapping("/hospital/{hospitalId}/summary")
+    @SaCheckRole("HOSPITAL_ADMIN")
+    public Result<HospitalStatisticsSummaryDTO> getHospitalSummary(@PathVariable Long hospitalId) {
+        dataScopeGuard.checkHospital(hospitalId);
+        return Result.success(hospitalStatisticsFanOutService.getHospitalSummary(hospitalId));
+    }
+
+    /**
+     * 科室绩效周期报表（月度/季度/年度，含科室排名）
+     */
+    @Operation(summary = "科室绩效周期报表", description = "读取科室×周期预聚合数据，返回各科室指标及排名")
+    @GetMapping("/hospital/{hospitalId}/department-report")
+    @SaCheckRole("HOSPITAL_ADMIN")
+    public Result<List<DepartmentPerformanceDTO>> getDepartmentReport(
+            @PathVariable Long hospitalId,
+            @RequestParam(defaultValue = "MONTH") RollupPeriod period,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        dataScopeGuard.checkHospital(hospitalId);
+        return Result.success(performanceRollupService.getDepartmentReport(
+                hospitalId, period, date != null ? date : LocalDate.now()));
+    }
+
+    /**
+     * 跨科室对比分析（任意日期范围）
+     */
+    @Operation(summary = "跨科室对比分析", description = "基于本地分析快照汇总任意日期范围内的科室指标")
+    @GetMapping("/hospital/{hospitalId}/department-comparison")
+    @SaCheckRole("HOSPITAL_ADMIN")
+    public Result<List<DepartmentPerformanceDTO>> compareDepartments(
+            @PathVariable Long hospitalId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        dataScopeGuard.checkHospital(hospitalId);
+        return Result.success(performanceAnalyticsService.compareDepartments(hospitalId, from, to));
+    }
+
+    /**
+     * 科室指标趋势分析
+     */
+    @Operation(summary = "科室趋势分析", description = "基于本地分析快照按周期返回科室指标序列")
+    @GetMapping("/department/{departmentId}/trend")
+    @SaCheckRole(value = {"HOSPITAL_ADMIN", "DEPT_ADMIN"}, mode = SaMode.OR)
+    public Result<List<DepartmentPerformanceDTO>> getDepartmentTrend(
+            @PathVariable Long departmentId,
+            @RequestParam(defaultValue = "MONTH") RollupPeriod period,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        dataScopeGuard.checkDepartment(departmentId);
+        return Result.success(performanceAnalyticsService.getDepartmentTrend(departmentId, period, from, to));
+    }
+
+    /**
+     * 科室某日在岗学员
+     */
+    @Operation(summary = "科室在岗学员", description = "查询指定日期在科室轮转的学员")
+    @GetMapping("/department/{departmentId}/occupants")
+    @SaCheckRole(value = {"HOSPITAL_ADMIN", "DEPT_ADMIN"}, mode = SaMode.OR)
+    public Result<List<DepartmentOccupantDTO>> getDepartmentOccupants(
+            @PathVariable Long departmentId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return Result.success(departmentOccupancyService.getOccupants(
+                departmentId, date != null ? date : LocalDate.now()));
+    }
+
+    /**
+     * 科室在岗人数峰值
+     */
+    @Operation(summary = "科室在岗峰值", description = "查询日期范围内科室同时在岗学员数的最大值")
+    @GetMapping("/department/{departmentId}/occupancy-peak")
+    @SaCheckRole(value = {"HOSPITAL_ADMIN", "DEPT_ADMIN"}, mode = SaMode.OR)
+    public Result<Integer> getDepartmentOccupancyPeak(
+            @PathVariable Long departmentId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return Result.success(departmentOccupancyService.getPeakOccupancy(departmentId, from, to));
+    }
+
+    /**
+     * 科室空余窗口
+     */
+    @Operation(summary = "科室空余窗口", description = "查询日期范围内科室仍有指定空位数的连续时间段")
+    @GetMapping("/department/{departmentId}/free-windows")
+    @SaCheckRole(value = {"HOSPITAL_ADMIN", "DEPT_ADMIN"}, mode = SaMode.OR)
+    public Result<List<OccupancyWindowDTO>> getDepartmentFreeWindows(
+            @PathVariable Long departmentId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam int capacity,
+            @RequestParam(defaultValue = "1") int seats) {
+        return Result.success(departmentOccupancyService.getFreeWindows(departmentId, from, to, capacity, seats));
+    }
+
+    /**
+     * 成绩分布（按考试/科室/入培年度，多个分组合并计算）
+     */
+    @Operation(summary = "成绩分布",
+            description = "合并分组成绩直方图，返回百分位、中位数及等级分布；入培年度按学员账号创建年份近似")
+    @GetMapping("/score-distribution")
+    @SaCheckRole(value = {"HOSPITAL_ADMIN", "DEPT_ADMIN"}, mode = SaMode.OR)
+    public Result<ScoreDistributionDTO> getScoreDistribution(
+            @RequestParam ScoreDimension dimension,
+            @RequestParam List<Long> ids) {
+        dataScopeGuard.checkScoreGroups(dimension, ids);
+        return Result.success(scoreDistributionService.getDistribution(dimension, ids));
+    }
+
+    /**
+     * 全院成绩分布
+     */
+    @Operation(summary = "全院成绩分布", description = "合并全院各科室成绩直方图")
+    @GetMapping("/hospital/{hospitalId}/score-distribution")
+    @SaCheckRole("HOSPITAL_ADMIN")
+    public Result<ScoreDistributionDTO> getHospitalScoreDistribution(@PathVariable Long hospitalId) {
+        dataScopeGuard.checkHospital(hospitalId);
+        return Result.success(scoreDistributionService.getHospitalDistribution(hospitalId));
+    }
+
+    /**
+     * 流式导出全院培训统计
+     */
+    @Operation(summary = "导出全院培训统计", description = "以 CSV 或 XLSX 格式流式导出，结果行直接写入响应流")
+    @GetMapping("/hospital/{hospitalId}/export")
+    @SaCheckRole("HOSPITAL_ADMIN")
+    public ResponseEntity<StreamingResponseBody> exportHospitalStatistics(
+            @PathVariable Long hospitalId,
+            @RequestParam(defaultValue = "csv") String format) {
+        // 响应体在异步线程上写出，没有数据权限上下文，需要在返回前校验
+        dataScopeGuard.checkHospital(hospitalId);
+
+        boolean xlsx = "xlsx".equalsIgnoreCase(format);
+        String fileName = "全院培训统计_" + hospitalId + "_" + LocalDate.now() + (xlsx ? ".xlsx" : ".csv");
+
+        StreamingResponseBody body = xlsx
+                ? out -> exportService.exportHospitalStatisticsXlsx(hospitalId, out)
+                : out -> exportService.exportHospitalStatisticsCsv(hospitalId, out);
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(fileName, StandardCharsets.UTF_8)
+                        .build()
+                        .toString())
+                .contentType(xlsx ? XLSX_MEDIA_TYPE : CSV_MEDIA_TYPE)
+                .body(body);
+    }
+}
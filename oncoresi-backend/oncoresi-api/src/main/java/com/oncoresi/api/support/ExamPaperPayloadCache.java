@@ -0,0 +1,189 @@
+package com.oncoresi.api.support;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.catalina.connector.CoyoteOutputStream;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 共用试卷响应体缓存
+ * <p>
+ * 考试开始的同一秒内全体考生请求同一份试卷。响应体只序列化、压缩一次，原文与 gzip 结果放在堆外直接缓冲区中，
+ * 之后每次请求只做字节拷贝：If-None-Match 命中时返回 304，否则按 Accept-Encoding 选择压缩或原文写出；
+ * Tomcat 输出流直接接收 ByteBuffer，不经过中间 byte[]。
+ * 缓存按题目ID序列校验，共用试卷重新组卷后自动重建；只保留最近访问的若干场考试。
+ */
+@Slf4j
+@Component
+public class ExamPaperPayloadCache {
+
+    private final ObjectMapper objectMapper;
+
+    private final int maxExams;
+
+    private final Map<Long, Payload> payloads = new ConcurrentHashMap<>();
+
+    public ExamPaperPayloadCache(ObjectMapper objectMapper,
+                                 @Value("${oncoresi.command.paper-payload.max-exams:32}") int maxExams) {
+        this.objectMapper = objectMapper;
+        this.maxExams = maxExams;
+    }
+
+    /**
+     * 预序列化的响应体（缓冲区只读，写出时各请求使用各自的副本视图）
+     */
+    public static final class Payload {
+
+        private final List<Long> questionIds;
+
+        private final String etag;
+
+        private final ByteBuffer identity;
+
+        private final ByteBuffer gzip;
+
+        private volatile long lastAccessNanos;
+
+        private Payload(List<Long> questionIds, String etag, ByteBuffer identity, ByteBuffer gzip) {
+            this.questionIds = questionIds;
+            this.etag = etag;
+            this.identity = identity;
+            this.gzip = gzip;
+            this.lastAccessNanos = System.nanoTime();
+        }
+    }
+
+    /**
+     * 取考试的响应体，题目ID序列变化或尚未缓存时用 body 生成（同一考试并发请求只生成一次）
+     */
+    public Payload get(Long examId, List<Long> questionIds, Supplier<?> body) {
+        Payload payload = payloads.get(examId);
+        if (payload == null || !payload.questionIds.equals(questionIds)) {
+            payload = payloads.compute(examId, (id, existing) -> existing != null
+                    && existing.questionIds.equals(questionIds) ? existing : render(id, questionIds, body.get()));
+            evictIfFull();
+        }
+        payload.lastAccessNanos = System.nanoTime();
+        return payload;
+    }
+
+    /**
+     * 写出响应体
+     */
+    public void write(Payload payload, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setHeader(HttpHeaders.ETAG, payload.etag);
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), payload.etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        boolean gzip = acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        ByteBuffer body = (gzip ? payload.gzip : payload.identity).duplicate();
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        response.setContentLength(body.remaining());
+
+        ServletOutputStream out = response.getOutputStream();
+        if (out instanceof CoyoteOutputStream coyote) {
+            coyote.write(body);
+        } else {
+            WritableByteChannel channel = Channels.newChannel(out);
+            while (body.hasRemaining()) {
+                channel.write(body);
+            }
+        }
+    }
+
+    private Payload render(Long examId, List<Long> questionIds, Object body) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(body);
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(json.length / 4 + 64);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                gzip.write(json);
+            }
+            byte[] gzipped = compressed.toByteArray();
+            String etag = "W/\"" + HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(json), 0, 16)
+                    + "\"";
+
+            log.info("共用试卷响应体已缓存: examId={}, questions={}, bytes={}, gzipBytes={}",
+                    examId, questionIds.size(), json.length, gzipped.length);
+            return new Payload(List.copyOf(questionIds), etag, toDirect(json), toDirect(gzipped));
+        } catch (IOException e) {
+            throw new UncheckedIOException("序列化试卷失败: examId=" + examId, e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static ByteBuffer toDirect(byte[] bytes) {
+        return ByteBuffer.allocateDirect(bytes.length).put(bytes).flip().asReadOnlyBuffer();
+    }
+
+    private void evictIfFull() {
+        while (payloads.size() > maxExams) {
+            payloads.entrySet().stream()
+                    .min(Comparator.comparingLong(entry -> entry.getValue().lastAccessNanos))
+                    .ifPresent(eldest -> payloads.remove(eldest.getKey(), eldest.getValue()));
+        }
+    }
+
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.strip();
+            if (tag.equals("*") || tag.equals(etag) || ("W/" + tag).equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            if (!parts[0].strip().equalsIgnoreCase("gzip")) {
+                continue;
+            }
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].strip();
+                if (param.startsWith("q=")) {
+                    return !param.matches("q=0(\\.0*)?");
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,56 @@
+package com.oncoresi.api.support;
+
+import com.oncoresi.domain.aggregate.Question;
+import com.oncoresi.domain.valueobject.AnswerKey.ItemType;
+import com.oncoresi.domain.valueobject.AnswerKey.OptionCodec;
+import com.oncoresi.domain.valueobject.ItemStatistics;
+import com.oncoresi.domain.valueobject.ItemStatistics.OptionStatistics;
+import com.oncoresi.types.dto.ItemStatisticsResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 题目统计响应转换（题库与考试两个控制器共用）
+ */
+public final class ItemStatisticsResponses {
+
+    private ItemStatisticsResponses() {
+    }
+
+    public static ItemStatisticsResponse toResponse(Question question, ItemStatistics statistics) {
+        int correctBits = OptionCodec.encode(question.getType(), question.getCorrectOptions());
+        List<ItemStatisticsResponse.Option> options = new ArrayList<>(statistics.options().size());
+        for (OptionStatistics option : statistics.options()) {
+            options.add(new ItemStatisticsResponse.Option(
+                    label(question.getType(), option.option()),
+                    (correctBits & (1 << option.option())) != 0,
+                    rate(option.pickRate()),
+                    rate(option.upperPickRate()),
+                    rate(option.lowerPickRate())));
+        }
+        return new ItemStatisticsResponse(question.getId(), question.getType().name(), question.getStem(),
+                statistics.responses(),
+                rate(statistics.correctRate()),
+                rate(statistics.pointBiserial()),
+                rate(statistics.discrimination()),
+                rate(statistics.upperCorrectRate()),
+                rate(statistics.lowerCorrectRate()),
+                rate(statistics.blankRate()),
+                options);
+    }
+
+    private static String label(ItemType type, int option) {
+        if (type == ItemType.TRUE_FALSE) {
+            return option == 0 ? "对" : "错";
+        }
+        return String.valueOf((char) ('A' + option));
+    }
+
+    /**
+     * NaN（无人作答或无法计算）输出为空
+     */
+    private static Double rate(double value) {
+        return Double.isNaN(value) ? null : value;
+    }
+}
@@ -0,0 +1,47 @@
+package com.oncoresi.application.event;
+
+import com.oncoresi.domain.aggregate.AggregateRoot;
+import com.oncoresi.domain.event.DomainEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+/**
+ * 聚合事件分发器
+ * 取出聚合中未发布的领域事件，在当前事务提交后发布（事务回滚或版本冲突重试时不会发出事件）
+ */
+@Component
+@RequiredArgsConstructor
+public class AggregateEventDispatcher {
+
+    private final ObjectProvider<DomainEventPublisher> eventPublisher;
+
+    /**
+     * 发布聚合事件（无事务时立即发布）
+     */
+    public void dispatch(AggregateRoot<?> aggregate) {
+        if (!aggregate.hasDomainEvents()) {
+            return;
+        }
+
+        List<DomainEvent> events = List.copyOf(aggregate.getDomainEvents());
+        aggregate.clearDomainEvents();
+
+        eventPublisher.ifAvailable(publisher -> {
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        publisher.publishAll(events);
+                    }
+                });
+            } else {
+                publisher.publishAll(events);
+            }
+        });
+    }
+}
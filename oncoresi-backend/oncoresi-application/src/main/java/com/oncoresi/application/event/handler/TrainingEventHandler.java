@@ -56,7 +56,8 @@ public class TrainingEventHandler {
 
         @Override
         public void onMessage(RotationAddedEvent event) {
-            log.info("处理轮转添加事件: planId={}, rotationId={}", event.planId(), event.rotationId());
+            log.info("处理轮转添加事件: planId={}, rotationId={}, traineeId={}, departmentId={}",
+                    event.planId(), event.rotationId(), event.traineeId(), event.departmentId());
 
             // 这里可以执行：
             // 1. 通知学员轮转安排
@@ -0,0 +1,271 @@
+package com.oncoresi.application.service;
+
+import com.oncoresi.application.support.ExamMetadataCache;
+import com.oncoresi.domain.aggregate.AdaptiveSession;
+import com.oncoresi.domain.aggregate.ExamAggregate.ExamMetadata;
+import com.oncoresi.domain.aggregate.ExamAggregate.ExamStatus;
+import com.oncoresi.domain.aggregate.ExamAggregate.ExamType;
+import com.oncoresi.domain.aggregate.Question;
+import com.oncoresi.domain.exception.DomainException;
+import com.oncoresi.domain.repository.AdaptiveTestRepository;
+import com.oncoresi.domain.service.AdaptiveItemPool;
+import com.oncoresi.domain.valueobject.AbilityEstimate;
+import com.oncoresi.domain.valueobject.AdaptiveTestSpec;
+import com.oncoresi.domain.valueobject.AnswerKey.OptionCodec;
+import com.oncoresi.domain.valueobject.ItemCalibration;
+import com.oncoresi.domain.valueobject.ItemStatistics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 自适应考试应用服务
+ * <p>
+ * 自适应考试不组卷：学员每答一题，按已答题目重新估计能力，再从题库中选出在该能力处信息量最大的未答题目，
+ * 测量精度达到目标或题数达到上限即结束，能力估计换算为百分制成绩后交卷。
+ * 达到同样的测量精度所需题数远少于固定试卷。
+ * <p>
+ * 题目参数在考试首次出题时由题目统计换算并在独立事务中写入快照，之后全体考生、各节点都按同一组参数选题与评分。
+ * 每个节点按考试缓存一份由快照建立的题库（预先计算的信息量排序与似然表），选题与估计只在内存中进行；
+ * 每次作答只读写学员自己的一行会话。
+ */
+@Slf4j
+@Service
+public class AdaptiveTestService {
+
+    private final AdaptiveTestRepository adaptiveTestRepository;
+
+    private final ExamMetadataCache examMetadataCache;
+
+    private final QuestionBankService questionBankService;
+
+    private final ItemAnalysisService itemAnalysisService;
+
+    private final ExamService examService;
+
+    /**
+     * 写入题目参数快照（独立事务，提交后才缓存题库）
+     */
+    private final TransactionTemplate calibrationTransaction;
+
+    private final Map<Long, Pool> pools = new ConcurrentHashMap<>();
+
+    public AdaptiveTestService(AdaptiveTestRepository adaptiveTestRepository,
+                               ExamMetadataCache examMetadataCache,
+                               QuestionBankService questionBankService,
+                               ItemAnalysisService itemAnalysisService,
+                               ExamService examService,
+                               PlatformTransactionManager transactionManager) {
+        this.adaptiveTestRepository = adaptiveTestRepository;
+        this.examMetadataCache = examMetadataCache;
+        this.questionBankService = questionBankService;
+        this.itemAnalysisService = itemAnalysisService;
+        this.examService = examService;
+        this.calibrationTransaction = new TransactionTemplate(transactionManager);
+        this.calibrationTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * 考试规则与题库
+     */
+    private record Pool(AdaptiveTestSpec spec, AdaptiveItemPool items) {
+    }
+
+    /**
+     * 作答进度：未结束时为当前题，结束后题目为空、会话中有成绩
+     */
+    public record AdaptiveStep(AdaptiveSession session, Question question) {
+
+        public boolean isFinished() {
+            return question == null;
+        }
+    }
+
+    /**
+     * 设置自适应考试规则（考试开始前）
+     */
+    public void configure(AdaptiveTestSpec spec) {
+        ExamMetadata exam = examMetadataCache.get(spec.examId());
+        if (exam.examType() != ExamType.ADAPTIVE) {
+            throw DomainException.of("只有自适应考试可以设置自适应规则");
+        }
+        if (exam.status() != ExamStatus.DRAFT && exam.status() != ExamStatus.PUBLISHED) {
+            throw DomainException.of("考试已开始，无法修改自适应规则");
+        }
+        if (questionBankService.findActiveQuestions(spec.subject(), spec.category()).isEmpty()) {
+            throw DomainException.of("题库中没有符合条件的可用题目");
+        }
+
+        adaptiveTestRepository.saveSpec(spec);
+        pools.remove(spec.examId());
+    }
+
+    /**
+     * 查询当前题（首次调用时开始作答并出第一题）
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public AdaptiveStep current(Long examId, Long traineeId) {
+        ExamMetadata exam = examMetadataCache.get(examId);
+        AdaptiveSession session = adaptiveTestRepository.findSession(examId, traineeId).orElse(null);
+        if (session == null) {
+            adaptiveTestRepository.addSession(AdaptiveSession.start(exam, traineeId));
+            session = loadSession(examId, traineeId);
+        }
+        if (!session.isActive()) {
+            return new AdaptiveStep(session, null);
+        }
+
+        exam.checkAcceptingSubmissions();
+        Pool pool = poolFor(examId);
+        if (session.getPendingQuestionId() != null) {
+            return new AdaptiveStep(session, pool.items().question(positionOf(pool, session.getPendingQuestionId())));
+        }
+
+        int previous = session.getAnsweredCount();
+        AdaptiveStep step = advance(pool, session);
+        if (!adaptiveTestRepository.updateSession(session, previous)) {
+            // 并发请求已出题或作答，以已保存的为准
+            return current(examId, traineeId);
+        }
+        return step;
+    }
+
+    /**
+     * 作答当前题，返回下一题或结束结果
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public AdaptiveStep answer(Long examId, Long traineeId, Long questionId, String answer) {
+        ExamMetadata exam = examMetadataCache.get(examId);
+        exam.checkAcceptingSubmissions();
+        AdaptiveSession session = loadSession(examId, traineeId);
+        Pool pool = poolFor(examId);
+        AdaptiveItemPool items = pool.items();
+
+        Question question = items.question(positionOf(pool, questionId));
+        int answerBits = OptionCodec.encode(question.getType(), answer);
+        boolean correct = answerBits != 0
+                && answerBits == OptionCodec.encode(question.getType(), question.getCorrectOptions());
+
+        int previous = session.getAnsweredCount();
+        int[] answered = new int[previous + 1];
+        boolean[] responses = new boolean[previous + 1];
+        for (int i = 0; i < previous; i++) {
+            answered[i] = positionOf(pool, session.getQuestionIds().get(i));
+            responses[i] = session.getResponses().get(i);
+        }
+        answered[previous] = positionOf(pool, questionId);
+        responses[previous] = correct;
+        session.answer(questionId, answer, correct, items.estimate(answered, responses));
+
+        AdaptiveStep step = advance(pool, session);
+        if (!adaptiveTestRepository.updateSession(session, previous)) {
+            throw DomainException.of("本题已作答，请刷新后继续");
+        }
+        if (step.isFinished()) {
+            examService.submitGradedAnswer(examId, traineeId, session.getAnswers(), session.getScore());
+            log.debug("自适应考试结束: examId={}, traineeId={}, items={}, theta={}, se={}, score={}",
+                    examId, traineeId, session.getAnsweredCount(), session.getEstimate().theta(),
+                    session.getEstimate().standardError(), session.getScore());
+        }
+        return step;
+    }
+
+    /**
+     * 定期释放已结束考试的题库
+     */
+    @Scheduled(fixedDelayString = "${oncoresi.command.question-bank.refresh-interval:60000}")
+    public void evictFinishedPools() {
+        pools.keySet().removeIf(examId -> examMetadataCache.get(examId).status() != ExamStatus.IN_PROGRESS);
+    }
+
+    /**
+     * 达到结束条件（或题库已全部作答）时结束并评分，否则出下一题
+     */
+    private AdaptiveStep advance(Pool pool, AdaptiveSession session) {
+        AdaptiveItemPool items = pool.items();
+        AbilityEstimate estimate = session.getEstimate();
+        int next = -1;
+        if (!pool.spec().isSatisfied(session.getAnsweredCount(), estimate)) {
+            long[] exclusion = items.newExclusion();
+            for (Long answeredId : session.getQuestionIds()) {
+                AdaptiveItemPool.exclude(exclusion, positionOf(pool, answeredId));
+            }
+            next = items.select(estimate.theta(), exclusion);
+        }
+
+        if (next < 0) {
+            session.finish(items.expectedScore(estimate.theta()));
+            return new AdaptiveStep(session, null);
+        }
+        Question question = items.question(next);
+        session.present(question.getId());
+        return new AdaptiveStep(session, question);
+    }
+
+    private AdaptiveSession loadSession(Long examId, Long traineeId) {
+        return adaptiveTestRepository.findSession(examId, traineeId)
+                .orElseThrow(() -> DomainException.of("未开始作答: examId=" + examId));
+    }
+
+    private int positionOf(Pool pool, Long questionId) {
+        int position = pool.items().positionOf(questionId);
+        if (position < 0) {
+            throw DomainException.of("题目不属于本场考试: " + questionId);
+        }
+        return position;
+    }
+
+    private Pool poolFor(Long examId) {
+        Pool pool = pools.get(examId);
+        return pool != null ? pool : pools.computeIfAbsent(examId, this::buildPool);
+    }
+
+    /**
+     * 按题目参数快照建立题库；没有快照时由当前题目统计换算并写入（多节点并发写入以先写入的为准）
+     * <p>
+     * 快照在独立事务中写入并提交，题库按提交后重新读取的快照建立：调用方事务回滚时，
+     * 已缓存的题库与数据库中的快照仍然一致。
+     */
+    private Pool buildPool(Long examId) {
+        long startNanos = System.nanoTime();
+        AdaptiveTestSpec spec = adaptiveTestRepository.findSpec(examId)
+                .orElseThrow(() -> DomainException.of("自适应考试未设置规则: " + examId));
+
+        List<ItemCalibration> calibrations = adaptiveTestRepository.findCalibrations(examId);
+        if (calibrations.isEmpty()) {
+            List<Question> questions = questionBankService.findActiveQuestions(spec.subject(), spec.category());
+            Map<Long, ItemStatistics> statistics = itemAnalysisService.getQuestionStatistics(questions);
+            List<ItemCalibration> calibrated = questions.stream()
+                    .map(question -> ItemCalibration.calibrate(question, statistics.get(question.getId())))
+                    .toList();
+            calibrations = calibrationTransaction.execute(status -> {
+                adaptiveTestRepository.addCalibrations(examId, calibrated);
+                return adaptiveTestRepository.findCalibrations(examId);
+            });
+        }
+        if (calibrations.isEmpty()) {
+            throw DomainException.of("题库中没有符合条件的可用题目");
+        }
+
+        List<Question> questions = new ArrayList<>(calibrations.size());
+        for (ItemCalibration calibration : calibrations) {
+            questions.add(questionBankService.getQuestion(calibration.questionId()));
+        }
+        AdaptiveItemPool items = AdaptiveItemPool.build(questions, calibrations);
+
+        log.info("自适应考试题库已建立: examId={}, items={}, empirical={}, cost={}ms", examId, items.size(),
+                calibrations.stream().filter(ItemCalibration::empirical).count(),
+                Duration.ofNanos(System.nanoTime() - startNanos).toMillis());
+        return new Pool(spec, items);
+    }
+}
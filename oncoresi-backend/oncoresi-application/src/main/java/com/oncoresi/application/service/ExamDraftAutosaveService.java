@@ -0,0 +1,208 @@
+package com.oncoresi.application.service;
+
+import com.oncoresi.application.support.DraftJournal;
+import com.oncoresi.domain.aggregate.ExamSubmission.SubmissionId;
+import com.oncoresi.domain.repository.ExamSessionRepository;
+import com.oncoresi.domain.repository.ExamSessionRepository.Draft;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 作答草稿自动保存（写回缓冲）
+ * <p>
+ * 考试期间浏览器每隔几秒自动保存一次草稿。保存只追加本地日志并替换内存中该学员的最新草稿，
+ * 不访问数据库；定时把缓冲中的草稿一次批量写回，两次写回之间同一学员的多次保存合并为一次写入。
+ * 到时自动交卷前先写回该学员的草稿，主动交卷时丢弃（答卷自带答案）。
+ * <p>
+ * 写回失败时草稿放回缓冲（缓冲中已有更新的草稿时保留更新的），日志分段保留到下次写回成功；
+ * 进程崩溃后启动时重放日志中未删除的分段。草稿写回按保存时间条件更新，重放或多节点乱序写回不会覆盖更新的草稿。
+ * <p>
+ * 自动交卷按“截止后两个写回间隔”等待其他节点的草稿，写回因此使用独立线程定时执行，
+ * 不与其他定时任务共用调度线程，不会被耗时的定时任务推迟。
+ */
+@Slf4j
+@Service
+public class ExamDraftAutosaveService {
+
+    /**
+     * 关闭时等待执行中的定时写回的最长时间
+     */
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+
+    private final ExamSessionRepository examSessionRepository;
+
+    private final Duration flushInterval;
+
+    private final DraftJournal journal;
+
+    private final Map<SubmissionId, Draft> pending = new ConcurrentHashMap<>();
+
+    /**
+     * 保存持有读锁（并发追加），切换日志分段并取走缓冲持有写锁，保证取走的草稿都在被切换出的分段中
+     */
+    private final ReentrantReadWriteLock rotation = new ReentrantReadWriteLock();
+
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("draft-flush").daemon().factory());
+
+    public ExamDraftAutosaveService(ExamSessionRepository examSessionRepository,
+                                    @Value("${oncoresi.command.draft-autosave.flush-interval:1000}") long flushMillis,
+                                    @Value("${oncoresi.command.draft-autosave.journal-dir:./data/draft-journal}")
+                                    String journalDir) {
+        this.examSessionRepository = examSessionRepository;
+        this.flushInterval = Duration.ofMillis(flushMillis);
+        this.journal = new DraftJournal(Path.of(journalDir));
+    }
+
+    /**
+     * 写回间隔（其他节点缓冲中的草稿最迟在该间隔后写回数据库）
+     */
+    public Duration flushInterval() {
+        return flushInterval;
+    }
+
+    /**
+     * 保存草稿（调用方已校验会话仍在作答中）
+     */
+    public void save(Long examId, Long traineeId, List<String> answers) {
+        Draft draft = new Draft(examId, traineeId, new ArrayList<>(answers),
+                LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
+        rotation.readLock().lock();
+        try {
+            journal.append(draft);
+            pending.merge(new SubmissionId(examId, traineeId), draft, ExamDraftAutosaveService::newer);
+        } finally {
+            rotation.readLock().unlock();
+        }
+    }
+
+    /**
+     * 立即写回单个学员的草稿（到时自动交卷前调用）
+     */
+    public void flush(Long examId, Long traineeId) {
+        SubmissionId id = new SubmissionId(examId, traineeId);
+        Draft draft = pending.remove(id);
+        if (draft == null) {
+            return;
+        }
+        try {
+            examSessionRepository.saveDrafts(List.of(draft));
+        } catch (RuntimeException e) {
+            restore(draft);
+            throw e;
+        }
+    }
+
+    /**
+     * 丢弃单个学员尚未写回的草稿（主动交卷后调用）
+     */
+    public void discard(Long examId, Long traineeId) {
+        pending.remove(new SubmissionId(examId, traineeId));
+    }
+
+    /**
+     * 启动定时写回
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        long millis = flushInterval.toMillis();
+        flusher.scheduleWithFixedDelay(() -> {
+            try {
+                flush();
+            } catch (RuntimeException e) {
+                // 异常会取消后续执行，在这里记录后继续
+                log.error("作答草稿定时写回异常", e);
+            }
+        }, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 批量写回缓冲中的全部草稿
+     */
+    public void flush() {
+        List<Path> segments;
+        List<Draft> drafts = new ArrayList<>();
+        rotation.writeLock().lock();
+        try {
+            segments = journal.rotate();
+            for (SubmissionId id : pending.keySet()) {
+                Draft draft = pending.remove(id);
+                if (draft != null) {
+                    drafts.add(draft);
+                }
+            }
+        } finally {
+            rotation.writeLock().unlock();
+        }
+        if (segments.isEmpty() && drafts.isEmpty()) {
+            return;
+        }
+
+        long startNanos = System.nanoTime();
+        try {
+            int updated = examSessionRepository.saveDrafts(drafts);
+            journal.delete(segments);
+            if (!drafts.isEmpty()) {
+                log.debug("作答草稿已写回: drafts={}, updated={}, cost={}ms", drafts.size(), updated,
+                        Duration.ofNanos(System.nanoTime() - startNanos).toMillis());
+            }
+        } catch (RuntimeException e) {
+            drafts.forEach(this::restore);
+            log.error("作答草稿写回失败，下次重试: drafts={}", drafts.size(), e);
+        }
+    }
+
+    /**
+     * 重放本地日志中尚未写回的草稿（启动时、恢复计时器前调用）
+     * 草稿放回缓冲后立即写回；写回失败时与普通写回一样保留分段，下次重试
+     */
+    public void recover() {
+        List<Path> segments = journal.rotate();
+        if (segments.isEmpty()) {
+            return;
+        }
+
+        List<Draft> drafts = journal.read(segments);
+        drafts.forEach(this::restore);
+        log.info("重放草稿日志: segments={}, records={}, drafts={}", segments.size(), drafts.size(), pending.size());
+        flush();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        flusher.shutdown();
+        if (!flusher.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            log.warn("作答草稿定时写回未在{}秒内结束", SHUTDOWN_TIMEOUT_SECONDS);
+        }
+        try {
+            flush();
+        } finally {
+            journal.close();
+        }
+    }
+
+    private void restore(Draft draft) {
+        pending.merge(new SubmissionId(draft.examId(), draft.traineeId()), draft, ExamDraftAutosaveService::newer);
+    }
+
+    private static Draft newer(Draft current, Draft candidate) {
+        return candidate.savedAt().isBefore(current.savedAt()) ? current : candidate;
+    }
+}
@@ -0,0 +1,294 @@
+package com.oncoresi.application.service;
+
+import com.oncoresi.application.event.AggregateEventDispatcher;
+import com.oncoresi.application.support.ExamMetadataCache;
+import com.oncoresi.domain.aggregate.ExamAggregate.ExamMetadata;
+import com.oncoresi.domain.aggregate.ExamAggregate.ExamType;
+import com.oncoresi.domain.aggregate.ExamSubmission;
+import com.oncoresi.domain.aggregate.Question;
+import com.oncoresi.domain.exception.DomainException;
+import com.oncoresi.domain.repository.ExamAnswerKeyRepository;
+import com.oncoresi.domain.repository.ExamSubmissionRepository;
+import com.oncoresi.domain.repository.ExamSubmissionRepository.ScoreChange;
+import com.oncoresi.domain.service.CompiledAnswerKey;
+import com.oncoresi.domain.service.PaperShuffle;
+import com.oncoresi.domain.valueobject.AnswerKey;
+import com.oncoresi.domain.valueobject.ExamScore;
+import com.oncoresi.domain.valueobject.GradingResult;
+import com.oncoresi.domain.valueobject.SharedExamPaper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 理论考试自动评分服务
+ * <p>
+ * 标准答案编译为按位打包的形式后按考试缓存（与考试元数据相同的短 TTL），交卷时服务端评分，
+ * 不再信任客户端提交的评分结果。使用共用试卷的考试只编译一份基准标准答案，
+ * 考生按个人顺序作答的答案在打包时换回基准顺序后评分；逐人组卷的考试按考生自己试卷的标准答案评分；
+ * 都没有的考试（技能考试等）答卷入库时成绩为空（待评分），由阅卷老师逐份录入成绩。
+ * 更正标准答案后在同一事务内重新评分全部答卷（含待评分的答卷），只更新成绩发生变化的答卷。
+ * <p>
+ * 标准答案带版本：更正时先递增版本并锁定到提交，交卷入库事务评分前共享锁定版本，本地缓存（含其他节点）
+ * 不是该版本时先重新加载。更正等待进行中的入库事务提交后才读取答卷，之后的入库事务等待更正提交后按新版本评分，
+ * 因此每份答卷要么按新标准答案入库，要么被重新评分读到。本地缓存在更正事务提交后才替换为新标准答案。
+ */
+@Slf4j
+@Service
+public class ExamGradingService {
+
+    private final ExamAnswerKeyRepository answerKeyRepository;
+
+    private final ExamSubmissionRepository examSubmissionRepository;
+
+    private final ExamMetadataCache examMetadataCache;
+
+    private final QuestionBankService questionBankService;
+
+    private final AggregateEventDispatcher eventDispatcher;
+
+    private final long ttlNanos;
+
+    private final Map<Long, Entry> compiledKeys = new ConcurrentHashMap<>();
+
+    private final Map<Long, SharedKey> sharedKeys = new ConcurrentHashMap<>();
+
+    public ExamGradingService(ExamAnswerKeyRepository answerKeyRepository,
+                              ExamSubmissionRepository examSubmissionRepository,
+                              ExamMetadataCache examMetadataCache,
+                              QuestionBankService questionBankService,
+                              AggregateEventDispatcher eventDispatcher,
+                              @Value("${oncoresi.command.exam-metadata.ttl:PT5S}") Duration ttl) {
+        this.answerKeyRepository = answerKeyRepository;
+        this.examSubmissionRepository = examSubmissionRepository;
+        this.examMetadataCache = examMetadataCache;
+        this.questionBankService = questionBankService;
+        this.eventDispatcher = eventDispatcher;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    private record Entry(Optional<CompiledAnswerKey> compiled, int version, long expiresAt) {
+    }
+
+    /**
+     * 共用试卷编译后的基准标准答案（试卷重新组卷后按引用判断失效）
+     */
+    private record SharedKey(SharedExamPaper paper, CompiledAnswerKey compiled) {
+    }
+
+    /**
+     * 逐题评分的结果（题目、打包答案与逐题对错均按基准题号排列）
+     *
+     * @param questions 试卷题目（录入了考试统一标准答案的考试没有题目信息，为空列表）
+     * @param packed    打包后的答案（每题一个字节的选项位）
+     */
+    public record GradedPaper(List<Question> questions, long[] packed, GradingResult result) {
+
+        /**
+         * 第 index 题（从 0 开始）作答的选项位，未作答或作答无效为 0
+         */
+        public int answerBits(int index) {
+            return (int) (packed[index / Long.BYTES] >>> ((index % Long.BYTES) * Byte.SIZE)) & 0xFF;
+        }
+    }
+
+    /**
+     * 在当前事务内共享锁定考试的标准答案版本，本地缓存不是该版本时重新加载
+     * （交卷入库事务在评分前调用，与更正标准答案的重新评分互斥）
+     */
+    public void lockAnswerKeys(Collection<Long> examIds) {
+        Map<Long, Integer> versions = answerKeyRepository.lockVersions(examIds);
+        for (Long examId : examIds) {
+            Entry entry = compiledKeys.get(examId);
+            if (entry == null || entry.version() != versions.getOrDefault(examId, 0)) {
+                compiledKeys.put(examId, loadEntry(examId));
+            }
+        }
+    }
+
+    /**
+     * 评分并返回逐题对错（没有标准答案时为空；共用试卷的逐题对错按基准题号排列）
+     */
+    public Optional<GradingResult> grade(Long examId, Long traineeId, List<String> answers) {
+        return gradePaper(examId, traineeId, answers).map(GradedPaper::result);
+    }
+
+    /**
+     * 评分并返回逐题作答（没有标准答案时为空）
+     * 共用试卷按考生的题目、选项顺序评分；否则考试统一的标准答案优先，没有时查找考生试卷（只有理论考试会逐人组卷）。
+     * 入库时成绩与题目统计共用同一次评分；只有题目来自题库的试卷（共用试卷、逐人组卷）才有题目信息
+     */
+    public Optional<GradedPaper> gradePaper(Long examId, Long traineeId, List<String> answers) {
+        Optional<SharedExamPaper> shared = sharedPaperFor(examId);
+        if (shared.isPresent()) {
+            return Optional.of(gradeShared(shared.get(), traineeId, answers));
+        }
+        Optional<CompiledAnswerKey> examKey = compiledKey(examId);
+        if (examKey.isPresent() || examMetadataCache.get(examId).examType() != ExamType.THEORY) {
+            return examKey.map(key -> gradePacked(List.of(), key, answers));
+        }
+        return questionBankService.findPaper(examId, traineeId)
+                .map(paper -> gradePacked(paper.questions(), CompiledAnswerKey.compile(paper.answerKey()), answers));
+    }
+
+    /**
+     * 查询学员的错题题号（从 1 开始，为学员自己试卷上的题号）
+     */
+    public List<Integer> getWrongItems(Long examId, Long traineeId) {
+        ExamSubmission submission = examSubmissionRepository.findById(examId, traineeId)
+                .orElseThrow(() -> DomainException.of("未找到答卷: examId=" + examId));
+        List<Integer> wrongItems = grade(examId, traineeId, submission.getAnswers())
+                .orElseThrow(() -> DomainException.of("考试未录入标准答案: " + examId))
+                .wrongItems();
+
+        Optional<SharedExamPaper> shared = sharedPaperFor(examId);
+        if (shared.isEmpty()) {
+            return wrongItems;
+        }
+        PaperShuffle shuffle = questionBankService.shuffleFor(shared.get(), traineeId);
+        return wrongItems.stream().map(item -> shuffle.displayIndex(item - 1) + 1).sorted().toList();
+    }
+
+    /**
+     * 阅卷录入或更正成绩（只用于没有标准答案的考试，有标准答案的考试由系统评分）
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public ExamScore recordScore(Long examId, Long traineeId, int score) {
+        if (score < 0 || score > 100) {
+            throw DomainException.of("成绩必须在0-100之间");
+        }
+        ExamSubmission submission = examSubmissionRepository.findById(examId, traineeId)
+                .orElseThrow(() -> DomainException.of("未找到答卷: examId=" + examId));
+        if (grade(examId, traineeId, submission.getAnswers()).isPresent()) {
+            throw DomainException.of("考试已有标准答案，成绩由系统评分: " + examId);
+        }
+
+        ExamScore previous = submission.getScore();
+        ExamScore current = ExamScore.of(score, examMetadataCache.get(examId).passingScore());
+        submission.grade(current);
+        examSubmissionRepository.updateScores(examId, List.of(new ScoreChange(traineeId, previous, current)));
+        eventDispatcher.dispatch(submission);
+
+        log.info("阅卷成绩已录入: examId={}, traineeId={}, score={}", examId, traineeId, score);
+        return current;
+    }
+
+    /**
+     * 录入或更正标准答案，并重新评分已提交的答卷
+     *
+     * @return 成绩发生变化的答卷数
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public int updateAnswerKey(AnswerKey answerKey) {
+        ExamMetadata exam = examMetadataCache.get(answerKey.examId());
+        if (exam.examType() != ExamType.THEORY) {
+            throw DomainException.of("只有理论考试可以录入标准答案");
+        }
+        if (questionBankService.findSharedPaper(answerKey.examId()).isPresent()) {
+            throw DomainException.of("考试使用题库共用试卷，标准答案随题目确定，不能单独录入");
+        }
+
+        int version = answerKeyRepository.save(answerKey);
+        CompiledAnswerKey compiled = CompiledAnswerKey.compile(answerKey);
+
+        long startNanos = System.nanoTime();
+        List<ExamSubmission> submissions = examSubmissionRepository.findAllGradedBefore(answerKey.examId(), version);
+        List<ScoreChange> changes = new ArrayList<>();
+        for (ExamSubmission submission : submissions) {
+            ExamScore regraded = ExamScore.of(compiled.grade(submission.getAnswers()).score(), exam.passingScore());
+            if (!regraded.equals(submission.getScore())) {
+                changes.add(new ScoreChange(submission.getTraineeId(), submission.getScore(), regraded));
+                // 待评分的答卷首次评出成绩时发布考试完成事件，已评分的发布成绩变更事件
+                submission.grade(regraded);
+                eventDispatcher.dispatch(submission);
+            }
+        }
+        examSubmissionRepository.updateScores(answerKey.examId(), changes);
+        examSubmissionRepository.stampKeyVersion(answerKey.examId(), version);
+        cacheAfterCommit(answerKey.examId(), compiled, version);
+
+        log.info("标准答案已更新并重新评分: examId={}, version={}, items={}, submissions={}, changed={}, cost={}ms",
+                answerKey.examId(), version, answerKey.itemCount(), submissions.size(), changes.size(),
+                Duration.ofNanos(System.nanoTime() - startNanos).toMillis());
+        return changes.size();
+    }
+
+    /**
+     * 按编译后的标准答案评分（答卷编码一次，逐题对错与题目统计共用）
+     */
+    private static GradedPaper gradePacked(List<Question> questions, CompiledAnswerKey key, List<String> answers) {
+        long[] packed = key.encode(answers);
+        return new GradedPaper(questions, packed, key.grade(packed));
+    }
+
+    private Optional<SharedExamPaper> sharedPaperFor(Long examId) {
+        if (examMetadataCache.get(examId).examType() != ExamType.THEORY) {
+            return Optional.empty();
+        }
+        return questionBankService.findSharedPaper(examId);
+    }
+
+    private GradedPaper gradeShared(SharedExamPaper paper, Long traineeId, List<String> answers) {
+        CompiledAnswerKey key = sharedKey(paper);
+        long[] packed = key.encode(answers, questionBankService.shuffleFor(paper, traineeId));
+        return new GradedPaper(paper.basePaper().questions(), packed, key.grade(packed));
+    }
+
+    private CompiledAnswerKey sharedKey(SharedExamPaper paper) {
+        SharedKey cached = sharedKeys.get(paper.examId());
+        if (cached != null && cached.paper() == paper) {
+            return cached.compiled();
+        }
+        CompiledAnswerKey compiled = CompiledAnswerKey.compile(paper.basePaper().answerKey());
+        sharedKeys.put(paper.examId(), new SharedKey(paper, compiled));
+        return compiled;
+    }
+
+    private Optional<CompiledAnswerKey> compiledKey(Long examId) {
+        long now = System.nanoTime();
+        Entry entry = compiledKeys.get(examId);
+        if (entry != null && now - entry.expiresAt() < 0) {
+            return entry.compiled();
+        }
+
+        return compiledKeys.compute(examId, (id, existing) -> existing != null && now - existing.expiresAt() < 0
+                ? existing
+                : loadEntry(id)).compiled();
+    }
+
+    /**
+     * 先读版本再读题目：并发更正时读到的版本只会落后于题目，下次核对版本时重新加载
+     */
+    private Entry loadEntry(Long examId) {
+        int version = answerKeyRepository.findVersion(examId);
+        return new Entry(answerKeyRepository.findByExamId(examId).map(CompiledAnswerKey::compile), version,
+                System.nanoTime() + ttlNanos);
+    }
+
+    /**
+     * 事务提交后替换本地缓存（回滚时保留旧标准答案）
+     */
+    private void cacheAfterCommit(Long examId, CompiledAnswerKey compiled, int version) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            compiledKeys.remove(examId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                compiledKeys.put(examId, new Entry(Optional.of(compiled), version, System.nanoTime() + ttlNanos));
+            }
+        });
+    }
+}
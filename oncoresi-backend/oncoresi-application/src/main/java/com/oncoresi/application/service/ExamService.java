@@ -0,0 +1,193 @@
+package com.oncoresi.application.service;
+
+import com.oncoresi.application.event.AggregateEventDispatcher;
+import com.oncoresi.application.service.ExamGradingService.GradedPaper;
+import com.oncoresi.application.support.AggregateMailboxDispatcher;
+import com.oncoresi.application.support.ExamMetadataCache;
+import com.oncoresi.domain.aggregate.ExamAggregate;
+import com.oncoresi.domain.aggregate.ExamSubmission;
+import com.oncoresi.domain.aggregate.ExamSubmission.SubmissionId;
+import com.oncoresi.domain.exception.DomainException;
+import com.oncoresi.domain.repository.ExamRepository;
+import com.oncoresi.domain.repository.ExamSubmissionRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 考试应用服务
+ * <p>
+ * 交卷按学员写入独立的答卷行，只依据缓存的考试元数据校验，成本与考试人数无关，不经过考试聚合。
+ * <p>
+ * 考试聚合上只剩开始、结束两个状态变更命令（每场考试各一次，人工操作与计时器都可能发起），
+ * 经邮箱分发器按考试ID串行执行，本节点上的重复命令不会互相触发版本冲突；其他节点的并发修改仍由版本号拦截后重放。
+ * 命令只加载考试本身（不含答卷与成绩），邮箱中常驻的聚合只有一行考试数据，空闲后回收。
+ *
+ * @author OncoResi Team
+ */
+@Slf4j
+@Service
+public class ExamService {
+
+    private final ExamRepository examRepository;
+
+    private final ExamSubmissionRepository examSubmissionRepository;
+
+    private final ExamMetadataCache examMetadataCache;
+
+    private final ExamGradingService examGradingService;
+
+    private final ItemAnalysisService itemAnalysisService;
+
+    private final AggregateEventDispatcher eventDispatcher;
+
+    private final AggregateMailboxDispatcher<ExamAggregate> examMailbox;
+
+    private final Duration mailboxIdleTimeout;
+
+    private final Duration commandTimeout;
+
+    public ExamService(ExamRepository examRepository,
+                       ExamSubmissionRepository examSubmissionRepository,
+                       ExamMetadataCache examMetadataCache,
+                       ExamGradingService examGradingService,
+                       ItemAnalysisService itemAnalysisService,
+                       AggregateEventDispatcher eventDispatcher,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${oncoresi.command.mailbox.max-batch-size:200}") int maxBatchSize,
+                       @Value("${oncoresi.command.mailbox.idle-timeout:PT5M}") Duration mailboxIdleTimeout,
+                       @Value("${oncoresi.command.mailbox.command-timeout:PT10S}") Duration commandTimeout) {
+        this.examRepository = examRepository;
+        this.examSubmissionRepository = examSubmissionRepository;
+        this.examMetadataCache = examMetadataCache;
+        this.examGradingService = examGradingService;
+        this.itemAnalysisService = itemAnalysisService;
+        this.eventDispatcher = eventDispatcher;
+        this.mailboxIdleTimeout = mailboxIdleTimeout;
+        this.commandTimeout = commandTimeout;
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.examMailbox = new AggregateMailboxDispatcher<>("exam", this::loadExam, exam -> {
+            examRepository.save(exam);
+            eventDispatcher.dispatch(exam);
+        }, transactionTemplate, maxBatchSize);
+    }
+
+    /**
+     * 提交答卷
+     * 只写入该学员的答卷行，重复提交由主键拦截；已录入标准答案时按标准答案评分，否则待阅卷老师评分
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public void submitAnswer(Long examId, Long traineeId, List<String> answers) {
+        examGradingService.lockAnswerKeys(List.of(examId));
+        Optional<GradedPaper> graded = examGradingService.gradePaper(examId, traineeId, answers);
+        ExamSubmission submission = ExamSubmission.submit(examMetadataCache.get(examId), traineeId, answers,
+                graded.map(paper -> paper.result().score()).orElse(null));
+        add(submission, graded.map(paper -> Map.of(submission.getId(), paper)).orElse(Map.of()));
+    }
+
+    /**
+     * 提交服务端已评分的答卷（自适应考试按能力估计折算成绩）
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public void submitGradedAnswer(Long examId, Long traineeId, List<String> answers, int score) {
+        add(ExamSubmission.submit(examMetadataCache.get(examId), traineeId, answers, score), Map.of());
+    }
+
+    private void add(ExamSubmission submission, Map<SubmissionId, GradedPaper> papers) {
+        examSubmissionRepository.add(submission);
+        itemAnalysisService.record(List.of(submission), papers);
+        eventDispatcher.dispatch(submission);
+
+        log.debug("答卷已提交: examId={}, traineeId={}, graded={}",
+                submission.getExamId(), submission.getTraineeId(), submission.isGraded());
+    }
+
+    /**
+     * 查询考试概况（交卷人数、及格人数、通过率），不加载答卷
+     */
+    public ExamAggregate getExamSummary(Long examId) {
+        return examRepository.findSummaryById(examId)
+                .orElseThrow(() -> DomainException.of("考试不存在: " + examId));
+    }
+
+    /**
+     * 开始考试
+     */
+    public void startExam(Long examId) {
+        await(examMailbox.submit(examId, exam -> {
+            exam.start();
+            return null;
+        }));
+        examMetadataCache.invalidate(examId);
+    }
+
+    /**
+     * 结束考试
+     */
+    public void completeExam(Long examId) {
+        await(examMailbox.submit(examId, exam -> {
+            exam.complete();
+            return null;
+        }));
+        examMetadataCache.invalidate(examId);
+    }
+
+    /**
+     * 定期释放长时间无命令的考试聚合
+     */
+    @Scheduled(fixedDelayString = "${oncoresi.command.mailbox.eviction-interval:60000}")
+    public void evictIdleMailboxes() {
+        examMailbox.evictIdle(mailboxIdleTimeout);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        examMailbox.shutdown(commandTimeout);
+    }
+
+    private ExamAggregate loadExam(Long examId) {
+        return examRepository.findLifecycleById(examId)
+                .orElseThrow(() -> DomainException.of("考试不存在: " + examId));
+    }
+
+    /**
+     * 等待命令完成（最多 commandTimeout），还原命令抛出的原始异常
+     * <p>
+     * 超时只表示本次等待结束，命令仍在邮箱中排队，稍后可能生效
+     */
+    private <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.get(commandTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("考试命令执行失败", e.getCause());
+        } catch (TimeoutException e) {
+            throw DomainException.of("考试命令处理超时，请稍后刷新确认结果");
+        } catch (CancellationException e) {
+            throw DomainException.of("服务正在关闭，考试命令未执行，请稍后重试");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw DomainException.of("等待考试命令结果时被中断");
+        }
+    }
+}
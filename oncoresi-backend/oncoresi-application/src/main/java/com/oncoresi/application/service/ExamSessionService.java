@@ -0,0 +1,353 @@
+package com.oncoresi.application.service;
+
+import com.oncoresi.application.support.ExamMetadataCache;
+import com.oncoresi.application.support.HierarchicalTimingWheel;
+import com.oncoresi.application.support.HierarchicalTimingWheel.Timeout;
+import com.oncoresi.domain.aggregate.ExamAggregate.ExamMetadata;
+import com.oncoresi.domain.aggregate.ExamAggregate.ExamStatus;
+import com.oncoresi.domain.aggregate.ExamSession;
+import com.oncoresi.domain.aggregate.ExamSession.SessionStatus;
+import com.oncoresi.domain.aggregate.ExamSubmission.SubmissionId;
+import com.oncoresi.domain.exception.DomainException;
+import com.oncoresi.domain.repository.ExamRepository;
+import com.oncoresi.domain.repository.ExamSessionRepository;
+import com.oncoresi.domain.repository.ExamSubmissionInboxRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * 考试会话与计时服务
+ * <p>
+ * 所有计时（开考、结束考试、学员个人截止自动交卷）放在一个分层时间轮中，添加与取消都是 O(1)，
+ * 上万个作答会话不需要各自的定时任务。计时只是触发器，到时后总是重新读取数据库状态再决定动作：
+ * 其他节点延长了截止时间则重新计时，会话已交卷则忽略；多节点同时到时由条件更新保证只执行一次。
+ * 计时器不持久化，启动时按考试状态与作答中会话的截止时间重建。到时任务同时访问数据库的数量受并发上限约束，
+ * 大批会话同时到时（统一截止、重启后补触发）时排队执行，不会占满连接池。
+ * 自动交卷在一个事务内结束会话并写入收件箱，失败时会话保持作答中，一个宽限期后重试。
+ * <p>
+ * 草稿保存走写回缓冲，不逐次访问数据库：会话截止时间在本地缓存，缓存的截止时间已过才重新读取会话
+ * （其他节点可能已延时）。个人截止后再等待两个写回间隔才自动交卷，使各节点在截止前收到的草稿都已写回。
+ */
+@Slf4j
+@Service
+public class ExamSessionService {
+
+    private final ExamSessionRepository examSessionRepository;
+
+    private final ExamRepository examRepository;
+
+    private final ExamSubmissionInboxRepository inboxRepository;
+
+    private final ExamMetadataCache examMetadataCache;
+
+    private final ExamService examService;
+
+    private final ExamDraftAutosaveService draftAutosaveService;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * 同时执行的到时任务数上限
+     */
+    private final Semaphore timerPermits;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final HierarchicalTimingWheel timingWheel;
+
+    private final Map<SubmissionId, Timeout> sessionTimers = new ConcurrentHashMap<>();
+
+    private final Map<Long, Timeout> examTimers = new ConcurrentHashMap<>();
+
+    /**
+     * 本节点保存过草稿的作答中会话的截止时间
+     */
+    private final Map<SubmissionId, LocalDateTime> draftDeadlines = new ConcurrentHashMap<>();
+
+    /**
+     * 个人截止到自动交卷之间的等待时间
+     */
+    private final Duration autoSubmitGrace;
+
+    public ExamSessionService(ExamSessionRepository examSessionRepository,
+                              ExamRepository examRepository,
+                              ExamSubmissionInboxRepository inboxRepository,
+                              ExamMetadataCache examMetadataCache,
+                              ExamService examService,
+                              ExamDraftAutosaveService draftAutosaveService,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${oncoresi.command.exam-timer.tick:PT0.1S}") Duration tick,
+                              @Value("${oncoresi.command.exam-timer.wheel-size:512}") int wheelSize,
+                              @Value("${oncoresi.command.exam-timer.max-concurrency:8}") int maxConcurrency) {
+        this.examSessionRepository = examSessionRepository;
+        this.examRepository = examRepository;
+        this.inboxRepository = inboxRepository;
+        this.examMetadataCache = examMetadataCache;
+        this.examService = examService;
+        this.draftAutosaveService = draftAutosaveService;
+        this.autoSubmitGrace = draftAutosaveService.flushInterval().multipliedBy(2);
+        this.timerPermits = new Semaphore(maxConcurrency);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.timingWheel = new HierarchicalTimingWheel("exam", tick, wheelSize, this::fire);
+    }
+
+    /**
+     * 启动时重建计时器
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildTimers() {
+        // 先重放崩溃前未写回的草稿，再恢复自动交卷
+        draftAutosaveService.recover();
+        timingWheel.start();
+
+        List<ExamMetadata> exams = examRepository.findMetadataByStatus(
+                EnumSet.of(ExamStatus.PUBLISHED, ExamStatus.IN_PROGRESS));
+        exams.forEach(this::scheduleExam);
+
+        List<ExamSession> sessions = examSessionRepository.findActive();
+        sessions.forEach(this::scheduleSession);
+
+        log.info("考试计时器已重建: exams={}, sessions={}", exams.size(), sessions.size());
+    }
+
+    /**
+     * 开始作答（重复调用返回已有会话）
+     */
+    public ExamSession startSession(Long examId, Long traineeId) {
+        ExamSession session = ExamSession.start(examMetadataCache.get(examId), traineeId);
+        if (examSessionRepository.add(session)) {
+            scheduleSession(session);
+            return session;
+        }
+        return loadSession(examId, traineeId);
+    }
+
+    /**
+     * 保存作答草稿（到时自动交卷时提交草稿）
+     */
+    public void saveDraft(Long examId, Long traineeId, List<String> answers) {
+        SubmissionId id = new SubmissionId(examId, traineeId);
+        LocalDateTime deadline = draftDeadlines.get(id);
+        if (deadline == null || !LocalDateTime.now().isBefore(deadline)) {
+            ExamSession session = loadSession(examId, traineeId);
+            if (!session.isActive()) {
+                draftDeadlines.remove(id);
+                throw DomainException.of("已交卷，无法继续作答");
+            }
+            session.saveDraft(answers);
+            draftDeadlines.put(id, session.getDeadline());
+        }
+        draftAutosaveService.save(examId, traineeId, answers);
+    }
+
+    /**
+     * 延长学员个人作答时间
+     */
+    public ExamSession extend(Long examId, Long traineeId, int minutes) {
+        ExamSession session = loadSession(examId, traineeId);
+        session.extend(minutes);
+        if (!examSessionRepository.update(session)) {
+            throw DomainException.of("已交卷，无法延时");
+        }
+
+        draftDeadlines.computeIfPresent(session.getId(), (id, deadline) -> session.getDeadline());
+        scheduleSession(session);
+        // 考试结束时间按最晚的个人截止时间顺延
+        Timeout examTimer = examTimers.get(examId);
+        if (examTimer != null && examTimer.deadline().isBefore(toInstant(session.getDeadline()))) {
+            scheduleExamTimer(examId, session.getDeadline(), () -> onExamEnd(examId));
+        }
+
+        log.info("考试延时: examId={}, traineeId={}, minutes={}, deadline={}",
+                examId, traineeId, minutes, session.getDeadline());
+        return session;
+    }
+
+    /**
+     * 查询学员个人截止时间（未开始作答时为空）
+     */
+    public Optional<LocalDateTime> findDeadline(Long examId, Long traineeId) {
+        return examSessionRepository.findById(examId, traineeId).map(ExamSession::getDeadline);
+    }
+
+    /**
+     * 学员主动交卷后结束会话，取消自动交卷
+     */
+    public void markSubmitted(Long examId, Long traineeId) {
+        examSessionRepository.finish(examId, traineeId, SessionStatus.SUBMITTED);
+        draftAutosaveService.discard(examId, traineeId);
+        draftDeadlines.remove(new SubmissionId(examId, traineeId));
+        Timeout timer = sessionTimers.remove(new SubmissionId(examId, traineeId));
+        if (timer != null) {
+            timer.cancel();
+        }
+    }
+
+    private void scheduleSession(ExamSession session) {
+        scheduleSessionTimer(session.getId(), toInstant(session.getDeadline()).plus(autoSubmitGrace));
+    }
+
+    private void scheduleSessionTimer(SubmissionId id, Instant at) {
+        Timeout previous = sessionTimers.put(id, timingWheel.schedule(at, () -> onSessionDeadline(id)));
+        if (previous != null) {
+            previous.cancel();
+        }
+    }
+
+    /**
+     * 执行到时任务（虚拟线程中排队等待许可，同时访问数据库的任务数不超过上限）
+     */
+    private void fire(Runnable task) {
+        executor.execute(() -> {
+            try {
+                timerPermits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            try {
+                task.run();
+            } finally {
+                timerPermits.release();
+            }
+        });
+    }
+
+    private void scheduleExam(ExamMetadata exam) {
+        if (exam.status() == ExamStatus.PUBLISHED) {
+            scheduleExamTimer(exam.examId(), exam.startTime(), () -> onExamStart(exam.examId()));
+        } else if (exam.status() == ExamStatus.IN_PROGRESS) {
+            scheduleExamTimer(exam.examId(), latestDeadline(exam), () -> onExamEnd(exam.examId()));
+        }
+    }
+
+    private void scheduleExamTimer(Long examId, LocalDateTime at, Runnable action) {
+        Timeout previous = examTimers.put(examId, timingWheel.schedule(toInstant(at), action));
+        if (previous != null) {
+            previous.cancel();
+        }
+    }
+
+    /**
+     * 个人截止时间到：仍在作答的会话按草稿自动交卷（结束会话与写入收件箱在同一事务内）
+     */
+    private void onSessionDeadline(SubmissionId id) {
+        try {
+            draftAutosaveService.flush(id.examId(), id.traineeId());
+            Optional<ExamSession> current = examSessionRepository.findById(id.examId(), id.traineeId());
+            if (current.isEmpty() || !current.get().isActive()) {
+                sessionTimers.remove(id);
+                return;
+            }
+
+            ExamSession session = current.get();
+            if (!session.isDue(LocalDateTime.now())) {
+                // 其他节点延长了截止时间
+                scheduleSession(session);
+                return;
+            }
+
+            boolean finished = Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                if (!examSessionRepository.finish(id.examId(), id.traineeId(), SessionStatus.AUTO_SUBMITTED)) {
+                    return false;
+                }
+                inboxRepository.enqueue(id.examId(), id.traineeId(), session.getDraftAnswers(),
+                        session.getDeadline(), session.getDeadline());
+                return true;
+            }));
+            sessionTimers.remove(id);
+            draftDeadlines.remove(id);
+            if (finished) {
+                log.info("到时自动交卷: examId={}, traineeId={}", id.examId(), id.traineeId());
+            }
+        } catch (RuntimeException e) {
+            // 事务已回滚，会话仍在作答中
+            log.error("自动交卷失败，稍后重试: examId={}, traineeId={}", id.examId(), id.traineeId(), e);
+            scheduleSessionTimer(id, Instant.now().plus(autoSubmitGrace));
+        }
+    }
+
+    /**
+     * 开考时间到：开始考试并按结束时间计时
+     */
+    private void onExamStart(Long examId) {
+        try {
+            examService.startExam(examId);
+            log.info("考试已自动开始: examId={}", examId);
+        } catch (DomainException e) {
+            log.debug("考试未自动开始（可能已由其他节点开始）: examId={}, reason={}", examId, e.getMessage());
+        } catch (RuntimeException e) {
+            log.error("考试自动开始失败: examId={}", examId, e);
+        }
+
+        examRepository.findMetadataById(examId).ifPresentOrElse(this::scheduleExam, () -> examTimers.remove(examId));
+    }
+
+    /**
+     * 结束时间到：最晚的个人截止时间也已过去时结束考试
+     */
+    private void onExamEnd(Long examId) {
+        try {
+            Optional<ExamMetadata> exam = examRepository.findMetadataById(examId);
+            if (exam.isEmpty() || exam.get().status() != ExamStatus.IN_PROGRESS) {
+                examTimers.remove(examId);
+                return;
+            }
+
+            LocalDateTime latest = latestDeadline(exam.get());
+            if (latest.isAfter(LocalDateTime.now())) {
+                scheduleExamTimer(examId, latest, () -> onExamEnd(examId));
+                return;
+            }
+
+            examTimers.remove(examId);
+            draftDeadlines.keySet().removeIf(id -> id.examId().equals(examId));
+            examService.completeExam(examId);
+            log.info("考试已自动结束: examId={}", examId);
+        } catch (DomainException e) {
+            log.debug("考试未自动结束（可能已由其他节点结束）: examId={}, reason={}", examId, e.getMessage());
+        } catch (RuntimeException e) {
+            log.error("考试自动结束失败: examId={}", examId, e);
+        }
+    }
+
+    private LocalDateTime latestDeadline(ExamMetadata exam) {
+        return examSessionRepository.findLatestDeadline(exam.examId())
+                .filter(deadline -> deadline.isAfter(exam.endTime()))
+                .orElse(exam.endTime());
+    }
+
+    private ExamSession loadSession(Long examId, Long traineeId) {
+        return examSessionRepository.findById(examId, traineeId)
+                .orElseThrow(() -> DomainException.of("尚未开始作答: examId=" + examId));
+    }
+
+    private static Instant toInstant(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        timingWheel.stop();
+        executor.shutdownNow();
+    }
+}
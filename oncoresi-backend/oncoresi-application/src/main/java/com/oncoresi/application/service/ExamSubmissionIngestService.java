@@ -0,0 +1,312 @@
+package com.oncoresi.application.service;
+
+import com.oncoresi.application.event.AggregateEventDispatcher;
+import com.oncoresi.application.service.ExamGradingService.GradedPaper;
+import com.oncoresi.application.support.ExamMetadataCache;
+import com.oncoresi.domain.aggregate.ExamAggregate.ExamMetadata;
+import com.oncoresi.domain.aggregate.ExamAggregate.ExamType;
+import com.oncoresi.domain.aggregate.ExamSubmission;
+import com.oncoresi.domain.aggregate.ExamSubmission.SubmissionId;
+import com.oncoresi.domain.exception.DomainException;
+import com.oncoresi.domain.repository.ExamSubmissionInboxRepository;
+import com.oncoresi.domain.repository.ExamSubmissionInboxRepository.PendingSubmission;
+import com.oncoresi.domain.repository.ExamSubmissionRepository;
+import com.oncoresi.domain.valueobject.SubmissionReceipt;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 交卷接收服务
+ * <p>
+ * 理论考试截止前大部分学员集中交卷。交卷请求只做轻量校验并写入收件箱即应答，
+ * 后台按批领取、分片并行（并发度受限）评分入库，每个分片一个事务；
+ * 分片失败时逐条在各自的事务中重试，单条交卷达到最大处理次数仍失败时标记为处理失败，回执进入终态。
+ * 学员通过回执查询处理结果，超时重发的请求按 (考试, 学员) 去重，不会重复入队。
+ * 时间窗口按接收时间与学员个人截止时间（含延时）校验，截止前收到的答卷在截止后处理仍然有效。
+ * <p>
+ * 收件箱处理在交卷高峰时持续较长时间，使用独立线程定时执行，不占用其他定时任务共用的调度线程。
+ */
+@Slf4j
+@Service
+public class ExamSubmissionIngestService {
+
+    private static final String DUPLICATE_REASON = "答卷已提交，无法重复提交";
+
+    private static final String UNFINISHED_REASON = "多次处理未完成";
+
+    /**
+     * 失败原因的最大长度（reject_reason 列宽）
+     */
+    private static final int MAX_REASON_LENGTH = 60;
+
+    private final ExamSubmissionInboxRepository inboxRepository;
+
+    private final ExamSubmissionRepository examSubmissionRepository;
+
+    private final ExamMetadataCache examMetadataCache;
+
+    private final ExamSessionService examSessionService;
+
+    private final ExamGradingService examGradingService;
+
+    private final ItemAnalysisService itemAnalysisService;
+
+    private final AggregateEventDispatcher eventDispatcher;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final ScheduledExecutorService drainer = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("submission-drain").daemon().factory());
+
+    private final int batchSize;
+
+    private final int parallelism;
+
+    private final Duration claimLease;
+
+    private final long drainMillis;
+
+    private final int maxAttempts;
+
+    public ExamSubmissionIngestService(ExamSubmissionInboxRepository inboxRepository,
+                                       ExamSubmissionRepository examSubmissionRepository,
+                                       ExamMetadataCache examMetadataCache,
+                                       ExamSessionService examSessionService,
+                                       ExamGradingService examGradingService,
+                                       ItemAnalysisService itemAnalysisService,
+                                       AggregateEventDispatcher eventDispatcher,
+                                       PlatformTransactionManager transactionManager,
+                                       @Value("${oncoresi.command.submission-ingest.batch-size:200}") int batchSize,
+                                       @Value("${oncoresi.command.submission-ingest.parallelism:4}") int parallelism,
+                                       @Value("${oncoresi.command.submission-ingest.claim-lease:PT1M}")
+                                       Duration claimLease,
+                                       @Value("${oncoresi.command.submission-ingest.drain-interval:200}")
+                                       long drainMillis,
+                                       @Value("${oncoresi.command.submission-ingest.max-attempts:3}")
+                                       int maxAttempts) {
+        this.inboxRepository = inboxRepository;
+        this.examSubmissionRepository = examSubmissionRepository;
+        this.examMetadataCache = examMetadataCache;
+        this.examSessionService = examSessionService;
+        this.examGradingService = examGradingService;
+        this.itemAnalysisService = itemAnalysisService;
+        this.eventDispatcher = eventDispatcher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.parallelism = parallelism;
+        this.claimLease = claimLease;
+        this.drainMillis = drainMillis;
+        this.maxAttempts = maxAttempts;
+    }
+
+    /**
+     * 接收交卷请求
+     * 考试不在进行中或已过个人截止时间时直接拒绝；否则写入收件箱、结束作答会话后返回回执
+     * （重复提交返回第一次的回执）
+     */
+    public SubmissionReceipt receive(Long examId, Long traineeId, List<String> answers) {
+        LocalDateTime receivedAt = LocalDateTime.now();
+        ExamMetadata exam = examMetadataCache.get(examId);
+        if (exam.examType() == ExamType.ADAPTIVE) {
+            throw DomainException.of("自适应考试逐题作答，作答结束时自动交卷");
+        }
+        LocalDateTime deadline = examSessionService.findDeadline(examId, traineeId).orElse(exam.endTime());
+        exam.checkAcceptingSubmissionsUntil(deadline);
+
+        boolean enqueued = inboxRepository.enqueue(examId, traineeId, answers, receivedAt, deadline);
+        if (!enqueued) {
+            log.debug("重复交卷请求，返回已有回执: examId={}, traineeId={}", examId, traineeId);
+        }
+        examSessionService.markSubmitted(examId, traineeId);
+
+        return getReceipt(examId, traineeId);
+    }
+
+    /**
+     * 查询交卷回执
+     */
+    public SubmissionReceipt getReceipt(Long examId, Long traineeId) {
+        return inboxRepository.findReceipt(examId, traineeId)
+                .orElseThrow(() -> DomainException.of("未找到交卷记录: examId=" + examId));
+    }
+
+    /**
+     * 启动定时处理收件箱
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        drainer.scheduleWithFixedDelay(() -> {
+            try {
+                drain();
+            } catch (RuntimeException e) {
+                // 异常会取消后续执行，在这里记录后继续
+                log.error("收件箱定时处理异常", e);
+            }
+        }, drainMillis, drainMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 处理收件箱：每轮领取 parallelism 个分片，直到收件箱为空
+     * 领取次数已超过上限的请求（此前的处理在节点失效前都未完成）直接标记为处理失败
+     */
+    public void drain() {
+        int claimLimit = batchSize * parallelism;
+        List<PendingSubmission> claimed;
+        do {
+            claimed = inboxRepository.claim(claimLimit, LocalDateTime.now().minus(claimLease));
+            if (claimed.isEmpty()) {
+                return;
+            }
+
+            List<PendingSubmission> processable = new ArrayList<>(claimed.size());
+            Map<Long, String> exhausted = new LinkedHashMap<>();
+            for (PendingSubmission pending : claimed) {
+                if (pending.attempts() > maxAttempts) {
+                    exhausted.put(pending.id(), UNFINISHED_REASON);
+                } else {
+                    processable.add(pending);
+                }
+            }
+            if (!exhausted.isEmpty()) {
+                log.error("交卷请求多次处理未完成，标记为处理失败: inboxIds={}", exhausted.keySet());
+                inboxRepository.markFailed(exhausted);
+            }
+
+            List<Future<?>> futures = new ArrayList<>(parallelism);
+            for (int from = 0; from < processable.size(); from += batchSize) {
+                List<PendingSubmission> chunk = processable.subList(from,
+                        Math.min(from + batchSize, processable.size()));
+                futures.add(executor.submit(() -> processChunk(chunk)));
+            }
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (Exception e) {
+                    // 分片意外中断时请求保持处理中，租约到期后重新领取
+                    log.error("交卷分片处理失败，等待租约到期后重试", e);
+                }
+            }
+        } while (claimed.size() == claimLimit);
+    }
+
+    /**
+     * 处理一个分片；分片事务失败时逐条重试，避免一条异常数据拖住整个分片反复重试
+     */
+    private void processChunk(List<PendingSubmission> chunk) {
+        try {
+            processInTransaction(chunk);
+        } catch (RuntimeException e) {
+            if (chunk.size() == 1) {
+                handleFailure(chunk.get(0), e);
+                return;
+            }
+            log.warn("交卷分片处理失败，逐条重试: size={}", chunk.size(), e);
+            for (PendingSubmission pending : chunk) {
+                try {
+                    processInTransaction(List.of(pending));
+                } catch (RuntimeException single) {
+                    handleFailure(pending, single);
+                }
+            }
+        }
+    }
+
+    /**
+     * 单条交卷处理失败：未达到最大处理次数时保持处理中，租约到期后重新领取；否则标记为处理失败
+     */
+    private void handleFailure(PendingSubmission pending, RuntimeException e) {
+        if (pending.attempts() < maxAttempts) {
+            log.warn("交卷处理失败，等待租约到期后重试: inboxId={}, examId={}, traineeId={}, attempts={}",
+                    pending.id(), pending.examId(), pending.traineeId(), pending.attempts(), e);
+            return;
+        }
+        log.error("交卷处理失败次数已达上限，标记为处理失败: inboxId={}, examId={}, traineeId={}, attempts={}",
+                pending.id(), pending.examId(), pending.traineeId(), pending.attempts(), e);
+        inboxRepository.markFailed(Map.of(pending.id(), failureReason(e)));
+    }
+
+    private static String failureReason(RuntimeException e) {
+        String reason = "处理失败: " + (e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+        return reason.length() > MAX_REASON_LENGTH ? reason.substring(0, MAX_REASON_LENGTH) : reason;
+    }
+
+    /**
+     * 在一个事务内评分入库一批交卷，并更新收件箱状态（没有标准答案的考试入库为待评分）
+     */
+    private void processInTransaction(List<PendingSubmission> chunk) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Map<SubmissionId, Long> inboxIds = new HashMap<>();
+            Map<SubmissionId, GradedPaper> papers = new HashMap<>();
+            List<ExamSubmission> submissions = new ArrayList<>(chunk.size());
+            Map<Long, String> rejected = new LinkedHashMap<>();
+
+            // 评分前锁定标准答案版本，与更正标准答案的重新评分互斥
+            Set<Long> examIds = new LinkedHashSet<>();
+            chunk.forEach(pending -> examIds.add(pending.examId()));
+            examGradingService.lockAnswerKeys(examIds);
+
+            for (PendingSubmission pending : chunk) {
+                try {
+                    Optional<GradedPaper> graded = examGradingService.gradePaper(
+                            pending.examId(), pending.traineeId(), pending.answers());
+                    ExamSubmission submission = ExamSubmission.submit(
+                            examMetadataCache.get(pending.examId()), pending.traineeId(), pending.answers(),
+                            graded.map(paper -> paper.result().score()).orElse(null),
+                            pending.receiveTime(), pending.deadline());
+                    submissions.add(submission);
+                    inboxIds.put(submission.getId(), pending.id());
+                    graded.ifPresent(paper -> papers.put(submission.getId(), paper));
+                } catch (DomainException e) {
+                    rejected.put(pending.id(), e.getMessage());
+                }
+            }
+
+            List<ExamSubmission> added = examSubmissionRepository.addAll(submissions);
+            itemAnalysisService.record(added, papers);
+            List<Long> accepted = new ArrayList<>(added.size());
+            for (ExamSubmission submission : added) {
+                accepted.add(inboxIds.remove(submission.getId()));
+                eventDispatcher.dispatch(submission);
+            }
+            // 未能新增的是已通过其他途径交过卷的学员
+            inboxIds.values().forEach(id -> rejected.put(id, DUPLICATE_REASON));
+
+            inboxRepository.markAccepted(accepted);
+            inboxRepository.markRejected(rejected);
+
+            log.debug("交卷分片已处理: size={}, accepted={}, rejected={}",
+                    chunk.size(), accepted.size(), rejected.size());
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // 中断的分片保持处理中，租约到期后由其他节点重新领取
+        drainer.shutdownNow();
+        executor.shutdownNow();
+    }
+}
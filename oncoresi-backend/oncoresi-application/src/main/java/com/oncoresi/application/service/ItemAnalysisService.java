@@ -0,0 +1,118 @@
+package com.oncoresi.application.service;
+
+import com.oncoresi.application.service.ExamGradingService.GradedPaper;
+import com.oncoresi.domain.aggregate.ExamSubmission;
+import com.oncoresi.domain.aggregate.ExamSubmission.SubmissionId;
+import com.oncoresi.domain.aggregate.Question;
+import com.oncoresi.domain.repository.ItemStatisticsRepository;
+import com.oncoresi.domain.service.ItemResponseTally;
+import com.oncoresi.domain.valueobject.AnswerKey.ItemType;
+import com.oncoresi.domain.valueobject.ItemScoreBucket;
+import com.oncoresi.domain.valueobject.ItemStatistics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 题目分析应用服务
+ * <p>
+ * 答卷入库时在同一事务内按 (考试, 题目, 作答者总成绩) 累加逐题作答计数，一批答卷对每个计数桶只写一次；
+ * 查询时合并题目的计数桶（每道题每场考试最多 101 行）算出难度、区分度与干扰项统计，不回看答卷。
+ * 只统计题目来自题库的试卷（共用试卷、逐人组卷）；重新评分不回溯调整已累加的计数。
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ItemAnalysisService {
+
+    private final ItemStatisticsRepository itemStatisticsRepository;
+
+    private final QuestionBankService questionBankService;
+
+    /**
+     * 考试中一道题的统计
+     */
+    public record QuestionStatistics(Question question, ItemStatistics statistics) {
+    }
+
+    /**
+     * 累加新入库答卷的逐题作答（调用方在写入答卷的事务内调用）
+     *
+     * @param papers 入库时评分得到的逐题作答（不重新评分；没有题目信息的答卷不统计）
+     */
+    public void record(List<ExamSubmission> submissions, Map<SubmissionId, GradedPaper> papers) {
+        ItemResponseTally tally = new ItemResponseTally();
+        for (ExamSubmission submission : submissions) {
+            GradedPaper paper = papers.get(submission.getId());
+            if (paper == null || paper.questions().isEmpty() || !submission.isGraded()) {
+                continue;
+            }
+
+            int score = submission.getScore().score();
+            for (int i = 0; i < paper.questions().size(); i++) {
+                tally.record(submission.getExamId(), paper.questions().get(i).getId(), score,
+                        paper.answerBits(i), paper.result().isCorrect(i));
+            }
+        }
+        if (!tally.isEmpty()) {
+            itemStatisticsRepository.addAll(tally.buckets());
+        }
+    }
+
+    /**
+     * 查询题目在全部考试中的统计
+     */
+    public ItemStatistics getQuestionStatistics(Long questionId) {
+        Question question = questionBankService.getQuestion(questionId);
+        return ItemStatistics.summarize(questionId, optionCount(question),
+                itemStatisticsRepository.findByQuestionId(questionId));
+    }
+
+    /**
+     * 批量查询多道题目在全部考试中的统计
+     *
+     * @return questionId -> 统计（按题目顺序）
+     */
+    public Map<Long, ItemStatistics> getQuestionStatistics(List<Question> questions) {
+        Map<Long, List<ItemScoreBucket>> byQuestion = new HashMap<>();
+        List<Long> questionIds = questions.stream().map(Question::getId).toList();
+        for (ItemScoreBucket bucket : itemStatisticsRepository.findByQuestionIds(questionIds)) {
+            byQuestion.computeIfAbsent(bucket.questionId(), id -> new ArrayList<>()).add(bucket);
+        }
+
+        Map<Long, ItemStatistics> statistics = new LinkedHashMap<>();
+        for (Question question : questions) {
+            statistics.put(question.getId(), ItemStatistics.summarize(question.getId(), optionCount(question),
+                    byQuestion.getOrDefault(question.getId(), List.of())));
+        }
+        return statistics;
+    }
+
+    /**
+     * 查询一场考试全部题目的统计（按题目ID排序）
+     */
+    public List<QuestionStatistics> getExamItemStatistics(Long examId) {
+        Map<Long, List<ItemScoreBucket>> byQuestion = new LinkedHashMap<>();
+        for (ItemScoreBucket bucket : itemStatisticsRepository.findByExamId(examId)) {
+            byQuestion.computeIfAbsent(bucket.questionId(), id -> new ArrayList<>()).add(bucket);
+        }
+
+        List<QuestionStatistics> statistics = new ArrayList<>(byQuestion.size());
+        byQuestion.forEach((questionId, buckets) -> {
+            Question question = questionBankService.getQuestion(questionId);
+            statistics.add(new QuestionStatistics(question,
+                    ItemStatistics.summarize(questionId, optionCount(question), buckets)));
+        });
+        return statistics;
+    }
+
+    private static int optionCount(Question question) {
+        return question.getType() == ItemType.TRUE_FALSE ? 2 : question.getOptions().size();
+    }
+}
@@ -0,0 +1,271 @@
+package com.oncoresi.application.service;
+
+import com.oncoresi.domain.aggregate.Question;
+import com.oncoresi.domain.exception.DomainException;
+import com.oncoresi.domain.repository.PracticeCardRepository;
+import com.oncoresi.domain.service.PracticeQueue;
+import com.oncoresi.domain.service.PracticeQueue.Changes;
+import com.oncoresi.domain.valueobject.AnswerKey.OptionCodec;
+import com.oncoresi.domain.valueobject.CourseCategory;
+import com.oncoresi.domain.valueobject.PracticeCard;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+/**
+ * 日常练习应用服务（间隔重复）
+ * <p>
+ * 每名学员对练习过的每道题保存一张卡片（SM-2 状态）。学员首次练习时把全部卡片一次加载为按到期时间排序的
+ * 内存队列，出题只看队首：有到期的题目先复习，没有时从所选学科抽一道未练习过的新题（每日新题数有上限）；
+ * 练习结果只更新内存队列，定时把修改过的卡片批量写回，空闲的队列写回后释放。
+ * <p>
+ * 同一学员同时在多个节点练习时，各节点的队列在释放前互不可见：作答时与数据库中已写回的卡片合并，
+ * 以练习时间较新的状态为基础安排复习（其他节点已练习过的题目不会被当作新题重新开始）；
+ * 写回按练习时间条件更新，较旧的状态不会覆盖较新的。其他节点尚未写回（一个写回间隔内）的练习仍可能被覆盖。
+ * 进程崩溃时丢失最近一个写回间隔内的练习进度（只影响复习安排，不影响考试与成绩）。
+ */
+@Slf4j
+@Service
+public class PracticeService {
+
+    /**
+     * 随机抽取新题的尝试次数，均已练习过时再顺序查找
+     */
+    private static final int NEW_QUESTION_PROBES = 8;
+
+    private final PracticeCardRepository practiceCardRepository;
+
+    private final QuestionBankService questionBankService;
+
+    private final int newPerDay;
+
+    private final long idleTimeoutNanos;
+
+    private final Map<Long, Entry> queues = new ConcurrentHashMap<>();
+
+    public PracticeService(PracticeCardRepository practiceCardRepository,
+                           QuestionBankService questionBankService,
+                           @Value("${oncoresi.command.practice.new-per-day:20}") int newPerDay,
+                           @Value("${oncoresi.command.practice.idle-timeout:PT10M}") Duration idleTimeout) {
+        this.practiceCardRepository = practiceCardRepository;
+        this.questionBankService = questionBankService;
+        this.newPerDay = newPerDay;
+        this.idleTimeoutNanos = idleTimeout.toNanos();
+    }
+
+    /**
+     * 内存中的学员队列（按 Entry 加锁；释放后关闭，持有旧引用的请求重新加载）
+     */
+    private static final class Entry {
+
+        private final PracticeQueue queue;
+
+        private long lastAccessNanos = System.nanoTime();
+
+        private boolean closed;
+
+        private Entry(PracticeQueue queue) {
+            this.queue = queue;
+        }
+    }
+
+    /**
+     * 练习题目
+     *
+     * @param card 复习题的卡片（新题为空）
+     */
+    public record PracticeItem(Question question, PracticeCard card) {
+
+        public boolean isReview() {
+            return card != null;
+        }
+    }
+
+    /**
+     * 练习结果
+     *
+     * @param card 更新后的卡片
+     */
+    public record PracticeResult(Question question, boolean correct, PracticeCard card) {
+    }
+
+    /**
+     * 下一道练习题（到期复习优先，不分学科；没有到期题目时按学科与课程类别出新题）
+     *
+     * @param category 课程类别（为空表示不限）
+     * @return 今日没有到期题目且新题已达上限（或没有可练习的新题）时为空
+     */
+    public Optional<PracticeItem> next(Long traineeId, String subject, CourseCategory category) {
+        return withQueue(traineeId, queue -> {
+            LocalDateTime now = LocalDateTime.now();
+            Optional<PracticeCard> due = queue.peekDue(now);
+            while (due.isPresent()) {
+                Question question = questionBankService.getQuestion(due.get().questionId());
+                if (question.isActive()) {
+                    return Optional.of(new PracticeItem(question, due.get()));
+                }
+                queue.remove(question.getId());
+                due = queue.peekDue(now);
+            }
+
+            if (queue.introducedOn(now.toLocalDate()) >= newPerDay) {
+                return Optional.empty();
+            }
+            return pickNewQuestion(queue, questionBankService.findActiveQuestions(subject, category))
+                    .map(question -> new PracticeItem(question, null));
+        });
+    }
+
+    /**
+     * 提交练习作答，按是否答对安排下次复习
+     * 未练习过的题目作为新题计入当日新题数，已达每日上限时拒绝
+     */
+    public PracticeResult answer(Long traineeId, Long questionId, String answer) {
+        Question question = questionBankService.getQuestion(questionId);
+        if (!question.isActive()) {
+            throw DomainException.of("题目已停用: " + questionId);
+        }
+        int answerBits = OptionCodec.encode(question.getType(), answer);
+        boolean correct = answerBits != 0
+                && answerBits == OptionCodec.encode(question.getType(), question.getCorrectOptions());
+        int quality = correct ? PracticeCard.QUALITY_CORRECT : PracticeCard.QUALITY_INCORRECT;
+        // 在队列锁外查询，其他节点写回的卡片可能比本地队列中的新
+        Optional<PracticeCard> persisted = practiceCardRepository.findById(traineeId, questionId);
+
+        return withQueue(traineeId, queue -> {
+            LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+            Optional<PracticeCard> existing = newer(queue.find(questionId), persisted);
+            if (existing.isEmpty() && queue.introducedOn(now.toLocalDate()) >= newPerDay) {
+                throw DomainException.of("今日新题练习已达上限: " + newPerDay);
+            }
+            PracticeCard card = existing
+                    .map(previous -> previous.review(quality, now))
+                    .orElseGet(() -> PracticeCard.introduce(traineeId, questionId, quality, now));
+            queue.put(card);
+            return new PracticeResult(question, correct, card);
+        });
+    }
+
+    /**
+     * 批量写回修改过的卡片，并释放空闲且已全部写回的队列
+     */
+    @Scheduled(fixedDelayString = "${oncoresi.command.practice.flush-interval:5000}")
+    public void flush() {
+        long now = System.nanoTime();
+        List<Changes> drained = new ArrayList<>();
+        queues.forEach((traineeId, entry) -> {
+            synchronized (entry) {
+                if (entry.queue.hasChanges()) {
+                    drained.add(entry.queue.drainChanges());
+                } else if (now - entry.lastAccessNanos > idleTimeoutNanos) {
+                    entry.closed = true;
+                    queues.remove(traineeId, entry);
+                }
+            }
+        });
+        if (drained.isEmpty()) {
+            return;
+        }
+
+        long startNanos = System.nanoTime();
+        List<PracticeCard> saved = new ArrayList<>();
+        drained.forEach(changes -> saved.addAll(changes.saved()));
+        try {
+            int written = practiceCardRepository.saveAll(saved);
+            for (Changes changes : drained) {
+                practiceCardRepository.deleteAll(changes.traineeId(), changes.removed());
+            }
+            log.debug("练习卡片已写回: trainees={}, cards={}, written={}, cost={}ms", drained.size(), saved.size(),
+                    written, Duration.ofNanos(System.nanoTime() - startNanos).toMillis());
+        } catch (RuntimeException e) {
+            // 队列只在没有待写回修改时释放，放回时队列仍在内存中
+            for (Changes changes : drained) {
+                Entry entry = queues.get(changes.traineeId());
+                if (entry != null) {
+                    synchronized (entry) {
+                        entry.queue.restoreChanges(changes);
+                    }
+                }
+            }
+            log.error("练习卡片写回失败，下次重试: trainees={}, cards={}", drained.size(), saved.size(), e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    /**
+     * 在学员队列上执行操作（队列不在内存中时加载）
+     */
+    private <T> T withQueue(Long traineeId, Function<PracticeQueue, T> action) {
+        while (true) {
+            Entry entry = queues.computeIfAbsent(traineeId, this::load);
+            synchronized (entry) {
+                if (!entry.closed) {
+                    entry.lastAccessNanos = System.nanoTime();
+                    return action.apply(entry.queue);
+                }
+            }
+        }
+    }
+
+    private Entry load(Long traineeId) {
+        long startNanos = System.nanoTime();
+        PracticeQueue queue = PracticeQueue.load(traineeId, practiceCardRepository.findByTraineeId(traineeId),
+                LocalDate.now());
+        log.debug("练习队列已加载: traineeId={}, cards={}, cost={}ms", traineeId, queue.size(),
+                Duration.ofNanos(System.nanoTime() - startNanos).toMillis());
+        return new Entry(queue);
+    }
+
+    private static Optional<PracticeCard> newer(Optional<PracticeCard> local, Optional<PracticeCard> persisted) {
+        if (local.isEmpty()) {
+            return persisted;
+        }
+        if (persisted.isEmpty() || !persisted.get().reviewTime().isAfter(local.get().reviewTime())) {
+            return local;
+        }
+        return persisted;
+    }
+
+    /**
+     * 从候选题目中抽一道学员未练习过的题目
+     */
+    private static Optional<Question> pickNewQuestion(PracticeQueue queue, List<Question> candidates) {
+        if (candidates.isEmpty()) {
+            return Optional.empty();
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < NEW_QUESTION_PROBES; i++) {
+            Question question = candidates.get(random.nextInt(candidates.size()));
+            if (!queue.contains(question.getId())) {
+                return Optional.of(question);
+            }
+        }
+        int offset = random.nextInt(candidates.size());
+        for (int i = 0; i < candidates.size(); i++) {
+            Question question = candidates.get((offset + i) % candidates.size());
+            if (!queue.contains(question.getId())) {
+                return Optional.of(question);
+            }
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,364 @@
+package com.oncoresi.application.service;
+
+import com.oncoresi.application.support.ExamMetadataCache;
+import com.oncoresi.domain.aggregate.ExamAggregate.ExamMetadata;
+import com.oncoresi.domain.aggregate.ExamAggregate.ExamStatus;
+import com.oncoresi.domain.aggregate.ExamAggregate.ExamType;
+import com.oncoresi.domain.aggregate.Question;
+import com.oncoresi.domain.exception.DomainException;
+import com.oncoresi.domain.repository.ExamPaperRepository;
+import com.oncoresi.domain.repository.ExamPaperRepository.SharedPaper;
+import com.oncoresi.domain.repository.QuestionRepository;
+import com.oncoresi.domain.service.PaperAssembler;
+import com.oncoresi.domain.service.PaperShuffle;
+import com.oncoresi.domain.service.QuestionIndex;
+import com.oncoresi.domain.valueobject.AnswerKey.ItemType;
+import com.oncoresi.domain.valueobject.CourseCategory;
+import com.oncoresi.domain.valueobject.ExamPaper;
+import com.oncoresi.domain.valueobject.PaperBlueprint;
+import com.oncoresi.domain.valueobject.SharedExamPaper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 题库与组卷应用服务
+ * <p>
+ * 题库整体加载为内存索引快照，组卷只在内存中筛选与抽样；本节点修改题库（录入、停用、组卷使用）后
+ * 在当前快照上增量生成新快照，不重新查询题库；其他节点的修改按刷新间隔全量重建后生效。
+ * 每次本地修改有一个序号，全量重建时重新应用查询开始后的本地修改，查询结果不会覆盖更新的本地修改。
+ * 组卷有两种方式：
+ * <ul>
+ *     <li>逐人组卷：每名考生抽取不同的题目，每人一份试卷，一次批量写入；</li>
+ *     <li>共用试卷：全体考生共用一份基准试卷，只保存一行；个人的题目与选项顺序由密钥推导，
+ *     展示与评分时现场计算，逐人保存的只有答卷。</li>
+ * </ul>
+ * 共用试卷按考试缓存（与考试元数据相同的短 TTL），评分时无需每份答卷查询一次。
+ */
+@Slf4j
+@Service
+public class QuestionBankService {
+
+    private final QuestionRepository questionRepository;
+
+    private final ExamPaperRepository examPaperRepository;
+
+    private final ExamMetadataCache examMetadataCache;
+
+    private final long ttlNanos;
+
+    private final SecureRandom secretGenerator = new SecureRandom();
+
+    private final Map<Long, SharedEntry> sharedPapers = new ConcurrentHashMap<>();
+
+    private volatile QuestionIndex index = QuestionIndex.build(List.of());
+
+    /**
+     * 修改快照时持有（本地修改与全量重建安装快照）
+     */
+    private final Object indexLock = new Object();
+
+    /**
+     * 全量重建互斥（较早开始的查询结果不会覆盖较新的）
+     */
+    private final Object refreshLock = new Object();
+
+    private long changeSequence;
+
+    /**
+     * 本地修改序号 -> 变更后的题目（全量重建的查询开始后仍需重新应用的部分）
+     */
+    private final NavigableMap<Long, List<Question>> localChanges = new TreeMap<>();
+
+    public QuestionBankService(QuestionRepository questionRepository,
+                               ExamPaperRepository examPaperRepository,
+                               ExamMetadataCache examMetadataCache,
+                               @Value("${oncoresi.command.exam-metadata.ttl:PT5S}") Duration ttl) {
+        this.questionRepository = questionRepository;
+        this.examPaperRepository = examPaperRepository;
+        this.examMetadataCache = examMetadataCache;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    private record SharedEntry(Optional<SharedExamPaper> paper, long expiresAt) {
+    }
+
+    /**
+     * 全量重建题库索引（加载其他节点的修改）
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${oncoresi.command.question-bank.refresh-interval:60000}",
+            initialDelayString = "${oncoresi.command.question-bank.refresh-interval:60000}")
+    public void refreshIndex() {
+        synchronized (refreshLock) {
+            long since;
+            synchronized (indexLock) {
+                since = changeSequence;
+            }
+            // 本地修改提交后才记录序号，序号不超过 since 的修改一定包含在查询结果中
+            List<Question> questions = questionRepository.findAll();
+            QuestionIndex rebuilt = QuestionIndex.build(questions);
+
+            synchronized (indexLock) {
+                localChanges.headMap(since, true).clear();
+                for (List<Question> changed : localChanges.values()) {
+                    rebuilt = rebuilt.withChanges(changed);
+                }
+                this.index = rebuilt;
+            }
+            log.debug("题库索引已重建: total={}, active={}", questions.size(), rebuilt.size());
+        }
+    }
+
+    /**
+     * 录入题目
+     */
+    public Long addQuestion(String subject, CourseCategory category, ItemType type, int difficulty,
+                            String stem, List<String> options, String correctOptions, int points) {
+        Question question = questionRepository.save(
+                Question.create(subject, category, type, difficulty, stem, options, correctOptions, points));
+        applyChanges(List.of(question));
+        return question.getId();
+    }
+
+    /**
+     * 停用题目
+     */
+    public void retireQuestion(Long questionId) {
+        Question question = questionRepository.findById(questionId)
+                .orElseThrow(() -> DomainException.of("题目不存在: " + questionId));
+        question.retire();
+        questionRepository.save(question);
+        applyChanges(List.of(question));
+    }
+
+    /**
+     * 为考生逐人随机组卷
+     *
+     * @param seed 随机种子（相同题库、蓝图与种子组出相同的试卷）
+     * @return 组卷数量
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public int assemblePapers(Long examId, PaperBlueprint blueprint, List<Long> traineeIds, long seed) {
+        checkAssemblable(examId);
+
+        LocalDateTime now = LocalDateTime.now();
+        long startNanos = System.nanoTime();
+        PaperAssembler assembler = new PaperAssembler(index, blueprint, now);
+        SplittableRandom random = new SplittableRandom(seed);
+
+        Map<Long, List<Long>> papers = new LinkedHashMap<>();
+        Set<Long> usedQuestionIds = new LinkedHashSet<>();
+        for (Long traineeId : new LinkedHashSet<>(traineeIds)) {
+            ExamPaper paper = assembler.assemble(examId, traineeId, random.split());
+            papers.put(traineeId, paper.questionIds());
+            usedQuestionIds.addAll(paper.questionIds());
+        }
+        long assembleMillis = (System.nanoTime() - startNanos) / 1_000_000;
+
+        examPaperRepository.saveAll(examId, papers);
+        markUsed(usedQuestionIds, now);
+
+        log.info("考试组卷完成: examId={}, papers={}, distinctQuestions={}, assembleCost={}ms",
+                examId, papers.size(), usedQuestionIds.size(), assembleMillis);
+        return papers.size();
+    }
+
+    /**
+     * 组一份全体考生共用的试卷（考生个人的题目与选项顺序由随机生成的密钥推导）
+     *
+     * @param seed 随机种子（相同题库、蓝图与种子抽出相同的题目）
+     * @return 试卷题数
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public int assembleSharedPaper(Long examId, PaperBlueprint blueprint, long seed) {
+        checkAssemblable(examId);
+
+        LocalDateTime now = LocalDateTime.now();
+        ExamPaper paper = new PaperAssembler(index, blueprint, now).assemble(examId, null, new SplittableRandom(seed));
+        examPaperRepository.saveShared(examId, paper.questionIds(), secretGenerator.nextLong());
+        markUsed(new LinkedHashSet<>(paper.questionIds()), now);
+        sharedPapers.remove(examId);
+
+        log.info("考试共用试卷组卷完成: examId={}, questions={}, averageDifficulty={}",
+                examId, paper.questions().size(), paper.averageDifficulty());
+        return paper.questions().size();
+    }
+
+    /**
+     * 查询考生看到的试卷：共用试卷按考生推导的顺序重排，否则为逐人组成的试卷
+     */
+    public ExamPaper getCandidatePaper(Long examId, Long traineeId) {
+        checkStarted(examId);
+
+        Optional<SharedExamPaper> shared = findSharedPaper(examId);
+        if (shared.isPresent()) {
+            return shuffleFor(shared.get(), traineeId).apply(shared.get().basePaper(), traineeId);
+        }
+        return findPaper(examId, traineeId)
+                .orElseThrow(() -> DomainException.of("未找到本人试卷: examId=" + examId));
+    }
+
+    /**
+     * 查询考试开始后的共用试卷（基准顺序，供所有考生下载后自行重排）
+     */
+    public ExamPaper getStartedSharedPaper(Long examId) {
+        checkStarted(examId);
+        return findSharedPaper(examId)
+                .orElseThrow(() -> DomainException.of("考试未使用共用试卷: " + examId))
+                .basePaper();
+    }
+
+    /**
+     * 查询考生在共用试卷上的个人种子（客户端据此重排题目与选项）
+     */
+    public long getCandidateSeed(Long examId, Long traineeId) {
+        checkStarted(examId);
+        SharedExamPaper shared = findSharedPaper(examId)
+                .orElseThrow(() -> DomainException.of("考试未使用共用试卷: " + examId));
+        return PaperShuffle.candidateSeed(shared.shuffleSecret(), examId, traineeId);
+    }
+
+    /**
+     * 推导考生在共用试卷上的题目与选项顺序
+     */
+    public PaperShuffle shuffleFor(SharedExamPaper paper, Long traineeId) {
+        return PaperShuffle.derive(paper.shuffleSecret(), paper.examId(), traineeId, paper.basePaper().questions());
+    }
+
+    /**
+     * 查询考试共用试卷（未组卷时为空）
+     */
+    public Optional<SharedExamPaper> findSharedPaper(Long examId) {
+        long now = System.nanoTime();
+        SharedEntry entry = sharedPapers.get(examId);
+        if (entry != null && now - entry.expiresAt() < 0) {
+            return entry.paper();
+        }
+
+        return sharedPapers.compute(examId, (id, existing) -> existing != null && now - existing.expiresAt() < 0
+                ? existing
+                : new SharedEntry(examPaperRepository.findShared(id).map(shared -> toSharedPaper(id, shared)),
+                System.nanoTime() + ttlNanos)).paper();
+    }
+
+    /**
+     * 查询逐人组成的考生试卷（未单独组卷时为空）
+     */
+    public Optional<ExamPaper> findPaper(Long examId, Long traineeId) {
+        return examPaperRepository.findQuestionIds(examId, traineeId)
+                .map(questionIds -> new ExamPaper(examId, traineeId, loadQuestions(questionIds)));
+    }
+
+    /**
+     * 查询学科（及课程类别）下的全部可用题目（结果在索引快照内缓存，不可修改）
+     *
+     * @param category 课程类别（为空表示不限）
+     */
+    public List<Question> findActiveQuestions(String subject, CourseCategory category) {
+        return index.find(subject, category);
+    }
+
+    /**
+     * 查询题目（含已停用）
+     */
+    public Question getQuestion(Long questionId) {
+        return index.findById(questionId)
+                .or(() -> questionRepository.findById(questionId))
+                .orElseThrow(() -> DomainException.of("题目不存在: " + questionId));
+    }
+
+    /**
+     * 记录组卷使用时间，事务提交后更新到索引快照（冷却期筛选据此排除）
+     */
+    private void markUsed(Set<Long> questionIds, LocalDateTime usedTime) {
+        questionRepository.markUsed(questionIds, usedTime);
+        Runnable apply = () -> {
+            synchronized (indexLock) {
+                QuestionIndex snapshot = index;
+                applyChanges(questionIds.stream()
+                        .map(snapshot::findById)
+                        .flatMap(Optional::stream)
+                        .map(question -> question.usedAt(usedTime))
+                        .toList());
+            }
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply.run();
+            }
+        });
+    }
+
+    /**
+     * 在当前快照上应用本节点已提交的题目变更，并记录序号供全量重建时重新应用
+     */
+    private void applyChanges(List<Question> changed) {
+        if (changed.isEmpty()) {
+            return;
+        }
+        synchronized (indexLock) {
+            localChanges.put(++changeSequence, changed);
+            this.index = index.withChanges(changed);
+        }
+    }
+
+    private void checkAssemblable(Long examId) {
+        ExamMetadata exam = examMetadataCache.get(examId);
+        if (exam.examType() != ExamType.THEORY) {
+            throw DomainException.of("只有理论考试可以组卷");
+        }
+        if (exam.status() != ExamStatus.DRAFT && exam.status() != ExamStatus.PUBLISHED) {
+            throw DomainException.of("考试已开始，无法重新组卷");
+        }
+    }
+
+    private void checkStarted(Long examId) {
+        ExamStatus status = examMetadataCache.get(examId).status();
+        if (status == ExamStatus.DRAFT || status == ExamStatus.PUBLISHED) {
+            throw DomainException.of("考试未开始，无法查看试卷");
+        }
+    }
+
+    private SharedExamPaper toSharedPaper(Long examId, SharedPaper shared) {
+        return new SharedExamPaper(new ExamPaper(examId, null, loadQuestions(shared.questionIds())),
+                shared.shuffleSecret());
+    }
+
+    private List<Question> loadQuestions(List<Long> questionIds) {
+        QuestionIndex snapshot = index;
+        List<Question> questions = new ArrayList<>(questionIds.size());
+        for (Long questionId : questionIds) {
+            questions.add(snapshot.findById(questionId)
+                    .or(() -> questionRepository.findById(questionId))
+                    .orElseThrow(() -> DomainException.of("试卷题目不存在: " + questionId)));
+        }
+        return questions;
+    }
+}
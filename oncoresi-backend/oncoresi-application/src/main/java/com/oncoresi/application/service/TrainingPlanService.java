@@ -0,0 +1,130 @@
+package com.oncoresi.application.service;
+
+import com.oncoresi.application.event.AggregateEventDispatcher;
+import com.oncoresi.application.support.OptimisticRetryExecutor;
+import com.oncoresi.domain.aggregate.TrainingPlanAggregate;
+import com.oncoresi.domain.aggregate.TrainingPlanAggregate.RotationSchedule;
+import com.oncoresi.domain.exception.DomainException;
+import com.oncoresi.domain.repository.TrainingPlanRepository;
+import com.oncoresi.domain.service.RotationScheduler;
+import com.oncoresi.domain.service.RotationScheduler.Problem;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 培训计划应用服务
+ *
+ * @author OncoResi Team
+ */
+@Slf4j
+@Service
+public class TrainingPlanService {
+
+    private final TrainingPlanRepository trainingPlanRepository;
+
+    private final AggregateEventDispatcher eventDispatcher;
+
+    private final OptimisticRetryExecutor retryExecutor;
+
+    /**
+     * 排班搜索线程池（计算密集，全部排班请求共享）
+     */
+    private final ExecutorService schedulerExecutor;
+
+    private final RotationScheduler rotationScheduler;
+
+    public TrainingPlanService(TrainingPlanRepository trainingPlanRepository,
+                               AggregateEventDispatcher eventDispatcher,
+                               OptimisticRetryExecutor retryExecutor,
+                               @Value("${oncoresi.command.rotation-scheduler.parallelism:4}") int parallelism) {
+        this.trainingPlanRepository = trainingPlanRepository;
+        this.eventDispatcher = eventDispatcher;
+        this.retryExecutor = retryExecutor;
+        this.schedulerExecutor = Executors.newFixedThreadPool(parallelism);
+        this.rotationScheduler = new RotationScheduler(schedulerExecutor, parallelism);
+    }
+
+    /**
+     * 按模板计划为新一届学员生成培训计划
+     *
+     * @param templatePlanId 模板计划ID
+     * @param planName       新计划名称
+     * @param startDate      新计划开始日期（阶段与轮转整体平移）
+     * @param traineeIds     新一届学员
+     * @return 新计划
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public TrainingPlanAggregate cloneForCohort(Long templatePlanId, String planName, LocalDate startDate,
+                                                List<Long> traineeIds) {
+        TrainingPlanAggregate template = loadPlan(templatePlanId);
+
+        TrainingPlanAggregate plan = template.cloneForCohort(
+                trainingPlanRepository.nextId(), planName, startDate, traineeIds);
+
+        trainingPlanRepository.save(plan);
+        eventDispatcher.dispatch(plan);
+
+        log.info("届次培训计划已生成: planId={}, templatePlanId={}, trainees={}, rotations={}",
+                plan.getId(), templatePlanId, traineeIds.size(), plan.getRotations().size());
+
+        return plan;
+    }
+
+    /**
+     * 批量添加轮转安排
+     * 不同管理员为不同学员添加轮转互不影响，版本冲突时重新加载计划并重新校验冲突后重试
+     */
+    public void addRotations(Long planId, List<RotationSchedule> rotations) {
+        retryExecutor.run("addRotations", () -> {
+            TrainingPlanAggregate plan = loadPlan(planId);
+            plan.addRotations(rotations);
+            trainingPlanRepository.save(plan);
+            plan.rotationsSaved();
+            eventDispatcher.dispatch(plan);
+        });
+    }
+
+    /**
+     * 自动排班并写入轮转安排
+     * <p>
+     * 搜索在计划快照上进行（不占用事务），学员已有的轮转预先占用其时段；写入时重新加载计划，
+     * 经聚合冲突校验后保存，其间有人为同一学员添加了冲突的轮转则整批不生效。
+     */
+    public RotationScheduler.Result scheduleRotations(Long planId, Problem problem) {
+        long startNanos = System.nanoTime();
+        RotationScheduler.Result result = rotationScheduler.schedule(loadPlan(planId), problem);
+
+        retryExecutor.run("scheduleRotations", () -> {
+            TrainingPlanAggregate plan = loadPlan(planId);
+            plan.addRotations(result.rotations());
+            trainingPlanRepository.save(plan);
+            plan.rotationsSaved();
+            eventDispatcher.dispatch(plan);
+        });
+
+        log.info("轮转自动排班完成: planId={}, trainees={}, rotations={}, overloadDays={}, unassignedSupervisors={}, "
+                        + "cost={}ms", planId, problem.traineeIds().size(), result.rotations().size(),
+                result.capacityOverloadDays(), result.unassignedSupervisors(),
+                Duration.ofNanos(System.nanoTime() - startNanos).toMillis());
+        return result;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        schedulerExecutor.shutdownNow();
+    }
+
+    private TrainingPlanAggregate loadPlan(Long planId) {
+        return trainingPlanRepository.findById(planId)
+                .orElseThrow(() -> DomainException.of("培训计划不存在: " + planId));
+    }
+}
@@ -0,0 +1,301 @@
+package com.oncoresi.application.support;
+
+import com.oncoresi.domain.aggregate.AggregateRoot;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * 按聚合ID串行执行命令的邮箱分发器
+ * <p>
+ * 同一聚合的命令进入同一个邮箱，由单个消费者依次执行：聚合在内存中保持“热”状态，
+ * 一批命令执行完后只保存一次（组提交），热点聚合上的并发写入变为顺序吞吐，不再争用数据库行。
+ * <p>
+ * 保存时仍按版本号条件更新：其他节点修改了同一聚合时，丢弃内存中的聚合，重新加载后重放本批命令。
+ * 单条命令违反业务规则只影响该命令本身，同批其他命令照常提交。
+ * <p>
+ * 关闭时先等待正在执行的批次完成，仍未完成的命令以异常结束，调用方不会无限等待。
+ *
+ * @param <A> 聚合类型
+ */
+@Slf4j
+public class AggregateMailboxDispatcher<A extends AggregateRoot<Long>> {
+
+    private final String name;
+
+    private final Function<Long, A> loader;
+
+    private final Consumer<A> committer;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final int maxBatchSize;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final Map<Long, Mailbox<A>> mailboxes = new ConcurrentHashMap<>();
+
+    /**
+     * @param name                分发器名称（用于日志）
+     * @param loader              按ID加载聚合
+     * @param committer           在事务内保存聚合并分发其领域事件
+     * @param transactionTemplate 组提交使用的事务模板
+     * @param maxBatchSize        每次组提交包含的最大命令数
+     */
+    public AggregateMailboxDispatcher(String name, Function<Long, A> loader, Consumer<A> committer,
+                                      TransactionTemplate transactionTemplate, int maxBatchSize) {
+        this.name = name;
+        this.loader = loader;
+        this.committer = committer;
+        this.transactionTemplate = transactionTemplate;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * 命令：作用于聚合，返回执行结果
+     */
+    @FunctionalInterface
+    public interface Command<A, R> {
+        R apply(A aggregate);
+    }
+
+    private record Pending<A>(Command<A, ?> command, CompletableFuture<Object> result) {
+    }
+
+    private static final class Mailbox<A> {
+        private final Queue<Pending<A>> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile A aggregate;
+        private volatile List<Pending<A>> inFlight = List.of();
+        private volatile long lastActive = System.nanoTime();
+    }
+
+    /**
+     * 投递命令，命令所在批次提交后完成
+     */
+    @SuppressWarnings("unchecked")
+    public <R> CompletableFuture<R> submit(Long aggregateId, Command<A, R> command) {
+        Pending<A> pending = new Pending<>(command, new CompletableFuture<>());
+
+        // 在 compute 内入队，与空闲回收互斥，保证命令不会落入已被移除的邮箱
+        Mailbox<A> mailbox = mailboxes.compute(aggregateId, (id, existing) -> {
+            Mailbox<A> target = existing != null ? existing : new Mailbox<>();
+            target.queue.add(pending);
+            return target;
+        });
+
+        schedule(aggregateId, mailbox);
+
+        return (CompletableFuture<R>) pending.result();
+    }
+
+    /**
+     * 回收空闲邮箱（释放内存中的热聚合）
+     */
+    public void evictIdle(Duration idleTimeout) {
+        long cutoff = System.nanoTime() - idleTimeout.toNanos();
+        // nanoTime 可能溢出，只比较差值
+        mailboxes.forEach((id, mailbox) -> mailboxes.computeIfPresent(id, (key, current) ->
+                current.queue.isEmpty() && !current.scheduled.get() && current.lastActive - cutoff < 0
+                        ? null : current));
+    }
+
+    /**
+     * 当前邮箱数
+     */
+    public int size() {
+        return mailboxes.size();
+    }
+
+    /**
+     * 关闭分发器：等待执行中的批次完成，之后仍未完成的命令（含排队中的）以异常结束
+     *
+     * @param timeout 等待执行中批次的最长时间
+     */
+    public void shutdown(Duration timeout) {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+
+        CancellationException cause = new CancellationException("邮箱分发器已关闭: " + name);
+        int failed = 0;
+        for (Mailbox<A> mailbox : mailboxes.values()) {
+            failed += failAll(mailbox.inFlight, cause);
+            Pending<A> pending;
+            while ((pending = mailbox.queue.poll()) != null) {
+                failed += pending.result().completeExceptionally(cause) ? 1 : 0;
+            }
+        }
+        if (failed > 0) {
+            log.warn("邮箱分发器关闭时仍有未完成的命令: dispatcher={}, commands={}", name, failed);
+        }
+    }
+
+    private void schedule(Long aggregateId, Mailbox<A> mailbox) {
+        if (!mailbox.scheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(() -> drain(aggregateId, mailbox));
+        } catch (RejectedExecutionException e) {
+            // 已关闭：不再执行，排队的命令直接失败
+            mailbox.scheduled.set(false);
+            Pending<A> pending;
+            while ((pending = mailbox.queue.poll()) != null) {
+                pending.result().completeExceptionally(new CancellationException("邮箱分发器已关闭: " + name));
+            }
+        }
+    }
+
+    /**
+     * 单消费者：取出一批命令执行并组提交，直到邮箱为空
+     * <p>
+     * 批次中逃逸出任何异常（包括 Error）时，该批命令以异常结束并释放调度标记，剩余命令重新调度，邮箱不会卡死。
+     */
+    private void drain(Long aggregateId, Mailbox<A> mailbox) {
+        boolean released = false;
+        try {
+            do {
+                List<Pending<A>> batch = new ArrayList<>(Math.min(maxBatchSize, mailbox.queue.size()));
+                Pending<A> next;
+                while (batch.size() < maxBatchSize && (next = mailbox.queue.poll()) != null) {
+                    batch.add(next);
+                }
+
+                if (!batch.isEmpty()) {
+                    mailbox.inFlight = batch;
+                    try {
+                        process(aggregateId, mailbox, batch);
+                    } catch (Throwable e) {
+                        mailbox.aggregate = null;
+                        failAll(batch, e);
+                        throw e;
+                    } finally {
+                        mailbox.inFlight = List.of();
+                    }
+                }
+
+                if (mailbox.queue.isEmpty()) {
+                    mailbox.lastActive = System.nanoTime();
+                    mailbox.scheduled.set(false);
+                    // 释放标记后再检查一次，避免与并发投递之间丢失唤醒
+                    if (mailbox.queue.isEmpty() || !mailbox.scheduled.compareAndSet(false, true)) {
+                        released = true;
+                        return;
+                    }
+                }
+            } while (true);
+        } finally {
+            if (!released) {
+                log.error("聚合邮箱消费异常退出: dispatcher={}, aggregateId={}, remaining={}",
+                        name, aggregateId, mailbox.queue.size());
+                mailbox.lastActive = System.nanoTime();
+                mailbox.scheduled.set(false);
+                if (!mailbox.queue.isEmpty()) {
+                    schedule(aggregateId, mailbox);
+                }
+            }
+        }
+    }
+
+    private void process(Long aggregateId, Mailbox<A> mailbox, List<Pending<A>> batch) {
+        try {
+            commit(aggregateId, mailbox, batch);
+        } catch (OptimisticLockingFailureException e) {
+            // 聚合被其他节点修改：丢弃内存中的聚合，重新加载后重放本批命令
+            log.debug("聚合版本冲突，重新加载后重放: dispatcher={}, aggregateId={}, commands={}",
+                    name, aggregateId, batch.size());
+            mailbox.aggregate = null;
+            try {
+                commit(aggregateId, mailbox, batch);
+            } catch (RuntimeException retryFailure) {
+                mailbox.aggregate = null;
+                failAll(batch, retryFailure);
+            }
+        } catch (RuntimeException e) {
+            log.error("聚合命令批次提交失败: dispatcher={}, aggregateId={}, commands={}",
+                    name, aggregateId, batch.size(), e);
+            mailbox.aggregate = null;
+            failAll(batch, e);
+        }
+    }
+
+    /**
+     * 在一个事务内依次执行本批命令并保存一次；成功的命令在事务提交后完成
+     */
+    private void commit(Long aggregateId, Mailbox<A> mailbox, List<Pending<A>> batch) {
+        List<Object> results = new ArrayList<>(batch.size());
+        List<RuntimeException> failures = new ArrayList<>(batch.size());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            results.clear();
+            failures.clear();
+
+            A aggregate = mailbox.aggregate;
+            if (aggregate == null) {
+                aggregate = loader.apply(aggregateId);
+            }
+
+            int applied = 0;
+            for (Pending<A> pending : batch) {
+                try {
+                    results.add(pending.command().apply(aggregate));
+                    failures.add(null);
+                    applied++;
+                } catch (RuntimeException e) {
+                    results.add(null);
+                    failures.add(e);
+                }
+            }
+
+            if (applied > 0) {
+                committer.accept(aggregate);
+            }
+            mailbox.aggregate = aggregate;
+        });
+
+        for (int i = 0; i < batch.size(); i++) {
+            if (failures.get(i) != null) {
+                batch.get(i).result().completeExceptionally(failures.get(i));
+            } else {
+                batch.get(i).result().complete(results.get(i));
+            }
+        }
+    }
+
+    /**
+     * @return 本次以异常结束的命令数（已完成的命令不受影响）
+     */
+    private static <A> int failAll(List<Pending<A>> batch, Throwable cause) {
+        int failed = 0;
+        for (Pending<A> pending : batch) {
+            if (pending.result().completeExceptionally(cause)) {
+                failed++;
+            }
+        }
+        return failed;
+    }
+}
@@ -0,0 +1,227 @@
+package com.oncoresi.application.support;
+
+import com.oncoresi.domain.repository.ExamSessionRepository.Draft;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * 作答草稿本地追加日志
+ * <p>
+ * 草稿先追加到当前分段再进入内存写回缓冲，进程崩溃后重启时重放尚未删除的分段即可找回未写回数据库的草稿。
+ * 每次写回前切换到新分段，写回成功后删除切换前的分段；写回失败时保留，下次成功后一并删除。
+ * 写入只进入操作系统页缓存，不逐条刷盘：可应对进程崩溃，不保证主机掉电时最后一刻的草稿。
+ * <p>
+ * 记录格式：长度(int) + CRC32C(int) + 内容，内容为 examId、traineeId、保存时间（epoch 微秒）、
+ * 答案数及各答案的 UTF-8 字节（长度为 -1 表示空）。分段尾部的半条记录（崩溃时写了一半）在重放时忽略。
+ */
+@Slf4j
+public class DraftJournal implements Closeable {
+
+    private static final String SEGMENT_PREFIX = "drafts-";
+
+    private static final String SEGMENT_SUFFIX = ".journal";
+
+    private static final int HEADER_BYTES = Integer.BYTES * 2;
+
+    private final Path directory;
+
+    private final List<Path> closedSegments = new ArrayList<>();
+
+    private long nextSequence;
+
+    private Path currentPath;
+
+    private FileChannel current;
+
+    /**
+     * 打开日志目录：已有分段均视为待重放的已关闭分段，新草稿写入新分段
+     */
+    public DraftJournal(Path directory) {
+        this.directory = directory;
+        try {
+            Files.createDirectories(directory);
+            try (Stream<Path> files = Files.list(directory)) {
+                files.filter(DraftJournal::isSegment).sorted(Comparator.comparingLong(DraftJournal::sequenceOf))
+                        .forEach(closedSegments::add);
+            }
+            this.nextSequence = closedSegments.isEmpty()
+                    ? 1
+                    : sequenceOf(closedSegments.get(closedSegments.size() - 1)) + 1;
+            openSegment();
+        } catch (IOException e) {
+            throw new UncheckedIOException("无法打开草稿日志目录: " + directory, e);
+        }
+    }
+
+    /**
+     * 追加一条草稿
+     */
+    public synchronized void append(Draft draft) {
+        ByteBuffer record = encode(draft);
+        try {
+            while (record.hasRemaining()) {
+                current.write(record);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("写入草稿日志失败", e);
+        }
+    }
+
+    /**
+     * 当前分段有内容时切换到新分段
+     *
+     * @return 全部已关闭、尚未删除的分段（按写入顺序）
+     */
+    public synchronized List<Path> rotate() {
+        try {
+            if (current.position() > 0) {
+                current.close();
+                closedSegments.add(currentPath);
+                openSegment();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("切换草稿日志分段失败", e);
+        }
+        return List.copyOf(closedSegments);
+    }
+
+    /**
+     * 读取已关闭分段中的全部草稿（按写入顺序）
+     */
+    public List<Draft> read(List<Path> segments) {
+        List<Draft> drafts = new ArrayList<>();
+        for (Path segment : segments) {
+            try {
+                ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(segment));
+                while (buffer.remaining() >= HEADER_BYTES) {
+                    int length = buffer.getInt();
+                    int checksum = buffer.getInt();
+                    if (length <= 0 || length > buffer.remaining()) {
+                        break;
+                    }
+                    ByteBuffer payload = buffer.slice(buffer.position(), length);
+                    buffer.position(buffer.position() + length);
+                    if (crc(payload) != checksum) {
+                        log.warn("草稿日志记录校验失败，忽略分段剩余部分: segment={}", segment.getFileName());
+                        break;
+                    }
+                    drafts.add(decode(payload));
+                }
+            } catch (IOException | BufferUnderflowException e) {
+                log.warn("读取草稿日志分段失败: segment={}", segment.getFileName(), e);
+            }
+        }
+        return drafts;
+    }
+
+    /**
+     * 删除已写回数据库的分段
+     */
+    public synchronized void delete(List<Path> segments) {
+        for (Path segment : segments) {
+            try {
+                Files.deleteIfExists(segment);
+                closedSegments.remove(segment);
+            } catch (IOException e) {
+                log.warn("删除草稿日志分段失败: segment={}", segment.getFileName(), e);
+            }
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            current.close();
+        } catch (IOException e) {
+            log.warn("关闭草稿日志失败", e);
+        }
+    }
+
+    private void openSegment() throws IOException {
+        currentPath = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, nextSequence++, SEGMENT_SUFFIX));
+        current = FileChannel.open(currentPath,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private static ByteBuffer encode(Draft draft) {
+        List<byte[]> answers = new ArrayList<>(draft.answers().size());
+        int length = Long.BYTES * 3 + Integer.BYTES;
+        for (String answer : draft.answers()) {
+            byte[] bytes = answer != null ? answer.getBytes(StandardCharsets.UTF_8) : null;
+            answers.add(bytes);
+            length += Integer.BYTES + (bytes != null ? bytes.length : 0);
+        }
+
+        ByteBuffer record = ByteBuffer.allocate(HEADER_BYTES + length);
+        record.position(HEADER_BYTES);
+        LocalDateTime savedAt = draft.savedAt();
+        record.putLong(draft.examId())
+                .putLong(draft.traineeId())
+                .putLong(savedAt.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + savedAt.getNano() / 1_000)
+                .putInt(answers.size());
+        for (byte[] bytes : answers) {
+            if (bytes == null) {
+                record.putInt(-1);
+            } else {
+                record.putInt(bytes.length).put(bytes);
+            }
+        }
+
+        record.putInt(0, length).putInt(Integer.BYTES, crc(record.slice(HEADER_BYTES, length)));
+        return record.flip();
+    }
+
+    private static Draft decode(ByteBuffer payload) {
+        long examId = payload.getLong();
+        long traineeId = payload.getLong();
+        long micros = payload.getLong();
+        int count = payload.getInt();
+        List<String> answers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int length = payload.getInt();
+            if (length < 0) {
+                answers.add(null);
+            } else {
+                byte[] bytes = new byte[length];
+                payload.get(bytes);
+                answers.add(new String(bytes, StandardCharsets.UTF_8));
+            }
+        }
+        LocalDateTime savedAt = LocalDateTime.ofEpochSecond(
+                Math.floorDiv(micros, 1_000_000), (int) Math.floorMod(micros, 1_000_000) * 1_000, ZoneOffset.UTC);
+        return new Draft(examId, traineeId, answers, savedAt);
+    }
+
+    private static int crc(ByteBuffer payload) {
+        CRC32C crc = new CRC32C();
+        crc.update(payload.duplicate());
+        return (int) crc.getValue();
+    }
+
+    private static boolean isSegment(Path path) {
+        String name = path.getFileName().toString();
+        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+    }
+
+    private static long sequenceOf(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+}
@@ -0,0 +1,65 @@
+package com.oncoresi.application.support;
+
+import com.oncoresi.domain.aggregate.ExamAggregate.ExamMetadata;
+import com.oncoresi.domain.exception.DomainException;
+import com.oncoresi.domain.repository.ExamRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 考试元数据缓存（本地缓存）
+ * <p>
+ * 交卷高峰时每次提交都要校验考试状态、时间窗口和及格线，这些数据在考试期间几乎不变，
+ * 按短 TTL 缓存即可避免每次交卷都查询考试行。本节点修改考试状态后立即失效，
+ * 其他节点的修改最迟在一个 TTL 后生效（时间窗口校验始终使用当前时间）。
+ */
+@Component
+public class ExamMetadataCache {
+
+    private final ExamRepository examRepository;
+
+    private final long ttlNanos;
+
+    private final Map<Long, Entry> cache = new ConcurrentHashMap<>();
+
+    public ExamMetadataCache(ExamRepository examRepository,
+                             @Value("${oncoresi.command.exam-metadata.ttl:PT5S}") Duration ttl) {
+        this.examRepository = examRepository;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    private record Entry(ExamMetadata metadata, long expiresAt) {
+    }
+
+    /**
+     * 获取考试元数据，不存在或已过期时重新加载
+     */
+    public ExamMetadata get(Long examId) {
+        long now = System.nanoTime();
+        Entry entry = cache.get(examId);
+        if (entry != null && now - entry.expiresAt() < 0) {
+            return entry.metadata();
+        }
+
+        // 同一考试的并发加载只查询一次
+        return cache.compute(examId, (id, existing) -> existing != null && now - existing.expiresAt() < 0
+                ? existing
+                : new Entry(load(id), System.nanoTime() + ttlNanos)).metadata();
+    }
+
+    /**
+     * 失效指定考试的缓存
+     */
+    public void invalidate(Long examId) {
+        cache.remove(examId);
+    }
+
+    private ExamMetadata load(Long examId) {
+        return examRepository.findMetadataById(examId)
+                .orElseThrow(() -> DomainException.of("考试不存在: " + examId));
+    }
+}
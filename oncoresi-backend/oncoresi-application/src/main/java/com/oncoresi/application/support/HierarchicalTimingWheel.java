@@ -0,0 +1,321 @@
+package com.oncoresi.application.support;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 分层时间轮
+ * <p>
+ * 每层 wheelSize 个槽，第 k 层每槽跨度为 tick × wheelSize^k；定时任务放入能容纳其到期时间的最低一层，
+ * 高层槽到达时把其中的任务重新分配到低层（逐级下沉），第 0 层槽到达时执行任务。
+ * 每个槽是带哨兵的双向链表，添加与取消都是 O(1)，与定时任务数量无关。
+ * <p>
+ * 单个驱动线程按 tick 推进，到期任务交给 taskExecutor 执行，驱动线程不执行业务逻辑。
+ * 精度为一个 tick：任务在到期时间之后的第一个 tick 触发，不会提前。
+ */
+@Slf4j
+public class HierarchicalTimingWheel {
+
+    /**
+     * 层数上限（tick = 100ms、wheelSize = 256 时 6 层已覆盖数十年）
+     */
+    private static final int MAX_LEVELS = 6;
+
+    private final String name;
+
+    private final long tickMillis;
+
+    private final int wheelBits;
+
+    private final int wheelMask;
+
+    private final Executor taskExecutor;
+
+    private final Clock clock;
+
+    private final Slot[][] levels;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * 时间轮起点（epoch 毫秒）
+     */
+    private final long originMillis;
+
+    /**
+     * 已推进到的 tick（只在持有锁时读写）
+     */
+    private long currentTick;
+
+    private int pending;
+
+    private volatile Thread driver;
+
+    private volatile boolean running;
+
+    /**
+     * @param name         名称（驱动线程名、日志）
+     * @param tick         每个 tick 的时长
+     * @param wheelSize    每层槽数（向上取 2 的幂）
+     * @param taskExecutor 执行到期任务的执行器
+     */
+    public HierarchicalTimingWheel(String name, Duration tick, int wheelSize, Executor taskExecutor) {
+        this(name, tick, wheelSize, taskExecutor, Clock.systemDefaultZone());
+    }
+
+    HierarchicalTimingWheel(String name, Duration tick, int wheelSize, Executor taskExecutor, Clock clock) {
+        if (tick.toMillis() <= 0) {
+            throw new IllegalArgumentException("tick 至少 1ms: " + tick);
+        }
+        this.name = name;
+        this.tickMillis = tick.toMillis();
+        this.wheelBits = 32 - Integer.numberOfLeadingZeros(Math.max(2, wheelSize) - 1);
+        this.wheelMask = (1 << wheelBits) - 1;
+        this.taskExecutor = taskExecutor;
+        this.clock = clock;
+        this.originMillis = clock.millis();
+
+        this.levels = new Slot[MAX_LEVELS][1 << wheelBits];
+        for (Slot[] level : levels) {
+            for (int i = 0; i < level.length; i++) {
+                level[i] = new Slot();
+            }
+        }
+    }
+
+    /**
+     * 定时任务句柄
+     */
+    public final class Timeout {
+
+        private final Instant deadline;
+
+        private final long expiryTick;
+
+        private final Runnable task;
+
+        private Timeout prev;
+
+        private Timeout next;
+
+        private volatile boolean cancelled;
+
+        private Timeout(Instant deadline, long expiryTick, Runnable task) {
+            this.deadline = deadline;
+            this.expiryTick = expiryTick;
+            this.task = task;
+        }
+
+        public Instant deadline() {
+            return deadline;
+        }
+
+        /**
+         * 取消任务（已触发的任务返回 false）
+         */
+        public boolean cancel() {
+            lock.lock();
+            try {
+                if (cancelled || prev == null) {
+                    return false;
+                }
+                cancelled = true;
+                unlink(this);
+                pending--;
+                return true;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+
+    /**
+     * 槽：带哨兵的双向循环链表
+     */
+    private final class Slot {
+
+        private final Timeout head = new Timeout(null, 0, null);
+
+        private Slot() {
+            head.prev = head;
+            head.next = head;
+        }
+
+        private void add(Timeout timeout) {
+            timeout.prev = head.prev;
+            timeout.next = head;
+            head.prev.next = timeout;
+            head.prev = timeout;
+        }
+
+        /**
+         * 取出槽内全部任务（返回链表首个节点，尾部以 null 结束）
+         */
+        private Timeout drain() {
+            if (head.next == head) {
+                return null;
+            }
+            Timeout first = head.next;
+            head.prev.next = null;
+            head.prev = head;
+            head.next = head;
+            return first;
+        }
+    }
+
+    /**
+     * 添加定时任务，已到期的任务在下一个 tick 执行
+     */
+    public Timeout schedule(Instant deadline, Runnable task) {
+        long expiryTick = Math.floorDiv(deadline.toEpochMilli() - originMillis + tickMillis - 1, tickMillis);
+        Timeout timeout = new Timeout(deadline, expiryTick, task);
+
+        lock.lock();
+        try {
+            place(timeout, currentTick + 1);
+            pending++;
+        } finally {
+            lock.unlock();
+        }
+        return timeout;
+    }
+
+    /**
+     * 当前未触发的任务数
+     */
+    public int pending() {
+        lock.lock();
+        try {
+            return pending;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        driver = Thread.ofPlatform().name(name + "-timing-wheel").daemon(true).start(this::run);
+    }
+
+    public synchronized void stop() {
+        running = false;
+        Thread thread = driver;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    private void run() {
+        while (running) {
+            long nextTickMillis;
+            lock.lock();
+            try {
+                nextTickMillis = originMillis + (currentTick + 1) * tickMillis;
+            } finally {
+                lock.unlock();
+            }
+
+            long waitMillis = nextTickMillis - clock.millis();
+            if (waitMillis > 0) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(waitMillis));
+                continue;
+            }
+
+            // 落后时逐 tick 追赶，保证每层槽都按顺序下沉
+            long targetTick = Math.floorDiv(clock.millis() - originMillis, tickMillis);
+            while (running && currentTickUnlocked() < targetTick) {
+                advance();
+            }
+        }
+    }
+
+    private long currentTickUnlocked() {
+        lock.lock();
+        try {
+            return currentTick;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 推进一个 tick：高层到达边界的槽先下沉，再取出第 0 层到期槽
+     */
+    private void advance() {
+        Timeout expired;
+        lock.lock();
+        try {
+            currentTick++;
+            for (int level = MAX_LEVELS - 1; level >= 1; level--) {
+                long span = 1L << (level * wheelBits);
+                if ((currentTick & (span - 1)) == 0) {
+                    int index = (int) ((currentTick >>> (level * wheelBits)) & wheelMask);
+                    for (Timeout t = levels[level][index].drain(); t != null; ) {
+                        Timeout next = t.next;
+                        place(t, currentTick);
+                        t = next;
+                    }
+                }
+            }
+            expired = levels[0][(int) (currentTick & wheelMask)].drain();
+            for (Timeout t = expired; t != null; t = t.next) {
+                t.prev = null;
+                pending--;
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        for (Timeout t = expired; t != null; ) {
+            Timeout next = t.next;
+            t.next = null;
+            fire(t);
+            t = next;
+        }
+    }
+
+    /**
+     * 放入能容纳到期 tick 的最低一层（调用方持有锁）
+     *
+     * @param minTick 最早可放入的 tick：新任务为下一个 tick；下沉时为当前 tick（其第 0 层槽随后即被取出）
+     */
+    private void place(Timeout timeout, long minTick) {
+        long expiry = Math.max(timeout.expiryTick, minTick);
+        for (int level = 0; level < MAX_LEVELS; level++) {
+            int shift = level * wheelBits;
+            if ((expiry >>> shift) - (currentTick >>> shift) <= wheelMask || level == MAX_LEVELS - 1) {
+                levels[level][(int) ((expiry >>> shift) & wheelMask)].add(timeout);
+                return;
+            }
+        }
+    }
+
+    private static void unlink(Timeout timeout) {
+        timeout.prev.next = timeout.next;
+        timeout.next.prev = timeout.prev;
+        timeout.prev = null;
+        timeout.next = null;
+    }
+
+    private void fire(Timeout timeout) {
+        try {
+            taskExecutor.execute(timeout.task);
+        } catch (RuntimeException e) {
+            log.error("时间轮任务提交失败: wheel={}, deadline={}", name, timeout.deadline, e);
+        }
+    }
+}
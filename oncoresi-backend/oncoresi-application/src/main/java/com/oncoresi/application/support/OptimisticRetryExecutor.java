@@ -0,0 +1,88 @@
+package com.oncoresi.application.support;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * 乐观锁冲突重试执行器
+ * <p>
+ * 用于可交换的命令（如不同学员提交答卷、为不同学员添加轮转）：命令之间的执行顺序不影响结果，
+ * 版本冲突只说明有人先提交了，重新加载聚合、再次执行即可，不需要数据库行锁。
+ * 每次尝试都在独立事务中执行“加载 → 执行命令 → 按版本保存”，命令本身必须在 Supplier 内重新加载聚合。
+ * 业务规则校验失败（DomainException）不重试，直接抛出。
+ */
+@Slf4j
+@Component
+public class OptimisticRetryExecutor {
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final int maxAttempts;
+
+    private final Duration backoff;
+
+    public OptimisticRetryExecutor(PlatformTransactionManager transactionManager,
+                                   @Value("${oncoresi.command.optimistic-retry.max-attempts:5}") int maxAttempts,
+                                   @Value("${oncoresi.command.optimistic-retry.backoff:PT0.02S}") Duration backoff) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.maxAttempts = maxAttempts;
+        this.backoff = backoff;
+    }
+
+    /**
+     * 执行命令，版本冲突时重新加载并重试
+     *
+     * @param commandName 命令名称（用于日志）
+     * @param command     在事务内加载聚合、执行命令并保存
+     */
+    public <T> T execute(String commandName, Supplier<T> command) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> command.get());
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= maxAttempts) {
+                    log.warn("命令版本冲突重试次数已用尽: command={}, attempts={}", commandName, attempt);
+                    throw e;
+                }
+                log.debug("命令版本冲突，重新加载后重试: command={}, attempt={}", commandName, attempt);
+                pause(attempt);
+            }
+        }
+    }
+
+    /**
+     * 执行无返回值的命令
+     */
+    public void run(String commandName, Runnable command) {
+        execute(commandName, () -> {
+            command.run();
+            return null;
+        });
+    }
+
+    /**
+     * 随机退避，避免冲突的请求同时重试再次冲突
+     */
+    private void pause(int attempt) {
+        long maxMillis = backoff.toMillis() * attempt;
+        if (maxMillis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(maxMillis + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("重试等待被中断", e);
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.oncoresi.application.support;
+
+import com.oncoresi.application.support.HierarchicalTimingWheel.Timeout;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 分层时间轮测试
+ * <p>
+ * 使用手动推进的时钟，tick = 10ms、每层 4 个槽：第 0 层覆盖 4 个 tick，第 1 层 16 个，第 2 层 64 个，
+ * 少量任务即可覆盖逐级下沉。到期任务在驱动线程上直接执行，记录触发时的时钟。
+ */
+class HierarchicalTimingWheelTest {
+
+    private static final long TICK_MILLIS = 10;
+
+    private static final Instant ORIGIN = Instant.ofEpochMilli(1_000_000);
+
+    private ManualClock clock;
+
+    private HierarchicalTimingWheel wheel;
+
+    private final List<Fired> fired = new CopyOnWriteArrayList<>();
+
+    private record Fired(String name, long clockMillis) {
+    }
+
+    @BeforeEach
+    void setUp() {
+        clock = new ManualClock(ORIGIN.toEpochMilli());
+        wheel = new HierarchicalTimingWheel("test", Duration.ofMillis(TICK_MILLIS), 4, Runnable::run, clock);
+        wheel.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        wheel.stop();
+    }
+
+    @Test
+    void firesTasksAcrossLevelsNotBeforeDeadlineAndWithinOneTick() throws InterruptedException {
+        long[] offsets = {30, 150, 420, 900};
+        CountDownLatch latch = new CountDownLatch(offsets.length);
+        for (long offset : offsets) {
+            schedule("t" + offset, offset, latch);
+        }
+        assertThat(wheel.pending()).isEqualTo(offsets.length);
+
+        for (long offset : offsets) {
+            clock.set(ORIGIN.toEpochMilli() + offset - TICK_MILLIS);
+            awaitIdle();
+            assertThat(fired).extracting(Fired::name).doesNotContain("t" + offset);
+
+            clock.set(ORIGIN.toEpochMilli() + offset);
+            awaitFired("t" + offset);
+        }
+
+        assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(fired).extracting(Fired::name).containsExactly("t30", "t150", "t420", "t900");
+        for (Fired f : fired) {
+            long deadline = ORIGIN.toEpochMilli() + Long.parseLong(f.name().substring(1));
+            assertThat(f.clockMillis()).isBetween(deadline, deadline + TICK_MILLIS);
+        }
+        assertThat(wheel.pending()).isZero();
+    }
+
+    @Test
+    void cancelledTasksNeverFire() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(2);
+        Timeout kept = schedule("kept", 200, latch);
+        Timeout cancelled = schedule("cancelled", 100, latch);
+        Timeout cascaded = schedule("cascaded", 600, latch);
+
+        assertThat(cancelled.cancel()).isTrue();
+        assertThat(cancelled.cancel()).isFalse();
+        assertThat(cancelled.isCancelled()).isTrue();
+        assertThat(wheel.pending()).isEqualTo(2);
+
+        // 第 2 层的任务在下沉到第 1 层之后取消
+        clock.set(ORIGIN.toEpochMilli() + 500);
+        awaitFired("kept");
+        assertThat(cascaded.cancel()).isTrue();
+
+        clock.set(ORIGIN.toEpochMilli() + 1_000);
+        awaitIdle();
+        assertThat(fired).extracting(Fired::name).containsExactly("kept");
+        assertThat(kept.cancel()).isFalse();
+        assertThat(wheel.pending()).isZero();
+    }
+
+    @Test
+    void catchesUpTickByTickInDeadlineOrderAfterClockJump() throws InterruptedException {
+        long[] offsets = {2_500, 40, 610, 1_280, 90, 5_000};
+        CountDownLatch latch = new CountDownLatch(offsets.length);
+        for (long offset : offsets) {
+            schedule("t" + offset, offset, latch);
+        }
+
+        // 驱动线程停顿后一次追赶数百个 tick
+        clock.set(ORIGIN.toEpochMilli() + 6_000);
+
+        assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(fired).extracting(Fired::name)
+                .containsExactly("t40", "t90", "t610", "t1280", "t2500", "t5000");
+        assertThat(wheel.pending()).isZero();
+    }
+
+    @Test
+    void overdueTaskFiresOnNextTick() throws InterruptedException {
+        clock.set(ORIGIN.toEpochMilli() + 100);
+        awaitIdle();
+
+        CountDownLatch latch = new CountDownLatch(1);
+        schedule("overdue", 50, latch);
+        clock.set(ORIGIN.toEpochMilli() + 110);
+
+        assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(fired).extracting(Fired::name).containsExactly("overdue");
+    }
+
+    private Timeout schedule(String name, long offsetMillis, CountDownLatch latch) {
+        return wheel.schedule(ORIGIN.plusMillis(offsetMillis), () -> {
+            fired.add(new Fired(name, clock.millis()));
+            latch.countDown();
+        });
+    }
+
+    private void awaitFired(String name) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (fired.stream().noneMatch(f -> f.name().equals(name))) {
+            assertThat(System.nanoTime() - deadline).as("等待 %s 触发超时", name).isNegative();
+            Thread.sleep(1);
+        }
+    }
+
+    /**
+     * 等待驱动线程追上当前时钟（多个 tick 的实际时间足以让驱动线程醒来并推进）
+     */
+    private void awaitIdle() throws InterruptedException {
+        Thread.sleep(TICK_MILLIS * 5);
+    }
+
+    /**
+     * 手动推进的时钟
+     */
+    private static final class ManualClock extends Clock {
+
+        private final AtomicLong millis;
+
+        private ManualClock(long millis) {
+            this.millis = new AtomicLong(millis);
+        }
+
+        void set(long value) {
+            millis.set(value);
+        }
+
+        @Override
+        public long millis() {
+            return millis.get();
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis.get());
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
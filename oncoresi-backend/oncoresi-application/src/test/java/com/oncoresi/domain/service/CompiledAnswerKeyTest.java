@@ -0,0 +1,127 @@
+package com.oncoresi.domain.service;
+
+import com.oncoresi.domain.valueobject.AnswerKey;
+import com.oncoresi.domain.valueobject.AnswerKey.Item;
+import com.oncoresi.domain.valueobject.AnswerKey.ItemType;
+import com.oncoresi.domain.valueobject.GradingResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 编译后标准答案的 SWAR 评分测试
+ * <p>
+ * 每个 long 打包 8 道题、逐题对错每 64 题一个 long，用例覆盖跨 long 的题号边界、
+ * 空白与无法识别的作答（编码为 0，不能与任何标准答案相等）以及多选题的完全一致判定。
+ */
+class CompiledAnswerKeyTest {
+
+    private static final String LETTERS = "ABCD";
+
+    @Test
+    void gradesItemsAcrossPackedWords() {
+        CompiledAnswerKey key = CompiledAnswerKey.compile(singleChoiceKey(20, 5));
+        List<String> answers = correctAnswers(20);
+        // 第 8、9 题位于第一、二个 long 的边界两侧，第 20 题是最后一个不满的 long 的最后一题
+        answers.set(7, "A");
+        answers.set(8, "B");
+        answers.set(19, "A");
+
+        assertThat(key.encode(answers)).hasSize(3);
+        GradingResult result = key.grade(answers);
+        assertThat(result.correctCount()).isEqualTo(17);
+        assertThat(result.wrongItems()).containsExactly(8, 9, 20);
+        assertThat(result.earnedPoints()).isEqualTo(85);
+        assertThat(result.totalPoints()).isEqualTo(100);
+        assertThat(result.score()).isEqualTo(85);
+    }
+
+    @Test
+    void gradesBeyondSixtyFourItems() {
+        CompiledAnswerKey key = CompiledAnswerKey.compile(singleChoiceKey(70, 1));
+        List<String> answers = correctAnswers(70);
+        answers.set(63, "");
+        answers.set(64, "E");
+
+        GradingResult result = key.grade(answers);
+        assertThat(result.correctness()).hasSize(2);
+        assertThat(result.isCorrect(62)).isTrue();
+        assertThat(result.isCorrect(65)).isTrue();
+        assertThat(result.isCorrect(69)).isTrue();
+        assertThat(result.wrongItems()).containsExactly(64, 65);
+        assertThat(result.earnedPoints()).isEqualTo(68);
+    }
+
+    @Test
+    void blankInvalidAndMissingAnswersAreWrong() {
+        CompiledAnswerKey key = CompiledAnswerKey.compile(new AnswerKey(1L, List.of(
+                new Item(ItemType.SINGLE_CHOICE, "B", 1),
+                new Item(ItemType.MULTIPLE_CHOICE, "ACD", 1),
+                new Item(ItemType.TRUE_FALSE, "T", 1),
+                new Item(ItemType.SINGLE_CHOICE, "A", 1),
+                new Item(ItemType.MULTIPLE_CHOICE, "BC", 1),
+                new Item(ItemType.SINGLE_CHOICE, "C", 1),
+                new Item(ItemType.TRUE_FALSE, "F", 1),
+                new Item(ItemType.SINGLE_CHOICE, "D", 1),
+                new Item(ItemType.SINGLE_CHOICE, "A", 1)
+        )));
+        // 第 9 题没有作答（答卷比标准答案短）
+        List<String> answers = Arrays.asList("", null, "  ", "Z", "B, C", "c", "错", "D?");
+
+        GradingResult result = key.grade(answers);
+        assertThat(result.wrongItems()).containsExactly(1, 2, 3, 4, 8, 9);
+        assertThat(result.correctCount()).isEqualTo(3);
+        assertThat(result.score()).isEqualTo(33);
+    }
+
+    @Test
+    void multipleChoiceRequiresExactlyTheCorrectOptions() {
+        CompiledAnswerKey key = CompiledAnswerKey.compile(new AnswerKey(1L, List.of(
+                new Item(ItemType.MULTIPLE_CHOICE, "ACD", 1),
+                new Item(ItemType.MULTIPLE_CHOICE, "ACD", 1),
+                new Item(ItemType.MULTIPLE_CHOICE, "ACD", 1),
+                new Item(ItemType.MULTIPLE_CHOICE, "ACD", 1)
+        )));
+
+        GradingResult result = key.grade(List.of("AC", "ACDE", "DCA", "a,c,d"));
+        assertThat(result.wrongItems()).containsExactly(1, 2);
+    }
+
+    @Test
+    void sumsNonUniformPoints() {
+        CompiledAnswerKey key = CompiledAnswerKey.compile(new AnswerKey(1L, List.of(
+                new Item(ItemType.SINGLE_CHOICE, "A", 1),
+                new Item(ItemType.SINGLE_CHOICE, "B", 2),
+                new Item(ItemType.SINGLE_CHOICE, "C", 3),
+                new Item(ItemType.SINGLE_CHOICE, "D", 4)
+        )));
+
+        GradingResult result = key.grade(List.of("B", "B", "A", "D"));
+        assertThat(result.earnedPoints()).isEqualTo(6);
+        assertThat(result.totalPoints()).isEqualTo(10);
+        assertThat(result.score()).isEqualTo(60);
+    }
+
+    /**
+     * 单选题标准答案：第 i 题的正确选项依次为 A、B、C、D 循环
+     */
+    private static AnswerKey singleChoiceKey(int itemCount, int points) {
+        List<Item> items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            items.add(new Item(ItemType.SINGLE_CHOICE, String.valueOf(LETTERS.charAt(i % LETTERS.length())), points));
+        }
+        return new AnswerKey(1L, items);
+    }
+
+    private static List<String> correctAnswers(int itemCount) {
+        List<String> answers = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            answers.add(String.valueOf(LETTERS.charAt(i % LETTERS.length())));
+        }
+        return answers;
+    }
+}
@@ -0,0 +1,155 @@
+package com.oncoresi.domain.service;
+
+import com.oncoresi.domain.aggregate.Question;
+import com.oncoresi.domain.aggregate.Question.QuestionStatus;
+import com.oncoresi.domain.valueobject.AnswerKey;
+import com.oncoresi.domain.valueobject.AnswerKey.ItemType;
+import com.oncoresi.domain.valueobject.AnswerKey.OptionCodec;
+import com.oncoresi.domain.valueobject.CourseCategory;
+import com.oncoresi.domain.valueobject.ExamPaper;
+import com.oncoresi.domain.valueobject.GradingResult;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 考生个人排列测试
+ * <p>
+ * 推导算法对客户端公开，客户端按同样的步骤自行重排共用试卷，因此固定种子下的题目与选项顺序是对外契约：
+ * 这里的期望值是黄金向量，实现变化导致顺序改变时必须同步客户端，不能直接改期望值。
+ */
+class PaperShuffleTest {
+
+    private static final long SEED = 20240601L;
+
+    /**
+     * 基准试卷：单选、多选、判断混排，选项数 3-6 个
+     */
+    private static final List<Question> BASE = List.of(
+            question(1, ItemType.SINGLE_CHOICE, List.of("a", "b", "c", "d"), "B"),
+            question(2, ItemType.MULTIPLE_CHOICE, List.of("a", "b", "c", "d", "e"), "ACD"),
+            question(3, ItemType.TRUE_FALSE, List.of(), "T"),
+            question(4, ItemType.SINGLE_CHOICE, List.of("a", "b", "c"), "C"),
+            question(5, ItemType.MULTIPLE_CHOICE, List.of("a", "b", "c", "d"), "AB"),
+            question(6, ItemType.SINGLE_CHOICE, List.of("a", "b", "c", "d", "e", "f"), "F")
+    );
+
+    @Test
+    void splitMix64MatchesReferenceOutput() {
+        // SplitMix64 参考实现以 0 为种子的前三个输出
+        SplitMix64 random = new SplitMix64(0);
+        assertThat(random.nextLong()).isEqualTo(0xE220A8397B1DCDAFL);
+        assertThat(random.nextLong()).isEqualTo(0x6E789E6AA1B965F4L);
+        assertThat(random.nextLong()).isEqualTo(0x06C45D188009454FL);
+    }
+
+    @Test
+    void derivesFixedQuestionAndOptionOrderForFixedSeed() {
+        PaperShuffle shuffle = PaperShuffle.derive(SEED, BASE);
+
+        assertThat(questionOrder(shuffle)).containsExactly(1, 4, 2, 5, 3, 0);
+
+        List<Question> displayed = shuffle.apply(new ExamPaper(1001L, null, BASE), 42L).questions();
+        assertThat(displayed).extracting(Question::getId).containsExactly(2L, 5L, 3L, 6L, 4L, 1L);
+        assertThat(displayed).extracting(Question::getOptions).containsExactly(
+                List.of("c", "d", "e", "b", "a"),
+                List.of("d", "a", "c", "b"),
+                List.of(),
+                List.of("f", "c", "b", "d", "a", "e"),
+                List.of("b", "c", "a"),
+                List.of("a", "d", "b", "c"));
+        assertThat(displayed).extracting(Question::getCorrectOptions)
+                .containsExactly("ABE", "BD", "T", "A", "B", "C");
+    }
+
+    @Test
+    void derivesFixedSeedFromExamTraineeAndSecret() {
+        assertThat(PaperShuffle.candidateSeed(0x5EEDL, 1001L, 42L)).isEqualTo(7726723913734460072L);
+        assertThat(questionOrder(PaperShuffle.derive(0x5EEDL, 1001L, 42L, BASE)))
+                .containsExactly(0, 4, 2, 1, 3, 5);
+        assertThat(questionOrder(PaperShuffle.derive(0x5EEDL, 1001L, 43L, BASE)))
+                .isNotEqualTo(questionOrder(PaperShuffle.derive(0x5EEDL, 1001L, 42L, BASE)));
+    }
+
+    @Test
+    void displayIndexInvertsBaseIndex() {
+        PaperShuffle shuffle = PaperShuffle.derive(SEED, BASE);
+
+        for (int display = 0; display < shuffle.size(); display++) {
+            assertThat(shuffle.displayIndex(shuffle.baseIndex(display))).isEqualTo(display);
+        }
+    }
+
+    @Test
+    void mapsDisplayedOptionsBackToBaseOptions() {
+        PaperShuffle shuffle = PaperShuffle.derive(SEED, BASE);
+
+        // 显示第 1 题（基准第 2 题）的显示选项 A-E 对应基准选项 C、D、E、B、A
+        assertThat(singleOptionsToBase(shuffle, 0, 5)).containsExactly(1 << 2, 1 << 3, 1 << 4, 1 << 1, 1);
+        assertThat(singleOptionsToBase(shuffle, 3, 6))
+                .containsExactly(1 << 5, 1 << 2, 1 << 1, 1 << 3, 1, 1 << 4);
+        // 判断题不打乱选项
+        assertThat(shuffle.toBaseOptions(2, 1)).isEqualTo(1);
+        assertThat(shuffle.toBaseOptions(2, 1 << 1)).isEqualTo(1 << 1);
+        // 超出选项范围的作答视为无效
+        assertThat(shuffle.toBaseOptions(4, 1 << 3)).isZero();
+        assertThat(shuffle.toBaseOptions(4, 1 | 1 << 3)).isZero();
+    }
+
+    @Test
+    void displayedCorrectOptionsRoundTripToBaseCorrectOptions() {
+        PaperShuffle shuffle = PaperShuffle.derive(SEED, BASE);
+        List<Question> displayed = shuffle.apply(new ExamPaper(1001L, null, BASE), 42L).questions();
+
+        for (int display = 0; display < shuffle.size(); display++) {
+            Question shown = displayed.get(display);
+            Question base = BASE.get(shuffle.baseIndex(display));
+            int displayedBits = OptionCodec.encode(shown.getType(), shown.getCorrectOptions());
+            assertThat(shuffle.toBaseOptions(display, displayedBits))
+                    .as("显示第 %d 题", display + 1)
+                    .isEqualTo(OptionCodec.encode(base.getType(), base.getCorrectOptions()));
+        }
+    }
+
+    @Test
+    void gradesDisplayOrderAnswersAgainstBaseAnswerKey() {
+        PaperShuffle shuffle = PaperShuffle.derive(SEED, BASE);
+        CompiledAnswerKey key = CompiledAnswerKey.compile(
+                new AnswerKey(1001L, BASE.stream().map(Question::toAnswerKeyItem).toList()));
+
+        // 按显示顺序作答：第 2 题答错（多选少选），其余按显示后的正确选项作答
+        List<String> answers = List.of("ABE", "B", "对", "A", "B", "C");
+        GradingResult result = key.grade(key.encode(answers, shuffle));
+
+        assertThat(result.correctCount()).isEqualTo(5);
+        // 逐题对错按基准题号排列：显示第 2 题是基准第 5 题
+        assertThat(result.wrongItems()).containsExactly(5);
+
+        List<String> baseOrderAnswers = List.of("B", "ACD", "T", "C", "A", "F");
+        assertThat(key.encode(answers, shuffle)).containsExactly(key.encode(baseOrderAnswers));
+    }
+
+    private static List<Integer> questionOrder(PaperShuffle shuffle) {
+        List<Integer> order = new ArrayList<>(shuffle.size());
+        for (int display = 0; display < shuffle.size(); display++) {
+            order.add(shuffle.baseIndex(display));
+        }
+        return order;
+    }
+
+    private static List<Integer> singleOptionsToBase(PaperShuffle shuffle, int displayIndex, int optionCount) {
+        List<Integer> base = new ArrayList<>(optionCount);
+        for (int option = 0; option < optionCount; option++) {
+            base.add(shuffle.toBaseOptions(displayIndex, 1 << option));
+        }
+        return base;
+    }
+
+    private static Question question(long id, ItemType type, List<String> options, String correctOptions) {
+        return Question.reconstitute(id, "肿瘤学", CourseCategory.BASIC_THEORY, type, 3, "题干" + id, options,
+                correctOptions, 2, QuestionStatus.ACTIVE, null);
+    }
+}
@@ -0,0 +1,191 @@
+package com.oncoresi.domain.aggregate;
+
+import com.oncoresi.domain.aggregate.ExamAggregate.ExamMetadata;
+import com.oncoresi.domain.aggregate.ExamAggregate.ExamType;
+import com.oncoresi.domain.aggregate.ExamSubmission.SubmissionId;
+import com.oncoresi.domain.exception.DomainException;
+import com.oncoresi.domain.valueobject.AbilityEstimate;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 自适应作答会话聚合根（单个学员参加单场自适应考试的过程）
+ * <p>
+ * 每次只出一道题（当前题），学员作答后更新能力估计并选出下一道题；
+ * 达到结束条件后按能力估计换算成绩并交卷。
+ */
+@Getter
+public class AdaptiveSession extends AggregateRoot<SubmissionId> {
+
+    /**
+     * 会话状态
+     */
+    public enum SessionStatus {
+        /**
+         * 作答中
+         */
+        ACTIVE,
+
+        /**
+         * 已结束并交卷
+         */
+        FINISHED
+    }
+
+    private final SubmissionId id;
+
+    /**
+     * 已作答题目ID（按作答顺序）
+     */
+    private final List<Long> questionIds;
+
+    /**
+     * 作答（与题目ID一一对应）
+     */
+    private final List<String> answers;
+
+    /**
+     * 是否答对（与题目ID一一对应）
+     */
+    private final List<Boolean> responses;
+
+    /**
+     * 当前题（已出题未作答，没有时为空）
+     */
+    private Long pendingQuestionId;
+
+    private AbilityEstimate estimate;
+
+    /**
+     * 成绩（结束后有值）
+     */
+    private Integer score;
+
+    private SessionStatus status;
+
+    private AdaptiveSession(SubmissionId id, List<Long> questionIds, List<String> answers, List<Boolean> responses,
+                            Long pendingQuestionId, AbilityEstimate estimate, Integer score, SessionStatus status) {
+        if (questionIds.size() != answers.size() || questionIds.size() != responses.size()) {
+            throw new IllegalArgumentException("作答记录长度不一致");
+        }
+        this.id = id;
+        this.questionIds = new ArrayList<>(questionIds);
+        this.answers = new ArrayList<>(answers);
+        this.responses = new ArrayList<>(responses);
+        this.pendingQuestionId = pendingQuestionId;
+        this.estimate = estimate;
+        this.score = score;
+        this.status = status;
+    }
+
+    @Override
+    public SubmissionId getId() {
+        return id;
+    }
+
+    /**
+     * 开始作答
+     */
+    public static AdaptiveSession start(ExamMetadata exam, Long traineeId) {
+        if (exam.examType() != ExamType.ADAPTIVE) {
+            throw DomainException.of("只有自适应考试可以逐题作答");
+        }
+        exam.checkAcceptingSubmissions();
+        return new AdaptiveSession(new SubmissionId(exam.examId(), traineeId), List.of(), List.of(), List.of(),
+                null, AbilityEstimate.prior(), null, SessionStatus.ACTIVE);
+    }
+
+    /**
+     * 重建聚合
+     */
+    public static AdaptiveSession reconstitute(Long examId, Long traineeId, List<Long> questionIds,
+                                               List<String> answers, List<Boolean> responses, Long pendingQuestionId,
+                                               AbilityEstimate estimate, Integer score, SessionStatus status) {
+        return new AdaptiveSession(new SubmissionId(examId, traineeId), questionIds, answers, responses,
+                pendingQuestionId, estimate, score, status);
+    }
+
+    /**
+     * 出题（设为当前题）
+     */
+    public void present(Long questionId) {
+        checkActive();
+        if (pendingQuestionId != null) {
+            throw DomainException.of("当前题尚未作答");
+        }
+        if (questionIds.contains(questionId)) {
+            throw DomainException.of("题目已作答过: " + questionId);
+        }
+        this.pendingQuestionId = questionId;
+    }
+
+    /**
+     * 作答当前题
+     *
+     * @param estimate 计入本题后的能力估计
+     */
+    public void answer(Long questionId, String answer, boolean correct, AbilityEstimate estimate) {
+        checkActive();
+        if (pendingQuestionId == null || !pendingQuestionId.equals(questionId)) {
+            throw DomainException.of("作答的不是当前题目");
+        }
+        questionIds.add(questionId);
+        answers.add(answer);
+        responses.add(correct);
+        this.pendingQuestionId = null;
+        this.estimate = estimate;
+    }
+
+    /**
+     * 结束作答
+     */
+    public void finish(int score) {
+        checkActive();
+        if (questionIds.isEmpty()) {
+            throw DomainException.of("尚未作答任何题目，无法结束");
+        }
+        this.pendingQuestionId = null;
+        this.score = score;
+        this.status = SessionStatus.FINISHED;
+    }
+
+    public int getAnsweredCount() {
+        return questionIds.size();
+    }
+
+    public boolean isActive() {
+        return status == SessionStatus.ACTIVE;
+    }
+
+    public Long getExamId() {
+        return id.examId();
+    }
+
+    public Long getTraineeId() {
+        return id.traineeId();
+    }
+
+    public List<Long> getQuestionIds() {
+        return Collections.unmodifiableList(questionIds);
+    }
+
+    /**
+     * 作答（未作答的题为空）
+     */
+    public List<String> getAnswers() {
+        return Collections.unmodifiableList(answers);
+    }
+
+    public List<Boolean> getResponses() {
+        return Collections.unmodifiableList(responses);
+    }
+
+    private void checkActive() {
+        if (status != SessionStatus.ACTIVE) {
+            throw DomainException.of("已交卷，无法继续作答");
+        }
+    }
+}
@@ -8,10 +8,16 @@ import java.util.List;
 
 /**
  * 聚合根基类
- * 提供领域事件管理功能
+ * 提供领域事件管理、乐观并发版本号功能
  */
 public abstract class AggregateRoot<ID> {
 
+    /**
+     * 版本号（乐观锁）
+     * 为 null 表示聚合尚未持久化；仓储保存时按版本号条件更新，并在成功后递增
+     */
+    private Long version;
+
     /**
      * 领域事件列表（在聚合内部产生的事件）
      */
@@ -22,6 +28,20 @@ public abstract class AggregateRoot<ID> {
      */
     public abstract ID getId();
 
+    /**
+     * 获取版本号
+     */
+    public Long getVersion() {
+        return version;
+    }
+
+    /**
+     * 设置版本号（仅供仓储加载、保存后使用）
+     */
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     /**
      * 添加领域事件
      */
@@ -60,6 +60,21 @@ public class CourseAggregate extends AggregateRoot<Long> {
      */
     private final Map<Long, LearningRecord> records; // traineeId -> LearningRecord
 
+    /**
+     * 学习人数（随学习记录累加，统计时不遍历记录）
+     */
+    private long studentCount;
+
+    /**
+     * 完成人数
+     */
+    private long completedCount;
+
+    /**
+     * 是否未加载学习记录（只含统计计数），此时不能记录学习
+     */
+    private boolean partial;
+
     /**
      * 课程状态枚举
      */
@@ -105,19 +120,19 @@ public class CourseAggregate extends AggregateRoot<Long> {
             this.completed = false;
         }
 
-        public void addStudyTime(int minutes) {
+        void addStudyTime(int minutes) {
             this.studyMinutes += minutes;
             this.lastAccessTime = LocalDateTime.now();
         }
 
-        public void updateProgress(int percentage) {
+        void updateProgress(int percentage) {
             this.completionPercentage = Math.min(100, percentage);
             if (this.completionPercentage >= 100) {
                 this.completed = true;
             }
         }
 
-        public void complete() {
+        void complete() {
             this.completed = true;
             this.completionPercentage = 100;
         }
@@ -161,6 +176,22 @@ public class CourseAggregate extends AggregateRoot<Long> {
         return aggregate;
     }
 
+    /**
+     * 重建聚合（包含统计计数，不加载学习记录）
+     * 用于课程概况展示，不能用于记录学习
+     */
+    public static CourseAggregate reconstitute(Long id, String title, String description, CourseCategory category,
+                                                Long instructorId, int duration, CourseStatus status,
+                                                List<LearningResource> resources,
+                                                long studentCount, long completedCount) {
+        CourseAggregate aggregate = reconstitute(id, title, description, category, instructorId, duration, status,
+                resources);
+        aggregate.studentCount = studentCount;
+        aggregate.completedCount = completedCount;
+        aggregate.partial = true;
+        return aggregate;
+    }
+
     /**
      * 创建新课程
      */
@@ -210,16 +241,28 @@ public class CourseAggregate extends AggregateRoot<Long> {
      * 记录学习
      */
     public void recordStudy(Long traineeId, int studyMinutes) {
+        if (partial) {
+            throw DomainException.of("课程未加载学习记录，不能记录学习: " + id);
+        }
         if (!isPublished()) {
             throw DomainException.of("课程未发布，无法学习");
         }
 
-        LearningRecord record = records.computeIfAbsent(traineeId, LearningRecord::new);
+        LearningRecord record = records.get(traineeId);
+        if (record == null) {
+            record = new LearningRecord(traineeId);
+            records.put(traineeId, record);
+            studentCount++;
+        }
+        boolean wasCompleted = record.isCompleted();
         record.addStudyTime(studyMinutes);
 
         // 计算进度
         int percentage = Math.min(100, (record.getStudyMinutes() * 100) / duration);
         record.updateProgress(percentage);
+        if (!wasCompleted && record.isCompleted()) {
+            completedCount++;
+        }
 
         // 如果完成，发布事件
         if (record.isCompleted()) {
@@ -238,16 +281,14 @@ public class CourseAggregate extends AggregateRoot<Long> {
      * 获取完成人数
      */
     public long getCompletedCount() {
-        return records.values().stream()
-                .filter(LearningRecord::isCompleted)
-                .count();
+        return completedCount;
     }
 
     /**
      * 获取学习人数
      */
     public int getStudentCount() {
-        return records.size();
+        return (int) studentCount;
     }
 
     /**
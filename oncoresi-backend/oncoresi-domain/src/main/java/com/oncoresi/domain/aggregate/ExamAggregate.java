@@ -1,16 +1,15 @@
 package com.oncoresi.domain.aggregate;
 
-import com.oncoresi.domain.event.ExamCompletedEvent;
 import com.oncoresi.domain.exception.DomainException;
-import com.oncoresi.domain.valueobject.ExamScore;
 import lombok.Getter;
 
 import java.time.LocalDateTime;
-import java.util.*;
+import java.util.Objects;
 
 /**
  * 考试聚合根
- * 封装考试、试卷、答卷、成绩等业务逻辑
+ * 封装考试本身的发布、开考、结束等业务逻辑；答卷与成绩由 ExamSubmission 聚合负责写入，
+ * 考试只保留交卷、及格计数用于概况展示
  */
 @Getter
 public class ExamAggregate extends AggregateRoot<Long> {
@@ -26,7 +25,7 @@ public class ExamAggregate extends AggregateRoot<Long> {
     private String examName;
 
     /**
-     * 考试类型（SKILL-技能考试, THEORY-理论考试）
+     * 考试类型（SKILL-技能考试, THEORY-理论考试, ADAPTIVE-自适应考试）
      */
     private ExamType examType;
 
@@ -51,20 +50,21 @@ public class ExamAggregate extends AggregateRoot<Long> {
     private ExamStatus status;
 
     /**
-     * 答卷列表
+     * 已交卷人数（由统计计数汇总，统计时不遍历成绩）
      */
-    private final Map<Long, ExamAnswer> answers; // traineeId -> ExamAnswer
+    private long submittedCount;
 
     /**
-     * 成绩列表
+     * 及格人数
      */
-    private final Map<Long, ExamScore> scores; // traineeId -> ExamScore
+    private long passedCount;
 
     /**
      * 考试类型枚举
+     * 自适应考试（练习、模拟考试）不组卷，按学员当前能力估计逐题选题，达到测量精度即结束
      */
     public enum ExamType {
-        SKILL, THEORY
+        SKILL, THEORY, ADAPTIVE
     }
 
     /**
@@ -75,28 +75,64 @@ public class ExamAggregate extends AggregateRoot<Long> {
     }
 
     /**
-     * 答卷（聚合内实体）
+     * 考试元数据（不含答卷与成绩）
+     * 单个学员交卷只需校验考试状态、时间窗口和及格线，不必加载整场考试的答卷
      */
-    @Getter
-    public static class ExamAnswer {
-        private Long traineeId;
-        private List<String> answers;
-        private LocalDateTime submitTime;
-        private boolean submitted;
+    public record ExamMetadata(
+            Long examId,
+            ExamType examType,
+            int passingScore,
+            LocalDateTime startTime,
+            LocalDateTime endTime,
+            ExamStatus status
+    ) {
+
+        /**
+         * 判断考试是否已过期
+         */
+        public boolean isExpired() {
+            return LocalDateTime.now().isAfter(endTime);
+        }
+
+        /**
+         * 校验考试当前是否接受交卷
+         */
+        public void checkAcceptingSubmissions() {
+            checkAcceptingSubmissionsUntil(endTime);
+        }
+
+        /**
+         * 校验考试当前是否接受交卷（按学员个人截止时间，含延时）
+         */
+        public void checkAcceptingSubmissionsUntil(LocalDateTime deadline) {
+            if (LocalDateTime.now().isAfter(deadline)) {
+                throw DomainException.of("考试已结束，无法提交答卷");
+            }
+
+            if (status != ExamStatus.IN_PROGRESS) {
+                throw DomainException.of("考试未开始或已结束");
+            }
+        }
 
-        public ExamAnswer(Long traineeId) {
-            this.traineeId = traineeId;
-            this.answers = new ArrayList<>();
-            this.submitted = false;
+        /**
+         * 校验排队交卷在收到时是否有效
+         * 收到时已校验考试进行中；处理时考试可能已到截止时间并被结束，只要收到时间在窗口内仍然有效
+         */
+        public void checkAcceptingSubmissions(LocalDateTime receivedAt) {
+            checkAcceptingSubmissions(receivedAt, endTime);
         }
 
-        public void submit(List<String> answers) {
-            if (submitted) {
-                throw DomainException.of("答卷已提交，无法重复提交");
+        /**
+         * 校验排队交卷在收到时是否有效（按学员个人截止时间，含延时）
+         */
+        public void checkAcceptingSubmissions(LocalDateTime receivedAt, LocalDateTime deadline) {
+            if (receivedAt.isAfter(deadline)) {
+                throw DomainException.of("考试已结束，无法提交答卷");
+            }
+
+            if (status != ExamStatus.IN_PROGRESS && status != ExamStatus.COMPLETED) {
+                throw DomainException.of("考试未开始或已结束");
             }
-            this.answers = new ArrayList<>(answers);
-            this.submitTime = LocalDateTime.now();
-            this.submitted = true;
         }
     }
 
@@ -112,8 +148,6 @@ public class ExamAggregate extends AggregateRoot<Long> {
         this.startTime = Objects.requireNonNull(startTime, "开始时间不能为空");
         this.endTime = Objects.requireNonNull(endTime, "结束时间不能为空");
         this.status = status != null ? status : ExamStatus.DRAFT;
-        this.answers = new HashMap<>();
-        this.scores = new HashMap<>();
 
         if (passingScore < 0 || passingScore > 100) {
             throw DomainException.of("及格分数必须在0-100之间");
@@ -130,7 +164,8 @@ public class ExamAggregate extends AggregateRoot<Long> {
     }
 
     /**
-     * 重建聚合
+     * 重建聚合（只含考试本身）
+     * 用于开始、结束等状态变更
      */
     public static ExamAggregate reconstitute(Long id, String examName, ExamType examType, int passingScore,
                                               LocalDateTime startTime, LocalDateTime endTime, ExamStatus status) {
@@ -138,35 +173,24 @@ public class ExamAggregate extends AggregateRoot<Long> {
     }
 
     /**
-     * 创建新考试
+     * 重建聚合（含交卷、及格计数）
+     * 用于监考、管理端查看考试概况
      */
-    public static ExamAggregate create(String examName, ExamType examType, int passingScore,
-                                        LocalDateTime startTime, LocalDateTime endTime) {
-        return new ExamAggregate(null, examName, examType, passingScore, startTime, endTime, ExamStatus.DRAFT);
+    public static ExamAggregate reconstitute(Long id, String examName, ExamType examType, int passingScore,
+                                              LocalDateTime startTime, LocalDateTime endTime, ExamStatus status,
+                                              long submittedCount, long passedCount) {
+        ExamAggregate aggregate = new ExamAggregate(id, examName, examType, passingScore, startTime, endTime, status);
+        aggregate.submittedCount = submittedCount;
+        aggregate.passedCount = passedCount;
+        return aggregate;
     }
 
     /**
-     * 提交答卷
+     * 创建新考试
      */
-    public void submitAnswer(Long traineeId, List<String> answers, int calculatedScore) {
-        if (isExpired()) {
-            throw DomainException.of("考试已结束，无法提交答卷");
-        }
-
-        if (status != ExamStatus.IN_PROGRESS) {
-            throw DomainException.of("考试未开始或已结束");
-        }
-
-        // 创建或获取答卷
-        ExamAnswer answer = this.answers.computeIfAbsent(traineeId, ExamAnswer::new);
-        answer.submit(answers);
-
-        // 计算成绩
-        ExamScore score = ExamScore.of(calculatedScore, passingScore);
-        this.scores.put(traineeId, score);
-
-        // 发布考试完成事件
-        addDomainEvent(new ExamCompletedEvent(this.id, traineeId, score));
+    public static ExamAggregate create(String examName, ExamType examType, int passingScore,
+                                        LocalDateTime startTime, LocalDateTime endTime) {
+        return new ExamAggregate(null, examName, examType, passingScore, startTime, endTime, ExamStatus.DRAFT);
     }
 
     /**
@@ -206,6 +230,13 @@ public class ExamAggregate extends AggregateRoot<Long> {
         this.status = ExamStatus.COMPLETED;
     }
 
+    /**
+     * 获取考试元数据
+     */
+    public ExamMetadata getMetadata() {
+        return new ExamMetadata(id, examType, passingScore, startTime, endTime, status);
+    }
+
     /**
      * 判断考试是否已过期
      */
@@ -217,15 +248,11 @@ public class ExamAggregate extends AggregateRoot<Long> {
      * 获取通过率
      */
     public double getPassRate() {
-        if (scores.isEmpty()) {
+        if (submittedCount == 0) {
             return 0.0;
         }
 
-        long passedCount = scores.values().stream()
-                .filter(ExamScore::passed)
-                .count();
-
-        return (passedCount * 100.0) / scores.size();
+        return (passedCount * 100.0) / submittedCount;
     }
 
     /**
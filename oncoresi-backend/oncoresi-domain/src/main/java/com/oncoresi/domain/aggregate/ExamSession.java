@@ -0,0 +1,144 @@
+package com.oncoresi.domain.aggregate;
+
+import com.oncoresi.domain.aggregate.ExamAggregate.ExamMetadata;
+import com.oncoresi.domain.aggregate.ExamAggregate.ExamType;
+import com.oncoresi.domain.aggregate.ExamSubmission.SubmissionId;
+import com.oncoresi.domain.exception.DomainException;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 考试会话聚合根（单个学员参加单场考试的过程）
+ * <p>
+ * 记录学员的个人截止时间（考试结束时间 + 延时）和作答草稿；
+ * 到达截止时间仍未交卷的会话按草稿自动交卷。
+ */
+@Getter
+public class ExamSession extends AggregateRoot<SubmissionId> {
+
+    /**
+     * 会话状态
+     */
+    public enum SessionStatus {
+        /**
+         * 作答中
+         */
+        ACTIVE,
+
+        /**
+         * 学员已交卷
+         */
+        SUBMITTED,
+
+        /**
+         * 到时自动交卷
+         */
+        AUTO_SUBMITTED
+    }
+
+    private final SubmissionId id;
+
+    /**
+     * 个人截止时间
+     */
+    private LocalDateTime deadline;
+
+    /**
+     * 累计延时（分钟）
+     */
+    private int extensionMinutes;
+
+    /**
+     * 作答草稿
+     */
+    private List<String> draftAnswers;
+
+    private SessionStatus status;
+
+    private ExamSession(SubmissionId id, LocalDateTime deadline, int extensionMinutes,
+                        List<String> draftAnswers, SessionStatus status) {
+        this.id = id;
+        this.deadline = deadline;
+        this.extensionMinutes = extensionMinutes;
+        this.draftAnswers = List.copyOf(draftAnswers);
+        this.status = status;
+    }
+
+    @Override
+    public SubmissionId getId() {
+        return id;
+    }
+
+    /**
+     * 开始作答（个人截止时间为考试结束时间）
+     */
+    public static ExamSession start(ExamMetadata exam, Long traineeId) {
+        if (exam.examType() == ExamType.ADAPTIVE) {
+            throw DomainException.of("自适应考试逐题作答，作答结束时自动交卷");
+        }
+        exam.checkAcceptingSubmissions();
+        return new ExamSession(new SubmissionId(exam.examId(), traineeId), exam.endTime(), 0,
+                List.of(), SessionStatus.ACTIVE);
+    }
+
+    /**
+     * 重建聚合
+     */
+    public static ExamSession reconstitute(Long examId, Long traineeId, LocalDateTime deadline, int extensionMinutes,
+                                           List<String> draftAnswers, SessionStatus status) {
+        return new ExamSession(new SubmissionId(examId, traineeId), deadline, extensionMinutes,
+                draftAnswers, status);
+    }
+
+    /**
+     * 延长个人作答时间
+     */
+    public void extend(int minutes) {
+        checkActive();
+        if (minutes <= 0) {
+            throw DomainException.of("延时必须大于0分钟");
+        }
+
+        this.deadline = deadline.plusMinutes(minutes);
+        this.extensionMinutes += minutes;
+    }
+
+    /**
+     * 保存作答草稿
+     */
+    public void saveDraft(List<String> answers) {
+        checkActive();
+        if (isDue(LocalDateTime.now())) {
+            throw DomainException.of("考试已结束，无法保存答案");
+        }
+
+        this.draftAnswers = List.copyOf(answers);
+    }
+
+    /**
+     * 判断是否已到个人截止时间
+     */
+    public boolean isDue(LocalDateTime now) {
+        return !now.isBefore(deadline);
+    }
+
+    public boolean isActive() {
+        return status == SessionStatus.ACTIVE;
+    }
+
+    public Long getExamId() {
+        return id.examId();
+    }
+
+    public Long getTraineeId() {
+        return id.traineeId();
+    }
+
+    private void checkActive() {
+        if (status != SessionStatus.ACTIVE) {
+            throw DomainException.of("已交卷，无法继续作答");
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.oncoresi.domain.aggregate;
+
+import com.oncoresi.domain.aggregate.ExamAggregate.ExamMetadata;
+import com.oncoresi.domain.event.ExamCompletedEvent;
+import com.oncoresi.domain.event.ExamScoreChangedEvent;
+import com.oncoresi.domain.valueobject.ExamScore;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 答卷聚合根（单个学员在单场考试中的答卷与成绩）
+ * <p>
+ * 每个学员的答卷是独立的一致性边界：交卷只校验考试元数据并写入该学员自己的一行，
+ * 与考试的规模无关，也不与其他学员的交卷争用同一行。
+ * <p>
+ * 成绩只来自服务端评分：没有标准答案的考试交卷时成绩为空（待评分），由阅卷老师录入或补录标准答案后评分，
+ * 评出成绩时才发布考试完成事件。
+ */
+@Getter
+public class ExamSubmission extends AggregateRoot<ExamSubmission.SubmissionId> {
+
+    /**
+     * 答卷标识（考试ID + 学员ID）
+     */
+    public record SubmissionId(Long examId, Long traineeId) {
+
+        public SubmissionId {
+            Objects.requireNonNull(examId, "考试ID不能为空");
+            Objects.requireNonNull(traineeId, "学员ID不能为空");
+        }
+    }
+
+    private final SubmissionId id;
+
+    /**
+     * 答案
+     */
+    private final List<String> answers;
+
+    /**
+     * 提交时间
+     */
+    private final LocalDateTime submitTime;
+
+    /**
+     * 成绩（待评分时为空）
+     */
+    private ExamScore score;
+
+    private ExamSubmission(SubmissionId id, List<String> answers, LocalDateTime submitTime, ExamScore score) {
+        this.id = id;
+        this.answers = List.copyOf(answers);
+        this.submitTime = submitTime;
+        this.score = score;
+    }
+
+    @Override
+    public SubmissionId getId() {
+        return id;
+    }
+
+    /**
+     * 交卷
+     *
+     * @param exam        考试元数据（状态、时间窗口、及格线）
+     * @param traineeId   学员ID
+     * @param answers     答案
+     * @param gradedScore 服务端评分结果（没有标准答案时为空，答卷待评分）
+     */
+    public static ExamSubmission submit(ExamMetadata exam, Long traineeId, List<String> answers,
+                                        Integer gradedScore) {
+        exam.checkAcceptingSubmissions();
+        return accept(exam, traineeId, answers, gradedScore, LocalDateTime.now());
+    }
+
+    /**
+     * 排队交卷（按收到时间校验考试时间窗口，提交时间记为收到时间）
+     *
+     * @param receivedAt 交卷请求被接收的时间
+     */
+    public static ExamSubmission submit(ExamMetadata exam, Long traineeId, List<String> answers,
+                                        Integer gradedScore, LocalDateTime receivedAt) {
+        return submit(exam, traineeId, answers, gradedScore, receivedAt, exam.endTime());
+    }
+
+    /**
+     * 排队交卷（按学员个人截止时间校验，含延时）
+     *
+     * @param receivedAt 交卷请求被接收的时间
+     * @param deadline   学员个人截止时间
+     */
+    public static ExamSubmission submit(ExamMetadata exam, Long traineeId, List<String> answers,
+                                        Integer gradedScore, LocalDateTime receivedAt, LocalDateTime deadline) {
+        exam.checkAcceptingSubmissions(receivedAt, deadline);
+        return accept(exam, traineeId, answers, gradedScore, receivedAt);
+    }
+
+    private static ExamSubmission accept(ExamMetadata exam, Long traineeId, List<String> answers,
+                                         Integer gradedScore, LocalDateTime submitTime) {
+        ExamSubmission submission = new ExamSubmission(
+                new SubmissionId(exam.examId(), traineeId), answers, submitTime, null);
+        if (gradedScore != null) {
+            submission.grade(ExamScore.of(gradedScore, exam.passingScore()));
+        }
+        return submission;
+    }
+
+    /**
+     * 评定成绩（阅卷录入或按标准答案评分）
+     * 待评分的答卷首次评出成绩时发布考试完成事件；已评分的答卷成绩改变时发布成绩变更事件（携带旧成绩）
+     */
+    public void grade(ExamScore score) {
+        Objects.requireNonNull(score, "成绩不能为空");
+        ExamScore previous = this.score;
+        this.score = score;
+        if (previous == null) {
+            addDomainEvent(new ExamCompletedEvent(getExamId(), getTraineeId(), score, submitTime));
+        } else if (!previous.equals(score)) {
+            addDomainEvent(new ExamScoreChangedEvent(getExamId(), getTraineeId(), previous, score, submitTime));
+        }
+    }
+
+    /**
+     * 是否已评分
+     */
+    public boolean isGraded() {
+        return score != null;
+    }
+
+    /**
+     * 重建聚合
+     *
+     * @param score 成绩（待评分时为空）
+     */
+    public static ExamSubmission reconstitute(Long examId, Long traineeId, List<String> answers,
+                                              LocalDateTime submitTime, ExamScore score) {
+        return new ExamSubmission(new SubmissionId(examId, traineeId), answers, submitTime, score);
+    }
+
+    public Long getExamId() {
+        return id.examId();
+    }
+
+    public Long getTraineeId() {
+        return id.traineeId();
+    }
+}
@@ -0,0 +1,231 @@
+package com.oncoresi.domain.aggregate;
+
+import com.oncoresi.domain.exception.DomainException;
+import com.oncoresi.domain.valueobject.AnswerKey;
+import com.oncoresi.domain.valueobject.AnswerKey.ItemType;
+import com.oncoresi.domain.valueobject.CourseCategory;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 题目聚合根（题库中的一道客观题）
+ * 题库即全部题目的集合，组卷按学科、课程类别、题型、难度筛选题目
+ */
+@Getter
+public class Question extends AggregateRoot<Long> {
+
+    /**
+     * 最低难度
+     */
+    public static final int MIN_DIFFICULTY = 1;
+
+    /**
+     * 最高难度
+     */
+    public static final int MAX_DIFFICULTY = 5;
+
+    /**
+     * 题目ID
+     */
+    private Long id;
+
+    /**
+     * 学科
+     */
+    private String subject;
+
+    /**
+     * 课程类别
+     */
+    private CourseCategory category;
+
+    /**
+     * 题型
+     */
+    private ItemType type;
+
+    /**
+     * 难度（1-5，5 最难）
+     */
+    private int difficulty;
+
+    /**
+     * 题干
+     */
+    private String stem;
+
+    /**
+     * 选项（判断题为空）
+     */
+    private List<String> options;
+
+    /**
+     * 正确选项
+     */
+    private String correctOptions;
+
+    /**
+     * 分值
+     */
+    private int points;
+
+    /**
+     * 题目状态
+     */
+    private QuestionStatus status;
+
+    /**
+     * 最近一次组卷使用时间（从未使用为空）
+     */
+    private LocalDateTime lastUsedTime;
+
+    /**
+     * 题目状态枚举
+     */
+    public enum QuestionStatus {
+        ACTIVE, RETIRED
+    }
+
+    private Question() {
+    }
+
+    /**
+     * 录入题目
+     */
+    public static Question create(String subject, CourseCategory category, ItemType type, int difficulty,
+                                  String stem, List<String> options, String correctOptions, int points) {
+        if (subject == null || subject.isBlank()) {
+            throw DomainException.of("学科不能为空");
+        }
+        if (category == null) {
+            throw DomainException.of("课程类别不能为空");
+        }
+        if (difficulty < MIN_DIFFICULTY || difficulty > MAX_DIFFICULTY) {
+            throw DomainException.of("难度必须在1-5之间: " + difficulty);
+        }
+        if (stem == null || stem.isBlank()) {
+            throw DomainException.of("题干不能为空");
+        }
+        // 复用标准答案的题型、正确选项与分值校验
+        AnswerKey.Item item = new AnswerKey.Item(type, correctOptions, points);
+        List<String> optionList = options != null ? List.copyOf(options) : List.of();
+        if (type != ItemType.TRUE_FALSE && (optionList.size() < 2 || optionList.size() > AnswerKey.MAX_OPTIONS)) {
+            throw DomainException.of("选择题选项数必须在2-" + AnswerKey.MAX_OPTIONS + "之间");
+        }
+        if (type != ItemType.TRUE_FALSE
+                && AnswerKey.OptionCodec.encode(type, correctOptions) >>> optionList.size() != 0) {
+            throw DomainException.of("正确选项超出选项范围: " + correctOptions);
+        }
+
+        Question question = new Question();
+        question.subject = subject.strip();
+        question.category = category;
+        question.type = item.type();
+        question.difficulty = difficulty;
+        question.stem = stem;
+        question.options = optionList;
+        question.correctOptions = item.correctOptions();
+        question.points = item.points();
+        question.status = QuestionStatus.ACTIVE;
+        return question;
+    }
+
+    /**
+     * 重建聚合
+     */
+    public static Question reconstitute(Long id, String subject, CourseCategory category, ItemType type,
+                                        int difficulty, String stem, List<String> options, String correctOptions,
+                                        int points, QuestionStatus status, LocalDateTime lastUsedTime) {
+        Question question = new Question();
+        question.id = id;
+        question.subject = subject;
+        question.category = category;
+        question.type = type;
+        question.difficulty = difficulty;
+        question.stem = stem;
+        question.options = List.copyOf(options);
+        question.correctOptions = correctOptions;
+        question.points = points;
+        question.status = status;
+        question.lastUsedTime = lastUsedTime;
+        return question;
+    }
+
+    /**
+     * 停用题目（不再参与组卷，已组成的试卷不受影响）
+     */
+    public void retire() {
+        if (status == QuestionStatus.RETIRED) {
+            throw DomainException.of("题目已停用");
+        }
+        this.status = QuestionStatus.RETIRED;
+    }
+
+    /**
+     * 判断题目是否可参与组卷
+     */
+    public boolean isActive() {
+        return status == QuestionStatus.ACTIVE;
+    }
+
+    /**
+     * 判断题目是否在 since 之后被组卷使用过
+     */
+    public boolean isUsedSince(LocalDateTime since) {
+        return lastUsedTime != null && lastUsedTime.isAfter(since);
+    }
+
+    /**
+     * 记录组卷使用时间
+     *
+     * @return 更新了使用时间的题目副本（内存索引中的题目不修改）
+     */
+    public Question usedAt(LocalDateTime usedTime) {
+        return reconstitute(id, subject, category, type, difficulty, stem, options, correctOptions, points, status,
+                usedTime);
+    }
+
+    /**
+     * 转换为标准答案中的一题
+     */
+    public AnswerKey.Item toAnswerKeyItem() {
+        return new AnswerKey.Item(type, correctOptions, points);
+    }
+
+    /**
+     * 按给定顺序重排选项，正确选项随之换成新的字母（用于考生个人的显示顺序，判断题不重排）
+     *
+     * @param order 新选项下标 -> 原选项下标
+     * @return 重排后的题目副本
+     */
+    public Question reorderOptions(byte[] order) {
+        if (type == ItemType.TRUE_FALSE) {
+            return this;
+        }
+        if (order.length != options.size()) {
+            throw DomainException.of("选项顺序与选项数不一致: " + id);
+        }
+
+        int correctBits = AnswerKey.OptionCodec.encode(type, correctOptions);
+        List<String> reordered = new ArrayList<>(order.length);
+        StringBuilder reorderedCorrect = new StringBuilder();
+        for (int k = 0; k < order.length; k++) {
+            reordered.add(options.get(order[k]));
+            if ((correctBits >>> order[k] & 1) != 0) {
+                reorderedCorrect.append((char) ('A' + k));
+            }
+        }
+        return reconstitute(id, subject, category, type, difficulty, stem, reordered,
+                reorderedCorrect.toString(), points, status, lastUsedTime);
+    }
+
+    /**
+     * 设置ID（用于持久化后）
+     */
+    public void setId(Long id) {
+        this.id = id;
+    }
+}
@@ -56,6 +56,21 @@ public class RecruitmentAggregate extends AggregateRoot<Long> {
      */
     private final List<Application> applications;
 
+    /**
+     * 审核通过（待录取）的申请数（随状态变化增减，统计时不遍历申请）
+     */
+    private long approvedCount;
+
+    /**
+     * 已录取的申请数
+     */
+    private long admittedCount;
+
+    /**
+     * 是否未加载报名申请（只含统计计数），此时不能报名、审核、录取
+     */
+    private boolean partial;
+
     /**
      * 报名申请（聚合内实体）
      */
@@ -82,7 +97,7 @@ public class RecruitmentAggregate extends AggregateRoot<Long> {
             this.submitTime = LocalDateTime.now();
         }
 
-        public void approve(Long reviewerId, String comments) {
+        void approve(Long reviewerId, String comments) {
             if (!status.needsReview()) {
                 throw DomainException.of("当前状态无法审核");
             }
@@ -92,7 +107,7 @@ public class RecruitmentAggregate extends AggregateRoot<Long> {
             this.reviewTime = LocalDateTime.now();
         }
 
-        public void reject(Long reviewerId, String comments) {
+        void reject(Long reviewerId, String comments) {
             if (!status.needsReview()) {
                 throw DomainException.of("当前状态无法审核");
             }
@@ -102,14 +117,14 @@ public class RecruitmentAggregate extends AggregateRoot<Long> {
             this.reviewTime = LocalDateTime.now();
         }
 
-        public void admit() {
+        void admit() {
             if (status != RecruitmentStatus.REVIEW_PASSED) {
                 throw DomainException.of("只有审核通过的申请可以录取");
             }
             this.status = RecruitmentStatus.ADMITTED;
         }
 
-        public void updateStatus(RecruitmentStatus newStatus) {
+        void updateStatus(RecruitmentStatus newStatus) {
             this.status = newStatus;
         }
     }
@@ -154,11 +169,29 @@ public class RecruitmentAggregate extends AggregateRoot<Long> {
                 id, title, content, registrationStart, registrationEnd, examDate, recruitmentCount
         );
         if (applications != null) {
+            applications.forEach(application -> aggregate.countStatus(application.getStatus(), 1));
             aggregate.applications.addAll(applications);
         }
         return aggregate;
     }
 
+    /**
+     * 重建聚合（只含统计计数，不加载报名申请）
+     * 用于管理端查看招录概况，不能用于审核、录取
+     */
+    public static RecruitmentAggregate reconstitute(Long id, String title, String content,
+                                                     LocalDate registrationStart, LocalDate registrationEnd,
+                                                     LocalDate examDate, int recruitmentCount,
+                                                     long approvedCount, long admittedCount) {
+        RecruitmentAggregate aggregate = new RecruitmentAggregate(
+                id, title, content, registrationStart, registrationEnd, examDate, recruitmentCount
+        );
+        aggregate.approvedCount = approvedCount;
+        aggregate.admittedCount = admittedCount;
+        aggregate.partial = true;
+        return aggregate;
+    }
+
     /**
      * 创建招录公告
      */
@@ -172,6 +205,7 @@ public class RecruitmentAggregate extends AggregateRoot<Long> {
      * 提交报名申请
      */
     public Long submitApplication(String applicantName, String phone, String email, String education) {
+        checkApplicationsLoaded();
         if (!isInRegistrationPeriod()) {
             throw DomainException.of("当前不在报名期内");
         }
@@ -191,10 +225,12 @@ public class RecruitmentAggregate extends AggregateRoot<Long> {
      * 审核报名申请
      */
     public void reviewApplication(Long applicationId, Long reviewerId, boolean approved, String comments) {
+        checkApplicationsLoaded();
         Application application = findApplication(applicationId);
 
         if (approved) {
             application.approve(reviewerId, comments);
+            countStatus(RecruitmentStatus.REVIEW_PASSED, 1);
         } else {
             application.reject(reviewerId, comments);
         }
@@ -206,6 +242,7 @@ public class RecruitmentAggregate extends AggregateRoot<Long> {
      * 批量录取
      */
     public void admitApplications(List<Long> applicationIds) {
+        checkApplicationsLoaded();
         if (applicationIds.size() > recruitmentCount) {
             throw DomainException.of("录取人数不能超过招录人数");
         }
@@ -213,6 +250,8 @@ public class RecruitmentAggregate extends AggregateRoot<Long> {
         for (Long appId : applicationIds) {
             Application application = findApplication(appId);
             application.admit();
+            countStatus(RecruitmentStatus.REVIEW_PASSED, -1);
+            countStatus(RecruitmentStatus.ADMITTED, 1);
         }
     }
 
@@ -228,18 +267,34 @@ public class RecruitmentAggregate extends AggregateRoot<Long> {
      * 获取审核通过的申请数量
      */
     public long getApprovedCount() {
-        return applications.stream()
-                .filter(app -> app.getStatus() == RecruitmentStatus.REVIEW_PASSED)
-                .count();
+        return approvedCount;
     }
 
     /**
      * 获取已录取的申请数量
      */
     public long getAdmittedCount() {
-        return applications.stream()
-                .filter(app -> app.getStatus() == RecruitmentStatus.ADMITTED)
-                .count();
+        return admittedCount;
+    }
+
+    /**
+     * 按申请状态增减统计计数
+     */
+    private void countStatus(RecruitmentStatus status, int delta) {
+        if (status == RecruitmentStatus.REVIEW_PASSED) {
+            approvedCount += delta;
+        } else if (status == RecruitmentStatus.ADMITTED) {
+            admittedCount += delta;
+        }
+    }
+
+    /**
+     * 校验已加载报名申请（只含统计计数的聚合不能修改申请）
+     */
+    private void checkApplicationsLoaded() {
+        if (partial) {
+            throw DomainException.of("招录未加载报名申请，不能修改申请: " + id);
+        }
     }
 
     /**
@@ -0,0 +1,53 @@
+package com.oncoresi.domain.aggregate;
+
+import com.oncoresi.domain.aggregate.TrainingPlanAggregate.RotationSchedule;
+import com.oncoresi.domain.valueobject.RotationPeriod;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * 学员轮转时间索引（聚合内部使用）
+ * <p>
+ * 同一学员的轮转互不重叠，按开始日期有序存放后，与新周期可能冲突的只有
+ * 开始日期不晚于新周期开始的最后一条、以及开始日期最早的后一条，冲突检查为 O(log n)。
+ */
+class RotationConflictIndex {
+
+    private final Map<Long, NavigableMap<LocalDate, RotationSchedule>> byTrainee = new HashMap<>();
+
+    /**
+     * 查找与指定学员、周期冲突的已有轮转
+     *
+     * @return 冲突的轮转，无冲突返回 null
+     */
+    RotationSchedule findConflict(Long traineeId, RotationPeriod period) {
+        NavigableMap<LocalDate, RotationSchedule> schedules = byTrainee.get(traineeId);
+        if (schedules == null) {
+            return null;
+        }
+
+        Map.Entry<LocalDate, RotationSchedule> before = schedules.floorEntry(period.startDate());
+        if (before != null && before.getValue().getPeriod().overlaps(period)) {
+            return before.getValue();
+        }
+
+        Map.Entry<LocalDate, RotationSchedule> after = schedules.higherEntry(period.startDate());
+        if (after != null && after.getValue().getPeriod().overlaps(period)) {
+            return after.getValue();
+        }
+
+        return null;
+    }
+
+    /**
+     * 加入索引（调用方需先完成冲突检查）
+     */
+    void add(RotationSchedule rotation) {
+        byTrainee.computeIfAbsent(rotation.getTraineeId(), id -> new TreeMap<>())
+                .put(rotation.getPeriod().startDate(), rotation);
+    }
+}
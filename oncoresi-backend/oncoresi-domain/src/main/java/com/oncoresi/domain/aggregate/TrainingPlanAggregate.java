@@ -1,17 +1,22 @@
 package com.oncoresi.domain.aggregate;
 
+import com.oncoresi.domain.event.CohortPlanClonedEvent;
 import com.oncoresi.domain.event.PhaseCompletedEvent;
 import com.oncoresi.domain.event.RotationAddedEvent;
 import com.oncoresi.domain.event.TrainingPlanCreatedEvent;
 import com.oncoresi.domain.exception.DomainException;
 import com.oncoresi.domain.valueobject.RotationPeriod;
 import com.oncoresi.domain.valueobject.TrainingPhase;
+import lombok.AccessLevel;
 import lombok.Getter;
 
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.TreeMap;
 
 /**
  * 培训计划聚合根
@@ -60,6 +65,18 @@ public class TrainingPlanAggregate extends AggregateRoot<Long> {
      */
     private final List<RotationSchedule> rotations;
 
+    /**
+     * 按学员、开始日期组织的轮转索引，用于冲突检查
+     */
+    @Getter(AccessLevel.NONE)
+    private final RotationConflictIndex rotationIndex = new RotationConflictIndex();
+
+    /**
+     * 已添加、尚未发布轮转添加事件的轮转（轮转ID在仓储保存时分配，保存后再生成事件）
+     */
+    @Getter(AccessLevel.NONE)
+    private final List<RotationSchedule> unpublishedRotations = new ArrayList<>();
+
     /**
      * 计划状态枚举
      */
@@ -85,6 +102,13 @@ public class TrainingPlanAggregate extends AggregateRoot<Long> {
             this.period = period;
             this.supervisorId = supervisorId;
         }
+
+        /**
+         * 设置ID（用于持久化后）
+         */
+        public void setId(Long id) {
+            this.id = id;
+        }
     }
 
     /**
@@ -101,6 +125,7 @@ public class TrainingPlanAggregate extends AggregateRoot<Long> {
         this.endDate = Objects.requireNonNull(endDate, "结束日期不能为空");
         this.phases = new ArrayList<>(phases != null ? phases : List.of());
         this.rotations = new ArrayList<>(rotations != null ? rotations : List.of());
+        this.rotations.forEach(rotationIndex::add);
 
         if (endDate.isBefore(startDate)) {
             throw DomainException.of("结束日期不能早于开始日期");
@@ -156,21 +181,113 @@ public class TrainingPlanAggregate extends AggregateRoot<Long> {
      * 添加轮转安排
      */
     public void addRotation(RotationSchedule rotation) {
+        addRotations(List.of(rotation));
+    }
+
+    /**
+     * 批量添加轮转安排
+     * 整批校验通过后才写入，任一轮转冲突则整批不生效；保存后调用 {@link #rotationsSaved()} 发布轮转添加事件
+     */
+    public void addRotations(List<RotationSchedule> batch) {
         if (!isActive()) {
             throw DomainException.of("只能向进行中的计划添加轮转");
         }
 
-        // 检查时间冲突
-        for (RotationSchedule existing : rotations) {
-            if (existing.getTraineeId().equals(rotation.getTraineeId()) &&
-                existing.getPeriod().overlaps(rotation.getPeriod())) {
-                throw DomainException.of("学员轮转时间冲突");
+        appendRotations(batch);
+        unpublishedRotations.addAll(batch);
+    }
+
+    /**
+     * 新增的轮转已保存（仓储已回填轮转ID），为其发布轮转添加事件
+     */
+    public void rotationsSaved() {
+        for (RotationSchedule rotation : unpublishedRotations) {
+            addDomainEvent(new RotationAddedEvent(this.id, Objects.requireNonNull(rotation.getId(), "轮转尚未保存"),
+                    rotation.getTraineeId(), rotation.getDepartmentId(),
+                    rotation.getPeriod().startDate(), rotation.getPeriod().endDate()));
+        }
+        unpublishedRotations.clear();
+    }
+
+    /**
+     * 以本计划为模板，为新一届学员生成培训计划
+     * <p>
+     * 阶段与轮转整体平移到新的开始日期；模板中的每名学员视为一个轮转“槽位”，
+     * 新学员按顺序轮流套用各槽位的轮转安排（保持模板中错峰轮转的结构）。
+     * 带教老师需按新一届学员重新分配，不从模板复制。
+     * 整批轮转经冲突索引校验，只产生一个汇总事件。
+     *
+     * @param newPlanId    新计划ID（由仓储预先分配，保证汇总事件携带正确的计划ID）
+     * @param planName     新计划名称
+     * @param newStartDate 新计划开始日期
+     * @param traineeIds   新一届学员
+     */
+    public TrainingPlanAggregate cloneForCohort(Long newPlanId, String planName, LocalDate newStartDate,
+                                                List<Long> traineeIds) {
+        if (status == PlanStatus.CANCELLED) {
+            throw DomainException.of("已取消的计划不能作为模板");
+        }
+        if (traineeIds == null || traineeIds.isEmpty()) {
+            throw DomainException.of("新一届学员不能为空");
+        }
+
+        long shift = ChronoUnit.DAYS.between(startDate, newStartDate);
+
+        List<TrainingPhase> shiftedPhases = new ArrayList<>(phases.size());
+        for (TrainingPhase phase : phases) {
+            shiftedPhases.add(new TrainingPhase(phase.phaseName(),
+                    phase.startDate().plusDays(shift), phase.endDate().plusDays(shift),
+                    phase.requiredCaseCount(), phase.requiredSkillCount()));
+        }
+
+        TrainingPlanAggregate clone = new TrainingPlanAggregate(
+                newPlanId, planName, description, PlanStatus.DRAFT,
+                startDate.plusDays(shift), endDate.plusDays(shift), shiftedPhases, List.of()
+        );
+
+        // 模板学员槽位（按学员ID排序，保证同一模板的套用结果稳定）
+        Map<Long, List<RotationSchedule>> slots = new TreeMap<>();
+        for (RotationSchedule rotation : rotations) {
+            slots.computeIfAbsent(rotation.getTraineeId(), id -> new ArrayList<>()).add(rotation);
+        }
+        List<List<RotationSchedule>> slotRotations = new ArrayList<>(slots.values());
+
+        List<RotationSchedule> batch = new ArrayList<>();
+        if (!slotRotations.isEmpty()) {
+            for (int i = 0; i < traineeIds.size(); i++) {
+                for (RotationSchedule rotation : slotRotations.get(i % slotRotations.size())) {
+                    RotationPeriod period = rotation.getPeriod();
+                    batch.add(new RotationSchedule(null, traineeIds.get(i), rotation.getDepartmentId(),
+                            RotationPeriod.of(period.startDate().plusDays(shift), period.endDate().plusDays(shift)),
+                            null));
+                }
             }
         }
+        clone.appendRotations(batch);
+
+        clone.addDomainEvent(new CohortPlanClonedEvent(newPlanId, this.id, planName,
+                traineeIds.size(), batch.size(), clone.startDate, clone.endDate));
 
-        rotations.add(rotation);
+        return clone;
+    }
+
+    /**
+     * 校验并写入一批轮转（与已有轮转、与本批次中先前的轮转均不得冲突）
+     */
+    private void appendRotations(List<RotationSchedule> batch) {
+        RotationConflictIndex batchIndex = new RotationConflictIndex();
+        for (RotationSchedule rotation : batch) {
+            if (rotationIndex.findConflict(rotation.getTraineeId(), rotation.getPeriod()) != null ||
+                batchIndex.findConflict(rotation.getTraineeId(), rotation.getPeriod()) != null) {
+                throw DomainException.of("学员轮转时间冲突");
+            }
+            batchIndex.add(rotation);
+        }
 
-        addDomainEvent(new RotationAddedEvent(this.id, rotation.getId()));
+        for (RotationSchedule rotation : batch) {
+            rotations.add(rotation);
+            rotationIndex.add(rotation);
+        }
     }
 
     /**
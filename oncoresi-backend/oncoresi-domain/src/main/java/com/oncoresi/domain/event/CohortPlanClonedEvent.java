@@ -0,0 +1,36 @@
+package com.oncoresi.domain.event;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 届次培训计划克隆事件
+ * 按模板为新一届学员批量生成计划时只发布这一个汇总事件，轮转明细由订阅方按计划ID读取
+ */
+public record CohortPlanClonedEvent(
+        Long planId,
+        Long templatePlanId,
+        String planName,
+        int traineeCount,
+        int rotationCount,
+        LocalDate startDate,
+        LocalDate endDate,
+        LocalDateTime occurredOn
+) implements DomainEvent {
+
+    public CohortPlanClonedEvent(Long planId, Long templatePlanId, String planName,
+                                 int traineeCount, int rotationCount, LocalDate startDate, LocalDate endDate) {
+        this(planId, templatePlanId, planName, traineeCount, rotationCount, startDate, endDate,
+                LocalDateTime.now());
+    }
+
+    @Override
+    public String eventType() {
+        return "COHORT_PLAN_CLONED";
+    }
+
+    @Override
+    public Long aggregateId() {
+        return planId;
+    }
+}
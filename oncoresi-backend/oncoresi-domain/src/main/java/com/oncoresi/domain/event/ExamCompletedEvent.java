@@ -1,20 +1,35 @@
 package com.oncoresi.domain.event;
 
 import com.oncoresi.domain.valueobject.ExamScore;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 /**
- * 考试完成事件
+ * 考试完成事件（答卷首次评出成绩）
+ *
+ * @param submitTime 交卷时间（读模型按交卷日期计入周期桶，成绩变更时撤销同一个桶；旧消息中为空）
  */
 public record ExamCompletedEvent(
         Long examId,
         Long traineeId,
         ExamScore score,
+        LocalDateTime submitTime,
         LocalDateTime occurredOn
 ) implements DomainEvent {
 
     public ExamCompletedEvent(Long examId, Long traineeId, ExamScore score) {
-        this(examId, traineeId, score, LocalDateTime.now());
+        this(examId, traineeId, score, null, LocalDateTime.now());
+    }
+
+    public ExamCompletedEvent(Long examId, Long traineeId, ExamScore score, LocalDateTime submitTime) {
+        this(examId, traineeId, score, submitTime, LocalDateTime.now());
+    }
+
+    /**
+     * 计入读模型周期桶的日期
+     */
+    public LocalDate scoredDate() {
+        return (submitTime != null ? submitTime : occurredOn).toLocalDate();
     }
 
     @Override
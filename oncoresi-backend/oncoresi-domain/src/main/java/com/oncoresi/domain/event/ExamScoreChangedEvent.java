@@ -0,0 +1,40 @@
+package com.oncoresi.domain.event;
+
+import com.oncoresi.domain.valueobject.ExamScore;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * 考试成绩变更事件
+ * 已评分的答卷因更正标准答案重新评分或阅卷更正成绩而改变成绩时发布，携带变更前后的成绩，
+ * 供累加型读模型撤销旧成绩、计入新成绩；changeId 每次变更唯一，读模型按其去重
+ *
+ * @param submitTime 交卷时间（读模型按交卷日期计入，与考试完成事件计入同一个周期桶）
+ */
+public record ExamScoreChangedEvent(
+        Long examId,
+        Long traineeId,
+        ExamScore previousScore,
+        ExamScore score,
+        LocalDateTime submitTime,
+        String changeId,
+        LocalDateTime occurredOn
+) implements DomainEvent {
+
+    public ExamScoreChangedEvent(Long examId, Long traineeId, ExamScore previousScore, ExamScore score,
+                                 LocalDateTime submitTime) {
+        this(examId, traineeId, previousScore, score, submitTime, UUID.randomUUID().toString(),
+                LocalDateTime.now());
+    }
+
+    @Override
+    public String eventType() {
+        return "EXAM_SCORE_CHANGED";
+    }
+
+    @Override
+    public Long aggregateId() {
+        return examId;
+    }
+}
@@ -1,18 +1,25 @@
 package com.oncoresi.domain.event;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 /**
  * 轮转添加事件
+ * 携带学员、科室与轮转起止日期，供科室在岗时间轴等读模型直接投影
  */
 public record RotationAddedEvent(
         Long planId,
         Long rotationId,
+        Long traineeId,
+        Long departmentId,
+        LocalDate startDate,
+        LocalDate endDate,
         LocalDateTime occurredOn
 ) implements DomainEvent {
 
-    public RotationAddedEvent(Long planId, Long rotationId) {
-        this(planId, rotationId, LocalDateTime.now());
+    public RotationAddedEvent(Long planId, Long rotationId, Long traineeId, Long departmentId,
+                              LocalDate startDate, LocalDate endDate) {
+        this(planId, rotationId, traineeId, departmentId, startDate, endDate, LocalDateTime.now());
     }
 
     @Override
@@ -0,0 +1,54 @@
+package com.oncoresi.domain.repository;
+
+import com.oncoresi.domain.aggregate.AdaptiveSession;
+import com.oncoresi.domain.valueobject.AdaptiveTestSpec;
+import com.oncoresi.domain.valueobject.ItemCalibration;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 自适应考试仓储接口（考试规则、题目参数快照与作答会话）
+ */
+public interface AdaptiveTestRepository {
+
+    /**
+     * 保存考试规则（已有时覆盖，并清除题目参数快照）
+     */
+    void saveSpec(AdaptiveTestSpec spec);
+
+    /**
+     * 查询考试规则
+     */
+    Optional<AdaptiveTestSpec> findSpec(Long examId);
+
+    /**
+     * 保存题目参数快照（已有参数的题目保持不变，多节点同时保存以先写入的为准）
+     */
+    void addCalibrations(Long examId, List<ItemCalibration> calibrations);
+
+    /**
+     * 查询题目参数快照（按题目ID排序）
+     */
+    List<ItemCalibration> findCalibrations(Long examId);
+
+    /**
+     * 查询作答会话
+     */
+    Optional<AdaptiveSession> findSession(Long examId, Long traineeId);
+
+    /**
+     * 新增作答会话（已存在时不覆盖）
+     *
+     * @return 是否新增
+     */
+    boolean addSession(AdaptiveSession session);
+
+    /**
+     * 更新作答会话（仅当会话仍在作答中且已作答题数未变时更新，并发作答只有一个成功）
+     *
+     * @param expectedAnsweredCount 本次更新前的已作答题数
+     * @return 是否更新
+     */
+    boolean updateSession(AdaptiveSession session, int expectedAnsweredCount);
+}
@@ -0,0 +1,38 @@
+package com.oncoresi.domain.repository;
+
+import com.oncoresi.domain.valueobject.AnswerKey;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 标准答案仓储接口
+ * 每次录入或更正标准答案版本加一，版本行同时用作更正与交卷入库之间的锁
+ */
+public interface ExamAnswerKeyRepository {
+
+    /**
+     * 查询考试的标准答案（未录入时为空，答卷待阅卷评分）
+     */
+    Optional<AnswerKey> findByExamId(Long examId);
+
+    /**
+     * 查询标准答案版本（未录入时为 0）
+     */
+    int findVersion(Long examId);
+
+    /**
+     * 在当前事务内共享锁定考试的标准答案版本（与更正标准答案互斥，交卷入库之间不互斥）
+     *
+     * @return examId -> 版本（未录入标准答案的考试不在结果中）
+     */
+    Map<Long, Integer> lockVersions(Collection<Long> examIds);
+
+    /**
+     * 保存标准答案（整体替换）：先递增版本（锁定到事务结束），再替换题目
+     *
+     * @return 新版本
+     */
+    int save(AnswerKey answerKey);
+}
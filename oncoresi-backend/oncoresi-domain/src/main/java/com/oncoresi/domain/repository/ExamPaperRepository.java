@@ -0,0 +1,44 @@
+package com.oncoresi.domain.repository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 考生试卷仓储接口
+ * 只保存试卷的题目ID顺序，题目内容从题库读取；
+ * 逐人组卷时每名考生一行，共用试卷时每场考试一行（考生顺序由密钥推导，不逐人保存）
+ */
+public interface ExamPaperRepository {
+
+    /**
+     * 批量保存考生试卷（考生已有试卷时覆盖）
+     *
+     * @param questionIds traineeId -> 题目ID（按题号顺序）
+     */
+    void saveAll(Long examId, Map<Long, List<Long>> questionIds);
+
+    /**
+     * 查询考生试卷的题目ID（未单独组卷时为空）
+     */
+    Optional<List<Long>> findQuestionIds(Long examId, Long traineeId);
+
+    /**
+     * 保存考试共用的基准试卷（已有时覆盖）
+     *
+     * @param questionIds   题目ID（按基准题号顺序）
+     * @param shuffleSecret 推导考生题目与选项顺序的密钥
+     */
+    void saveShared(Long examId, List<Long> questionIds, long shuffleSecret);
+
+    /**
+     * 查询考试共用的基准试卷（未组卷时为空）
+     */
+    Optional<SharedPaper> findShared(Long examId);
+
+    /**
+     * 共用试卷记录
+     */
+    record SharedPaper(List<Long> questionIds, long shuffleSecret) {
+    }
+}
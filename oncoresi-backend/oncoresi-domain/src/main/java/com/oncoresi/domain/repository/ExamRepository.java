@@ -0,0 +1,41 @@
+package com.oncoresi.domain.repository;
+
+import com.oncoresi.domain.aggregate.ExamAggregate;
+import com.oncoresi.domain.aggregate.ExamAggregate.ExamMetadata;
+import com.oncoresi.domain.aggregate.ExamAggregate.ExamStatus;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 考试聚合仓储接口
+ * 负责加载和保存考试本身（答卷与成绩由 ExamSubmissionRepository 负责）
+ */
+public interface ExamRepository {
+
+    /**
+     * 只加载考试本身（不含答卷、成绩与计数），用于开始、结束等状态变更命令
+     */
+    Optional<ExamAggregate> findLifecycleById(Long id);
+
+    /**
+     * 查询考试概况（只含交卷、及格计数，不加载答卷与成绩）
+     */
+    Optional<ExamAggregate> findSummaryById(Long id);
+
+    /**
+     * 只查询考试元数据（不加载答卷与成绩）
+     */
+    Optional<ExamMetadata> findMetadataById(Long id);
+
+    /**
+     * 按状态查询考试元数据（启动时重建开考、结束计时器）
+     */
+    List<ExamMetadata> findMetadataByStatus(Collection<ExamStatus> statuses);
+
+    /**
+     * 保存考试聚合（已持久化的聚合按版本号条件更新，版本不一致时抛出乐观锁异常）
+     */
+    ExamAggregate save(ExamAggregate aggregate);
+}
@@ -0,0 +1,64 @@
+package com.oncoresi.domain.repository;
+
+import com.oncoresi.domain.aggregate.ExamSession;
+import com.oncoresi.domain.aggregate.ExamSession.SessionStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 考试会话仓储接口
+ */
+public interface ExamSessionRepository {
+
+    /**
+     * 查询学员的考试会话
+     */
+    Optional<ExamSession> findById(Long examId, Long traineeId);
+
+    /**
+     * 新增会话（已存在时忽略）
+     *
+     * @return 是否新增
+     */
+    boolean add(ExamSession session);
+
+    /**
+     * 更新作答中会话的截止时间（会话已结束时不更新；草稿由 saveDrafts 单独写入）
+     *
+     * @return 是否更新
+     */
+    boolean update(ExamSession session);
+
+    /**
+     * 批量写入作答草稿：只更新作答中的会话，且只接受保存时间晚于已有草稿的草稿
+     * （重放日志或多节点乱序写回时不会用旧草稿覆盖新草稿）
+     *
+     * @return 实际更新的会话数
+     */
+    int saveDrafts(List<Draft> drafts);
+
+    /**
+     * 将作答中的会话标记为已结束（多节点并发时只有一个成功）
+     *
+     * @return 是否由本次调用结束
+     */
+    boolean finish(Long examId, Long traineeId, SessionStatus status);
+
+    /**
+     * 查询全部作答中的会话（启动时重建计时器）
+     */
+    List<ExamSession> findActive();
+
+    /**
+     * 查询考试中最晚的个人截止时间（无会话时为空）
+     */
+    Optional<LocalDateTime> findLatestDeadline(Long examId);
+
+    /**
+     * 作答草稿
+     */
+    record Draft(Long examId, Long traineeId, List<String> answers, LocalDateTime savedAt) {
+    }
+}
@@ -0,0 +1,71 @@
+package com.oncoresi.domain.repository;
+
+import com.oncoresi.domain.valueobject.SubmissionReceipt;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 交卷收件箱仓储接口
+ * 交卷请求先持久化到收件箱即可应答，再由后台批量取出评分入库；
+ * 同一学员在同一考试中只保留第一次入队的请求（超时重发不会重复入队）
+ */
+public interface ExamSubmissionInboxRepository {
+
+    /**
+     * 待处理的交卷请求
+     *
+     * @param attempts 领取次数（含本次）
+     */
+    record PendingSubmission(
+            Long id,
+            Long examId,
+            Long traineeId,
+            List<String> answers,
+            LocalDateTime receiveTime,
+            LocalDateTime deadline,
+            int attempts
+    ) {
+    }
+
+    /**
+     * 交卷请求入队（已入队时忽略）
+     *
+     * @param deadline 学员个人截止时间（处理时按此校验接收时间）
+     * @return 是否新入队
+     */
+    boolean enqueue(Long examId, Long traineeId, List<String> answers, LocalDateTime receiveTime,
+                    LocalDateTime deadline);
+
+    /**
+     * 领取一批待处理请求（多节点并发领取互不重复）
+     * 处理中但领取时间早于 leaseExpiredBefore 的请求视为节点失效，重新领取；每次领取累加领取次数
+     */
+    List<PendingSubmission> claim(int limit, LocalDateTime leaseExpiredBefore);
+
+    /**
+     * 标记已入库
+     */
+    void markAccepted(List<Long> ids);
+
+    /**
+     * 标记已拒绝
+     *
+     * @param reasons 请求ID -> 拒绝原因
+     */
+    void markRejected(Map<Long, String> reasons);
+
+    /**
+     * 标记处理失败（不再领取）
+     *
+     * @param reasons 请求ID -> 失败原因
+     */
+    void markFailed(Map<Long, String> reasons);
+
+    /**
+     * 查询学员的交卷回执
+     */
+    Optional<SubmissionReceipt> findReceipt(Long examId, Long traineeId);
+}
@@ -0,0 +1,54 @@
+package com.oncoresi.domain.repository;
+
+import com.oncoresi.domain.aggregate.ExamSubmission;
+import com.oncoresi.domain.valueobject.ExamScore;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 答卷聚合仓储接口
+ * 按 (考试, 学员) 读写单份答卷，不加载整场考试
+ */
+public interface ExamSubmissionRepository {
+
+    /**
+     * 重新评分或阅卷录入后的成绩变化
+     *
+     * @param previous 原成绩（待评分时为空）
+     */
+    record ScoreChange(Long traineeId, ExamScore previous, ExamScore current) {
+    }
+
+    /**
+     * 查询学员在考试中的答卷
+     */
+    Optional<ExamSubmission> findById(Long examId, Long traineeId);
+
+    /**
+     * 新增答卷（学员已交卷时抛出 DomainException，答卷不可覆盖）
+     */
+    void add(ExamSubmission submission);
+
+    /**
+     * 批量新增答卷，已交卷的学员跳过
+     *
+     * @return 实际新增的答卷
+     */
+    List<ExamSubmission> addAll(List<ExamSubmission> submissions);
+
+    /**
+     * 查询按早于 keyVersion 的标准答案评分的答卷（含待评分的答卷，用于重新评分）
+     */
+    List<ExamSubmission> findAllGradedBefore(Long examId, int keyVersion);
+
+    /**
+     * 批量更新成绩，并同步调整及格人数
+     */
+    void updateScores(Long examId, List<ScoreChange> changes);
+
+    /**
+     * 将按早于 keyVersion 的标准答案评分的答卷标记为已按 keyVersion 重新评分
+     */
+    void stampKeyVersion(Long examId, int keyVersion);
+}
@@ -0,0 +1,33 @@
+package com.oncoresi.domain.repository;
+
+import com.oncoresi.domain.valueobject.ItemScoreBucket;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 题目作答计数仓储接口
+ * 计数按 (考试, 题目, 作答者总成绩) 分桶累加，写入新答卷时在同一事务内调用
+ */
+public interface ItemStatisticsRepository {
+
+    /**
+     * 累加作答计数增量（调用方按考试、题目、总成绩排序）
+     */
+    void addAll(List<ItemScoreBucket> deltas);
+
+    /**
+     * 查询题目在全部考试中的计数桶
+     */
+    List<ItemScoreBucket> findByQuestionId(Long questionId);
+
+    /**
+     * 批量查询多道题目在全部考试中的计数桶
+     */
+    List<ItemScoreBucket> findByQuestionIds(Collection<Long> questionIds);
+
+    /**
+     * 查询一场考试全部题目的计数桶（按题目、总成绩排序）
+     */
+    List<ItemScoreBucket> findByExamId(Long examId);
+}
@@ -0,0 +1,35 @@
+package com.oncoresi.domain.repository;
+
+import com.oncoresi.domain.valueobject.PracticeCard;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 练习卡片仓储接口（学员逐题的间隔重复状态）
+ */
+public interface PracticeCardRepository {
+
+    /**
+     * 查询学员的全部练习卡片
+     */
+    List<PracticeCard> findByTraineeId(Long traineeId);
+
+    /**
+     * 查询学员单道题目的已保存卡片
+     */
+    Optional<PracticeCard> findById(Long traineeId, Long questionId);
+
+    /**
+     * 批量保存卡片（已有卡片只在本次练习时间更晚时覆盖，多节点乱序写回不会回退状态）
+     *
+     * @return 实际写入的卡片数
+     */
+    int saveAll(List<PracticeCard> cards);
+
+    /**
+     * 删除学员的部分卡片
+     */
+    void deleteAll(Long traineeId, Collection<Long> questionIds);
+}
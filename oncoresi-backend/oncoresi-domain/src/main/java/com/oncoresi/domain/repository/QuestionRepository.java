@@ -0,0 +1,34 @@
+package com.oncoresi.domain.repository;
+
+import com.oncoresi.domain.aggregate.Question;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 题目聚合仓储接口
+ */
+public interface QuestionRepository {
+
+    /**
+     * 根据ID查询题目
+     */
+    Optional<Question> findById(Long id);
+
+    /**
+     * 查询全部题目（含已停用，用于建立题库索引）
+     */
+    List<Question> findAll();
+
+    /**
+     * 保存题目（新题目保存后回填ID）
+     */
+    Question save(Question question);
+
+    /**
+     * 记录题目被组卷使用的时间
+     */
+    void markUsed(Collection<Long> questionIds, LocalDateTime usedTime);
+}
@@ -0,0 +1,27 @@
+package com.oncoresi.domain.repository;
+
+import com.oncoresi.domain.aggregate.TrainingPlanAggregate;
+
+import java.util.Optional;
+
+/**
+ * 培训计划聚合仓储接口
+ * 只对聚合根开放，负责加载和保存整个聚合（计划 + 阶段 + 轮转）
+ */
+public interface TrainingPlanRepository {
+
+    /**
+     * 预分配培训计划ID
+     */
+    Long nextId();
+
+    /**
+     * 根据ID查询培训计划聚合
+     */
+    Optional<TrainingPlanAggregate> findById(Long id);
+
+    /**
+     * 保存培训计划聚合（保存计划及其全部阶段、轮转）
+     */
+    TrainingPlanAggregate save(TrainingPlanAggregate aggregate);
+}
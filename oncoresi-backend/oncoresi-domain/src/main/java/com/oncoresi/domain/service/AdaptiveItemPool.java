@@ -0,0 +1,223 @@
+package com.oncoresi.domain.service;
+
+import com.oncoresi.domain.aggregate.Question;
+import com.oncoresi.domain.valueobject.AbilityEstimate;
+import com.oncoresi.domain.valueobject.ItemCalibration;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 自适应考试题库（选题与能力估计领域服务，不可变）
+ * <p>
+ * 能力值取 -4 ~ 4、步长 0.1 的 81 个格点。建立时预先计算：
+ * <ul>
+ *     <li>每个格点上全部题目按信息量从大到小的顺序：选题时取最接近当前能力的格点，
+ *     沿该顺序跳过学员已作答的题目（每人一个位图），第一道即最大信息量的题目；</li>
+ *     <li>每道题在各格点上答对、答错的对数似然：能力估计为标准正态先验下的后验均值（EAP），
+ *     每道已答题只需把一行对数似然加到后验上；</li>
+ *     <li>各格点上全部题目的期望答对率（测验特征曲线），用于把能力值换算为百分制成绩。</li>
+ * </ul>
+ * 选题与估计都不访问数据库，耗时与题库规模无关（选题至多跳过已作答的题数）。可在多线程间共享。
+ */
+public final class AdaptiveItemPool {
+
+    public static final double THETA_MIN = -4.0;
+
+    public static final double THETA_STEP = 0.1;
+
+    public static final int GRID_POINTS = 81;
+
+    private final Question[] questions;
+
+    private final ItemCalibration[] calibrations;
+
+    private final Map<Long, Integer> positions;
+
+    /**
+     * [格点][名次] -> 题目位置编号（按信息量从大到小）
+     */
+    private final int[][] informationOrder;
+
+    /**
+     * [位置编号 * GRID_POINTS + 格点] -> 答对的对数似然
+     */
+    private final double[] logCorrect;
+
+    /**
+     * [位置编号 * GRID_POINTS + 格点] -> 答错的对数似然
+     */
+    private final double[] logIncorrect;
+
+    /**
+     * [格点] -> 标准正态先验的对数密度（未归一化）
+     */
+    private final double[] logPrior = new double[GRID_POINTS];
+
+    /**
+     * [格点] -> 题库期望答对率
+     */
+    private final double[] expectedRates = new double[GRID_POINTS];
+
+    private AdaptiveItemPool(List<Question> questionList, List<ItemCalibration> calibrationList) {
+        int size = questionList.size();
+        this.questions = questionList.toArray(Question[]::new);
+        this.calibrations = calibrationList.toArray(ItemCalibration[]::new);
+        this.positions = new HashMap<>(size * 2);
+        this.logCorrect = new double[size * GRID_POINTS];
+        this.logIncorrect = new double[size * GRID_POINTS];
+        for (int position = 0; position < size; position++) {
+            positions.put(questions[position].getId(), position);
+        }
+
+        for (int g = 0; g < GRID_POINTS; g++) {
+            double theta = thetaAt(g);
+            logPrior[g] = -theta * theta / 2;
+            double rateSum = 0;
+            for (int position = 0; position < size; position++) {
+                double p = calibrations[position].probability(theta);
+                logCorrect[position * GRID_POINTS + g] = Math.log(p);
+                logIncorrect[position * GRID_POINTS + g] = Math.log1p(-p);
+                rateSum += p;
+            }
+            expectedRates[g] = rateSum / size;
+        }
+
+        this.informationOrder = new int[GRID_POINTS][];
+        double[] information = new double[size];
+        for (int g = 0; g < GRID_POINTS; g++) {
+            double theta = thetaAt(g);
+            for (int position = 0; position < size; position++) {
+                information[position] = calibrations[position].information(theta);
+            }
+            Integer[] order = new Integer[size];
+            for (int position = 0; position < size; position++) {
+                order[position] = position;
+            }
+            Arrays.sort(order, Comparator.comparingDouble((Integer position) -> information[position]).reversed());
+            informationOrder[g] = Arrays.stream(order).mapToInt(Integer::intValue).toArray();
+        }
+    }
+
+    /**
+     * 建立题库
+     *
+     * @param calibrations 与题目一一对应的参数
+     */
+    public static AdaptiveItemPool build(List<Question> questions, List<ItemCalibration> calibrations) {
+        if (questions.isEmpty()) {
+            throw new IllegalArgumentException("题库不能为空");
+        }
+        if (questions.size() != calibrations.size()) {
+            throw new IllegalArgumentException("题目与参数数量不一致");
+        }
+        return new AdaptiveItemPool(questions, calibrations);
+    }
+
+    public int size() {
+        return questions.length;
+    }
+
+    /**
+     * 按位置编号获取题目
+     */
+    public Question question(int position) {
+        return questions[position];
+    }
+
+    public ItemCalibration calibration(int position) {
+        return calibrations[position];
+    }
+
+    /**
+     * 题目的位置编号（不在题库中为 -1）
+     */
+    public int positionOf(Long questionId) {
+        return positions.getOrDefault(questionId, -1);
+    }
+
+    /**
+     * 新建已作答位图
+     */
+    public long[] newExclusion() {
+        return new long[(questions.length + Long.SIZE - 1) / Long.SIZE];
+    }
+
+    /**
+     * 在已作答位图中标记题目
+     */
+    public static void exclude(long[] exclusion, int position) {
+        exclusion[position / Long.SIZE] |= 1L << position;
+    }
+
+    /**
+     * 选出能力为 theta 时信息量最大、且未作答过的题目
+     *
+     * @return 题目位置编号（全部作答过时为 -1）
+     */
+    public int select(double theta, long[] exclusion) {
+        for (int position : informationOrder[gridIndex(theta)]) {
+            if ((exclusion[position / Long.SIZE] & (1L << position)) == 0) {
+                return position;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 按已作答题目估计能力（标准正态先验下的后验均值与标准差）
+     *
+     * @param answered 已作答题目的位置编号（按作答顺序）
+     * @param correct  对应题目是否答对
+     */
+    public AbilityEstimate estimate(int[] answered, boolean[] correct) {
+        double[] logPosterior = logPrior.clone();
+        for (int i = 0; i < answered.length; i++) {
+            double[] likelihood = correct[i] ? logCorrect : logIncorrect;
+            int offset = answered[i] * GRID_POINTS;
+            for (int g = 0; g < GRID_POINTS; g++) {
+                logPosterior[g] += likelihood[offset + g];
+            }
+        }
+
+        double max = Double.NEGATIVE_INFINITY;
+        for (double value : logPosterior) {
+            max = Math.max(max, value);
+        }
+        double weightSum = 0;
+        double mean = 0;
+        double square = 0;
+        for (int g = 0; g < GRID_POINTS; g++) {
+            double weight = Math.exp(logPosterior[g] - max);
+            double theta = thetaAt(g);
+            weightSum += weight;
+            mean += weight * theta;
+            square += weight * theta * theta;
+        }
+        mean /= weightSum;
+        return new AbilityEstimate(mean, Math.sqrt(Math.max(0, square / weightSum - mean * mean)));
+    }
+
+    /**
+     * 能力值换算的百分制成绩：该能力在整个题库上的期望答对率（格点间线性插值）
+     */
+    public int expectedScore(double theta) {
+        double offset = (Math.max(THETA_MIN, Math.min(thetaAt(GRID_POINTS - 1), theta)) - THETA_MIN) / THETA_STEP;
+        int lower = Math.min(GRID_POINTS - 2, (int) offset);
+        double fraction = offset - lower;
+        double rate = expectedRates[lower] * (1 - fraction) + expectedRates[lower + 1] * fraction;
+        return (int) Math.round(rate * 100);
+    }
+
+    private static double thetaAt(int gridIndex) {
+        return THETA_MIN + gridIndex * THETA_STEP;
+    }
+
+    private static int gridIndex(double theta) {
+        int index = (int) Math.round((theta - THETA_MIN) / THETA_STEP);
+        return Math.max(0, Math.min(GRID_POINTS - 1, index));
+    }
+}
@@ -0,0 +1,166 @@
+package com.oncoresi.domain.service;
+
+import com.oncoresi.domain.valueobject.AnswerKey;
+import com.oncoresi.domain.valueobject.AnswerKey.Item;
+import com.oncoresi.domain.valueobject.AnswerKey.OptionCodec;
+import com.oncoresi.domain.valueobject.GradingResult;
+
+import java.util.List;
+
+/**
+ * 编译后的标准答案（评分领域服务）
+ * <p>
+ * 每道题占一个字节（每个选项一位），8 道题打包进一个 long。学员答案按同样方式打包后，
+ * 逐个 long 异或标准答案，再用 SWAR 判断每个字节是否为 0：为 0 即该题作答与标准答案完全一致。
+ * 一个 long 一次判定 8 道题，无需逐题比较字符串；打包后的答案可在更正标准答案后直接重新评分。
+ * <p>
+ * 编译结果不可变，可在多线程间共享。
+ */
+public final class CompiledAnswerKey {
+
+    private static final int ITEMS_PER_WORD = Long.BYTES;
+
+    /**
+     * 每个字节的低 7 位
+     */
+    private static final long LOW_SEVEN = 0x7F7F7F7F7F7F7F7FL;
+
+    /**
+     * 每个字节的最高位
+     */
+    private static final long HIGH_BITS = 0x8080808080808080L;
+
+    /**
+     * 把每个字节最低位收集到最高字节的乘数
+     */
+    private static final long GATHER = 0x0102040810204080L;
+
+    private final AnswerKey answerKey;
+
+    private final Item[] items;
+
+    private final long[] keyWords;
+
+    /**
+     * 每个 long 中实际存在题目的字节（最后一个 long 可能不满 8 题）
+     */
+    private final long[] validWords;
+
+    private final int[] points;
+
+    private final int totalPoints;
+
+    /**
+     * 各题分值相同时直接按答对题数计分
+     */
+    private final int uniformPoints;
+
+    private CompiledAnswerKey(AnswerKey answerKey) {
+        this.answerKey = answerKey;
+        this.items = answerKey.items().toArray(Item[]::new);
+        int words = (items.length + ITEMS_PER_WORD - 1) / ITEMS_PER_WORD;
+        this.keyWords = new long[words];
+        this.validWords = new long[words];
+        this.points = new int[items.length];
+
+        int total = 0;
+        int uniform = items[0].points();
+        for (int i = 0; i < items.length; i++) {
+            Item item = items[i];
+            int shift = (i % ITEMS_PER_WORD) * Byte.SIZE;
+            keyWords[i / ITEMS_PER_WORD] |= (long) OptionCodec.encode(item.type(), item.correctOptions()) << shift;
+            validWords[i / ITEMS_PER_WORD] |= 0x80L << shift;
+            points[i] = item.points();
+            total += item.points();
+            if (item.points() != uniform) {
+                uniform = 0;
+            }
+        }
+        this.totalPoints = total;
+        this.uniformPoints = uniform;
+    }
+
+    /**
+     * 编译标准答案
+     */
+    public static CompiledAnswerKey compile(AnswerKey answerKey) {
+        return new CompiledAnswerKey(answerKey);
+    }
+
+    public AnswerKey answerKey() {
+        return answerKey;
+    }
+
+    /**
+     * 打包学员答案（缺少的题视为未作答）
+     */
+    public long[] encode(List<String> answers) {
+        long[] packed = new long[keyWords.length];
+        int count = Math.min(answers.size(), items.length);
+        for (int i = 0; i < count; i++) {
+            packed[i / ITEMS_PER_WORD] |= (long) OptionCodec.encode(items[i].type(), answers.get(i))
+                    << ((i % ITEMS_PER_WORD) * Byte.SIZE);
+        }
+        return packed;
+    }
+
+    /**
+     * 打包按考生个人顺序作答的答案：逐题换回基准题号与基准选项位后打包，结果与按基准顺序作答相同
+     */
+    public long[] encode(List<String> answers, PaperShuffle shuffle) {
+        if (shuffle.size() != items.length) {
+            throw new IllegalArgumentException("排列与标准答案题数不一致");
+        }
+
+        long[] packed = new long[keyWords.length];
+        int count = Math.min(answers.size(), items.length);
+        for (int i = 0; i < count; i++) {
+            int base = shuffle.baseIndex(i);
+            int bits = shuffle.toBaseOptions(i, OptionCodec.encode(items[base].type(), answers.get(i)));
+            packed[base / ITEMS_PER_WORD] |= (long) bits << ((base % ITEMS_PER_WORD) * Byte.SIZE);
+        }
+        return packed;
+    }
+
+    /**
+     * 评分
+     */
+    public GradingResult grade(List<String> answers) {
+        return grade(encode(answers));
+    }
+
+    /**
+     * 按打包后的答案评分
+     */
+    public GradingResult grade(long[] packed) {
+        long[] correctness = new long[(items.length + Long.SIZE - 1) / Long.SIZE];
+        for (int w = 0; w < keyWords.length; w++) {
+            long diff = packed[w] ^ keyWords[w];
+            // 字节非 0 时其最高位为 1
+            long nonZero = (((diff & LOW_SEVEN) + LOW_SEVEN) | diff) & HIGH_BITS;
+            long matched = ~nonZero & validWords[w];
+            long itemBits = ((matched >>> 7) * GATHER) >>> 56;
+            correctness[w / ITEMS_PER_WORD] |= itemBits << ((w % ITEMS_PER_WORD) * ITEMS_PER_WORD);
+        }
+
+        return new GradingResult(earnedPoints(correctness), totalPoints, items.length, correctness);
+    }
+
+    private int earnedPoints(long[] correctness) {
+        if (uniformPoints > 0) {
+            int correct = 0;
+            for (long word : correctness) {
+                correct += Long.bitCount(word);
+            }
+            return correct * uniformPoints;
+        }
+
+        int earned = 0;
+        for (int w = 0; w < correctness.length; w++) {
+            for (long bits = correctness[w]; bits != 0; bits &= bits - 1) {
+                earned += points[w * Long.SIZE + Long.numberOfTrailingZeros(bits)];
+            }
+        }
+        return earned;
+    }
+}
@@ -0,0 +1,75 @@
+package com.oncoresi.domain.service;
+
+import com.oncoresi.domain.valueobject.AnswerKey;
+import com.oncoresi.domain.valueobject.ItemScoreBucket;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 逐题作答计数（题目统计领域服务）
+ * <p>
+ * 把一批答卷的逐题作答累加为按 (考试, 题目, 总成绩) 分桶的增量，同一桶的多次作答先在内存中合并，
+ * 每批答卷对每个桶只产生一次写入。非线程安全，每批答卷使用一个实例。
+ */
+public final class ItemResponseTally {
+
+    private static final Comparator<Key> KEY_ORDER = Comparator.comparing(Key::examId)
+            .thenComparing(Key::questionId)
+            .thenComparingInt(Key::score);
+
+    /**
+     * 计数：[作答人数, 答对人数, 未作答人数, 选项 0 选择次数, ...]
+     */
+    private static final int RESPONSES = 0;
+
+    private static final int CORRECT = 1;
+
+    private static final int BLANK = 2;
+
+    private static final int PICKS = 3;
+
+    private final Map<Key, long[]> counts = new TreeMap<>(KEY_ORDER);
+
+    private record Key(Long examId, Long questionId, int score) {
+    }
+
+    /**
+     * 记录一次作答
+     *
+     * @param score      作答者的考试总成绩（0-100）
+     * @param answerBits 作答的选项位（0 表示未作答或作答无效）
+     */
+    public void record(Long examId, Long questionId, int score, int answerBits, boolean correct) {
+        long[] count = counts.computeIfAbsent(new Key(examId, questionId, score),
+                key -> new long[PICKS + AnswerKey.MAX_OPTIONS]);
+        count[RESPONSES]++;
+        if (correct) {
+            count[CORRECT]++;
+        }
+        if (answerBits == 0) {
+            count[BLANK]++;
+        }
+        for (int bits = answerBits; bits != 0; bits &= bits - 1) {
+            count[PICKS + Integer.numberOfTrailingZeros(bits)]++;
+        }
+    }
+
+    public boolean isEmpty() {
+        return counts.isEmpty();
+    }
+
+    /**
+     * 累计的增量（按考试、题目、总成绩排序，批量写入时并发事务加锁顺序一致）
+     */
+    public List<ItemScoreBucket> buckets() {
+        List<ItemScoreBucket> buckets = new ArrayList<>(counts.size());
+        counts.forEach((key, count) -> buckets.add(new ItemScoreBucket(key.examId(), key.questionId(), key.score(),
+                count[RESPONSES], count[CORRECT], count[BLANK], Arrays.copyOfRange(count, PICKS, count.length))));
+        return buckets;
+    }
+}
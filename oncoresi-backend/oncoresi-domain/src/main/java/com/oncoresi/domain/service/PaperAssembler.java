@@ -0,0 +1,158 @@
+package com.oncoresi.domain.service;
+
+import com.oncoresi.domain.aggregate.Question;
+import com.oncoresi.domain.exception.DomainException;
+import com.oncoresi.domain.valueobject.ExamPaper;
+import com.oncoresi.domain.valueobject.PaperBlueprint;
+import com.oncoresi.domain.valueobject.PaperBlueprint.Stratum;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * 分层随机组卷领域服务
+ * <p>
+ * 构造时按蓝图从题库索引中一次性筛出每层的候选题（已排除冷却期内用过的题目），之后每份试卷只在内存中抽样：
+ * 每层做部分 Fisher-Yates 洗牌，不放回地抽取指定数量（多层条件重叠时同一道题只会被抽中一次）；
+ * 再在同层内用未抽中的题目替换已抽中的题目，使整卷平均难度进入目标范围；尝试次数用完仍不在范围内时组卷失败，
+ * 不会返回难度不合格的试卷。
+ * 为一场考试的每名考生各组一份试卷只需一次筛选，不需要逐人查询题库。
+ * <p>
+ * 候选题在构造后不再修改，可在多线程间共享；每次组卷使用调用方传入的随机源。
+ */
+public class PaperAssembler {
+
+    /**
+     * 难度调整的最大尝试次数（相对于题目数量的倍数）
+     */
+    private static final int ADJUST_ATTEMPTS_PER_ITEM = 8;
+
+    private final QuestionIndex index;
+
+    private final PaperBlueprint blueprint;
+
+    /**
+     * 每层候选题的位置编号
+     */
+    private final int[][] pools;
+
+    public PaperAssembler(QuestionIndex index, PaperBlueprint blueprint, LocalDateTime now) {
+        this.index = index;
+        this.blueprint = blueprint;
+
+        LocalDateTime usedAfter = blueprint.cooldownDays() > 0 ? now.minusDays(blueprint.cooldownDays()) : null;
+        List<Stratum> strata = blueprint.strata();
+        this.pools = new int[strata.size()][];
+        for (int s = 0; s < strata.size(); s++) {
+            pools[s] = index.select(strata.get(s), usedAfter);
+            if (pools[s].length < strata.get(s).count()) {
+                throw DomainException.of(String.format("第%d层可用题目不足: 需要%d道，可用%d道",
+                        s + 1, strata.get(s).count(), pools[s].length));
+            }
+        }
+    }
+
+    /**
+     * 组一份试卷
+     */
+    public ExamPaper assemble(Long examId, Long traineeId, SplittableRandom random) {
+        List<Stratum> strata = blueprint.strata();
+        int[][] shuffled = new int[pools.length][];
+        long[] taken = new long[(index.capacity() + Long.SIZE - 1) / Long.SIZE];
+        int total = blueprint.itemCount();
+        long difficultySum = 0;
+
+        for (int s = 0; s < pools.length; s++) {
+            int[] pool = pools[s].clone();
+            int count = strata.get(s).count();
+            int filled = 0;
+            for (int i = 0; i < pool.length && filled < count; i++) {
+                swap(pool, i, i + random.nextInt(pool.length - i));
+                if (!isTaken(taken, pool[i])) {
+                    swap(pool, filled++, i);
+                    setTaken(taken, pool[filled - 1], true);
+                    difficultySum += index.get(pool[filled - 1]).getDifficulty();
+                }
+            }
+            if (filled < count) {
+                throw DomainException.of(String.format("第%d层与其他层重叠后可用题目不足: 需要%d道", s + 1, count));
+            }
+            shuffled[s] = pool;
+        }
+
+        difficultySum = adjustDifficulty(shuffled, taken, difficultySum, total, random);
+        if (Math.abs(difficultySum - blueprint.targetDifficulty() * total) > blueprint.tolerance() * total) {
+            throw DomainException.of(String.format("无法在容差内达到目标难度: 目标%.2f±%.2f，实际%.2f，请放宽容差或补充题目",
+                    blueprint.targetDifficulty(), blueprint.tolerance(), (double) difficultySum / total));
+        }
+
+        List<Question> questions = new ArrayList<>(total);
+        for (int s = 0; s < shuffled.length; s++) {
+            for (int i = 0; i < strata.get(s).count(); i++) {
+                questions.add(index.get(shuffled[s][i]));
+            }
+        }
+        return new ExamPaper(examId, traineeId, questions);
+    }
+
+    /**
+     * 同层替换题目使平均难度进入目标范围：每次随机选一层，用一道未抽中的题替换一道已抽中的题，
+     * 只接受使总难度更接近目标的替换
+     *
+     * @return 调整后的难度总和
+     */
+    private long adjustDifficulty(int[][] shuffled, long[] taken, long difficultySum, int total,
+                                  SplittableRandom random) {
+        double target = blueprint.targetDifficulty() * total;
+        double tolerance = blueprint.tolerance() * total;
+        List<Stratum> strata = blueprint.strata();
+
+        for (int attempt = 0; attempt < total * ADJUST_ATTEMPTS_PER_ITEM; attempt++) {
+            double error = difficultySum - target;
+            if (Math.abs(error) <= tolerance) {
+                break;
+            }
+
+            int s = random.nextInt(shuffled.length);
+            int[] pool = shuffled[s];
+            int count = strata.get(s).count();
+            if (pool.length == count) {
+                continue;
+            }
+
+            int i = random.nextInt(count);
+            int j = count + random.nextInt(pool.length - count);
+            if (isTaken(taken, pool[j])) {
+                continue;
+            }
+            int delta = index.get(pool[j]).getDifficulty() - index.get(pool[i]).getDifficulty();
+            if (Math.abs(error + delta) < Math.abs(error)) {
+                setTaken(taken, pool[i], false);
+                setTaken(taken, pool[j], true);
+                swap(pool, i, j);
+                difficultySum += delta;
+            }
+        }
+        return difficultySum;
+    }
+
+    private static boolean isTaken(long[] taken, int position) {
+        return (taken[position >>> 6] & (1L << position)) != 0;
+    }
+
+    private static void setTaken(long[] taken, int position, boolean value) {
+        if (value) {
+            taken[position >>> 6] |= 1L << position;
+        } else {
+            taken[position >>> 6] &= ~(1L << position);
+        }
+    }
+
+    private static void swap(int[] array, int i, int j) {
+        int tmp = array[i];
+        array[i] = array[j];
+        array[j] = tmp;
+    }
+}
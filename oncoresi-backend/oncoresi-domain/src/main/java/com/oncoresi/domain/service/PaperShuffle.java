@@ -0,0 +1,160 @@
+package com.oncoresi.domain.service;
+
+import com.oncoresi.domain.aggregate.Question;
+import com.oncoresi.domain.valueobject.AnswerKey.ItemType;
+import com.oncoresi.domain.valueobject.ExamPaper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 考生个人的题目与选项顺序（组卷领域服务）
+ * <p>
+ * 同一场考试的考生共用一份基准试卷，每名考生看到的题目顺序和选项顺序由
+ * (考试ID, 考生ID, 考试密钥) 经 SplitMix64 确定性地推导，不需要为每名考生保存试卷：
+ * 展示试卷时按排列重排，评分时把考生的作答换回基准顺序，再用基准试卷的标准答案评分。
+ * 判断题只打乱题目位置，不打乱选项。
+ * <p>
+ * 推导过程对客户端公开，客户端拿到个人种子后可自行重排共用试卷：
+ * <ol>
+ *     <li>以个人种子初始化 SplitMix64，nextInt(bound) 取 (nextLong() 高 32 位 × bound) 的高 32 位，
+ *     低 32 位小于 (2^32 - bound) % bound 时重新取；</li>
+ *     <li>题目：下标 0..n-1，i 从 n-1 递减到 1，与 nextInt(i + 1) 交换；</li>
+ *     <li>选项：按重排后的显示顺序逐题对选项下标做同样的洗牌，判断题跳过且不消耗随机数。</li>
+ * </ol>
+ * 个人种子只决定本人的顺序，由服务端密钥推导，不暴露密钥本身。
+ */
+public final class PaperShuffle {
+
+    /**
+     * 显示题号 -> 基准题号（均从 0 开始）
+     */
+    private final int[] questionOrder;
+
+    /**
+     * 基准题号 -> 显示题号
+     */
+    private final int[] displayPositions;
+
+    /**
+     * 显示题号 -> (显示选项下标 -> 基准选项下标)；判断题为空
+     */
+    private final byte[][] optionOrders;
+
+    private PaperShuffle(int[] questionOrder, byte[][] optionOrders) {
+        this.questionOrder = questionOrder;
+        this.optionOrders = optionOrders;
+        this.displayPositions = new int[questionOrder.length];
+        for (int i = 0; i < questionOrder.length; i++) {
+            displayPositions[questionOrder[i]] = i;
+        }
+    }
+
+    /**
+     * 推导考生的个人种子
+     */
+    public static long candidateSeed(long secret, Long examId, Long traineeId) {
+        return SplitMix64.mixKeys(secret, examId, traineeId);
+    }
+
+    /**
+     * 推导考生的排列（相同的考试、考生、密钥与基准试卷总是得到相同的排列）
+     */
+    public static PaperShuffle derive(long secret, Long examId, Long traineeId, List<Question> baseQuestions) {
+        return derive(candidateSeed(secret, examId, traineeId), baseQuestions);
+    }
+
+    /**
+     * 由个人种子推导排列
+     */
+    public static PaperShuffle derive(long candidateSeed, List<Question> baseQuestions) {
+        SplitMix64 random = new SplitMix64(candidateSeed);
+        int size = baseQuestions.size();
+
+        int[] questionOrder = new int[size];
+        for (int i = 0; i < size; i++) {
+            questionOrder[i] = i;
+        }
+        for (int i = size - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = questionOrder[i];
+            questionOrder[i] = questionOrder[j];
+            questionOrder[j] = swap;
+        }
+
+        byte[][] optionOrders = new byte[size][];
+        for (int i = 0; i < size; i++) {
+            Question question = baseQuestions.get(questionOrder[i]);
+            if (question.getType() == ItemType.TRUE_FALSE) {
+                continue;
+            }
+            byte[] order = new byte[question.getOptions().size()];
+            for (int k = 0; k < order.length; k++) {
+                order[k] = (byte) k;
+            }
+            for (int k = order.length - 1; k > 0; k--) {
+                int j = random.nextInt(k + 1);
+                byte swap = order[k];
+                order[k] = order[j];
+                order[j] = swap;
+            }
+            optionOrders[i] = order;
+        }
+        return new PaperShuffle(questionOrder, optionOrders);
+    }
+
+    public int size() {
+        return questionOrder.length;
+    }
+
+    /**
+     * 显示题号对应的基准题号
+     */
+    public int baseIndex(int displayIndex) {
+        return questionOrder[displayIndex];
+    }
+
+    /**
+     * 基准题号对应的显示题号
+     */
+    public int displayIndex(int baseIndex) {
+        return displayPositions[baseIndex];
+    }
+
+    /**
+     * 把考生按显示顺序作答的选项位换成基准选项位（超出选项范围的作答编码为 0，视为无效）
+     */
+    public int toBaseOptions(int displayIndex, int displayedBits) {
+        byte[] order = optionOrders[displayIndex];
+        if (order == null) {
+            return displayedBits;
+        }
+
+        int baseBits = 0;
+        for (int bits = displayedBits; bits != 0; bits &= bits - 1) {
+            int option = Integer.numberOfTrailingZeros(bits);
+            if (option >= order.length) {
+                return 0;
+            }
+            baseBits |= 1 << order[option];
+        }
+        return baseBits;
+    }
+
+    /**
+     * 按排列生成考生看到的试卷（题目与选项均为显示顺序）
+     */
+    public ExamPaper apply(ExamPaper basePaper, Long traineeId) {
+        List<Question> baseQuestions = basePaper.questions();
+        if (baseQuestions.size() != questionOrder.length) {
+            throw new IllegalArgumentException("排列与试卷题数不一致");
+        }
+
+        List<Question> displayed = new ArrayList<>(questionOrder.length);
+        for (int i = 0; i < questionOrder.length; i++) {
+            Question question = baseQuestions.get(questionOrder[i]);
+            displayed.add(optionOrders[i] != null ? question.reorderOptions(optionOrders[i]) : question);
+        }
+        return new ExamPaper(basePaper.examId(), traineeId, displayed);
+    }
+}
@@ -0,0 +1,251 @@
+package com.oncoresi.domain.service;
+
+import com.oncoresi.domain.valueobject.PracticeCard;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * 学员练习复习队列（间隔重复领域服务）
+ * <p>
+ * 学员的全部练习卡片按下次复习时间组成二叉最小堆，并按题目ID索引堆中位置：
+ * 查询最早到期的题目 O(1)，练习后更新卡片 O(log n)，不扫描练习记录。
+ * 记录自上次取走以来修改与移除的卡片，供批量写回。非线程安全，由调用方按学员加锁。
+ */
+public final class PracticeQueue {
+
+    private final Long traineeId;
+
+    private PracticeCard[] heap;
+
+    private int size;
+
+    private final Map<Long, Integer> positions;
+
+    private final Set<Long> dirty = new LinkedHashSet<>();
+
+    private final Set<Long> removed = new LinkedHashSet<>();
+
+    /**
+     * 最近一个有新题的日期及当天首次练习的题数
+     */
+    private LocalDate introducedDate;
+
+    private int introducedCount;
+
+    /**
+     * 待写回的修改
+     *
+     * @param saved   新增或更新的卡片
+     * @param removed 移除的题目ID
+     */
+    public record Changes(Long traineeId, List<PracticeCard> saved, List<Long> removed) {
+
+        public boolean isEmpty() {
+            return saved.isEmpty() && removed.isEmpty();
+        }
+    }
+
+    private PracticeQueue(Long traineeId, List<PracticeCard> cards) {
+        this.traineeId = traineeId;
+        this.heap = cards.toArray(new PracticeCard[Math.max(16, cards.size())]);
+        this.size = cards.size();
+        this.positions = new HashMap<>(Math.max(16, size * 4 / 3 + 1));
+        for (int i = 0; i < size; i++) {
+            if (!traineeId.equals(heap[i].traineeId()) || positions.put(heap[i].questionId(), i) != null) {
+                throw new IllegalArgumentException("练习卡片不属于该学员或重复: " + heap[i].questionId());
+            }
+        }
+        for (int i = size / 2 - 1; i >= 0; i--) {
+            siftDown(i);
+        }
+    }
+
+    /**
+     * 由学员已保存的卡片建立队列
+     */
+    public static PracticeQueue load(Long traineeId, List<PracticeCard> cards, LocalDate today) {
+        PracticeQueue queue = new PracticeQueue(traineeId, cards);
+        queue.introducedDate = today;
+        for (PracticeCard card : cards) {
+            if (today.equals(card.introducedOn())) {
+                queue.introducedCount++;
+            }
+        }
+        return queue;
+    }
+
+    public Long traineeId() {
+        return traineeId;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean contains(Long questionId) {
+        return positions.containsKey(questionId);
+    }
+
+    public Optional<PracticeCard> find(Long questionId) {
+        Integer position = positions.get(questionId);
+        return position != null ? Optional.of(heap[position]) : Optional.empty();
+    }
+
+    /**
+     * 到 now 时最早到期的卡片（没有到期的为空）
+     */
+    public Optional<PracticeCard> peekDue(LocalDateTime now) {
+        return size > 0 && heap[0].isDue(now) ? Optional.of(heap[0]) : Optional.empty();
+    }
+
+    /**
+     * 某天首次练习的题数
+     */
+    public int introducedOn(LocalDate date) {
+        return date.equals(introducedDate) ? introducedCount : 0;
+    }
+
+    /**
+     * 新增或更新卡片
+     */
+    public void put(PracticeCard card) {
+        if (!traineeId.equals(card.traineeId())) {
+            throw new IllegalArgumentException("练习卡片不属于该学员: " + card.traineeId());
+        }
+
+        Integer position = positions.get(card.questionId());
+        if (position != null) {
+            heap[position] = card;
+            siftDown(siftUp(position));
+        } else {
+            if (size == heap.length) {
+                heap = Arrays.copyOf(heap, size * 2);
+            }
+            heap[size] = card;
+            positions.put(card.questionId(), size);
+            siftUp(size++);
+            countIntroduced(card.introducedOn());
+        }
+        dirty.add(card.questionId());
+        removed.remove(card.questionId());
+    }
+
+    /**
+     * 移除卡片（题目停用等）
+     */
+    public void remove(Long questionId) {
+        Integer position = positions.remove(questionId);
+        if (position == null) {
+            return;
+        }
+
+        PracticeCard last = heap[--size];
+        heap[size] = null;
+        if (position < size) {
+            heap[position] = last;
+            positions.put(last.questionId(), position);
+            siftDown(siftUp(position));
+        }
+        dirty.remove(questionId);
+        removed.add(questionId);
+    }
+
+    public boolean hasChanges() {
+        return !dirty.isEmpty() || !removed.isEmpty();
+    }
+
+    /**
+     * 取走待写回的修改（同一卡片多次修改只写最后一次）
+     */
+    public Changes drainChanges() {
+        List<PracticeCard> saved = new ArrayList<>(dirty.size());
+        for (Long questionId : dirty) {
+            saved.add(heap[positions.get(questionId)]);
+        }
+        Changes changes = new Changes(traineeId, saved, List.copyOf(removed));
+        dirty.clear();
+        removed.clear();
+        return changes;
+    }
+
+    /**
+     * 写回失败时放回修改（取走之后又有修改的以队列中当前状态为准）
+     */
+    public void restoreChanges(Changes changes) {
+        for (PracticeCard card : changes.saved()) {
+            if (positions.containsKey(card.questionId())) {
+                dirty.add(card.questionId());
+            }
+        }
+        for (Long questionId : changes.removed()) {
+            if (!positions.containsKey(questionId)) {
+                removed.add(questionId);
+            }
+        }
+    }
+
+    private void countIntroduced(LocalDate date) {
+        if (date.equals(introducedDate)) {
+            introducedCount++;
+        } else if (introducedDate == null || date.isAfter(introducedDate)) {
+            introducedDate = date;
+            introducedCount = 1;
+        }
+    }
+
+    /**
+     * @return 上移后的位置
+     */
+    private int siftUp(int position) {
+        PracticeCard card = heap[position];
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (!before(card, heap[parent])) {
+                break;
+            }
+            move(heap[parent], position);
+            position = parent;
+        }
+        move(card, position);
+        return position;
+    }
+
+    private void siftDown(int position) {
+        PracticeCard card = heap[position];
+        int half = size >>> 1;
+        while (position < half) {
+            int child = 2 * position + 1;
+            if (child + 1 < size && before(heap[child + 1], heap[child])) {
+                child++;
+            }
+            if (!before(heap[child], card)) {
+                break;
+            }
+            move(heap[child], position);
+            position = child;
+        }
+        move(card, position);
+    }
+
+    private void move(PracticeCard card, int position) {
+        heap[position] = card;
+        positions.put(card.questionId(), position);
+    }
+
+    /**
+     * 先到期的在前，同时到期按题目ID
+     */
+    private static boolean before(PracticeCard a, PracticeCard b) {
+        int order = a.dueTime().compareTo(b.dueTime());
+        return order < 0 || order == 0 && a.questionId() < b.questionId();
+    }
+}
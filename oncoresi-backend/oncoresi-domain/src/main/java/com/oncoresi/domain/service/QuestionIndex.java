@@ -0,0 +1,307 @@
+package com.oncoresi.domain.service;
+
+import com.oncoresi.domain.aggregate.Question;
+import com.oncoresi.domain.valueobject.AnswerKey.ItemType;
+import com.oncoresi.domain.valueobject.CourseCategory;
+import com.oncoresi.domain.valueobject.PaperBlueprint.Stratum;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 题库内存索引（不可变快照）
+ * <p>
+ * 每道可用题目有一个位置编号；学科、课程类别、题型、难度四个维度各自维护“取值 -> 位图”，
+ * 按分层条件筛选题目即对相应位图求交集，不需要逐题判断，也不需要查询数据库。
+ * <p>
+ * 题目变更（录入、停用、组卷使用）以增量方式生成新快照：变更后的题目追加一个新的位置编号，原位置从可用位图中清除，
+ * 只复制受影响的位图，不重建整个索引；增量修改累计较多时按内存中的全部题目重新编号。读取方无锁。
+ * <p>
+ * 按学科与课程类别查询的结果在快照内首次查询时缓存，生成新快照时只丢弃变更题目所属的条目。
+ */
+public final class QuestionIndex {
+
+    private static final BitSet EMPTY = new BitSet();
+
+    /**
+     * 增量修改的题目数超过该值（且超过题目总数的 1/4）时重新编号
+     */
+    private static final int COMPACT_THRESHOLD = 1024;
+
+    /**
+     * 位置编号 -> 题目；与由本快照派生的快照共用，只在末尾追加，本快照只读取前 length 个
+     */
+    private final Question[] slots;
+
+    /**
+     * slots 已被占用的长度（在共用数组上追加前先占用，同一快照派生两次时后者复制数组）
+     */
+    private final AtomicInteger claimed;
+
+    private final int length;
+
+    /**
+     * 全部题目（含已停用，供按ID查询已组成的试卷）：重新编号时的题目 + 之后的增量修改
+     */
+    private final Map<Long, Entry> base;
+
+    private final Map<Long, Entry> changes;
+
+    private final BitSet all;
+
+    private final int activeCount;
+
+    private final Map<String, BitSet> bySubject;
+
+    private final Map<CourseCategory, BitSet> byCategory;
+
+    private final Map<ItemType, BitSet> byType;
+
+    private final BitSet[] byDifficulty;
+
+    /**
+     * (学科, 课程类别) -> 可用题目（按位置编号顺序，首次查询时计算）
+     */
+    private final Map<FindKey, List<Question>> found = new ConcurrentHashMap<>();
+
+    /**
+     * @param subject  学科（为空表示不限）
+     * @param category 课程类别（为空表示不限）
+     */
+    private record FindKey(String subject, CourseCategory category) {
+    }
+
+    /**
+     * @param position 可用题目的位置编号（已停用为 -1）
+     */
+    private record Entry(Question question, int position) {
+    }
+
+    private QuestionIndex(Question[] slots, AtomicInteger claimed, int length, Map<Long, Entry> base,
+                          Map<Long, Entry> changes, BitSet all, Map<String, BitSet> bySubject,
+                          Map<CourseCategory, BitSet> byCategory, Map<ItemType, BitSet> byType,
+                          BitSet[] byDifficulty) {
+        this.slots = slots;
+        this.claimed = claimed;
+        this.length = length;
+        this.base = base;
+        this.changes = changes;
+        this.all = all;
+        this.activeCount = all.cardinality();
+        this.bySubject = bySubject;
+        this.byCategory = byCategory;
+        this.byType = byType;
+        this.byDifficulty = byDifficulty;
+    }
+
+    /**
+     * 按全部题目建立索引（已停用的题目只能按ID查询，不参与筛选）
+     */
+    public static QuestionIndex build(Collection<Question> questions) {
+        Map<String, BitSet> bySubject = new HashMap<>();
+        Map<CourseCategory, BitSet> byCategory = new EnumMap<>(CourseCategory.class);
+        Map<ItemType, BitSet> byType = new EnumMap<>(ItemType.class);
+        BitSet[] byDifficulty = new BitSet[Question.MAX_DIFFICULTY + 1];
+        for (int d = 0; d < byDifficulty.length; d++) {
+            byDifficulty[d] = new BitSet();
+        }
+
+        Map<Long, Entry> base = new HashMap<>(questions.size() * 2);
+        Question[] slots = questions.stream().filter(Question::isActive).toArray(Question[]::new);
+        int position = 0;
+        for (Question question : questions) {
+            if (!question.isActive()) {
+                base.put(question.getId(), new Entry(question, -1));
+                continue;
+            }
+            bySubject.computeIfAbsent(question.getSubject(), key -> new BitSet()).set(position);
+            byCategory.computeIfAbsent(question.getCategory(), key -> new BitSet()).set(position);
+            byType.computeIfAbsent(question.getType(), key -> new BitSet()).set(position);
+            byDifficulty[question.getDifficulty()].set(position);
+            base.put(question.getId(), new Entry(question, position++));
+        }
+        BitSet all = new BitSet(slots.length);
+        all.set(0, slots.length);
+        return new QuestionIndex(slots, new AtomicInteger(slots.length), slots.length, base, Map.of(), all,
+                bySubject, byCategory, byType, byDifficulty);
+    }
+
+    /**
+     * 在本快照上应用题目变更，生成新快照（本快照不变）
+     *
+     * @param changed 变更后的题目（新录入、已停用或更新了使用时间）
+     */
+    public QuestionIndex withChanges(Collection<Question> changed) {
+        if (changed.isEmpty()) {
+            return this;
+        }
+        if (changes.size() + changed.size() > Math.max(COMPACT_THRESHOLD, base.size() / 4)) {
+            Map<Long, Question> merged = new LinkedHashMap<>(base.size() * 2);
+            base.forEach((id, entry) -> merged.put(id, entry.question()));
+            changes.forEach((id, entry) -> merged.put(id, entry.question()));
+            changed.forEach(question -> merged.put(question.getId(), question));
+            return build(merged.values());
+        }
+
+        int appended = (int) changed.stream().filter(Question::isActive).count();
+        Question[] newSlots = slots;
+        AtomicInteger newClaimed = claimed;
+        if (length + appended > slots.length || !claimed.compareAndSet(length, length + appended)) {
+            newSlots = Arrays.copyOf(slots, Math.max(16, (length + appended) * 2));
+            newClaimed = new AtomicInteger(length + appended);
+        }
+
+        BitSet newAll = (BitSet) all.clone();
+        Map<String, BitSet> newBySubject = new HashMap<>(bySubject);
+        Map<CourseCategory, BitSet> newByCategory = new EnumMap<>(byCategory);
+        Map<ItemType, BitSet> newByType = new EnumMap<>(byType);
+        BitSet[] newByDifficulty = byDifficulty.clone();
+        Set<BitSet> copied = Collections.newSetFromMap(new IdentityHashMap<>());
+        Map<Long, Entry> newChanges = new HashMap<>(changes);
+
+        int position = length;
+        for (Question question : changed) {
+            Entry previous = newChanges.containsKey(question.getId())
+                    ? newChanges.get(question.getId()) : base.get(question.getId());
+            if (previous != null && previous.position() >= 0) {
+                // 只需从可用位图中清除，筛选总是先取可用位图
+                newAll.clear(previous.position());
+            }
+            if (!question.isActive()) {
+                newChanges.put(question.getId(), new Entry(question, -1));
+                continue;
+            }
+            newSlots[position] = question;
+            newAll.set(position);
+            set(newBySubject, question.getSubject(), position, copied);
+            set(newByCategory, question.getCategory(), position, copied);
+            set(newByType, question.getType(), position, copied);
+            BitSet difficulty = newByDifficulty[question.getDifficulty()];
+            if (!copied.contains(difficulty)) {
+                difficulty = (BitSet) difficulty.clone();
+                copied.add(difficulty);
+                newByDifficulty[question.getDifficulty()] = difficulty;
+            }
+            difficulty.set(position);
+            newChanges.put(question.getId(), new Entry(question, position++));
+        }
+        QuestionIndex changedIndex = new QuestionIndex(newSlots, newClaimed, position, base, newChanges, newAll,
+                newBySubject, newByCategory, newByType, newByDifficulty);
+        changedIndex.found.putAll(found);
+        for (Question question : changed) {
+            findById(question.getId()).ifPresent(previous -> forget(changedIndex.found, previous));
+            forget(changedIndex.found, question);
+        }
+        return changedIndex;
+    }
+
+    /**
+     * 可用题目数
+     */
+    public int size() {
+        return activeCount;
+    }
+
+    /**
+     * 位置编号上限（不含；增量修改留下的空位也计入）
+     */
+    public int capacity() {
+        return length;
+    }
+
+    /**
+     * 按位置编号获取题目
+     */
+    public Question get(int position) {
+        return slots[position];
+    }
+
+    /**
+     * 按ID查询题目（含已停用）
+     */
+    public Optional<Question> findById(Long id) {
+        Entry entry = changes.get(id);
+        if (entry == null) {
+            entry = base.get(id);
+        }
+        return Optional.ofNullable(entry).map(Entry::question);
+    }
+
+    /**
+     * 筛选属于该层的可用题目
+     *
+     * @param usedAfter 排除在此时间之后被组卷用过的题目（为空时不排除）
+     * @return 题目位置编号（升序）
+     */
+    public int[] select(Stratum stratum, LocalDateTime usedAfter) {
+        return matching(stratum.subject(), stratum.category(), stratum.type(), stratum.difficulty()).stream()
+                .filter(position -> usedAfter == null || !slots[position].isUsedSince(usedAfter))
+                .toArray();
+    }
+
+    /**
+     * 筛选学科（及课程类别）下的全部可用题目
+     *
+     * @param category 课程类别（为空表示不限）
+     * @return 题目（按位置编号顺序）
+     */
+    public List<Question> find(String subject, CourseCategory category) {
+        return found.computeIfAbsent(new FindKey(subject, category), key -> matching(subject, category, null, null)
+                .stream()
+                .mapToObj(position -> slots[position])
+                .toList());
+    }
+
+    private BitSet matching(String subject, CourseCategory category, ItemType type, Integer difficulty) {
+        BitSet matched = (BitSet) all.clone();
+        if (subject != null) {
+            matched.and(bySubject.getOrDefault(subject, EMPTY));
+        }
+        if (category != null) {
+            matched.and(byCategory.getOrDefault(category, EMPTY));
+        }
+        if (type != null) {
+            matched.and(byType.getOrDefault(type, EMPTY));
+        }
+        if (difficulty != null) {
+            matched.and(difficulty >= 0 && difficulty < byDifficulty.length ? byDifficulty[difficulty] : EMPTY);
+        }
+        return matched;
+    }
+
+    /**
+     * 丢弃包含该题目的查询结果
+     */
+    private static void forget(Map<FindKey, List<Question>> found, Question question) {
+        found.remove(new FindKey(question.getSubject(), question.getCategory()));
+        found.remove(new FindKey(question.getSubject(), null));
+        found.remove(new FindKey(null, question.getCategory()));
+        found.remove(new FindKey(null, null));
+    }
+
+    /**
+     * 在位图中置位；位图仍与旧快照共用时先复制
+     */
+    private static <K> void set(Map<K, BitSet> bitsByKey, K key, int position, Set<BitSet> copied) {
+        BitSet bits = bitsByKey.get(key);
+        if (bits == null || !copied.contains(bits)) {
+            bits = bits == null ? new BitSet() : (BitSet) bits.clone();
+            copied.add(bits);
+            bitsByKey.put(key, bits);
+        }
+        bits.set(position);
+    }
+}
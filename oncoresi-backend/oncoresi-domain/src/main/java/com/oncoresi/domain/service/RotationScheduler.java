@@ -0,0 +1,555 @@
+package com.oncoresi.domain.service;
+
+import com.oncoresi.domain.aggregate.TrainingPlanAggregate;
+import com.oncoresi.domain.aggregate.TrainingPlanAggregate.RotationSchedule;
+import com.oncoresi.domain.exception.DomainException;
+import com.oncoresi.domain.valueobject.RotationPeriod;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 轮转自动排班领域服务
+ * <p>
+ * 每名学员按某种顺序、从某个起始偏移开始连续轮转全部必修科室，因此同一学员的新轮转天然不重叠；
+ * 学员在计划中已有的轮转预先占用其时段，起始偏移只在能容纳全部新轮转的连续空档中选取，
+ * 已有轮转同时计入科室在岗人数与带教老师负荷。
+ * 搜索目标是使各科室每日在岗人数不超过有效容量（科室容量与当日可带教老师容量的较小值）。
+ * 多个线程从不同随机种子出发做局部搜索（交换轮转顺序、调整起始偏移，模拟退火接受），
+ * 共享时间预算，任一线程找到零冲突方案即全部停止，取超载人天最少的方案。
+ * 搜索线程由调用方提供的执行器运行（应用内共享，不按次创建线程池）。
+ * <p>
+ * 结果通过 {@link TrainingPlanAggregate#addRotations} 写入计划，复用聚合的轮转冲突校验。
+ */
+public class RotationScheduler {
+
+    /**
+     * 无容量限制时使用的容量值
+     */
+    private static final int UNLIMITED = Integer.MAX_VALUE / 2;
+
+    /**
+     * 温度更新间隔（迭代次数）
+     */
+    private static final int TEMPERATURE_INTERVAL = 1024;
+
+    private static final double INITIAL_TEMPERATURE = 2.0;
+
+    private final Executor executor;
+
+    private final int parallelism;
+
+    /**
+     * @param executor    运行搜索线程的执行器
+     * @param parallelism 每次排班的搜索线程数
+     */
+    public RotationScheduler(Executor executor, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("并行度必须大于0");
+        }
+        this.executor = Objects.requireNonNull(executor, "执行器不能为空");
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * 必修科室及轮转时长
+     */
+    public record Requirement(Long departmentId, int durationDays) {
+        public Requirement {
+            Objects.requireNonNull(departmentId, "科室ID不能为空");
+            if (durationDays <= 0) {
+                throw new IllegalArgumentException("轮转天数必须大于0");
+            }
+        }
+    }
+
+    /**
+     * 带教老师可带教时段及同时带教人数上限
+     */
+    public record Supervisor(Long supervisorId, Long departmentId, int maxTrainees, RotationPeriod availability) {
+        public Supervisor {
+            Objects.requireNonNull(supervisorId, "带教老师ID不能为空");
+            Objects.requireNonNull(departmentId, "科室ID不能为空");
+            Objects.requireNonNull(availability, "可带教时段不能为空");
+            if (maxTrainees <= 0) {
+                throw new IllegalArgumentException("带教人数上限必须大于0");
+            }
+        }
+    }
+
+    /**
+     * 排班问题
+     *
+     * @param traineeIds         待排班学员（重复的只排一次）
+     * @param requirements       每名学员需轮转的科室及时长
+     * @param departmentCapacity 科室同时在岗学员上限（未配置视为不限）
+     * @param supervisors        带教老师（配置了带教老师的科室，容量同时受带教能力限制）
+     * @param timeBudget         搜索时间预算
+     */
+    public record Problem(List<Long> traineeIds, List<Requirement> requirements,
+                          Map<Long, Integer> departmentCapacity, List<Supervisor> supervisors,
+                          Duration timeBudget) {
+        public Problem {
+            traineeIds = List.copyOf(new LinkedHashSet<>(traineeIds));
+            requirements = List.copyOf(requirements);
+            departmentCapacity = Map.copyOf(departmentCapacity != null ? departmentCapacity : Map.of());
+            supervisors = List.copyOf(supervisors != null ? supervisors : List.of());
+            Objects.requireNonNull(timeBudget, "时间预算不能为空");
+        }
+    }
+
+    /**
+     * 排班结果
+     *
+     * @param rotations             已写入计划的轮转安排
+     * @param capacityOverloadDays  超出科室有效容量的人天数（0 表示满足容量约束）
+     * @param unassignedSupervisors 未能分配带教老师的轮转数
+     */
+    public record Result(List<RotationSchedule> rotations, int capacityOverloadDays, int unassignedSupervisors) {
+
+        public boolean feasible() {
+            return capacityOverloadDays == 0 && unassignedSupervisors == 0;
+        }
+    }
+
+    /**
+     * 为计划自动排班并写入轮转安排
+     */
+    public Result schedule(TrainingPlanAggregate plan, Problem problem) {
+        if (!plan.isActive()) {
+            throw DomainException.of("只能为进行中的计划排班");
+        }
+        if (problem.traineeIds().isEmpty() || problem.requirements().isEmpty()) {
+            return new Result(List.of(), 0, 0);
+        }
+
+        Model model = new Model(plan, problem);
+        long deadline = System.nanoTime() + problem.timeBudget().toNanos();
+        AtomicBoolean solved = new AtomicBoolean();
+
+        SplittableRandom seeds = new SplittableRandom();
+        List<CompletableFuture<Solution>> workers = new ArrayList<>(parallelism);
+        for (int i = 0; i < parallelism; i++) {
+            SplittableRandom random = seeds.split();
+            workers.add(CompletableFuture.supplyAsync(
+                    () -> new Search(model, random).run(deadline, solved), executor));
+        }
+        Solution best = workers.stream()
+                .map(CompletableFuture::join)
+                .min(Comparator.comparingInt(Solution::cost))
+                .orElseThrow();
+
+        List<RotationSchedule> rotations = new ArrayList<>();
+        int unassigned = model.toRotations(best, rotations);
+
+        plan.addRotations(rotations);
+
+        return new Result(rotations, best.cost(), unassigned);
+    }
+
+    /**
+     * 问题的数组化表示（各搜索线程只读共享）
+     */
+    private static final class Model {
+
+        private final LocalDate planStart;
+        private final List<Long> traineeIds;
+        private final List<Long> departmentIds;
+        private final int[] requirementDepartment;
+        private final int[] requirementDuration;
+        private final int horizon;
+        private final int slack;
+
+        /**
+         * 学员可选的起始偏移（避开其已有轮转；为空表示 0..slack 均可）
+         */
+        private final int[][] allowedOffsets;
+
+        /**
+         * 科室 × 日 的有效容量
+         */
+        private final int[][] capacity;
+
+        /**
+         * 计划中已有轮转占用的 科室 × 日 在岗人数
+         */
+        private final int[][] baseOccupancy;
+
+        private final List<Supervisor> supervisors;
+        private final List<RotationSchedule> existingRotations;
+
+        Model(TrainingPlanAggregate plan, Problem problem) {
+            this.planStart = plan.getStartDate();
+            this.traineeIds = problem.traineeIds();
+            this.horizon = (int) ChronoUnit.DAYS.between(plan.getStartDate(), plan.getEndDate()) + 1;
+
+            Map<Long, Integer> departmentIndex = new HashMap<>();
+            this.departmentIds = new ArrayList<>();
+            int requirementCount = problem.requirements().size();
+            this.requirementDepartment = new int[requirementCount];
+            this.requirementDuration = new int[requirementCount];
+            int totalDuration = 0;
+            for (int r = 0; r < requirementCount; r++) {
+                Requirement requirement = problem.requirements().get(r);
+                requirementDepartment[r] = departmentIndex.computeIfAbsent(requirement.departmentId(), id -> {
+                    departmentIds.add(id);
+                    return departmentIds.size() - 1;
+                });
+                requirementDuration[r] = requirement.durationDays();
+                totalDuration += requirement.durationDays();
+            }
+
+            if (totalDuration > horizon) {
+                throw DomainException.of("必修科室轮转总时长超出计划周期");
+            }
+            this.slack = horizon - totalDuration;
+
+            int departmentCount = departmentIds.size();
+            this.capacity = new int[departmentCount][horizon];
+            for (int d = 0; d < departmentCount; d++) {
+                Arrays.fill(capacity[d], problem.departmentCapacity().getOrDefault(departmentIds.get(d), UNLIMITED));
+            }
+
+            // 配置了带教老师的科室：当日有效容量不超过可带教老师的人数上限之和
+            this.supervisors = problem.supervisors();
+            int[][] supervisorCapacity = new int[departmentCount][];
+            for (Supervisor supervisor : supervisors) {
+                Integer d = departmentIndex.get(supervisor.departmentId());
+                if (d == null) {
+                    continue;
+                }
+                if (supervisorCapacity[d] == null) {
+                    supervisorCapacity[d] = new int[horizon];
+                }
+                int from = Math.max(0, dayOf(supervisor.availability().startDate()));
+                int to = Math.min(horizon - 1, dayOf(supervisor.availability().endDate()));
+                for (int day = from; day <= to; day++) {
+                    supervisorCapacity[d][day] += supervisor.maxTrainees();
+                }
+            }
+            for (int d = 0; d < departmentCount; d++) {
+                if (supervisorCapacity[d] != null) {
+                    for (int day = 0; day < horizon; day++) {
+                        capacity[d][day] = Math.min(capacity[d][day], supervisorCapacity[d][day]);
+                    }
+                }
+            }
+
+            this.existingRotations = List.copyOf(plan.getRotations());
+            this.allowedOffsets = allowedOffsets(totalDuration);
+            this.baseOccupancy = new int[departmentCount][horizon];
+            for (RotationSchedule rotation : existingRotations) {
+                Integer d = departmentIndex.get(rotation.getDepartmentId());
+                if (d == null) {
+                    continue;
+                }
+                int from = Math.max(0, dayOf(rotation.getPeriod().startDate()));
+                int to = Math.min(horizon - 1, dayOf(rotation.getPeriod().endDate()));
+                for (int day = from; day <= to; day++) {
+                    baseOccupancy[d][day]++;
+                }
+            }
+        }
+
+        int dayOf(LocalDate date) {
+            return (int) ChronoUnit.DAYS.between(planStart, date);
+        }
+
+        /**
+         * 按学员已有轮转计算可选起始偏移：全部新轮转 [offset, offset + totalDuration) 不得与已有轮转重叠
+         */
+        private int[][] allowedOffsets(int totalDuration) {
+            Map<Long, Integer> traineeIndex = new HashMap<>();
+            for (int t = 0; t < traineeIds.size(); t++) {
+                traineeIndex.put(traineeIds.get(t), t);
+            }
+
+            // busy[t][day + 1] = 学员 t 在 [0, day] 中被已有轮转占用的天数（前缀和）
+            int[][] busy = new int[traineeIds.size()][];
+            for (RotationSchedule rotation : existingRotations) {
+                Integer t = traineeIndex.get(rotation.getTraineeId());
+                if (t == null) {
+                    continue;
+                }
+                if (busy[t] == null) {
+                    busy[t] = new int[horizon + 1];
+                }
+                int from = Math.max(0, dayOf(rotation.getPeriod().startDate()));
+                int to = Math.min(horizon - 1, dayOf(rotation.getPeriod().endDate()));
+                for (int day = from; day <= to; day++) {
+                    busy[t][day + 1] = 1;
+                }
+            }
+
+            int[][] allowed = new int[traineeIds.size()][];
+            for (int t = 0; t < traineeIds.size(); t++) {
+                if (busy[t] == null) {
+                    continue;
+                }
+                for (int day = 0; day < horizon; day++) {
+                    busy[t][day + 1] += busy[t][day];
+                }
+                int[] offsets = new int[slack + 1];
+                int count = 0;
+                for (int offset = 0; offset <= slack; offset++) {
+                    if (busy[t][offset + totalDuration] == busy[t][offset]) {
+                        offsets[count++] = offset;
+                    }
+                }
+                if (count == 0) {
+                    throw DomainException.of("学员在计划周期内没有容纳全部必修轮转的连续空档: " + traineeIds.get(t));
+                }
+                allowed[t] = Arrays.copyOf(offsets, count);
+            }
+            return allowed;
+        }
+
+        /**
+         * 学员可选的起始偏移个数
+         */
+        int offsetChoices(int t) {
+            return allowedOffsets[t] != null ? allowedOffsets[t].length : slack + 1;
+        }
+
+        /**
+         * 随机选取学员可选的起始偏移
+         */
+        int randomOffset(int t, SplittableRandom random) {
+            int[] offsets = allowedOffsets[t];
+            return offsets != null ? offsets[random.nextInt(offsets.length)] : random.nextInt(slack + 1);
+        }
+
+        /**
+         * 将方案转换为轮转安排并分配带教老师
+         *
+         * @return 未能分配带教老师的轮转数
+         */
+        int toRotations(Solution solution, List<RotationSchedule> rotations) {
+            Map<Long, int[]> supervisorLoad = new HashMap<>();
+            for (RotationSchedule rotation : existingRotations) {
+                if (rotation.getSupervisorId() != null) {
+                    occupy(supervisorLoad, rotation.getSupervisorId(), rotation.getPeriod());
+                }
+            }
+
+            int unassigned = 0;
+            for (int t = 0; t < traineeIds.size(); t++) {
+                LocalDate start = planStart.plusDays(solution.offset()[t]);
+                for (int r : solution.order()[t]) {
+                    Long departmentId = departmentIds.get(requirementDepartment[r]);
+                    RotationPeriod period = RotationPeriod.of(start, start.plusDays(requirementDuration[r] - 1L));
+
+                    Long supervisorId = assignSupervisor(supervisorLoad, departmentId, period);
+                    if (supervisorId == null && hasSupervisors(departmentId)) {
+                        unassigned++;
+                    }
+
+                    rotations.add(new RotationSchedule(null, traineeIds.get(t), departmentId, period, supervisorId));
+                    start = period.endDate().plusDays(1);
+                }
+            }
+            return unassigned;
+        }
+
+        private boolean hasSupervisors(Long departmentId) {
+            return supervisors.stream().anyMatch(s -> s.departmentId().equals(departmentId));
+        }
+
+        /**
+         * 选择整个轮转期间可带教且未满员的带教老师
+         */
+        private Long assignSupervisor(Map<Long, int[]> supervisorLoad, Long departmentId, RotationPeriod period) {
+            for (Supervisor supervisor : supervisors) {
+                if (!supervisor.departmentId().equals(departmentId)
+                        || period.startDate().isBefore(supervisor.availability().startDate())
+                        || period.endDate().isAfter(supervisor.availability().endDate())) {
+                    continue;
+                }
+
+                int[] load = supervisorLoad.get(supervisor.supervisorId());
+                boolean available = true;
+                if (load != null) {
+                    for (int day = dayOf(period.startDate()); day <= dayOf(period.endDate()); day++) {
+                        if (load[day] >= supervisor.maxTrainees()) {
+                            available = false;
+                            break;
+                        }
+                    }
+                }
+
+                if (available) {
+                    occupy(supervisorLoad, supervisor.supervisorId(), period);
+                    return supervisor.supervisorId();
+                }
+            }
+            return null;
+        }
+
+        private void occupy(Map<Long, int[]> supervisorLoad, Long supervisorId, RotationPeriod period) {
+            int[] load = supervisorLoad.computeIfAbsent(supervisorId, id -> new int[horizon]);
+            int from = Math.max(0, dayOf(period.startDate()));
+            int to = Math.min(horizon - 1, dayOf(period.endDate()));
+            for (int day = from; day <= to; day++) {
+                load[day]++;
+            }
+        }
+    }
+
+    /**
+     * 搜索方案：每名学员的轮转顺序与起始偏移（天）
+     */
+    private record Solution(int[][] order, int[] offset, int cost) {
+    }
+
+    /**
+     * 单线程局部搜索（增量维护 科室 × 日 在岗人数与超载人天）
+     */
+    private static final class Search {
+
+        private final Model model;
+        private final SplittableRandom random;
+        private final int[][] order;
+        private final int[] offset;
+        private final int[][] occupancy;
+        private int cost;
+
+        Search(Model model, SplittableRandom random) {
+            this.model = model;
+            this.random = random;
+            int traineeCount = model.traineeIds.size();
+            int requirementCount = model.requirementDuration.length;
+            this.order = new int[traineeCount][requirementCount];
+            this.offset = new int[traineeCount];
+            this.occupancy = new int[model.baseOccupancy.length][];
+            for (int d = 0; d < occupancy.length; d++) {
+                occupancy[d] = model.baseOccupancy[d].clone();
+                for (int day = 0; day < model.horizon; day++) {
+                    cost += Math.max(0, occupancy[d][day] - model.capacity[d][day]);
+                }
+            }
+
+            for (int t = 0; t < traineeCount; t++) {
+                for (int r = 0; r < requirementCount; r++) {
+                    order[t][r] = r;
+                }
+                shuffle(order[t]);
+                offset[t] = model.randomOffset(t, random);
+                place(t, 1);
+            }
+        }
+
+        Solution run(long deadline, AtomicBoolean solved) {
+            int bestCost = cost;
+            int[][] bestOrder = deepCopy(order);
+            int[] bestOffset = offset.clone();
+
+            double temperature = INITIAL_TEMPERATURE;
+            long start = System.nanoTime();
+            long iteration = 0;
+            int requirementCount = model.requirementDuration.length;
+
+            while (bestCost > 0 && !solved.get()) {
+                if (++iteration % TEMPERATURE_INTERVAL == 0) {
+                    long now = System.nanoTime();
+                    if (now >= deadline) {
+                        break;
+                    }
+                    double remaining = (double) (deadline - now) / Math.max(1, deadline - start);
+                    temperature = INITIAL_TEMPERATURE * remaining;
+                }
+
+                int t = random.nextInt(order.length);
+                int before = cost;
+                int savedOffset = offset[t];
+                int i = -1;
+                int j = -1;
+
+                place(t, -1);
+                if (requirementCount > 1 && (model.offsetChoices(t) == 1 || random.nextBoolean())) {
+                    i = random.nextInt(requirementCount);
+                    j = random.nextInt(requirementCount);
+                    swap(order[t], i, j);
+                } else {
+                    offset[t] = model.randomOffset(t, random);
+                }
+                place(t, 1);
+
+                int delta = cost - before;
+                boolean accept = delta <= 0
+                        || (temperature > 0 && random.nextDouble() < Math.exp(-delta / temperature));
+                if (!accept) {
+                    place(t, -1);
+                    if (i >= 0) {
+                        swap(order[t], i, j);
+                    }
+                    offset[t] = savedOffset;
+                    place(t, 1);
+                } else if (cost < bestCost) {
+                    bestCost = cost;
+                    bestOrder = deepCopy(order);
+                    bestOffset = offset.clone();
+                }
+            }
+
+            if (bestCost == 0) {
+                solved.set(true);
+            }
+            return new Solution(bestOrder, bestOffset, bestCost);
+        }
+
+        /**
+         * 放入（sign = 1）或移出（sign = -1）一名学员的全部轮转
+         */
+        private void place(int t, int sign) {
+            int day = offset[t];
+            for (int r : order[t]) {
+                int d = model.requirementDepartment[r];
+                int[] occupied = occupancy[d];
+                int[] capacity = model.capacity[d];
+                int end = day + model.requirementDuration[r];
+                for (; day < end; day++) {
+                    if (sign > 0) {
+                        if (++occupied[day] > capacity[day]) {
+                            cost++;
+                        }
+                    } else if (occupied[day]-- > capacity[day]) {
+                        cost--;
+                    }
+                }
+            }
+        }
+
+        private void shuffle(int[] values) {
+            for (int i = values.length - 1; i > 0; i--) {
+                swap(values, i, random.nextInt(i + 1));
+            }
+        }
+
+        private static void swap(int[] values, int i, int j) {
+            int tmp = values[i];
+            values[i] = values[j];
+            values[j] = tmp;
+        }
+
+        private static int[][] deepCopy(int[][] values) {
+            int[][] copy = new int[values.length][];
+            for (int i = 0; i < values.length; i++) {
+                copy[i] = values[i].clone();
+            }
+            return copy;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.oncoresi.domain.service;
+
+/**
+ * SplitMix64 伪随机数生成器
+ * <p>
+ * 状态只有一个 long，每次输出是对状态做一次加法和一次混合，无需分配对象也无需同步；
+ * 种子由多个键混合得到时，相同的键总是得到相同的序列，可用于按 (考试, 考生, 密钥) 推导确定性的排列。
+ * 不用于密码学用途，不可预测性依赖于密钥不外泄。
+ */
+public final class SplitMix64 {
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private long state;
+
+    public SplitMix64(long seed) {
+        this.state = seed;
+    }
+
+    /**
+     * 由多个键混合出种子
+     */
+    public static SplitMix64 seeded(long... keys) {
+        return new SplitMix64(mixKeys(keys));
+    }
+
+    /**
+     * 把多个键依次混合为一个种子：seed = mix64(seed ^ mix64(key + GOLDEN_GAMMA))，初始为 0
+     */
+    public static long mixKeys(long... keys) {
+        long seed = 0;
+        for (long key : keys) {
+            seed = mix64(seed ^ mix64(key + GOLDEN_GAMMA));
+        }
+        return seed;
+    }
+
+    public long nextLong() {
+        state += GOLDEN_GAMMA;
+        return mix64(state);
+    }
+
+    /**
+     * 返回 [0, bound) 内均匀分布的整数（Lemire 乘法取高位，拒绝采样消除偏差）
+     */
+    public int nextInt(int bound) {
+        if (bound <= 0) {
+            throw new IllegalArgumentException("bound 必须大于0: " + bound);
+        }
+        long product = (nextLong() >>> 32) * bound;
+        if ((product & 0xFFFFFFFFL) < bound) {
+            long threshold = (0x100000000L - bound) % bound;
+            while ((product & 0xFFFFFFFFL) < threshold) {
+                product = (nextLong() >>> 32) * bound;
+            }
+        }
+        return (int) (product >>> 32);
+    }
+
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,17 @@
+package com.oncoresi.domain.valueobject;
+
+/**
+ * 能力估计值对象（不可变）
+ *
+ * @param theta         能力值（标准正态尺度，0 为平均水平）
+ * @param standardError 测量标准误（后验标准差，越小越精确）
+ */
+public record AbilityEstimate(double theta, double standardError) {
+
+    /**
+     * 尚未作答时的估计（先验均值与标准差）
+     */
+    public static AbilityEstimate prior() {
+        return new AbilityEstimate(0, 1);
+    }
+}
@@ -0,0 +1,45 @@
+package com.oncoresi.domain.valueobject;
+
+import com.oncoresi.domain.exception.DomainException;
+
+/**
+ * 自适应考试规则值对象（不可变）
+ * 题库范围为指定学科（及课程类别）的可用题目；作答题数达到下限且标准误不超过目标值，
+ * 或作答题数达到上限时结束
+ *
+ * @param category 课程类别（为空表示不限）
+ */
+public record AdaptiveTestSpec(
+        Long examId,
+        String subject,
+        CourseCategory category,
+        int minItems,
+        int maxItems,
+        double targetStandardError
+) {
+
+    /**
+     * 作答题数上限的上限
+     */
+    public static final int MAX_ITEMS = 200;
+
+    public AdaptiveTestSpec {
+        if (subject == null || subject.isBlank()) {
+            throw DomainException.of("学科不能为空");
+        }
+        if (minItems < 1 || minItems > maxItems || maxItems > MAX_ITEMS) {
+            throw DomainException.of("作答题数范围必须满足 1 <= 下限 <= 上限 <= " + MAX_ITEMS);
+        }
+        if (!(targetStandardError > 0 && targetStandardError < 1)) {
+            throw DomainException.of("目标标准误必须在0-1之间: " + targetStandardError);
+        }
+    }
+
+    /**
+     * 判断作答是否可以结束
+     */
+    public boolean isSatisfied(int answeredCount, AbilityEstimate estimate) {
+        return answeredCount >= maxItems
+                || answeredCount >= minItems && estimate.standardError() <= targetStandardError;
+    }
+}
@@ -0,0 +1,127 @@
+package com.oncoresi.domain.valueobject;
+
+import com.oncoresi.domain.exception.DomainException;
+
+import java.util.List;
+
+/**
+ * 标准答案值对象（不可变）
+ * 按题号顺序记录每道客观题的题型、正确选项和分值，学员答案 answers[i] 对应第 i 道题
+ */
+public record AnswerKey(
+        Long examId,
+        List<Item> items
+) {
+
+    /**
+     * 单题最多选项数（A-H）
+     */
+    public static final int MAX_OPTIONS = 8;
+
+    /**
+     * 题型
+     */
+    public enum ItemType {
+        /**
+         * 单选题
+         */
+        SINGLE_CHOICE,
+
+        /**
+         * 多选题（选项完全一致才得分）
+         */
+        MULTIPLE_CHOICE,
+
+        /**
+         * 判断题（A/T/对 为正确，B/F/错 为错误）
+         */
+        TRUE_FALSE
+    }
+
+    /**
+     * 单题标准答案
+     *
+     * @param type           题型
+     * @param correctOptions 正确选项（如 "C"、"ABD"、"T"）
+     * @param points         分值
+     */
+    public record Item(ItemType type, String correctOptions, int points) {
+
+        public Item {
+            if (type == null) {
+                throw DomainException.of("题型不能为空");
+            }
+            if (points <= 0) {
+                throw DomainException.of("分值必须大于0");
+            }
+            int options = Integer.bitCount(OptionCodec.encode(type, correctOptions));
+            if (options == 0) {
+                throw DomainException.of("正确选项无效: " + correctOptions);
+            }
+            if (type != ItemType.MULTIPLE_CHOICE && options != 1) {
+                throw DomainException.of("单选题和判断题只能有一个正确选项: " + correctOptions);
+            }
+        }
+    }
+
+    public AnswerKey {
+        if (items == null || items.isEmpty()) {
+            throw DomainException.of("标准答案不能为空");
+        }
+        items = List.copyOf(items);
+    }
+
+    /**
+     * 题目数量
+     */
+    public int itemCount() {
+        return items.size();
+    }
+
+    /**
+     * 总分
+     */
+    public int totalPoints() {
+        return items.stream().mapToInt(Item::points).sum();
+    }
+
+    /**
+     * 选项编码：每个选项一位，A 为最低位；判断题的“正确”对应 A、“错误”对应 B
+     */
+    public static final class OptionCodec {
+
+        private OptionCodec() {
+        }
+
+        /**
+         * 编码一道题的作答（空白、无法识别的作答编码为 0，与任何标准答案都不相等）
+         */
+        public static int encode(ItemType type, String answer) {
+            if (answer == null || answer.isBlank()) {
+                return 0;
+            }
+            if (type == ItemType.TRUE_FALSE) {
+                return encodeTrueFalse(answer.strip());
+            }
+
+            int bits = 0;
+            for (int i = 0; i < answer.length(); i++) {
+                char c = Character.toUpperCase(answer.charAt(i));
+                if (c >= 'A' && c < 'A' + MAX_OPTIONS) {
+                    bits |= 1 << (c - 'A');
+                } else if (!Character.isWhitespace(c) && c != ',' && c != '，') {
+                    return 0;
+                }
+            }
+            return bits;
+        }
+
+        private static int encodeTrueFalse(String answer) {
+            return switch (answer.toUpperCase()) {
+                case "A", "T", "TRUE", "对", "正确", "√" -> 1;
+                case "B", "F", "FALSE", "错", "错误", "×" -> 1 << 1;
+                default -> 0;
+            };
+        }
+    }
+}
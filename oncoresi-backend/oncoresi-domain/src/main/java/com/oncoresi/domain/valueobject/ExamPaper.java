@@ -0,0 +1,48 @@
+package com.oncoresi.domain.valueobject;
+
+import com.oncoresi.domain.aggregate.Question;
+
+import java.util.List;
+
+/**
+ * 试卷值对象（不可变）
+ * 单个学员的试卷；题目顺序即答卷 answers 的顺序
+ */
+public record ExamPaper(
+        Long examId,
+        Long traineeId,
+        List<Question> questions
+) {
+
+    public ExamPaper {
+        questions = List.copyOf(questions);
+    }
+
+    /**
+     * 题目ID（按题号顺序）
+     */
+    public List<Long> questionIds() {
+        return questions.stream().map(Question::getId).toList();
+    }
+
+    /**
+     * 试卷总分
+     */
+    public int totalPoints() {
+        return questions.stream().mapToInt(Question::getPoints).sum();
+    }
+
+    /**
+     * 平均难度
+     */
+    public double averageDifficulty() {
+        return questions.stream().mapToInt(Question::getDifficulty).average().orElse(0);
+    }
+
+    /**
+     * 该试卷的标准答案
+     */
+    public AnswerKey answerKey() {
+        return new AnswerKey(examId, questions.stream().map(Question::toAnswerKeyItem).toList());
+    }
+}
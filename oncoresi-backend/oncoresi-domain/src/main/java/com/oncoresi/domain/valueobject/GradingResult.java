@@ -0,0 +1,86 @@
+package com.oncoresi.domain.valueobject;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 评分结果值对象（不可变）
+ * 除得分外保留逐题对错向量（每题一位），供错题分析使用
+ */
+public final class GradingResult {
+
+    private final int earnedPoints;
+
+    private final int totalPoints;
+
+    private final int itemCount;
+
+    /**
+     * 逐题对错：第 i 题答对时 correctness[i / 64] 的第 i % 64 位为 1
+     */
+    private final long[] correctness;
+
+    public GradingResult(int earnedPoints, int totalPoints, int itemCount, long[] correctness) {
+        this.earnedPoints = earnedPoints;
+        this.totalPoints = totalPoints;
+        this.itemCount = itemCount;
+        this.correctness = correctness.clone();
+    }
+
+    public int earnedPoints() {
+        return earnedPoints;
+    }
+
+    public int totalPoints() {
+        return totalPoints;
+    }
+
+    public int itemCount() {
+        return itemCount;
+    }
+
+    /**
+     * 百分制成绩（四舍五入）
+     */
+    public int score() {
+        return (int) ((earnedPoints * 100L * 2 + totalPoints) / (totalPoints * 2L));
+    }
+
+    /**
+     * 判断第 index 题（从 0 开始）是否答对
+     */
+    public boolean isCorrect(int index) {
+        return (correctness[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * 答对题数
+     */
+    public int correctCount() {
+        int count = 0;
+        for (long word : correctness) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * 答错题的题号（从 1 开始）
+     */
+    public List<Integer> wrongItems() {
+        List<Integer> wrong = new ArrayList<>(itemCount - correctCount());
+        for (int i = 0; i < itemCount; i++) {
+            if (!isCorrect(i)) {
+                wrong.add(i + 1);
+            }
+        }
+        return wrong;
+    }
+
+    /**
+     * 逐题对错向量（副本）
+     */
+    public long[] correctness() {
+        return correctness.clone();
+    }
+}
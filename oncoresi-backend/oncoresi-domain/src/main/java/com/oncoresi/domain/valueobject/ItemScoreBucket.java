@@ -0,0 +1,43 @@
+package com.oncoresi.domain.valueobject;
+
+/**
+ * 题目作答计数桶值对象
+ * 一场考试中一道题、总成绩相同（0-100 分，每分一个桶）的全部作答的计数；
+ * 计数只做加法，任意多个桶按题目合并后即可算出该题的全部统计量，无需回看历史答卷
+ *
+ * @param score     作答者的考试总成绩（0-100）
+ * @param responses 作答人数
+ * @param correct   答对人数
+ * @param blank     未作答（或作答无效）人数
+ * @param picks     各选项被选次数（下标 0 为 A；判断题 0 为对、1 为错；多选题每个选中的选项各计一次）
+ */
+public record ItemScoreBucket(
+        Long examId,
+        Long questionId,
+        int score,
+        long responses,
+        long correct,
+        long blank,
+        long[] picks
+) {
+
+    /**
+     * 总成绩上限（桶数为 MAX_SCORE + 1）
+     */
+    public static final int MAX_SCORE = 100;
+
+    public ItemScoreBucket {
+        if (score < 0 || score > MAX_SCORE) {
+            throw new IllegalArgumentException("分数必须在0-100之间: " + score);
+        }
+        if (picks.length != AnswerKey.MAX_OPTIONS) {
+            throw new IllegalArgumentException("选项计数长度必须为" + AnswerKey.MAX_OPTIONS);
+        }
+        picks = picks.clone();
+    }
+
+    @Override
+    public long[] picks() {
+        return picks.clone();
+    }
+}
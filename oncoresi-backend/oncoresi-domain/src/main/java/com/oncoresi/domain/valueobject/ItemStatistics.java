@@ -0,0 +1,143 @@
+package com.oncoresi.domain.valueobject;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 题目统计值对象（不可变）
+ * <p>
+ * 由按总成绩分桶的作答计数算出：答对率（难度）、点二列相关（区分度，与含本题在内的总成绩相关）、
+ * 高分组与低分组（各占作答人数的 27%）的答对率及其差值，以及各选项在全体、高分组、低分组中的选择率。
+ * 分组边界落在某个分数桶内时按比例取该桶的计数。无人作答或无法计算时对应的值为 NaN。
+ */
+public record ItemStatistics(
+        Long questionId,
+        long responses,
+        double correctRate,
+        double pointBiserial,
+        double upperCorrectRate,
+        double lowerCorrectRate,
+        double blankRate,
+        List<OptionStatistics> options
+) {
+
+    /**
+     * 高分组、低分组各占作答人数的比例
+     */
+    public static final double GROUP_FRACTION = 0.27;
+
+    public ItemStatistics {
+        options = List.copyOf(options);
+    }
+
+    /**
+     * 选项统计
+     *
+     * @param option 选项下标（0 为 A；判断题 0 为对、1 为错）
+     */
+    public record OptionStatistics(int option, double pickRate, double upperPickRate, double lowerPickRate) {
+    }
+
+    /**
+     * 区分度指数：高分组答对率 - 低分组答对率
+     */
+    public double discrimination() {
+        return upperCorrectRate - lowerCorrectRate;
+    }
+
+    /**
+     * 合并题目的计数桶（可来自多场考试）并计算统计量
+     *
+     * @param optionCount 题目的选项数（判断题为 2）
+     */
+    public static ItemStatistics summarize(Long questionId, int optionCount, Collection<ItemScoreBucket> buckets) {
+        int bucketCount = ItemScoreBucket.MAX_SCORE + 1;
+        long[] responses = new long[bucketCount];
+        long[] correct = new long[bucketCount];
+        long[][] picks = new long[bucketCount][optionCount];
+        long blank = 0;
+        for (ItemScoreBucket bucket : buckets) {
+            int score = bucket.score();
+            responses[score] += bucket.responses();
+            correct[score] += bucket.correct();
+            blank += bucket.blank();
+            long[] bucketPicks = bucket.picks();
+            for (int k = 0; k < optionCount; k++) {
+                picks[score][k] += bucketPicks[k];
+            }
+        }
+
+        long total = 0;
+        long correctTotal = 0;
+        double scoreSum = 0;
+        double scoreSquareSum = 0;
+        double correctScoreSum = 0;
+        double[] pickTotals = new double[optionCount];
+        for (int score = 0; score < bucketCount; score++) {
+            total += responses[score];
+            correctTotal += correct[score];
+            scoreSum += (double) score * responses[score];
+            scoreSquareSum += (double) score * score * responses[score];
+            correctScoreSum += (double) score * correct[score];
+            for (int k = 0; k < optionCount; k++) {
+                pickTotals[k] += picks[score][k];
+            }
+        }
+        if (total == 0) {
+            List<OptionStatistics> options = new ArrayList<>(optionCount);
+            for (int k = 0; k < optionCount; k++) {
+                options.add(new OptionStatistics(k, Double.NaN, Double.NaN, Double.NaN));
+            }
+            return new ItemStatistics(questionId, 0, Double.NaN, Double.NaN, Double.NaN, Double.NaN, Double.NaN,
+                    options);
+        }
+
+        double p = (double) correctTotal / total;
+        double mean = scoreSum / total;
+        double variance = scoreSquareSum / total - mean * mean;
+        double pointBiserial = Double.NaN;
+        if (correctTotal > 0 && correctTotal < total && variance > 0) {
+            double correctMean = correctScoreSum / correctTotal;
+            double wrongMean = (scoreSum - correctScoreSum) / (total - correctTotal);
+            pointBiserial = (correctMean - wrongMean) / Math.sqrt(variance) * Math.sqrt(p * (1 - p));
+        }
+
+        double groupSize = GROUP_FRACTION * total;
+        double[] upper = tallyGroup(responses, correct, picks, groupSize, true);
+        double[] lower = tallyGroup(responses, correct, picks, groupSize, false);
+
+        List<OptionStatistics> options = new ArrayList<>(optionCount);
+        for (int k = 0; k < optionCount; k++) {
+            options.add(new OptionStatistics(k, pickTotals[k] / total,
+                    upper[k + 1] / groupSize, lower[k + 1] / groupSize));
+        }
+        return new ItemStatistics(questionId, total, p, pointBiserial, upper[0] / groupSize, lower[0] / groupSize,
+                (double) blank / total, options);
+    }
+
+    /**
+     * 从最高分（或最低分）的桶开始累计 size 人的答对数与各选项选择数
+     *
+     * @return [答对数, 选项 0 选择数, 选项 1 选择数, ...]
+     */
+    private static double[] tallyGroup(long[] responses, long[] correct, long[][] picks, double size,
+                                       boolean fromTop) {
+        int optionCount = picks[0].length;
+        double[] tally = new double[optionCount + 1];
+        double remaining = size;
+        for (int i = 0; i < responses.length && remaining > 0; i++) {
+            int score = fromTop ? responses.length - 1 - i : i;
+            if (responses[score] == 0) {
+                continue;
+            }
+            double weight = Math.min(1, remaining / responses[score]);
+            tally[0] += weight * correct[score];
+            for (int k = 0; k < optionCount; k++) {
+                tally[k + 1] += weight * picks[score][k];
+            }
+            remaining -= weight * responses[score];
+        }
+        return tally;
+    }
+}
@@ -0,0 +1,75 @@
+package com.oncoresi.domain.valueobject;
+
+import com.oncoresi.domain.aggregate.Question;
+import com.oncoresi.domain.exception.DomainException;
+import com.oncoresi.domain.valueobject.AnswerKey.ItemType;
+
+import java.util.List;
+
+/**
+ * 组卷蓝图值对象（不可变）
+ * 试卷由若干分层组成，每层从符合条件的题目中不重复地抽取指定数量；整卷平均难度尽量接近目标难度
+ *
+ * @param strata           分层
+ * @param targetDifficulty 目标平均难度（1-5）
+ * @param tolerance        平均难度允许偏差
+ * @param cooldownDays     最近多少天内组卷用过的题目不再抽取（0 表示不限制）
+ */
+public record PaperBlueprint(
+        List<Stratum> strata,
+        double targetDifficulty,
+        double tolerance,
+        int cooldownDays
+) {
+
+    /**
+     * 分层：条件为空表示不限
+     *
+     * @param subject    学科
+     * @param category   课程类别
+     * @param type       题型
+     * @param difficulty 难度
+     * @param count      抽取数量
+     */
+    public record Stratum(String subject, CourseCategory category, ItemType type, Integer difficulty, int count) {
+
+        public Stratum {
+            if (count <= 0) {
+                throw DomainException.of("每层抽题数量必须大于0");
+            }
+        }
+
+        /**
+         * 判断题目是否属于该层
+         */
+        public boolean matches(Question question) {
+            return (subject == null || subject.equals(question.getSubject()))
+                    && (category == null || category == question.getCategory())
+                    && (type == null || type == question.getType())
+                    && (difficulty == null || difficulty == question.getDifficulty());
+        }
+    }
+
+    public PaperBlueprint {
+        if (strata == null || strata.isEmpty()) {
+            throw DomainException.of("组卷蓝图至少包含一层");
+        }
+        if (targetDifficulty < Question.MIN_DIFFICULTY || targetDifficulty > Question.MAX_DIFFICULTY) {
+            throw DomainException.of("目标难度必须在1-5之间: " + targetDifficulty);
+        }
+        if (tolerance < 0) {
+            throw DomainException.of("难度偏差不能为负数");
+        }
+        if (cooldownDays < 0) {
+            throw DomainException.of("题目冷却天数不能为负数");
+        }
+        strata = List.copyOf(strata);
+    }
+
+    /**
+     * 试卷总题数
+     */
+    public int itemCount() {
+        return strata.stream().mapToInt(Stratum::count).sum();
+    }
+}
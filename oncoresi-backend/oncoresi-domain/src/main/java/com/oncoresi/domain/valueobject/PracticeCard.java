@@ -0,0 +1,88 @@
+package com.oncoresi.domain.valueobject;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 练习卡片值对象（学员对单道题目的间隔重复状态，SM-2 算法，不可变）
+ * <p>
+ * 每次练习按作答质量 q（0-5）更新：q ≥ 3 时连续答对次数加一，复习间隔依次为 1 天、6 天、
+ * 之后为上次间隔 × 难易系数；q &lt; 3 时连续答对次数清零、遗忘次数加一，稍后在当天重新练习。
+ * 难易系数 EF' = EF + 0.1 - (5 - q)(0.08 + (5 - q) × 0.02)，不低于 1.3。
+ *
+ * @param easeFactor   难易系数 × 100（初始 250，不低于 130）
+ * @param intervalDays 当前复习间隔（天）
+ * @param repetitions  连续答对次数
+ * @param lapses       遗忘次数（答对后又答错）
+ * @param dueTime      下次复习时间
+ * @param reviewTime   最近一次练习时间
+ * @param introducedOn 首次练习日期（每日新题数限制）
+ */
+public record PracticeCard(Long traineeId, Long questionId, int easeFactor, int intervalDays, int repetitions,
+                           int lapses, LocalDateTime dueTime, LocalDateTime reviewTime, LocalDate introducedOn) {
+
+    /**
+     * 答对时的作答质量
+     */
+    public static final int QUALITY_CORRECT = 4;
+
+    /**
+     * 答错时的作答质量
+     */
+    public static final int QUALITY_INCORRECT = 1;
+
+    public static final int MAX_QUALITY = 5;
+
+    private static final int INITIAL_EASE_FACTOR = 250;
+
+    private static final int MIN_EASE_FACTOR = 130;
+
+    /**
+     * 最长复习间隔（天）
+     */
+    private static final int MAX_INTERVAL_DAYS = 365;
+
+    /**
+     * 答错后重新练习的等待分钟数
+     */
+    private static final int RELEARN_MINUTES = 10;
+
+    /**
+     * 首次练习题目（以本次练习的结果更新）
+     */
+    public static PracticeCard introduce(Long traineeId, Long questionId, int quality, LocalDateTime now) {
+        return new PracticeCard(traineeId, questionId, INITIAL_EASE_FACTOR, 0, 0, 0, now, null, now.toLocalDate())
+                .review(quality, now);
+    }
+
+    /**
+     * 按本次练习的作答质量更新
+     */
+    public PracticeCard review(int quality, LocalDateTime now) {
+        if (quality < 0 || quality > MAX_QUALITY) {
+            throw new IllegalArgumentException("作答质量必须在 0-" + MAX_QUALITY + " 之间: " + quality);
+        }
+
+        int miss = MAX_QUALITY - quality;
+        int nextEaseFactor = Math.max(MIN_EASE_FACTOR, easeFactor + 10 - miss * (8 + miss * 2));
+        if (quality < 3) {
+            return new PracticeCard(traineeId, questionId, nextEaseFactor, 1, 0,
+                    repetitions > 0 ? lapses + 1 : lapses, now.plusMinutes(RELEARN_MINUTES), now, introducedOn);
+        }
+
+        int nextInterval = switch (repetitions) {
+            case 0 -> 1;
+            case 1 -> 6;
+            default -> (int) Math.min(MAX_INTERVAL_DAYS, Math.round(intervalDays * easeFactor / 100.0));
+        };
+        return new PracticeCard(traineeId, questionId, nextEaseFactor, nextInterval, repetitions + 1, lapses,
+                now.plusDays(nextInterval), now, introducedOn);
+    }
+
+    /**
+     * 到 now 时是否应复习
+     */
+    public boolean isDue(LocalDateTime now) {
+        return !dueTime.isAfter(now);
+    }
+}
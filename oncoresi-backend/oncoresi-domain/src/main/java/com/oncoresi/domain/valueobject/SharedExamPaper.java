@@ -0,0 +1,15 @@
+package com.oncoresi.domain.valueobject;
+
+/**
+ * 考试共用试卷值对象（不可变）
+ * 全体考生共用的基准试卷及推导个人题目、选项顺序的密钥；密钥只在服务端使用，不对外暴露
+ */
+public record SharedExamPaper(
+        ExamPaper basePaper,
+        long shuffleSecret
+) {
+
+    public Long examId() {
+        return basePaper.examId();
+    }
+}
@@ -0,0 +1,54 @@
+package com.oncoresi.domain.valueobject;
+
+import java.time.LocalDateTime;
+
+/**
+ * 交卷回执值对象（不可变）
+ * 记录排队交卷的处理状态，供学员查询
+ */
+public record SubmissionReceipt(
+        Long examId,
+        Long traineeId,
+        Status status,
+        String rejectReason,
+        LocalDateTime receiveTime,
+        LocalDateTime processTime
+) {
+
+    /**
+     * 处理状态
+     */
+    public enum Status {
+        /**
+         * 已接收，等待处理
+         */
+        PENDING,
+
+        /**
+         * 处理中
+         */
+        PROCESSING,
+
+        /**
+         * 已入库
+         */
+        ACCEPTED,
+
+        /**
+         * 已拒绝（见 rejectReason）
+         */
+        REJECTED,
+
+        /**
+         * 多次处理失败，不再重试（见 rejectReason）
+         */
+        FAILED
+    }
+
+    /**
+     * 判断是否已处理完成
+     */
+    public boolean isFinished() {
+        return status == Status.ACCEPTED || status == Status.REJECTED || status == Status.FAILED;
+    }
+}
@@ -0,0 +1,179 @@
+package com.oncoresi.infra.persistence.repository;
+
+import com.oncoresi.domain.aggregate.AdaptiveSession;
+import com.oncoresi.domain.aggregate.AdaptiveSession.SessionStatus;
+import com.oncoresi.domain.repository.AdaptiveTestRepository;
+import com.oncoresi.domain.valueobject.AbilityEstimate;
+import com.oncoresi.domain.valueobject.AdaptiveTestSpec;
+import com.oncoresi.domain.valueobject.CourseCategory;
+import com.oncoresi.domain.valueobject.ItemCalibration;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 自适应考试仓储实现（JdbcTemplate）
+ * 作答会话一行保存全部作答，每次作答按 answered_count 条件更新，同一学员的并发作答只有一个生效
+ */
+@Repository
+@RequiredArgsConstructor
+public class AdaptiveTestRepositoryImpl implements AdaptiveTestRepository {
+
+    private static final RowMapper<AdaptiveSession> SESSION_ROW_MAPPER = (rs, rowNum) -> {
+        long pendingQuestionId = rs.getLong("pending_question_id");
+        boolean pending = !rs.wasNull();
+        int score = rs.getInt("score");
+        boolean scored = !rs.wasNull();
+        return AdaptiveSession.reconstitute(
+                rs.getLong("exam_id"),
+                rs.getLong("trainee_id"),
+                toList(rs.getArray("question_ids"), Long[].class),
+                toList(rs.getArray("answers"), String[].class),
+                toList(rs.getArray("responses"), Boolean[].class),
+                pending ? pendingQuestionId : null,
+                new AbilityEstimate(rs.getDouble("theta"), rs.getDouble("standard_error")),
+                scored ? score : null,
+                SessionStatus.valueOf(rs.getString("status")));
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void saveSpec(AdaptiveTestSpec spec) {
+        jdbcTemplate.update("""
+                INSERT INTO exam_adaptive_spec (exam_id, subject, category, min_items, max_items, target_standard_error)
+                VALUES (?, ?, ?, ?, ?, ?)
+                ON DUPLICATE KEY UPDATE subject = EXCLUDED.subject, category = EXCLUDED.category,
+                    min_items = EXCLUDED.min_items, max_items = EXCLUDED.max_items,
+                    target_standard_error = EXCLUDED.target_standard_error, update_time = now()
+                """, spec.examId(), spec.subject(), spec.category() != null ? spec.category().name() : null,
+                spec.minItems(), spec.maxItems(), spec.targetStandardError());
+        jdbcTemplate.update("DELETE FROM exam_adaptive_item WHERE exam_id = ?", spec.examId());
+    }
+
+    @Override
+    public Optional<AdaptiveTestSpec> findSpec(Long examId) {
+        return jdbcTemplate.query("""
+                SELECT exam_id, subject, category, min_items, max_items, target_standard_error
+                FROM exam_adaptive_spec WHERE exam_id = ?
+                """, (rs, rowNum) -> {
+            String category = rs.getString("category");
+            return new AdaptiveTestSpec(
+                    rs.getLong("exam_id"),
+                    rs.getString("subject"),
+                    category != null ? CourseCategory.valueOf(category) : null,
+                    rs.getInt("min_items"),
+                    rs.getInt("max_items"),
+                    rs.getDouble("target_standard_error"));
+        }, examId).stream().findFirst();
+    }
+
+    @Override
+    public void addCalibrations(Long examId, List<ItemCalibration> calibrations) {
+        if (calibrations.isEmpty()) {
+            return;
+        }
+
+        List<Object[]> batchArgs = calibrations.stream()
+                .map(calibration -> new Object[]{examId, calibration.questionId(), calibration.discrimination(),
+                        calibration.difficulty(), calibration.empirical()})
+                .toList();
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO exam_adaptive_item (exam_id, question_id, discrimination, difficulty, empirical)
+                VALUES (?, ?, ?, ?, ?)
+                ON DUPLICATE KEY UPDATE NOTHING
+                """, batchArgs);
+    }
+
+    @Override
+    public List<ItemCalibration> findCalibrations(Long examId) {
+        return jdbcTemplate.query("""
+                SELECT question_id, discrimination, difficulty, empirical
+                FROM exam_adaptive_item WHERE exam_id = ? ORDER BY question_id
+                """, (rs, rowNum) -> new ItemCalibration(
+                rs.getLong("question_id"),
+                rs.getDouble("discrimination"),
+                rs.getDouble("difficulty"),
+                rs.getBoolean("empirical")), examId);
+    }
+
+    @Override
+    public Optional<AdaptiveSession> findSession(Long examId, Long traineeId) {
+        return jdbcTemplate.query("""
+                SELECT exam_id, trainee_id, question_ids, answers, responses, pending_question_id,
+                       theta, standard_error, score, status
+                FROM exam_adaptive_session WHERE exam_id = ? AND trainee_id = ?
+                """, SESSION_ROW_MAPPER, examId, traineeId).stream().findFirst();
+    }
+
+    @Override
+    public boolean addSession(AdaptiveSession session) {
+        return jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement("""
+                    INSERT INTO exam_adaptive_session (exam_id, trainee_id, question_ids, answers, responses,
+                        answered_count, pending_question_id, theta, standard_error, score, status)
+                    VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+                    ON DUPLICATE KEY UPDATE NOTHING
+                    """);
+            ps.setLong(1, session.getExamId());
+            ps.setLong(2, session.getTraineeId());
+            setSessionState(con, ps, 3, session);
+            return ps;
+        }) > 0;
+    }
+
+    @Override
+    public boolean updateSession(AdaptiveSession session, int expectedAnsweredCount) {
+        return jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement("""
+                    UPDATE exam_adaptive_session
+                    SET question_ids = ?, answers = ?, responses = ?, answered_count = ?, pending_question_id = ?,
+                        theta = ?, standard_error = ?, score = ?, status = ?, update_time = now()
+                    WHERE exam_id = ? AND trainee_id = ? AND answered_count = ? AND status = 'ACTIVE'
+                    """);
+            setSessionState(con, ps, 1, session);
+            ps.setLong(10, session.getExamId());
+            ps.setLong(11, session.getTraineeId());
+            ps.setInt(12, expectedAnsweredCount);
+            return ps;
+        }) > 0;
+    }
+
+    /**
+     * 从 from 开始依次设置作答记录、已作答题数、当前题、能力估计、成绩与状态（共 9 个参数）
+     */
+    private static void setSessionState(Connection con, PreparedStatement ps, int from, AdaptiveSession session)
+            throws SQLException {
+        ps.setArray(from, con.createArrayOf("bigint", session.getQuestionIds().toArray()));
+        ps.setArray(from + 1, con.createArrayOf("text", session.getAnswers().toArray()));
+        ps.setArray(from + 2, con.createArrayOf("bool", session.getResponses().toArray()));
+        ps.setInt(from + 3, session.getAnsweredCount());
+        if (session.getPendingQuestionId() != null) {
+            ps.setLong(from + 4, session.getPendingQuestionId());
+        } else {
+            ps.setNull(from + 4, Types.BIGINT);
+        }
+        ps.setDouble(from + 5, session.getEstimate().theta());
+        ps.setDouble(from + 6, session.getEstimate().standardError());
+        if (session.getScore() != null) {
+            ps.setInt(from + 7, session.getScore());
+        } else {
+            ps.setNull(from + 7, Types.INTEGER);
+        }
+        ps.setString(from + 8, session.getStatus().name());
+    }
+
+    private static <T> List<T> toList(Array array, Class<T[]> type) throws SQLException {
+        return array != null ? Arrays.asList(type.cast(array.getArray())) : List.of();
+    }
+}
@@ -0,0 +1,96 @@
+package com.oncoresi.infra.persistence.repository;
+
+import com.oncoresi.domain.repository.ExamAnswerKeyRepository;
+import com.oncoresi.domain.valueobject.AnswerKey;
+import com.oncoresi.domain.valueobject.AnswerKey.Item;
+import com.oncoresi.domain.valueobject.AnswerKey.ItemType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 标准答案仓储实现（JdbcTemplate）
+ * 每道题一行，题号从 1 开始；版本单独一行（exam_answer_key_version），更正时行级排他锁，交卷入库时 FOR SHARE
+ */
+@Repository
+@RequiredArgsConstructor
+public class ExamAnswerKeyRepositoryImpl implements ExamAnswerKeyRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public Optional<AnswerKey> findByExamId(Long examId) {
+        List<Item> items = jdbcTemplate.query("""
+                SELECT item_type, correct_options, points
+                FROM exam_answer_key WHERE exam_id = ? ORDER BY item_no
+                """, (rs, rowNum) -> new Item(
+                ItemType.valueOf(rs.getString("item_type")),
+                rs.getString("correct_options"),
+                rs.getInt("points")
+        ), examId);
+
+        return items.isEmpty() ? Optional.empty() : Optional.of(new AnswerKey(examId, items));
+    }
+
+    @Override
+    public int findVersion(Long examId) {
+        List<Integer> versions = jdbcTemplate.queryForList(
+                "SELECT version FROM exam_answer_key_version WHERE exam_id = ?", Integer.class, examId);
+        return versions.isEmpty() ? 0 : versions.get(0);
+    }
+
+    @Override
+    public Map<Long, Integer> lockVersions(Collection<Long> examIds) {
+        Map<Long, Integer> versions = new HashMap<>();
+        if (examIds.isEmpty()) {
+            return versions;
+        }
+
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement("""
+                    SELECT exam_id, version FROM exam_answer_key_version
+                    WHERE exam_id = ANY (?) ORDER BY exam_id
+                    FOR SHARE
+                    """);
+            ps.setArray(1, con.createArrayOf("bigint", examIds.toArray()));
+            return ps;
+        }, rs -> {
+            versions.put(rs.getLong("exam_id"), rs.getInt("version"));
+        });
+        return versions;
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public int save(AnswerKey answerKey) {
+        // 先锁定版本行：进行中的交卷入库事务提交后才能继续，之后的交卷入库等待本事务提交
+        jdbcTemplate.update("""
+                INSERT INTO exam_answer_key_version (exam_id, version) VALUES (?, 1)
+                ON DUPLICATE KEY UPDATE version = exam_answer_key_version.version + 1, update_time = now()
+                """, answerKey.examId());
+        int version = findVersion(answerKey.examId());
+
+        jdbcTemplate.update("DELETE FROM exam_answer_key WHERE exam_id = ?", answerKey.examId());
+
+        List<Object[]> batchArgs = new ArrayList<>(answerKey.itemCount());
+        for (int i = 0; i < answerKey.itemCount(); i++) {
+            Item item = answerKey.items().get(i);
+            batchArgs.add(new Object[]{answerKey.examId(), i + 1, item.type().name(), item.correctOptions(),
+                    item.points()});
+        }
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO exam_answer_key (exam_id, item_no, item_type, correct_options, points)
+                VALUES (?, ?, ?, ?, ?)
+                """, batchArgs);
+        return version;
+    }
+}
@@ -0,0 +1,95 @@
+package com.oncoresi.infra.persistence.repository;
+
+import com.oncoresi.domain.repository.ExamPaperRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 考生试卷仓储实现（JdbcTemplate）
+ * 题目ID顺序以 BIGINT[] 存放在一行中，读取一名考生的试卷或考试共用试卷只需一次主键查询
+ */
+@Repository
+@RequiredArgsConstructor
+public class ExamPaperRepositoryImpl implements ExamPaperRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void saveAll(Long examId, Map<Long, List<Long>> questionIds) {
+        if (questionIds.isEmpty()) {
+            return;
+        }
+
+        List<Map.Entry<Long, List<Long>>> entries = new ArrayList<>(questionIds.entrySet());
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO exam_paper (exam_id, trainee_id, question_ids)
+                VALUES (?, ?, ?)
+                ON DUPLICATE KEY UPDATE question_ids = EXCLUDED.question_ids, create_time = now()
+                """, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Map.Entry<Long, List<Long>> entry = entries.get(i);
+                ps.setLong(1, examId);
+                ps.setLong(2, entry.getKey());
+                ps.setArray(3, ps.getConnection().createArrayOf("bigint", entry.getValue().toArray()));
+            }
+
+            @Override
+            public int getBatchSize() {
+                return entries.size();
+            }
+        });
+    }
+
+    @Override
+    public Optional<List<Long>> findQuestionIds(Long examId, Long traineeId) {
+        List<List<Long>> papers = jdbcTemplate.query("""
+                SELECT question_ids FROM exam_paper WHERE exam_id = ? AND trainee_id = ?
+                """, (rs, rowNum) -> {
+            Array array = rs.getArray("question_ids");
+            return array != null ? Arrays.asList((Long[]) array.getArray()) : List.<Long>of();
+        }, examId, traineeId);
+
+        return papers.stream().findFirst();
+    }
+
+    @Override
+    public void saveShared(Long examId, List<Long> questionIds, long shuffleSecret) {
+        jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement("""
+                    INSERT INTO exam_shared_paper (exam_id, question_ids, shuffle_secret)
+                    VALUES (?, ?, ?)
+                    ON DUPLICATE KEY UPDATE question_ids = EXCLUDED.question_ids,
+                        shuffle_secret = EXCLUDED.shuffle_secret, create_time = now()
+                    """);
+            ps.setLong(1, examId);
+            ps.setArray(2, con.createArrayOf("bigint", questionIds.toArray()));
+            ps.setLong(3, shuffleSecret);
+            return ps;
+        });
+    }
+
+    @Override
+    public Optional<SharedPaper> findShared(Long examId) {
+        List<SharedPaper> papers = jdbcTemplate.query("""
+                SELECT question_ids, shuffle_secret FROM exam_shared_paper WHERE exam_id = ?
+                """, (rs, rowNum) -> {
+            Array array = rs.getArray("question_ids");
+            return new SharedPaper(array != null ? Arrays.asList((Long[]) array.getArray()) : List.of(),
+                    rs.getLong("shuffle_secret"));
+        }, examId);
+
+        return papers.stream().findFirst();
+    }
+}
@@ -0,0 +1,158 @@
+package com.oncoresi.infra.persistence.repository;
+
+import com.oncoresi.domain.aggregate.ExamAggregate;
+import com.oncoresi.domain.aggregate.ExamAggregate.ExamMetadata;
+import com.oncoresi.domain.aggregate.ExamAggregate.ExamStatus;
+import com.oncoresi.domain.aggregate.ExamAggregate.ExamType;
+import com.oncoresi.domain.repository.ExamRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * 考试聚合仓储实现（JdbcTemplate）
+ * 考试行按版本号条件更新（乐观锁），并发修改时抛出 OptimisticLockingFailureException；
+ * 答卷与成绩由 ExamSubmissionRepository 写入，这里只读取交卷、及格计数
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class ExamRepositoryImpl implements ExamRepository {
+
+    private static final RowMapper<ExamMetadata> METADATA_ROW_MAPPER = (rs, rowNum) -> new ExamMetadata(
+            rs.getLong("id"),
+            ExamType.valueOf(rs.getString("exam_type")),
+            rs.getInt("passing_score"),
+            rs.getTimestamp("start_time").toLocalDateTime(),
+            rs.getTimestamp("end_time").toLocalDateTime(),
+            ExamStatus.valueOf(rs.getString("status"))
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public Optional<ExamAggregate> findLifecycleById(Long id) {
+        List<ExamAggregate> exams = jdbcTemplate.query("""
+                SELECT id, exam_name, exam_type, passing_score, start_time, end_time, status, version
+                FROM exam WHERE id = ?
+                """, (rs, rowNum) -> {
+            ExamAggregate exam = ExamAggregate.reconstitute(
+                    rs.getLong("id"),
+                    rs.getString("exam_name"),
+                    ExamType.valueOf(rs.getString("exam_type")),
+                    rs.getInt("passing_score"),
+                    rs.getTimestamp("start_time").toLocalDateTime(),
+                    rs.getTimestamp("end_time").toLocalDateTime(),
+                    ExamStatus.valueOf(rs.getString("status"))
+            );
+            exam.setVersion(rs.getLong("version"));
+            return exam;
+        }, id);
+
+        return exams.stream().findFirst();
+    }
+
+    @Override
+    public Optional<ExamAggregate> findSummaryById(Long id) {
+        List<ExamAggregate> exams = jdbcTemplate.query("""
+                SELECT id, exam_name, exam_type, passing_score, start_time, end_time, status, version
+                FROM exam WHERE id = ?
+                """, (rs, rowNum) -> {
+            ExamStatisticsStripes.Counts counts = ExamStatisticsStripes.sum(jdbcTemplate, id);
+            ExamAggregate exam = ExamAggregate.reconstitute(
+                    rs.getLong("id"),
+                    rs.getString("exam_name"),
+                    ExamType.valueOf(rs.getString("exam_type")),
+                    rs.getInt("passing_score"),
+                    rs.getTimestamp("start_time").toLocalDateTime(),
+                    rs.getTimestamp("end_time").toLocalDateTime(),
+                    ExamStatus.valueOf(rs.getString("status")),
+                    counts.submittedCount(),
+                    counts.passedCount()
+            );
+            exam.setVersion(rs.getLong("version"));
+            return exam;
+        }, id);
+
+        return exams.stream().findFirst();
+    }
+
+    @Override
+    public Optional<ExamMetadata> findMetadataById(Long id) {
+        List<ExamMetadata> metadata = jdbcTemplate.query("""
+                SELECT id, exam_type, passing_score, start_time, end_time, status
+                FROM exam WHERE id = ?
+                """, METADATA_ROW_MAPPER, id);
+
+        return metadata.stream().findFirst();
+    }
+
+    @Override
+    public List<ExamMetadata> findMetadataByStatus(Collection<ExamStatus> statuses) {
+        if (statuses.isEmpty()) {
+            return List.of();
+        }
+        String placeholders = String.join(", ", Collections.nCopies(statuses.size(), "?"));
+        return jdbcTemplate.query(
+                "SELECT id, exam_type, passing_score, start_time, end_time, status FROM exam WHERE status IN ("
+                        + placeholders + ")",
+                METADATA_ROW_MAPPER, statuses.stream().map(ExamStatus::name).toArray());
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public ExamAggregate save(ExamAggregate aggregate) {
+        // 已持久化的聚合按版本号条件更新
+        Long version = aggregate.getVersion();
+        if (version == null) {
+            KeyHolder keyHolder = new GeneratedKeyHolder();
+            jdbcTemplate.update(con -> {
+                PreparedStatement ps = con.prepareStatement("""
+                        INSERT INTO exam (exam_name, exam_type, passing_score, start_time, end_time, status, version)
+                        VALUES (?, ?, ?, ?, ?, ?, 0)
+                        """, new String[]{"id"});
+                ps.setString(1, aggregate.getExamName());
+                ps.setString(2, aggregate.getExamType().name());
+                ps.setInt(3, aggregate.getPassingScore());
+                ps.setTimestamp(4, Timestamp.valueOf(aggregate.getStartTime()));
+                ps.setTimestamp(5, Timestamp.valueOf(aggregate.getEndTime()));
+                ps.setString(6, aggregate.getStatus().name());
+                return ps;
+            }, keyHolder);
+            aggregate.setId(Objects.requireNonNull(keyHolder.getKey()).longValue());
+            aggregate.setVersion(0L);
+            log.info("新增考试: id={}, examName={}", aggregate.getId(), aggregate.getExamName());
+        } else {
+            int updated = jdbcTemplate.update("""
+                    UPDATE exam
+                    SET exam_name = ?, exam_type = ?, passing_score = ?, start_time = ?, end_time = ?, status = ?,
+                        version = version + 1, update_time = now()
+                    WHERE id = ? AND version = ?
+                    """,
+                    aggregate.getExamName(), aggregate.getExamType().name(), aggregate.getPassingScore(),
+                    Timestamp.valueOf(aggregate.getStartTime()), Timestamp.valueOf(aggregate.getEndTime()),
+                    aggregate.getStatus().name(), aggregate.getId(), version);
+            if (updated == 0) {
+                throw new OptimisticLockingFailureException(
+                        "考试已被其他用户修改，请刷新后重试: id=" + aggregate.getId() + ", version=" + version);
+            }
+            aggregate.setVersion(version + 1);
+        }
+
+        return aggregate;
+    }
+}
@@ -0,0 +1,122 @@
+package com.oncoresi.infra.persistence.repository;
+
+import com.oncoresi.domain.aggregate.ExamSession;
+import com.oncoresi.domain.aggregate.ExamSession.SessionStatus;
+import com.oncoresi.domain.repository.ExamSessionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 考试会话仓储实现（JdbcTemplate）
+ * 会话结束通过 status = 'ACTIVE' 条件更新，多节点同时到时只有一个节点执行自动交卷；
+ * 草稿按 draft_time 条件更新，旧草稿不会覆盖新草稿
+ */
+@Repository
+@RequiredArgsConstructor
+public class ExamSessionRepositoryImpl implements ExamSessionRepository {
+
+    private static final String SELECT_COLUMNS = """
+            SELECT exam_id, trainee_id, deadline, extension_minutes, draft_answers, status
+            FROM exam_session
+            """;
+
+    private static final RowMapper<ExamSession> ROW_MAPPER = (rs, rowNum) -> {
+        Array array = rs.getArray("draft_answers");
+        List<String> draftAnswers = array != null ? Arrays.asList((String[]) array.getArray()) : List.of();
+        return ExamSession.reconstitute(
+                rs.getLong("exam_id"),
+                rs.getLong("trainee_id"),
+                rs.getTimestamp("deadline").toLocalDateTime(),
+                rs.getInt("extension_minutes"),
+                draftAnswers,
+                SessionStatus.valueOf(rs.getString("status"))
+        );
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public Optional<ExamSession> findById(Long examId, Long traineeId) {
+        return jdbcTemplate.query(SELECT_COLUMNS + " WHERE exam_id = ? AND trainee_id = ?",
+                ROW_MAPPER, examId, traineeId).stream().findFirst();
+    }
+
+    @Override
+    public boolean add(ExamSession session) {
+        return jdbcTemplate.update("""
+                INSERT INTO exam_session (exam_id, trainee_id, deadline, extension_minutes, status)
+                VALUES (?, ?, ?, ?, ?)
+                ON DUPLICATE KEY UPDATE NOTHING
+                """,
+                session.getExamId(), session.getTraineeId(), Timestamp.valueOf(session.getDeadline()),
+                session.getExtensionMinutes(), session.getStatus().name()) > 0;
+    }
+
+    @Override
+    public boolean update(ExamSession session) {
+        return jdbcTemplate.update("""
+                UPDATE exam_session SET deadline = ?, extension_minutes = ?, update_time = now()
+                WHERE exam_id = ? AND trainee_id = ? AND status = 'ACTIVE'
+                """,
+                Timestamp.valueOf(session.getDeadline()), session.getExtensionMinutes(),
+                session.getExamId(), session.getTraineeId()) > 0;
+    }
+
+    @Override
+    public int saveDrafts(List<Draft> drafts) {
+        if (drafts.isEmpty()) {
+            return 0;
+        }
+
+        int[][] counts = jdbcTemplate.batchUpdate("""
+                UPDATE exam_session
+                SET draft_answers = ?, draft_time = ?, update_time = now()
+                WHERE exam_id = ? AND trainee_id = ? AND status = 'ACTIVE'
+                  AND (draft_time IS NULL OR draft_time < ?)
+                """, drafts, drafts.size(), (ps, draft) -> {
+            Timestamp savedAt = Timestamp.valueOf(draft.savedAt());
+            ps.setArray(1, ps.getConnection().createArrayOf("text", draft.answers().toArray()));
+            ps.setTimestamp(2, savedAt);
+            ps.setLong(3, draft.examId());
+            ps.setLong(4, draft.traineeId());
+            ps.setTimestamp(5, savedAt);
+        });
+
+        int updated = 0;
+        for (int[] batch : counts) {
+            for (int count : batch) {
+                updated += Math.max(count, 0);
+            }
+        }
+        return updated;
+    }
+
+    @Override
+    public boolean finish(Long examId, Long traineeId, SessionStatus status) {
+        return jdbcTemplate.update("""
+                UPDATE exam_session SET status = ?, update_time = now()
+                WHERE exam_id = ? AND trainee_id = ? AND status = 'ACTIVE'
+                """, status.name(), examId, traineeId) > 0;
+    }
+
+    @Override
+    public List<ExamSession> findActive() {
+        return jdbcTemplate.query(SELECT_COLUMNS + " WHERE status = 'ACTIVE'", ROW_MAPPER);
+    }
+
+    @Override
+    public Optional<LocalDateTime> findLatestDeadline(Long examId) {
+        Timestamp latest = jdbcTemplate.queryForObject(
+                "SELECT MAX(deadline) FROM exam_session WHERE exam_id = ?", Timestamp.class, examId);
+        return Optional.ofNullable(latest).map(Timestamp::toLocalDateTime);
+    }
+}
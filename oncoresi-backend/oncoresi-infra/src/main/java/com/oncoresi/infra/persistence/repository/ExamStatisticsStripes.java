@@ -0,0 +1,106 @@
+package com.oncoresi.infra.persistence.repository;
+
+import com.oncoresi.domain.valueobject.ExamScore;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 考试统计计数的条带化存储
+ * <p>
+ * 交卷人数、及格人数按学员ID分散到 {@value #STRIPES} 行累加，并发交卷更新的是不同的行；
+ * 读取时按考试求和。答卷仓储与考试仓储写入新答卷时在同一事务内调用。
+ */
+final class ExamStatisticsStripes {
+
+    static final int STRIPES = 16;
+
+    private static final String INCREMENT_SQL = """
+            INSERT INTO exam_statistics_stripe (exam_id, stripe, submitted_count, passed_count)
+            VALUES (?, ?, ?, ?)
+            ON DUPLICATE KEY UPDATE
+                submitted_count = exam_statistics_stripe.submitted_count + EXCLUDED.submitted_count,
+                passed_count = exam_statistics_stripe.passed_count + EXCLUDED.passed_count
+            """;
+
+    private ExamStatisticsStripes() {
+    }
+
+    /**
+     * 汇总后的统计计数
+     */
+    record Counts(long submittedCount, long passedCount) {
+    }
+
+    /**
+     * 累加一份新答卷的成绩（待评分的答卷成绩为空，只计交卷人数）
+     */
+    static void increment(JdbcTemplate jdbcTemplate, Long examId, Long traineeId, ExamScore score) {
+        jdbcTemplate.update(INCREMENT_SQL, examId, stripeOf(traineeId), 1, isPassed(score) ? 1 : 0);
+    }
+
+    /**
+     * 批量累加多份新答卷的成绩（同一条带的增量先在内存中合并）
+     *
+     * @param scores traineeId -> 成绩（待评分为空）
+     */
+    static void incrementAll(JdbcTemplate jdbcTemplate, Long examId, Map<Long, ExamScore> scores) {
+        if (scores.isEmpty()) {
+            return;
+        }
+
+        Map<Integer, long[]> deltas = new TreeMap<>();
+        scores.forEach((traineeId, score) -> {
+            long[] delta = deltas.computeIfAbsent(stripeOf(traineeId), stripe -> new long[2]);
+            delta[0]++;
+            if (isPassed(score)) {
+                delta[1]++;
+            }
+        });
+
+        // 按条带号顺序写入，并发事务加锁顺序一致
+        List<Object[]> batchArgs = deltas.entrySet().stream()
+                .map(entry -> new Object[]{examId, entry.getKey(), entry.getValue()[0], entry.getValue()[1]})
+                .toList();
+        jdbcTemplate.batchUpdate(INCREMENT_SQL, batchArgs);
+    }
+
+    /**
+     * 按成绩变化调整及格人数（重新评分或阅卷录入，交卷人数不变）
+     *
+     * @param passedDeltas traineeId -> 及格人数增量（+1 / -1）
+     */
+    static void adjustPassed(JdbcTemplate jdbcTemplate, Long examId, Map<Long, Integer> passedDeltas) {
+        Map<Integer, Long> deltas = new TreeMap<>();
+        passedDeltas.forEach((traineeId, delta) -> deltas.merge(stripeOf(traineeId), (long) delta, Long::sum));
+
+        List<Object[]> batchArgs = deltas.entrySet().stream()
+                .filter(entry -> entry.getValue() != 0)
+                .map(entry -> new Object[]{examId, entry.getKey(), 0L, entry.getValue()})
+                .toList();
+        if (!batchArgs.isEmpty()) {
+            jdbcTemplate.batchUpdate(INCREMENT_SQL, batchArgs);
+        }
+    }
+
+    /**
+     * 按考试汇总统计计数
+     */
+    static Counts sum(JdbcTemplate jdbcTemplate, Long examId) {
+        return jdbcTemplate.queryForObject("""
+                SELECT COALESCE(SUM(submitted_count), 0) AS submitted_count,
+                       COALESCE(SUM(passed_count), 0) AS passed_count
+                FROM exam_statistics_stripe WHERE exam_id = ?
+                """, (rs, rowNum) -> new Counts(rs.getLong("submitted_count"), rs.getLong("passed_count")), examId);
+    }
+
+    private static boolean isPassed(ExamScore score) {
+        return score != null && score.passed();
+    }
+
+    private static int stripeOf(Long traineeId) {
+        return (int) Math.floorMod(traineeId, (long) STRIPES);
+    }
+}
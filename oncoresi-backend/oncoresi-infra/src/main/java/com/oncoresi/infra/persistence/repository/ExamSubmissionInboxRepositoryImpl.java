@@ -0,0 +1,129 @@
+package com.oncoresi.infra.persistence.repository;
+
+import com.oncoresi.domain.repository.ExamSubmissionInboxRepository;
+import com.oncoresi.domain.valueobject.SubmissionReceipt;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 交卷收件箱仓储实现（JdbcTemplate）
+ * 多节点通过 FOR UPDATE SKIP LOCKED 领取互不重叠的批次；
+ * (exam_id, trainee_id) 唯一约束保证重发的请求只入队一次
+ */
+@Repository
+@RequiredArgsConstructor
+public class ExamSubmissionInboxRepositoryImpl implements ExamSubmissionInboxRepository {
+
+    private static final String CLAIM_SQL = """
+            UPDATE exam_submission_inbox
+            SET status = 'PROCESSING', claim_time = now(), attempts = attempts + 1
+            WHERE id IN (
+                SELECT id FROM exam_submission_inbox
+                WHERE status = 'PENDING' OR (status = 'PROCESSING' AND claim_time < ?)
+                ORDER BY id
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED
+            )
+            RETURNING id, exam_id, trainee_id, answers, receive_time, deadline, attempts
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public boolean enqueue(Long examId, Long traineeId, List<String> answers, LocalDateTime receiveTime,
+                           LocalDateTime deadline) {
+        int inserted = jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement("""
+                    INSERT INTO exam_submission_inbox (exam_id, trainee_id, answers, receive_time, deadline)
+                    VALUES (?, ?, ?, ?, ?)
+                    ON DUPLICATE KEY UPDATE NOTHING
+                    """);
+            ps.setLong(1, examId);
+            ps.setLong(2, traineeId);
+            ps.setArray(3, con.createArrayOf("text", answers.toArray()));
+            ps.setTimestamp(4, Timestamp.valueOf(receiveTime));
+            ps.setTimestamp(5, Timestamp.valueOf(deadline));
+            return ps;
+        });
+        return inserted > 0;
+    }
+
+    @Override
+    public List<PendingSubmission> claim(int limit, LocalDateTime leaseExpiredBefore) {
+        return jdbcTemplate.query(CLAIM_SQL, (rs, rowNum) -> {
+            Array array = rs.getArray("answers");
+            List<String> answers = array != null ? Arrays.asList((String[]) array.getArray()) : List.of();
+            return new PendingSubmission(
+                    rs.getLong("id"),
+                    rs.getLong("exam_id"),
+                    rs.getLong("trainee_id"),
+                    answers,
+                    rs.getTimestamp("receive_time").toLocalDateTime(),
+                    rs.getTimestamp("deadline").toLocalDateTime(),
+                    rs.getInt("attempts")
+            );
+        }, Timestamp.valueOf(leaseExpiredBefore), limit);
+    }
+
+    @Override
+    public void markAccepted(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("""
+                UPDATE exam_submission_inbox SET status = 'ACCEPTED', process_time = now() WHERE id = ?
+                """, ids.stream().map(id -> new Object[]{id}).toList());
+    }
+
+    @Override
+    public void markRejected(Map<Long, String> reasons) {
+        markFinished("REJECTED", reasons);
+    }
+
+    @Override
+    public void markFailed(Map<Long, String> reasons) {
+        markFinished("FAILED", reasons);
+    }
+
+    private void markFinished(String status, Map<Long, String> reasons) {
+        if (reasons.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("""
+                UPDATE exam_submission_inbox
+                SET status = ?, reject_reason = ?, process_time = now()
+                WHERE id = ?
+                """, reasons.entrySet().stream()
+                .map(entry -> new Object[]{status, entry.getValue(), entry.getKey()}).toList());
+    }
+
+    @Override
+    public Optional<SubmissionReceipt> findReceipt(Long examId, Long traineeId) {
+        List<SubmissionReceipt> receipts = jdbcTemplate.query("""
+                SELECT status, reject_reason, receive_time, process_time
+                FROM exam_submission_inbox WHERE exam_id = ? AND trainee_id = ?
+                """, (rs, rowNum) -> {
+            Timestamp processTime = rs.getTimestamp("process_time");
+            return new SubmissionReceipt(
+                    examId,
+                    traineeId,
+                    SubmissionReceipt.Status.valueOf(rs.getString("status")),
+                    rs.getString("reject_reason"),
+                    rs.getTimestamp("receive_time").toLocalDateTime(),
+                    processTime != null ? processTime.toLocalDateTime() : null
+            );
+        }, examId, traineeId);
+
+        return receipts.stream().findFirst();
+    }
+}
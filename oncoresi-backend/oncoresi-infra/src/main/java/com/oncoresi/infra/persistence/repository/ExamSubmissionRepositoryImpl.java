@@ -0,0 +1,190 @@
+package com.oncoresi.infra.persistence.repository;
+
+import com.oncoresi.domain.aggregate.ExamSubmission;
+import com.oncoresi.domain.exception.DomainException;
+import com.oncoresi.domain.repository.ExamSubmissionRepository;
+import com.oncoresi.domain.valueobject.ExamScore;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 答卷聚合仓储实现（JdbcTemplate）
+ * 每份答卷是 exam_submission 中的一行，交卷只插入该行；
+ * 重复交卷由主键 (exam_id, trainee_id) 拦截，不需要锁考试行；统计计数累加到该学员所在的条带行。
+ * 待评分的答卷 score、passed 为 NULL。
+ * 新答卷记录入库时的标准答案版本（调用方已在事务内锁定版本并按该版本评分），更正标准答案时重新评分早于新版本的答卷
+ */
+@Repository
+@RequiredArgsConstructor
+public class ExamSubmissionRepositoryImpl implements ExamSubmissionRepository {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO exam_submission (exam_id, trainee_id, answers, submit_time, score, passed, key_version)
+            VALUES (?, ?, ?, ?, ?, ?,
+                    COALESCE((SELECT version FROM exam_answer_key_version WHERE exam_id = ?), 0))
+            """;
+
+    private static final String INSERT_IF_ABSENT_SQL = INSERT_SQL + "ON DUPLICATE KEY UPDATE NOTHING\n";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public Optional<ExamSubmission> findById(Long examId, Long traineeId) {
+        List<ExamSubmission> submissions = jdbcTemplate.query("""
+                SELECT s.trainee_id, s.answers, s.submit_time, s.score, e.passing_score
+                FROM exam_submission s
+                JOIN exam e ON e.id = s.exam_id
+                WHERE s.exam_id = ? AND s.trainee_id = ? AND s.submit_time IS NOT NULL
+                """, (rs, rowNum) -> mapSubmission(rs, examId), examId, traineeId);
+
+        return submissions.stream().findFirst();
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public void add(ExamSubmission submission) {
+        try {
+            jdbcTemplate.update(con -> {
+                PreparedStatement ps = con.prepareStatement(INSERT_SQL);
+                ps.setLong(1, submission.getExamId());
+                ps.setLong(2, submission.getTraineeId());
+                ps.setArray(3, con.createArrayOf("text", submission.getAnswers().toArray()));
+                ps.setTimestamp(4, Timestamp.valueOf(submission.getSubmitTime()));
+                setScore(ps, 5, submission.getScore());
+                ps.setLong(7, submission.getExamId());
+                return ps;
+            });
+        } catch (DuplicateKeyException e) {
+            throw DomainException.of("答卷已提交，无法重复提交", e);
+        }
+
+        ExamStatisticsStripes.increment(jdbcTemplate, submission.getExamId(), submission.getTraineeId(),
+                submission.getScore());
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public List<ExamSubmission> addAll(List<ExamSubmission> submissions) {
+        if (submissions.isEmpty()) {
+            return List.of();
+        }
+
+        int[] counts = jdbcTemplate.batchUpdate(INSERT_IF_ABSENT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ExamSubmission submission = submissions.get(i);
+                ps.setLong(1, submission.getExamId());
+                ps.setLong(2, submission.getTraineeId());
+                ps.setArray(3, ps.getConnection().createArrayOf("text", submission.getAnswers().toArray()));
+                ps.setTimestamp(4, Timestamp.valueOf(submission.getSubmitTime()));
+                setScore(ps, 5, submission.getScore());
+                ps.setLong(7, submission.getExamId());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return submissions.size();
+            }
+        });
+
+        // 影响行数为 0 的是已交卷的学员
+        List<ExamSubmission> added = new ArrayList<>(submissions.size());
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] != 0) {
+                added.add(submissions.get(i));
+            }
+        }
+
+        Map<Long, Map<Long, ExamScore>> scoresByExam = new HashMap<>();
+        added.forEach(submission -> scoresByExam
+                .computeIfAbsent(submission.getExamId(), examId -> new HashMap<>())
+                .put(submission.getTraineeId(), submission.getScore()));
+        scoresByExam.forEach((examId, scores) -> ExamStatisticsStripes.incrementAll(jdbcTemplate, examId, scores));
+
+        return added;
+    }
+
+    @Override
+    public List<ExamSubmission> findAllGradedBefore(Long examId, int keyVersion) {
+        return jdbcTemplate.query("""
+                SELECT s.trainee_id, s.answers, s.submit_time, s.score, e.passing_score
+                FROM exam_submission s
+                JOIN exam e ON e.id = s.exam_id
+                WHERE s.exam_id = ? AND s.submit_time IS NOT NULL AND COALESCE(s.key_version, 0) < ?
+                """, (rs, rowNum) -> mapSubmission(rs, examId), examId, keyVersion);
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public void updateScores(Long examId, List<ScoreChange> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate("""
+                UPDATE exam_submission SET score = ?, passed = ? WHERE exam_id = ? AND trainee_id = ?
+                """, changes.stream()
+                .map(change -> new Object[]{change.current().score(), change.current().passed(), examId,
+                        change.traineeId()})
+                .toList());
+
+        // 及格状态变化的学员调整所在条带的及格人数（待评分的答卷原先不计及格）
+        Map<Long, Integer> passedDeltas = new HashMap<>();
+        for (ScoreChange change : changes) {
+            boolean previouslyPassed = change.previous() != null && change.previous().passed();
+            if (previouslyPassed != change.current().passed()) {
+                passedDeltas.put(change.traineeId(), change.current().passed() ? 1 : -1);
+            }
+        }
+        ExamStatisticsStripes.adjustPassed(jdbcTemplate, examId, passedDeltas);
+    }
+
+    @Override
+    public void stampKeyVersion(Long examId, int keyVersion) {
+        jdbcTemplate.update("""
+                UPDATE exam_submission SET key_version = ?
+                WHERE exam_id = ? AND COALESCE(key_version, 0) < ?
+                """, keyVersion, examId, keyVersion);
+    }
+
+    private static ExamSubmission mapSubmission(ResultSet rs, Long examId) throws SQLException {
+        Array array = rs.getArray("answers");
+        List<String> answers = array != null ? Arrays.asList((String[]) array.getArray()) : List.of();
+        int score = rs.getInt("score");
+        boolean graded = !rs.wasNull();
+        return ExamSubmission.reconstitute(
+                examId,
+                rs.getLong("trainee_id"),
+                answers,
+                rs.getTimestamp("submit_time").toLocalDateTime(),
+                graded ? ExamScore.of(score, rs.getInt("passing_score")) : null
+        );
+    }
+
+    private static void setScore(PreparedStatement ps, int index, ExamScore score) throws SQLException {
+        if (score == null) {
+            ps.setNull(index, Types.INTEGER);
+            ps.setNull(index + 1, Types.BOOLEAN);
+        } else {
+            ps.setInt(index, score.score());
+            ps.setBoolean(index + 1, score.passed());
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.oncoresi.infra.persistence.repository;
+
+import com.oncoresi.domain.repository.ItemStatisticsRepository;
+import com.oncoresi.domain.valueobject.AnswerKey;
+import com.oncoresi.domain.valueobject.ItemScoreBucket;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 题目作答计数仓储实现（JdbcTemplate）
+ * 选项计数按列存放（pick_a ~ pick_h），累加为逐列相加的单行 upsert
+ */
+@Repository
+@RequiredArgsConstructor
+public class ItemStatisticsRepositoryImpl implements ItemStatisticsRepository {
+
+    private static final String ADD_SQL = """
+            INSERT INTO item_score_bucket (exam_id, question_id, score, responses, correct_count, blank_count,
+                pick_a, pick_b, pick_c, pick_d, pick_e, pick_f, pick_g, pick_h)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            ON DUPLICATE KEY UPDATE
+                responses = item_score_bucket.responses + EXCLUDED.responses,
+                correct_count = item_score_bucket.correct_count + EXCLUDED.correct_count,
+                blank_count = item_score_bucket.blank_count + EXCLUDED.blank_count,
+                pick_a = item_score_bucket.pick_a + EXCLUDED.pick_a,
+                pick_b = item_score_bucket.pick_b + EXCLUDED.pick_b,
+                pick_c = item_score_bucket.pick_c + EXCLUDED.pick_c,
+                pick_d = item_score_bucket.pick_d + EXCLUDED.pick_d,
+                pick_e = item_score_bucket.pick_e + EXCLUDED.pick_e,
+                pick_f = item_score_bucket.pick_f + EXCLUDED.pick_f,
+                pick_g = item_score_bucket.pick_g + EXCLUDED.pick_g,
+                pick_h = item_score_bucket.pick_h + EXCLUDED.pick_h
+            """;
+
+    private static final String SELECT_SQL = """
+            SELECT exam_id, question_id, score, responses, correct_count, blank_count,
+                   pick_a, pick_b, pick_c, pick_d, pick_e, pick_f, pick_g, pick_h
+            FROM item_score_bucket
+            """;
+
+    private static final String[] PICK_COLUMNS = {
+            "pick_a", "pick_b", "pick_c", "pick_d", "pick_e", "pick_f", "pick_g", "pick_h"};
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final RowMapper<ItemScoreBucket> bucketRowMapper = (rs, rowNum) -> {
+        long[] picks = new long[AnswerKey.MAX_OPTIONS];
+        for (int k = 0; k < picks.length; k++) {
+            picks[k] = rs.getLong(PICK_COLUMNS[k]);
+        }
+        return new ItemScoreBucket(rs.getLong("exam_id"), rs.getLong("question_id"), rs.getInt("score"),
+                rs.getLong("responses"), rs.getLong("correct_count"), rs.getLong("blank_count"), picks);
+    };
+
+    @Override
+    public void addAll(List<ItemScoreBucket> deltas) {
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        List<Object[]> batchArgs = new ArrayList<>(deltas.size());
+        for (ItemScoreBucket delta : deltas) {
+            Object[] args = new Object[6 + AnswerKey.MAX_OPTIONS];
+            args[0] = delta.examId();
+            args[1] = delta.questionId();
+            args[2] = delta.score();
+            args[3] = delta.responses();
+            args[4] = delta.correct();
+            args[5] = delta.blank();
+            long[] picks = delta.picks();
+            for (int k = 0; k < picks.length; k++) {
+                args[6 + k] = picks[k];
+            }
+            batchArgs.add(args);
+        }
+        jdbcTemplate.batchUpdate(ADD_SQL, batchArgs);
+    }
+
+    @Override
+    public List<ItemScoreBucket> findByQuestionId(Long questionId) {
+        return jdbcTemplate.query(SELECT_SQL + "WHERE question_id = ?", bucketRowMapper, questionId);
+    }
+
+    @Override
+    public List<ItemScoreBucket> findByQuestionIds(Collection<Long> questionIds) {
+        if (questionIds.isEmpty()) {
+            return List.of();
+        }
+
+        return jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(SELECT_SQL + "WHERE question_id = ANY (?)");
+            ps.setArray(1, con.createArrayOf("bigint", questionIds.toArray()));
+            return ps;
+        }, bucketRowMapper);
+    }
+
+    @Override
+    public List<ItemScoreBucket> findByExamId(Long examId) {
+        return jdbcTemplate.query(SELECT_SQL + "WHERE exam_id = ? ORDER BY question_id, score",
+                bucketRowMapper, examId);
+    }
+}
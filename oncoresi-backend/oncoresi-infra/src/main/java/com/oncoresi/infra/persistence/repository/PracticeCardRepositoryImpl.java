@@ -0,0 +1,123 @@
+package com.oncoresi.infra.persistence.repository;
+
+import com.oncoresi.domain.repository.PracticeCardRepository;
+import com.oncoresi.domain.valueobject.PracticeCard;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 练习卡片仓储实现（JdbcTemplate）
+ * 每张卡片一行定长状态；写回先按练习时间条件批量更新，未更新的再批量插入（已存在时不变）
+ */
+@Repository
+@RequiredArgsConstructor
+public class PracticeCardRepositoryImpl implements PracticeCardRepository {
+
+    private static final RowMapper<PracticeCard> CARD_ROW_MAPPER = (rs, rowNum) -> new PracticeCard(
+            rs.getLong("trainee_id"),
+            rs.getLong("question_id"),
+            rs.getInt("ease_factor"),
+            rs.getInt("interval_days"),
+            rs.getInt("repetitions"),
+            rs.getInt("lapses"),
+            rs.getTimestamp("due_time").toLocalDateTime(),
+            rs.getTimestamp("review_time").toLocalDateTime(),
+            rs.getDate("introduced_on").toLocalDate());
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<PracticeCard> findByTraineeId(Long traineeId) {
+        return jdbcTemplate.query("""
+                SELECT trainee_id, question_id, ease_factor, interval_days, repetitions, lapses,
+                       due_time, review_time, introduced_on
+                FROM practice_card WHERE trainee_id = ?
+                """, CARD_ROW_MAPPER, traineeId);
+    }
+
+    @Override
+    public Optional<PracticeCard> findById(Long traineeId, Long questionId) {
+        return jdbcTemplate.query("""
+                SELECT trainee_id, question_id, ease_factor, interval_days, repetitions, lapses,
+                       due_time, review_time, introduced_on
+                FROM practice_card WHERE trainee_id = ? AND question_id = ?
+                """, CARD_ROW_MAPPER, traineeId, questionId).stream().findFirst();
+    }
+
+    @Override
+    public int saveAll(List<PracticeCard> cards) {
+        if (cards.isEmpty()) {
+            return 0;
+        }
+
+        int[][] counts = jdbcTemplate.batchUpdate("""
+                UPDATE practice_card
+                SET ease_factor = ?, interval_days = ?, repetitions = ?, lapses = ?, due_time = ?, review_time = ?
+                WHERE trainee_id = ? AND question_id = ? AND review_time < ?
+                """, cards, cards.size(), (ps, card) -> {
+            Timestamp reviewTime = Timestamp.valueOf(card.reviewTime());
+            ps.setInt(1, card.easeFactor());
+            ps.setInt(2, card.intervalDays());
+            ps.setInt(3, card.repetitions());
+            ps.setInt(4, card.lapses());
+            ps.setTimestamp(5, Timestamp.valueOf(card.dueTime()));
+            ps.setTimestamp(6, reviewTime);
+            ps.setLong(7, card.traineeId());
+            ps.setLong(8, card.questionId());
+            ps.setTimestamp(9, reviewTime);
+        });
+
+        int updated = 0;
+        List<Object[]> inserts = new ArrayList<>();
+        for (int i = 0; i < cards.size(); i++) {
+            if (counts[0][i] > 0) {
+                updated++;
+                continue;
+            }
+            // 新卡片，或已保存了更新的状态（插入时不变）
+            PracticeCard card = cards.get(i);
+            inserts.add(new Object[]{card.traineeId(), card.questionId(), card.easeFactor(), card.intervalDays(),
+                    card.repetitions(), card.lapses(), Timestamp.valueOf(card.dueTime()),
+                    Timestamp.valueOf(card.reviewTime()), Date.valueOf(card.introducedOn())});
+        }
+        if (inserts.isEmpty()) {
+            return updated;
+        }
+
+        int[] inserted = jdbcTemplate.batchUpdate("""
+                INSERT INTO practice_card (trainee_id, question_id, ease_factor, interval_days, repetitions, lapses,
+                    due_time, review_time, introduced_on)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+                ON DUPLICATE KEY UPDATE NOTHING
+                """, inserts);
+        for (int count : inserted) {
+            updated += Math.max(count, 0);
+        }
+        return updated;
+    }
+
+    @Override
+    public void deleteAll(Long traineeId, Collection<Long> questionIds) {
+        if (questionIds.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(
+                    "DELETE FROM practice_card WHERE trainee_id = ? AND question_id = ANY (?)");
+            ps.setLong(1, traineeId);
+            ps.setArray(2, con.createArrayOf("bigint", questionIds.toArray()));
+            return ps;
+        });
+    }
+}
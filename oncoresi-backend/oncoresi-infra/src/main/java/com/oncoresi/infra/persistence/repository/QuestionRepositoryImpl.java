@@ -0,0 +1,111 @@
+package com.oncoresi.infra.persistence.repository;
+
+import com.oncoresi.domain.aggregate.Question;
+import com.oncoresi.domain.aggregate.Question.QuestionStatus;
+import com.oncoresi.domain.repository.QuestionRepository;
+import com.oncoresi.domain.valueobject.AnswerKey.ItemType;
+import com.oncoresi.domain.valueobject.CourseCategory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 题目聚合仓储实现（JdbcTemplate）
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class QuestionRepositoryImpl implements QuestionRepository {
+
+    private static final String SELECT_COLUMNS = """
+            SELECT id, subject, category, item_type, difficulty, stem, options, correct_options, points, status,
+                   last_used_time
+            FROM question
+            """;
+
+    private static final RowMapper<Question> ROW_MAPPER = (rs, rowNum) -> {
+        Array array = rs.getArray("options");
+        List<String> options = array != null ? Arrays.asList((String[]) array.getArray()) : List.of();
+        Timestamp lastUsedTime = rs.getTimestamp("last_used_time");
+        return Question.reconstitute(
+                rs.getLong("id"),
+                rs.getString("subject"),
+                CourseCategory.valueOf(rs.getString("category")),
+                ItemType.valueOf(rs.getString("item_type")),
+                rs.getInt("difficulty"),
+                rs.getString("stem"),
+                options,
+                rs.getString("correct_options"),
+                rs.getInt("points"),
+                QuestionStatus.valueOf(rs.getString("status")),
+                lastUsedTime != null ? lastUsedTime.toLocalDateTime() : null
+        );
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public Optional<Question> findById(Long id) {
+        return jdbcTemplate.query(SELECT_COLUMNS + " WHERE id = ?", ROW_MAPPER, id).stream().findFirst();
+    }
+
+    @Override
+    public List<Question> findAll() {
+        return jdbcTemplate.query(SELECT_COLUMNS + " ORDER BY id", ROW_MAPPER);
+    }
+
+    @Override
+    public Question save(Question question) {
+        if (question.getId() != null) {
+            jdbcTemplate.update("UPDATE question SET status = ?, update_time = now() WHERE id = ?",
+                    question.getStatus().name(), question.getId());
+            return question;
+        }
+
+        Long id = jdbcTemplate.queryForObject("SELECT nextval('question_id_seq')", Long.class);
+        jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement("""
+                    INSERT INTO question (id, subject, category, item_type, difficulty, stem, options,
+                        correct_options, points, status)
+                    VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+                    """);
+            ps.setLong(1, id);
+            ps.setString(2, question.getSubject());
+            ps.setString(3, question.getCategory().name());
+            ps.setString(4, question.getType().name());
+            ps.setInt(5, question.getDifficulty());
+            ps.setString(6, question.getStem());
+            ps.setArray(7, con.createArrayOf("text", question.getOptions().toArray()));
+            ps.setString(8, question.getCorrectOptions());
+            ps.setInt(9, question.getPoints());
+            ps.setString(10, question.getStatus().name());
+            return ps;
+        });
+        question.setId(id);
+
+        log.info("新增题目: id={}, subject={}, type={}", id, question.getSubject(), question.getType());
+        return question;
+    }
+
+    @Override
+    public void markUsed(Collection<Long> questionIds, LocalDateTime usedTime) {
+        if (questionIds.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("UPDATE question SET last_used_time = ? WHERE id = ?",
+                questionIds.stream().sorted()
+                        .map(id -> new Object[]{Timestamp.valueOf(usedTime), id})
+                        .toList());
+    }
+}
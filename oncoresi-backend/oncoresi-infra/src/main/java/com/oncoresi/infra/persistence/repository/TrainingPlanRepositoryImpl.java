@@ -0,0 +1,276 @@
+package com.oncoresi.infra.persistence.repository;
+
+import com.oncoresi.domain.aggregate.TrainingPlanAggregate;
+import com.oncoresi.domain.aggregate.TrainingPlanAggregate.PlanStatus;
+import com.oncoresi.domain.aggregate.TrainingPlanAggregate.RotationSchedule;
+import com.oncoresi.domain.repository.TrainingPlanRepository;
+import com.oncoresi.domain.valueobject.RotationPeriod;
+import com.oncoresi.domain.valueobject.TrainingPhase;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 培训计划聚合仓储实现（JdbcTemplate）
+ * 阶段与轮转数量可达数千行（整届学员），保存时只批量写入新增或变化的行，与计划在同一事务内提交：
+ * 阶段按排序号与库中对比后更新；轮转创建后不再修改，只插入尚无ID的轮转（ID 从序列预取并回填），并删除已移除的轮转；
+ * 计划行按版本号条件更新（乐观锁），并发修改时抛出 OptimisticLockingFailureException
+ */
+@Slf4j
+@Repository
+@RequiredArgsConstructor
+public class TrainingPlanRepositoryImpl implements TrainingPlanRepository {
+
+    /**
+     * 每批写入的行数
+     */
+    private static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_PHASE_SQL = """
+            INSERT INTO training_plan_phase (plan_id, phase_name, start_date, end_date,
+                required_case_count, required_skill_count, sort_order)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final String UPDATE_PHASE_SQL = """
+            UPDATE training_plan_phase
+            SET phase_name = ?, start_date = ?, end_date = ?, required_case_count = ?, required_skill_count = ?
+            WHERE id = ?
+            """;
+
+    private static final String INSERT_ROTATION_SQL = """
+            INSERT INTO training_rotation (id, plan_id, trainee_id, dept_id, supervisor_id, start_date, end_date)
+            VALUES (?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public Long nextId() {
+        return jdbcTemplate.queryForObject("SELECT nextval('training_plan_id_seq')", Long.class);
+    }
+
+    @Override
+    public Optional<TrainingPlanAggregate> findById(Long id) {
+        List<TrainingPlanAggregate> plans = jdbcTemplate.query("""
+                SELECT id, plan_name, description, status, start_date, end_date, version
+                FROM training_plan WHERE id = ?
+                """, (rs, rowNum) -> {
+            TrainingPlanAggregate plan = TrainingPlanAggregate.reconstitute(
+                    rs.getLong("id"),
+                    rs.getString("plan_name"),
+                    rs.getString("description"),
+                    PlanStatus.valueOf(rs.getString("status")),
+                    rs.getDate("start_date").toLocalDate(),
+                    rs.getDate("end_date").toLocalDate(),
+                    loadPhases(id),
+                    loadRotations(id)
+            );
+            plan.setVersion(rs.getLong("version"));
+            return plan;
+        }, id);
+
+        return plans.stream().findFirst();
+    }
+
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public TrainingPlanAggregate save(TrainingPlanAggregate aggregate) {
+        // 1. 保存计划基本信息（已持久化的聚合按版本号条件更新）
+        Long planId = aggregate.getId();
+        if (planId == null) {
+            planId = nextId();
+            aggregate.setId(planId);
+        }
+
+        Long version = aggregate.getVersion();
+        if (version == null) {
+            jdbcTemplate.update("""
+                    INSERT INTO training_plan (id, plan_name, description, status, start_date, end_date, version)
+                    VALUES (?, ?, ?, ?, ?, ?, 0)
+                    """,
+                    planId, aggregate.getPlanName(), aggregate.getDescription(), aggregate.getStatus().name(),
+                    Date.valueOf(aggregate.getStartDate()), Date.valueOf(aggregate.getEndDate()));
+            aggregate.setVersion(0L);
+            log.info("新增培训计划: id={}, planName={}", planId, aggregate.getPlanName());
+        } else {
+            int updated = jdbcTemplate.update("""
+                    UPDATE training_plan
+                    SET plan_name = ?, description = ?, status = ?, start_date = ?, end_date = ?,
+                        version = version + 1, update_time = now()
+                    WHERE id = ? AND version = ?
+                    """,
+                    aggregate.getPlanName(), aggregate.getDescription(), aggregate.getStatus().name(),
+                    Date.valueOf(aggregate.getStartDate()), Date.valueOf(aggregate.getEndDate()),
+                    planId, version);
+            if (updated == 0) {
+                throw new OptimisticLockingFailureException(
+                        "培训计划已被其他用户修改，请刷新后重试: id=" + planId + ", version=" + version);
+            }
+            aggregate.setVersion(version + 1);
+        }
+
+        // 2. 保存阶段（只写入新增或变化的阶段）
+        int phaseWrites = savePhases(planId, aggregate.getPhases());
+
+        // 3. 保存轮转（插入新增的轮转并回填ID，删除已移除的轮转）
+        int rotationWrites = saveRotations(planId, aggregate.getRotations());
+
+        log.debug("保存培训计划: id={}, phases={}, rotations={}, phaseWrites={}, rotationWrites={}",
+                planId, aggregate.getPhases().size(), aggregate.getRotations().size(), phaseWrites, rotationWrites);
+
+        return aggregate;
+    }
+
+    /**
+     * 按排序号与库中阶段对比，更新变化的阶段、插入新增的阶段、删除多余的阶段
+     *
+     * @return 写入的行数
+     */
+    private int savePhases(Long planId, List<TrainingPhase> phases) {
+        Map<Integer, PersistedPhase> persisted = new HashMap<>();
+        jdbcTemplate.query("""
+                SELECT id, sort_order, phase_name, start_date, end_date, required_case_count, required_skill_count
+                FROM training_plan_phase WHERE plan_id = ?
+                """, rs -> {
+            persisted.put(rs.getInt("sort_order"), new PersistedPhase(rs.getLong("id"), new TrainingPhase(
+                    rs.getString("phase_name"),
+                    rs.getDate("start_date").toLocalDate(),
+                    rs.getDate("end_date").toLocalDate(),
+                    rs.getInt("required_case_count"),
+                    rs.getInt("required_skill_count"))));
+        }, planId);
+
+        List<Object[]> inserts = new ArrayList<>();
+        List<Object[]> updates = new ArrayList<>();
+        for (int sortOrder = 0; sortOrder < phases.size(); sortOrder++) {
+            TrainingPhase phase = phases.get(sortOrder);
+            PersistedPhase existing = persisted.get(sortOrder);
+            if (existing == null) {
+                inserts.add(new Object[]{
+                        planId, phase.phaseName(), Date.valueOf(phase.startDate()), Date.valueOf(phase.endDate()),
+                        phase.requiredCaseCount(), phase.requiredSkillCount(), sortOrder
+                });
+            } else if (!existing.phase().equals(phase)) {
+                updates.add(new Object[]{
+                        phase.phaseName(), Date.valueOf(phase.startDate()), Date.valueOf(phase.endDate()),
+                        phase.requiredCaseCount(), phase.requiredSkillCount(), existing.id()
+                });
+            }
+        }
+        batchInsert(INSERT_PHASE_SQL, inserts);
+        batchInsert(UPDATE_PHASE_SQL, updates);
+
+        int deleted = 0;
+        if (persisted.size() > phases.size()) {
+            deleted = jdbcTemplate.update("DELETE FROM training_plan_phase WHERE plan_id = ? AND sort_order >= ?",
+                    planId, phases.size());
+        }
+        return inserts.size() + updates.size() + deleted;
+    }
+
+    /**
+     * 插入尚无ID的轮转（ID 从序列预取，写入后回填到轮转上），并删除聚合中已不存在的轮转
+     *
+     * @return 写入的行数
+     */
+    private int saveRotations(Long planId, List<RotationSchedule> rotations) {
+        List<Long> existingIds = new ArrayList<>(rotations.size());
+        List<RotationSchedule> newRotations = new ArrayList<>();
+        for (RotationSchedule rotation : rotations) {
+            if (rotation.getId() == null) {
+                newRotations.add(rotation);
+            } else {
+                existingIds.add(rotation.getId());
+            }
+        }
+
+        int deleted = jdbcTemplate.update(con -> {
+            PreparedStatement ps = con.prepareStatement(
+                    "DELETE FROM training_rotation WHERE plan_id = ? AND id <> ALL (?)");
+            ps.setLong(1, planId);
+            ps.setArray(2, con.createArrayOf("bigint", existingIds.toArray()));
+            return ps;
+        });
+        if (newRotations.isEmpty()) {
+            return deleted;
+        }
+
+        List<Long> ids = jdbcTemplate.queryForList(
+                "SELECT nextval('training_rotation_id_seq') FROM generate_series(1, ?)", Long.class,
+                newRotations.size());
+        List<Object[]> inserts = new ArrayList<>(newRotations.size());
+        for (int i = 0; i < newRotations.size(); i++) {
+            RotationSchedule rotation = newRotations.get(i);
+            inserts.add(new Object[]{
+                    ids.get(i), planId, rotation.getTraineeId(), rotation.getDepartmentId(), rotation.getSupervisorId(),
+                    Date.valueOf(rotation.getPeriod().startDate()), Date.valueOf(rotation.getPeriod().endDate())
+            });
+        }
+        batchInsert(INSERT_ROTATION_SQL, inserts);
+
+        for (int i = 0; i < newRotations.size(); i++) {
+            newRotations.get(i).setId(ids.get(i));
+        }
+        // 事务回滚时撤销回填，重试时这些轮转仍按新增插入
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        newRotations.forEach(rotation -> rotation.setId(null));
+                    }
+                }
+            });
+        }
+        return inserts.size() + deleted;
+    }
+
+    private record PersistedPhase(Long id, TrainingPhase phase) {
+    }
+
+    private void batchInsert(String sql, List<Object[]> batchArgs) {
+        for (int from = 0; from < batchArgs.size(); from += BATCH_SIZE) {
+            jdbcTemplate.batchUpdate(sql, batchArgs.subList(from, Math.min(from + BATCH_SIZE, batchArgs.size())));
+        }
+    }
+
+    private List<TrainingPhase> loadPhases(Long planId) {
+        return jdbcTemplate.query("""
+                SELECT phase_name, start_date, end_date, required_case_count, required_skill_count
+                FROM training_plan_phase WHERE plan_id = ? ORDER BY sort_order
+                """, (rs, rowNum) -> new TrainingPhase(
+                rs.getString("phase_name"),
+                rs.getDate("start_date").toLocalDate(),
+                rs.getDate("end_date").toLocalDate(),
+                rs.getInt("required_case_count"),
+                rs.getInt("required_skill_count")
+        ), planId);
+    }
+
+    private List<RotationSchedule> loadRotations(Long planId) {
+        return jdbcTemplate.query("""
+                SELECT id, trainee_id, dept_id, supervisor_id, start_date, end_date
+                FROM training_rotation WHERE plan_id = ?
+                """, (rs, rowNum) -> new RotationSchedule(
+                rs.getLong("id"),
+                rs.getLong("trainee_id"),
+                rs.getLong("dept_id"),
+                RotationPeriod.of(rs.getDate("start_date").toLocalDate(), rs.getDate("end_date").toLocalDate()),
+                rs.getObject("supervisor_id", Long.class)
+        ), planId);
+    }
+}
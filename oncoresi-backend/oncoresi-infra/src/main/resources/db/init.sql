@@ -214,3 +214,353 @@ GROUP BY u.id, u.username, u.real_name, u.phone, u.email,
          h.hospital_name, d.dept_name, d.dept_type, u.status, ds.scope_type;
 
 COMMENT ON VIEW v_user_full_info IS '用户完整信息视图（包含组织架构、角色、数据权限）';
+
+-- ============================================================
+-- 6. 绩效分析汇总表（读模型）
+-- ============================================================
+
+-- 科室 × 周期汇总表（DAY 为基础桶，MONTH/QUARTER/YEAR 由日桶合并得到）
+CREATE TABLE IF NOT EXISTS perf_dept_rollup (
+    dept_id BIGINT NOT NULL,
+    period_type VARCHAR(10) NOT NULL COMMENT '周期类型: DAY, MONTH, QUARTER, YEAR',
+    period_start DATE NOT NULL COMMENT '周期起始日期',
+    attendance_days INT NOT NULL DEFAULT 0 COMMENT '出勤人天',
+    attendance_total INT NOT NULL DEFAULT 0 COMMENT '应出勤人天',
+    exam_count INT NOT NULL DEFAULT 0 COMMENT '考试人次',
+    exam_pass_count INT NOT NULL DEFAULT 0 COMMENT '考试通过人次',
+    exam_score_sum BIGINT NOT NULL DEFAULT 0 COMMENT '考试总分',
+    course_completed_count INT NOT NULL DEFAULT 0 COMMENT '课程完成人次',
+    update_time TIMESTAMP NOT NULL DEFAULT now(),
+
+    PRIMARY KEY (dept_id, period_type, period_start)
+);
+COMMENT ON TABLE perf_dept_rollup IS '科室绩效周期汇总表';
+
+CREATE INDEX idx_rollup_period ON perf_dept_rollup(period_type, period_start);
+
+-- 读模型投影已处理事件（至少一次投递下的去重，与累加在同一事务内写入）
+CREATE TABLE IF NOT EXISTS projection_processed_event (
+    consumer VARCHAR(50) NOT NULL COMMENT '投影名称',
+    event_key VARCHAR(100) NOT NULL COMMENT '事件键（业务唯一标识）',
+    create_time TIMESTAMP NOT NULL DEFAULT now(),
+
+    PRIMARY KEY (consumer, event_key)
+);
+COMMENT ON TABLE projection_processed_event IS '读模型投影已处理事件表';
+
+-- 成绩分布直方图（每个分组至多 101 行，0-100 分各一行计数）
+CREATE TABLE IF NOT EXISTS perf_score_histogram (
+    dim_type VARCHAR(20) NOT NULL COMMENT '分组维度: EXAM, DEPARTMENT, COHORT',
+    dim_id BIGINT NOT NULL COMMENT '分组ID: 考试ID/科室ID/入培年度（近似为学员账号创建年度）',
+    score SMALLINT NOT NULL COMMENT '分数（0-100）',
+    hit_count BIGINT NOT NULL DEFAULT 0 COMMENT '人次',
+    update_time TIMESTAMP NOT NULL DEFAULT now(),
+
+    PRIMARY KEY (dim_type, dim_id, score)
+);
+COMMENT ON TABLE perf_score_histogram IS '成绩分布直方图';
+
+-- 科室轮转在岗记录（由 ROTATION_ADDED 事件投影，启动时加载为进程内时间轴）
+CREATE TABLE IF NOT EXISTS dept_rotation_occupancy (
+    trainee_id BIGINT NOT NULL,
+    dept_id BIGINT NOT NULL,
+    start_date DATE NOT NULL COMMENT '轮转开始日期',
+    end_date DATE NOT NULL COMMENT '轮转结束日期',
+    plan_id BIGINT COMMENT '培训计划ID',
+    rotation_id BIGINT COMMENT '轮转ID',
+    create_time TIMESTAMP NOT NULL DEFAULT now(),
+
+    PRIMARY KEY (trainee_id, dept_id, start_date)
+);
+COMMENT ON TABLE dept_rotation_occupancy IS '科室轮转在岗记录';
+
+CREATE INDEX idx_occupancy_dept ON dept_rotation_occupancy(dept_id, start_date);
+
+-- ============================================================
+-- 7. 培训计划表
+-- ============================================================
+
+-- 培训计划表
+CREATE TABLE IF NOT EXISTS training_plan (
+    id BIGSERIAL PRIMARY KEY,
+    plan_name VARCHAR(100) NOT NULL,
+    description VARCHAR(500),
+    status VARCHAR(20) NOT NULL DEFAULT 'DRAFT' COMMENT '状态: DRAFT, ACTIVE, COMPLETED, CANCELLED',
+    start_date DATE NOT NULL,
+    end_date DATE NOT NULL,
+    version BIGINT NOT NULL DEFAULT 0 COMMENT '版本号（乐观锁）',
+    create_time TIMESTAMP NOT NULL DEFAULT now(),
+    update_time TIMESTAMP NOT NULL DEFAULT now()
+);
+COMMENT ON TABLE training_plan IS '培训计划表';
+
+-- 培训阶段表
+CREATE TABLE IF NOT EXISTS training_plan_phase (
+    id BIGSERIAL PRIMARY KEY,
+    plan_id BIGINT NOT NULL,
+    phase_name VARCHAR(100) NOT NULL,
+    start_date DATE NOT NULL,
+    end_date DATE NOT NULL,
+    required_case_count INT NOT NULL DEFAULT 0 COMMENT '要求病例数',
+    required_skill_count INT NOT NULL DEFAULT 0 COMMENT '要求技能数',
+    sort_order INT NOT NULL DEFAULT 0,
+    CONSTRAINT fk_phase_plan FOREIGN KEY (plan_id) REFERENCES training_plan(id) ON DELETE CASCADE
+);
+COMMENT ON TABLE training_plan_phase IS '培训阶段表';
+
+CREATE INDEX idx_phase_plan ON training_plan_phase(plan_id);
+
+-- 轮转安排表
+CREATE TABLE IF NOT EXISTS training_rotation (
+    id BIGSERIAL PRIMARY KEY,
+    plan_id BIGINT NOT NULL,
+    trainee_id BIGINT NOT NULL,
+    dept_id BIGINT NOT NULL,
+    supervisor_id BIGINT COMMENT '带教老师ID',
+    start_date DATE NOT NULL,
+    end_date DATE NOT NULL,
+    CONSTRAINT fk_rotation_plan FOREIGN KEY (plan_id) REFERENCES training_plan(id) ON DELETE CASCADE
+);
+COMMENT ON TABLE training_rotation IS '轮转安排表';
+
+CREATE INDEX idx_rotation_plan ON training_rotation(plan_id);
+CREATE INDEX idx_rotation_trainee ON training_rotation(trainee_id, start_date);
+
+-- ============================================================
+-- 8. 考试表
+-- ============================================================
+
+-- 考试表
+CREATE TABLE IF NOT EXISTS exam (
+    id BIGSERIAL PRIMARY KEY,
+    exam_name VARCHAR(100) NOT NULL,
+    exam_type VARCHAR(20) NOT NULL COMMENT '考试类型: SKILL, THEORY, ADAPTIVE',
+    passing_score INT NOT NULL DEFAULT 60,
+    start_time TIMESTAMP NOT NULL,
+    end_time TIMESTAMP NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'DRAFT' COMMENT '状态: DRAFT, PUBLISHED, IN_PROGRESS, COMPLETED, CANCELLED',
+    version BIGINT NOT NULL DEFAULT 0 COMMENT '版本号（乐观锁）',
+    create_time TIMESTAMP NOT NULL DEFAULT now(),
+    update_time TIMESTAMP NOT NULL DEFAULT now()
+);
+COMMENT ON TABLE exam IS '考试表';
+
+-- 答卷表
+CREATE TABLE IF NOT EXISTS exam_submission (
+    exam_id BIGINT NOT NULL,
+    trainee_id BIGINT NOT NULL,
+    answers TEXT[] COMMENT '答案',
+    submit_time TIMESTAMP,
+    score INT COMMENT '成绩（待评分为空）',
+    passed BOOLEAN COMMENT '是否及格（待评分为空）',
+    key_version INT COMMENT '入库或重新评分时的标准答案版本（未录入标准答案为 0）',
+
+    PRIMARY KEY (exam_id, trainee_id),
+    CONSTRAINT fk_submission_exam FOREIGN KEY (exam_id) REFERENCES exam(id) ON DELETE CASCADE
+);
+COMMENT ON TABLE exam_submission IS '答卷表';
+
+-- 考试统计计数（按学员ID分条带累加，避免交卷高峰集中更新考试行；读取时按考试汇总）
+CREATE TABLE IF NOT EXISTS exam_statistics_stripe (
+    exam_id BIGINT NOT NULL,
+    stripe SMALLINT NOT NULL COMMENT '条带号: trainee_id mod 16',
+    submitted_count BIGINT NOT NULL DEFAULT 0 COMMENT '交卷人数',
+    passed_count BIGINT NOT NULL DEFAULT 0 COMMENT '及格人数',
+
+    PRIMARY KEY (exam_id, stripe),
+    CONSTRAINT fk_stat_stripe_exam FOREIGN KEY (exam_id) REFERENCES exam(id) ON DELETE CASCADE
+);
+COMMENT ON TABLE exam_statistics_stripe IS '考试统计计数表';
+
+-- 交卷收件箱（交卷请求持久化后即应答，后台批量评分入库）
+CREATE TABLE IF NOT EXISTS exam_submission_inbox (
+    id BIGSERIAL PRIMARY KEY,
+    exam_id BIGINT NOT NULL,
+    trainee_id BIGINT NOT NULL,
+    answers TEXT[] COMMENT '答案',
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING' COMMENT '状态: PENDING, PROCESSING, ACCEPTED, REJECTED, FAILED',
+    reject_reason VARCHAR(200) COMMENT '拒绝原因或处理失败原因',
+    receive_time TIMESTAMP NOT NULL COMMENT '接收时间（按此时间校验考试时间窗口）',
+    deadline TIMESTAMP NOT NULL COMMENT '学员个人截止时间（含延时）',
+    claim_time TIMESTAMP COMMENT '领取时间',
+    attempts INT NOT NULL DEFAULT 0 COMMENT '领取次数（达到上限仍处理失败时标记为 FAILED）',
+    process_time TIMESTAMP COMMENT '处理完成时间',
+
+    CONSTRAINT uk_inbox_exam_trainee UNIQUE (exam_id, trainee_id)
+);
+COMMENT ON TABLE exam_submission_inbox IS '交卷收件箱';
+
+CREATE INDEX idx_inbox_status ON exam_submission_inbox(status, id);
+
+-- 考试会话表（个人截止时间与作答草稿；到时未交卷的会话按草稿自动交卷）
+CREATE TABLE IF NOT EXISTS exam_session (
+    exam_id BIGINT NOT NULL,
+    trainee_id BIGINT NOT NULL,
+    deadline TIMESTAMP NOT NULL COMMENT '个人截止时间（考试结束时间 + 延时）',
+    extension_minutes INT NOT NULL DEFAULT 0 COMMENT '累计延时（分钟）',
+    draft_answers TEXT[] COMMENT '作答草稿',
+    draft_time TIMESTAMP COMMENT '草稿保存时间（写回时只接受更新的草稿）',
+    status VARCHAR(20) NOT NULL DEFAULT 'ACTIVE' COMMENT '状态: ACTIVE, SUBMITTED, AUTO_SUBMITTED',
+    create_time TIMESTAMP NOT NULL DEFAULT now(),
+    update_time TIMESTAMP NOT NULL DEFAULT now(),
+
+    PRIMARY KEY (exam_id, trainee_id),
+    CONSTRAINT fk_session_exam FOREIGN KEY (exam_id) REFERENCES exam(id) ON DELETE CASCADE
+);
+COMMENT ON TABLE exam_session IS '考试会话表';
+
+CREATE INDEX idx_session_active ON exam_session(status, deadline);
+
+-- 标准答案表（理论考试客观题，按题号对应答卷 answers 的下标）
+CREATE TABLE IF NOT EXISTS exam_answer_key (
+    exam_id BIGINT NOT NULL,
+    item_no INT NOT NULL COMMENT '题号（从1开始）',
+    item_type VARCHAR(20) NOT NULL COMMENT '题型: SINGLE_CHOICE, MULTIPLE_CHOICE, TRUE_FALSE',
+    correct_options VARCHAR(20) NOT NULL COMMENT '正确选项',
+    points INT NOT NULL COMMENT '分值',
+
+    PRIMARY KEY (exam_id, item_no),
+    CONSTRAINT fk_answer_key_exam FOREIGN KEY (exam_id) REFERENCES exam(id) ON DELETE CASCADE
+);
+COMMENT ON TABLE exam_answer_key IS '标准答案表';
+
+-- 标准答案版本（每次录入或更正加一；更正时排他锁定，交卷入库评分前共享锁定并核对本地缓存的版本）
+CREATE TABLE IF NOT EXISTS exam_answer_key_version (
+    exam_id BIGINT PRIMARY KEY,
+    version INT NOT NULL COMMENT '版本号',
+    update_time TIMESTAMP NOT NULL DEFAULT now(),
+
+    CONSTRAINT fk_answer_key_version_exam FOREIGN KEY (exam_id) REFERENCES exam(id) ON DELETE CASCADE
+);
+COMMENT ON TABLE exam_answer_key_version IS '标准答案版本表';
+
+-- 题库表（客观题）
+CREATE TABLE IF NOT EXISTS question (
+    id BIGSERIAL PRIMARY KEY,
+    subject VARCHAR(50) NOT NULL COMMENT '学科',
+    category VARCHAR(30) NOT NULL COMMENT '课程类别',
+    item_type VARCHAR(20) NOT NULL COMMENT '题型: SINGLE_CHOICE, MULTIPLE_CHOICE, TRUE_FALSE',
+    difficulty SMALLINT NOT NULL COMMENT '难度: 1-5',
+    stem TEXT NOT NULL COMMENT '题干',
+    options TEXT[] COMMENT '选项',
+    correct_options VARCHAR(20) NOT NULL COMMENT '正确选项',
+    points INT NOT NULL COMMENT '分值',
+    status VARCHAR(20) NOT NULL DEFAULT 'ACTIVE' COMMENT '状态: ACTIVE, RETIRED',
+    last_used_time TIMESTAMP COMMENT '最近一次组卷使用时间',
+    create_time TIMESTAMP NOT NULL DEFAULT now(),
+    update_time TIMESTAMP NOT NULL DEFAULT now()
+);
+COMMENT ON TABLE question IS '题库表';
+
+-- 考生试卷表（每名考生一份随机组成的试卷，按题号顺序记录题目ID）
+CREATE TABLE IF NOT EXISTS exam_paper (
+    exam_id BIGINT NOT NULL,
+    trainee_id BIGINT NOT NULL,
+    question_ids BIGINT[] NOT NULL COMMENT '题目ID（按题号顺序）',
+    create_time TIMESTAMP NOT NULL DEFAULT now(),
+
+    PRIMARY KEY (exam_id, trainee_id),
+    CONSTRAINT fk_paper_exam FOREIGN KEY (exam_id) REFERENCES exam(id) ON DELETE CASCADE
+);
+COMMENT ON TABLE exam_paper IS '考生试卷表';
+
+-- 考试共用试卷表（考生共用一份基准试卷，个人的题目与选项顺序由密钥推导，不逐人保存）
+CREATE TABLE IF NOT EXISTS exam_shared_paper (
+    exam_id BIGINT PRIMARY KEY,
+    question_ids BIGINT[] NOT NULL COMMENT '题目ID（按基准题号顺序）',
+    shuffle_secret BIGINT NOT NULL COMMENT '推导考生题目与选项顺序的密钥',
+    create_time TIMESTAMP NOT NULL DEFAULT now(),
+
+    CONSTRAINT fk_shared_paper_exam FOREIGN KEY (exam_id) REFERENCES exam(id) ON DELETE CASCADE
+);
+COMMENT ON TABLE exam_shared_paper IS '考试共用试卷表';
+
+-- 题目作答计数表（按考试、题目、作答者总成绩分桶累加，交卷时在同一事务内更新；题目统计由各桶合并算出，不回看答卷）
+CREATE TABLE IF NOT EXISTS item_score_bucket (
+    exam_id BIGINT NOT NULL,
+    question_id BIGINT NOT NULL,
+    score SMALLINT NOT NULL COMMENT '作答者考试总成绩（0-100）',
+    responses BIGINT NOT NULL DEFAULT 0 COMMENT '作答人数',
+    correct_count BIGINT NOT NULL DEFAULT 0 COMMENT '答对人数',
+    blank_count BIGINT NOT NULL DEFAULT 0 COMMENT '未作答人数',
+    pick_a BIGINT NOT NULL DEFAULT 0 COMMENT '选项A（判断题为对）被选次数',
+    pick_b BIGINT NOT NULL DEFAULT 0 COMMENT '选项B（判断题为错）被选次数',
+    pick_c BIGINT NOT NULL DEFAULT 0 COMMENT '选项C被选次数',
+    pick_d BIGINT NOT NULL DEFAULT 0 COMMENT '选项D被选次数',
+    pick_e BIGINT NOT NULL DEFAULT 0 COMMENT '选项E被选次数',
+    pick_f BIGINT NOT NULL DEFAULT 0 COMMENT '选项F被选次数',
+    pick_g BIGINT NOT NULL DEFAULT 0 COMMENT '选项G被选次数',
+    pick_h BIGINT NOT NULL DEFAULT 0 COMMENT '选项H被选次数',
+
+    PRIMARY KEY (exam_id, question_id, score),
+    CONSTRAINT fk_item_bucket_exam FOREIGN KEY (exam_id) REFERENCES exam(id) ON DELETE CASCADE
+);
+COMMENT ON TABLE item_score_bucket IS '题目作答计数表';
+
+CREATE INDEX idx_item_bucket_question ON item_score_bucket(question_id);
+
+-- 自适应考试规则表（题库范围与结束条件）
+CREATE TABLE IF NOT EXISTS exam_adaptive_spec (
+    exam_id BIGINT PRIMARY KEY,
+    subject VARCHAR(50) NOT NULL COMMENT '学科',
+    category VARCHAR(30) COMMENT '课程类别（为空不限）',
+    min_items INT NOT NULL COMMENT '作答题数下限',
+    max_items INT NOT NULL COMMENT '作答题数上限',
+    target_standard_error DOUBLE PRECISION NOT NULL COMMENT '目标标准误',
+    create_time TIMESTAMP NOT NULL DEFAULT now(),
+    update_time TIMESTAMP NOT NULL DEFAULT now(),
+
+    CONSTRAINT fk_adaptive_spec_exam FOREIGN KEY (exam_id) REFERENCES exam(id) ON DELETE CASCADE
+);
+COMMENT ON TABLE exam_adaptive_spec IS '自适应考试规则表';
+
+-- 自适应考试题目参数快照（首次出题时按题目统计换算并固定，全体考生按同一组参数选题与评分）
+CREATE TABLE IF NOT EXISTS exam_adaptive_item (
+    exam_id BIGINT NOT NULL,
+    question_id BIGINT NOT NULL,
+    discrimination DOUBLE PRECISION NOT NULL COMMENT '区分度 a',
+    difficulty DOUBLE PRECISION NOT NULL COMMENT '难度 b',
+    empirical BOOLEAN NOT NULL COMMENT '是否由作答统计换算（否则按难度等级取经验值）',
+
+    PRIMARY KEY (exam_id, question_id),
+    CONSTRAINT fk_adaptive_item_exam FOREIGN KEY (exam_id) REFERENCES exam(id) ON DELETE CASCADE
+);
+COMMENT ON TABLE exam_adaptive_item IS '自适应考试题目参数表';
+
+-- 自适应作答会话表
+CREATE TABLE IF NOT EXISTS exam_adaptive_session (
+    exam_id BIGINT NOT NULL,
+    trainee_id BIGINT NOT NULL,
+    question_ids BIGINT[] NOT NULL COMMENT '已作答题目ID（按作答顺序）',
+    answers TEXT[] NOT NULL COMMENT '作答',
+    responses BOOLEAN[] NOT NULL COMMENT '是否答对',
+    answered_count INT NOT NULL DEFAULT 0 COMMENT '已作答题数（并发作答的条件更新依据）',
+    pending_question_id BIGINT COMMENT '当前题',
+    theta DOUBLE PRECISION NOT NULL DEFAULT 0 COMMENT '能力估计',
+    standard_error DOUBLE PRECISION NOT NULL DEFAULT 1 COMMENT '测量标准误',
+    score INT COMMENT '成绩（结束后有值）',
+    status VARCHAR(20) NOT NULL DEFAULT 'ACTIVE' COMMENT '状态: ACTIVE, FINISHED',
+    create_time TIMESTAMP NOT NULL DEFAULT now(),
+    update_time TIMESTAMP NOT NULL DEFAULT now(),
+
+    PRIMARY KEY (exam_id, trainee_id),
+    CONSTRAINT fk_adaptive_session_exam FOREIGN KEY (exam_id) REFERENCES exam(id) ON DELETE CASCADE
+);
+COMMENT ON TABLE exam_adaptive_session IS '自适应作答会话表';
+
+-- 练习卡片表（学员逐题的间隔重复状态，按学员整体加载）
+CREATE TABLE IF NOT EXISTS practice_card (
+    trainee_id BIGINT NOT NULL,
+    question_id BIGINT NOT NULL,
+    ease_factor SMALLINT NOT NULL DEFAULT 250 COMMENT '难易系数 × 100',
+    interval_days INT NOT NULL DEFAULT 0 COMMENT '当前复习间隔（天）',
+    repetitions INT NOT NULL DEFAULT 0 COMMENT '连续答对次数',
+    lapses INT NOT NULL DEFAULT 0 COMMENT '遗忘次数',
+    due_time TIMESTAMP NOT NULL COMMENT '下次复习时间',
+    review_time TIMESTAMP NOT NULL COMMENT '最近一次练习时间（写回的条件更新依据）',
+    introduced_on DATE NOT NULL COMMENT '首次练习日期',
+
+    PRIMARY KEY (trainee_id, question_id),
+    CONSTRAINT fk_practice_trainee FOREIGN KEY (trainee_id) REFERENCES sys_user(id) ON DELETE CASCADE
+);
+COMMENT ON TABLE practice_card IS '练习卡片表';
@@ -0,0 +1,129 @@
+package com.oncoresi.query.analytics;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 科室日汇总列式存储（进程内分析快照）
+ * <p>
+ * 每个指标一列基本类型数组，扫描聚合时只访问用到的列，不产生逐行对象。
+ * 单写多读：刷新任务按主键（科室, 日期）覆盖写入，分析查询在读锁下扫描。
+ */
+public class DailyRollupColumnStore {
+
+    /**
+     * 指标列下标（与 scan 回调中 metrics 数组一致）
+     */
+    public static final int ATTENDANCE_DAYS = 0;
+    public static final int ATTENDANCE_TOTAL = 1;
+    public static final int EXAM_COUNT = 2;
+    public static final int EXAM_PASS_COUNT = 3;
+    public static final int EXAM_SCORE_SUM = 4;
+    public static final int COURSE_COMPLETED_COUNT = 5;
+    public static final int METRIC_COUNT = 6;
+
+    private static final int INITIAL_CAPACITY = 4096;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * （科室ID, epochDay）→ 行号
+     */
+    private final Map<Long, Integer> rowIndex = new HashMap<>();
+
+    private long[] deptIds = new long[INITIAL_CAPACITY];
+    private int[] epochDays = new int[INITIAL_CAPACITY];
+    private final long[][] metrics = new long[METRIC_COUNT][INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * 行扫描回调（metrics 为只读的列数组，按 row 下标访问）
+     */
+    @FunctionalInterface
+    public interface RowVisitor {
+        void visit(long deptId, int epochDay, long[][] metrics, int row);
+    }
+
+    /**
+     * 写入或覆盖一行（同一科室同一天只保留最新值）
+     */
+    public void upsert(long deptId, LocalDate day, long[] values) {
+        int epochDay = (int) day.toEpochDay();
+        lock.writeLock().lock();
+        try {
+            Integer row = rowIndex.get(key(deptId, epochDay));
+            if (row == null) {
+                ensureCapacity(size + 1);
+                row = size++;
+                deptIds[row] = deptId;
+                epochDays[row] = epochDay;
+                rowIndex.put(key(deptId, epochDay), row);
+            }
+            for (int m = 0; m < METRIC_COUNT; m++) {
+                metrics[m][row] = values[m];
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 扫描日期范围内（含两端）的所有行
+     *
+     * @param deptId 指定科室，为 null 时扫描全部科室
+     */
+    public void scan(Long deptId, LocalDate from, LocalDate to, RowVisitor visitor) {
+        int fromDay = (int) from.toEpochDay();
+        int toDay = (int) to.toEpochDay();
+        lock.readLock().lock();
+        try {
+            for (int row = 0; row < size; row++) {
+                int day = epochDays[row];
+                if (day < fromDay || day > toDay) {
+                    continue;
+                }
+                if (deptId != null && deptIds[row] != deptId) {
+                    continue;
+                }
+                visitor.visit(deptIds[row], day, metrics, row);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 当前行数
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= deptIds.length) {
+            return;
+        }
+        int capacity = Math.max(required, deptIds.length * 2);
+        deptIds = Arrays.copyOf(deptIds, capacity);
+        epochDays = Arrays.copyOf(epochDays, capacity);
+        for (int m = 0; m < METRIC_COUNT; m++) {
+            metrics[m] = Arrays.copyOf(metrics[m], capacity);
+        }
+    }
+
+    /**
+     * 组合主键（科室ID 占高 32 位，epochDay 占低 32 位）
+     */
+    private static long key(long deptId, int epochDay) {
+        return (deptId << 32) | (epochDay & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,285 @@
+package com.oncoresi.query.analytics;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 科室在岗时间轴（按需分配节点的线段树，按 epochDay 索引）
+ * <p>
+ * 每段轮转拆分到 O(log N) 个完全覆盖的节点上，节点记录覆盖次数、子树内最大/最小在岗人数及覆盖它的学员：
+ * <ul>
+ *     <li>某日在岗学员：从根走到叶子，收集路径上各节点的学员，O(log N + k)</li>
+ *     <li>区间峰值：区间分解为 O(log N) 个节点取最大值</li>
+ *     <li>空余窗口：整段空闲或整段满员的子树直接剪枝，只向边界下探</li>
+ * </ul>
+ * 轮转可以移除（结束日期变更按移除旧区间、加入新区间处理），移除沿加入时的同一组节点回退计数。
+ * 单写多读：事件投影写入时加写锁，查询在读锁下进行。
+ */
+public class OccupancyTimeline {
+
+    /**
+     * 时间轴覆盖范围：epochDay ∈ [0, 2^17)，即 1970-01-01 至 2328 年
+     */
+    private static final int SPAN = 1 << 17;
+
+    /**
+     * 在岗学员
+     */
+    public record Occupant(Long traineeId, LocalDate startDate, LocalDate endDate) {
+    }
+
+    /**
+     * 日期窗口（含两端）
+     */
+    public record Window(LocalDate startDate, LocalDate endDate) {
+    }
+
+    private static final class Node {
+        private int cover;
+        private int max;
+        private int min;
+        private Node left;
+        private Node right;
+        private List<Occupant> occupants;
+    }
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Node root = new Node();
+
+    /**
+     * 已索引的轮转及引用次数（同一学员同一时段可能出现在多份计划中，只计一次在岗）
+     */
+    private final Map<Occupant, Integer> indexed = new HashMap<>();
+
+    /**
+     * 加入一段轮转
+     *
+     * @return 是否新加入（已有相同轮转时只增加引用次数，返回 false）
+     */
+    public boolean add(Occupant occupant) {
+        lock.writeLock().lock();
+        try {
+            if (indexed.merge(occupant, 1, Integer::sum) > 1) {
+                return false;
+            }
+            update(root, 0, SPAN - 1, clamp(occupant.startDate()), clamp(occupant.endDate()), occupant, 1);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 移除一段轮转
+     *
+     * @return 是否已从时间轴移除（未索引或仍被其他计划引用时返回 false）
+     */
+    public boolean remove(Occupant occupant) {
+        lock.writeLock().lock();
+        try {
+            Integer count = indexed.get(occupant);
+            if (count == null) {
+                return false;
+            }
+            if (count > 1) {
+                indexed.put(occupant, count - 1);
+                return false;
+            }
+            indexed.remove(occupant);
+            update(root, 0, SPAN - 1, clamp(occupant.startDate()), clamp(occupant.endDate()), occupant, -1);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 某日在岗学员
+     */
+    public List<Occupant> occupantsOn(LocalDate date) {
+        int day = clamp(date);
+        List<Occupant> result = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            int lo = 0;
+            int hi = SPAN - 1;
+            while (node != null) {
+                if (node.occupants != null) {
+                    result.addAll(node.occupants);
+                }
+                int mid = (lo + hi) >>> 1;
+                if (day <= mid) {
+                    node = node.left;
+                    hi = mid;
+                } else {
+                    node = node.right;
+                    lo = mid + 1;
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 日期范围内（含两端）的在岗人数峰值
+     */
+    public int peak(LocalDate from, LocalDate to) {
+        lock.readLock().lock();
+        try {
+            return peak(root, 0, SPAN - 1, clamp(from), clamp(to));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 日期范围内（含两端）在岗人数 ≤ maxOccupancy 的连续窗口
+     *
+     * @param maxOccupancy 允许的最大在岗人数（如 容量 - 需要的空位数）
+     */
+    public List<Window> windowsAtMost(LocalDate from, LocalDate to, int maxOccupancy) {
+        List<int[]> ranges = new ArrayList<>();
+        if (maxOccupancy >= 0) {
+            lock.readLock().lock();
+            try {
+                collect(root, 0, SPAN - 1, clamp(from), clamp(to), 0, maxOccupancy, ranges);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        List<Window> windows = new ArrayList<>(ranges.size());
+        for (int[] range : ranges) {
+            windows.add(new Window(LocalDate.ofEpochDay(range[0]), LocalDate.ofEpochDay(range[1])));
+        }
+        return windows;
+    }
+
+    /**
+     * 已索引的轮转数
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return indexed.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 在完全覆盖的节点上加入（delta = 1）或移除（delta = -1）轮转
+     */
+    private static void update(Node node, int lo, int hi, int from, int to, Occupant occupant, int delta) {
+        if (from <= lo && hi <= to) {
+            node.cover += delta;
+            node.max += delta;
+            node.min += delta;
+            if (delta > 0) {
+                if (node.occupants == null) {
+                    node.occupants = new ArrayList<>(2);
+                }
+                node.occupants.add(occupant);
+            } else {
+                node.occupants.remove(occupant);
+            }
+            return;
+        }
+
+        int mid = (lo + hi) >>> 1;
+        if (from <= mid) {
+            if (node.left == null) {
+                node.left = new Node();
+            }
+            update(node.left, lo, mid, from, to, occupant, delta);
+        }
+        if (to > mid) {
+            if (node.right == null) {
+                node.right = new Node();
+            }
+            update(node.right, mid + 1, hi, from, to, occupant, delta);
+        }
+
+        node.max = node.cover + Math.max(maxOf(node.left), maxOf(node.right));
+        node.min = node.cover + Math.min(minOf(node.left), minOf(node.right));
+    }
+
+    private static int peak(Node node, int lo, int hi, int from, int to) {
+        if (node == null) {
+            return 0;
+        }
+        if (from <= lo && hi <= to) {
+            return node.max;
+        }
+
+        int mid = (lo + hi) >>> 1;
+        int childPeak = 0;
+        if (from <= mid) {
+            childPeak = peak(node.left, lo, mid, from, to);
+        }
+        if (to > mid) {
+            childPeak = Math.max(childPeak, peak(node.right, mid + 1, hi, from, to));
+        }
+        return node.cover + childPeak;
+    }
+
+    /**
+     * 收集在岗人数 ≤ maxOccupancy 的区间（按日期顺序，相邻区间合并）
+     *
+     * @param inherited 祖先节点的覆盖次数之和
+     */
+    private static void collect(Node node, int lo, int hi, int from, int to,
+                                int inherited, int maxOccupancy, List<int[]> ranges) {
+        int nodeMax = inherited + maxOf(node);
+        int nodeMin = inherited + minOf(node);
+
+        if (nodeMin > maxOccupancy) {
+            return;
+        }
+        if (nodeMax <= maxOccupancy) {
+            append(ranges, Math.max(lo, from), Math.min(hi, to));
+            return;
+        }
+
+        // 此时 node 非空且非叶子（叶子的最大值等于最小值）
+        int mid = (lo + hi) >>> 1;
+        if (from <= mid) {
+            collect(node.left, lo, mid, from, to, inherited + node.cover, maxOccupancy, ranges);
+        }
+        if (to > mid) {
+            collect(node.right, mid + 1, hi, from, to, inherited + node.cover, maxOccupancy, ranges);
+        }
+    }
+
+    private static void append(List<int[]> ranges, int from, int to) {
+        if (!ranges.isEmpty()) {
+            int[] last = ranges.get(ranges.size() - 1);
+            if (last[1] + 1 == from) {
+                last[1] = to;
+                return;
+            }
+        }
+        ranges.add(new int[]{from, to});
+    }
+
+    private static int maxOf(Node node) {
+        return node == null ? 0 : node.max;
+    }
+
+    private static int minOf(Node node) {
+        return node == null ? 0 : node.min;
+    }
+
+    private static int clamp(LocalDate date) {
+        return (int) Math.max(0, Math.min(SPAN - 1, date.toEpochDay()));
+    }
+}
@@ -0,0 +1,21 @@
+package com.oncoresi.query.analytics;
+
+/**
+ * 成绩分布直方图的分组维度
+ */
+public enum ScoreDimension {
+    /**
+     * 按考试（dim_id = 考试ID）
+     */
+    EXAM,
+
+    /**
+     * 按学员所属科室（dim_id = 科室ID）
+     */
+    DEPARTMENT,
+
+    /**
+     * 按学员入培年度（dim_id = 账号创建年份；系统暂无入培年度字段，以开通账号的年份近似）
+     */
+    COHORT
+}
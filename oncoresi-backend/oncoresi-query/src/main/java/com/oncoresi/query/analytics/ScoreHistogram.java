@@ -0,0 +1,154 @@
+package com.oncoresi.query.analytics;
+
+import com.oncoresi.domain.valueobject.ScoreGrade;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 成绩分布直方图（0-100 分共 101 个计数槽）
+ * <p>
+ * 成绩是 0-100 的整数，直方图大小固定、可直接相加合并；
+ * 百分位数、中位数、等级分布都由计数槽计算，不需要回读成绩明细。
+ * 计数槽使用原子数组，事件线程写入与查询线程读取可以并发进行。
+ */
+public class ScoreHistogram {
+
+    public static final int SLOT_COUNT = 101;
+
+    private final AtomicLongArray counts = new AtomicLongArray(SLOT_COUNT);
+
+    /**
+     * 记录一个成绩
+     */
+    public void add(int score) {
+        add(score, 1);
+    }
+
+    /**
+     * 记录某分数的若干个成绩
+     */
+    public void add(int score, long count) {
+        if (score < 0 || score >= SLOT_COUNT) {
+            throw new IllegalArgumentException("分数必须在0-100之间: " + score);
+        }
+        counts.addAndGet(score, count);
+    }
+
+    /**
+     * 合并另一个直方图
+     */
+    public ScoreHistogram merge(ScoreHistogram other) {
+        for (int score = 0; score < SLOT_COUNT; score++) {
+            long count = other.counts.get(score);
+            if (count != 0) {
+                counts.addAndGet(score, count);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * 某分数的人数
+     */
+    public long countOf(int score) {
+        return counts.get(score);
+    }
+
+    /**
+     * 总人数
+     */
+    public long totalCount() {
+        long total = 0;
+        for (int score = 0; score < SLOT_COUNT; score++) {
+            total += counts.get(score);
+        }
+        return total;
+    }
+
+    /**
+     * 平均分
+     */
+    public double mean() {
+        long total = 0;
+        long sum = 0;
+        for (int score = 0; score < SLOT_COUNT; score++) {
+            long count = counts.get(score);
+            total += count;
+            sum += count * score;
+        }
+        return total == 0 ? 0.0 : (double) sum / total;
+    }
+
+    /**
+     * 百分位数（最近秩法），如 percentile(50) 为中位数
+     *
+     * @param percentile 0-100
+     * @return 分数；直方图为空时返回 -1
+     */
+    public int percentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("百分位必须在0-100之间: " + percentile);
+        }
+
+        long total = totalCount();
+        if (total == 0) {
+            return -1;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+        long cumulative = 0;
+        for (int score = 0; score < SLOT_COUNT; score++) {
+            cumulative += counts.get(score);
+            if (cumulative >= rank) {
+                return score;
+            }
+        }
+        return SLOT_COUNT - 1;
+    }
+
+    /**
+     * 中位数
+     */
+    public int median() {
+        return percentile(50);
+    }
+
+    /**
+     * 分数 ≥ 指定分数的人数（如及格人数）
+     */
+    public long countAtLeast(int minScore) {
+        long total = 0;
+        for (int score = Math.max(0, minScore); score < SLOT_COUNT; score++) {
+            total += counts.get(score);
+        }
+        return total;
+    }
+
+    /**
+     * 各成绩等级人数
+     */
+    public Map<ScoreGrade, Long> gradeBands() {
+        Map<ScoreGrade, Long> bands = new EnumMap<>(ScoreGrade.class);
+        for (ScoreGrade grade : ScoreGrade.values()) {
+            long total = 0;
+            for (int score = grade.getMinScore(); score <= grade.getMaxScore(); score++) {
+                total += counts.get(score);
+            }
+            bands.put(grade, total);
+        }
+        return bands;
+    }
+
+    /**
+     * 计数槽快照
+     */
+    public long[] toArray() {
+        long[] snapshot = new long[SLOT_COUNT];
+        for (int score = 0; score < SLOT_COUNT; score++) {
+            snapshot[score] = counts.get(score);
+        }
+        return snapshot;
+    }
+}
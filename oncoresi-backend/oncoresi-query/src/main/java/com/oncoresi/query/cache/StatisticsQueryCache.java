@@ -0,0 +1,146 @@
+package com.oncoresi.query.cache;
+
+import com.oncoresi.infra.security.DataScopeContext;
+import com.oncoresi.infra.security.SecurityContextHolder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * 统计查询结果缓存（本地缓存）
+ * <p>
+ * 缓存键为（查询名称, 目标ID, 数据权限），带 TTL 过期；
+ * 同一个键的并发加载只会执行一次查询（single-flight），其余请求等待同一个结果。
+ * 相关领域事件到达时由 StatisticsCacheEventHandler 失效缓存。
+ * <p>
+ * 命中缓存时返回的是同一个结果对象（统计 DTO 为可变对象，在多个请求间共享），调用方只能读取，不得修改。
+ */
+@Slf4j
+@Component
+public class StatisticsQueryCache {
+
+    private final ConcurrentMap<CacheKey, CacheEntry> cache = new ConcurrentHashMap<>();
+
+    private final long ttlNanos;
+
+    private final int maxEntries;
+
+    public StatisticsQueryCache(@Value("${oncoresi.query.cache.ttl:PT5M}") Duration ttl,
+                                @Value("${oncoresi.query.cache.max-entries:10000}") int maxEntries) {
+        this.ttlNanos = ttl.toNanos();
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * 缓存键
+     */
+    record CacheKey(String query, Long targetId, String dataScope) {
+    }
+
+    /**
+     * 缓存条目（future 未完成时表示正在加载）
+     */
+    private record CacheEntry(CompletableFuture<Object> future, long expiresAt) {
+
+        boolean isUsable(long now) {
+            return now - expiresAt < 0 && !future.isCompletedExceptionally();
+        }
+    }
+
+    /**
+     * 获取缓存结果，不存在或已过期时调用 loader 加载
+     *
+     * @param query    查询名称
+     * @param targetId 查询目标ID（科室ID、医院ID等）
+     * @param loader   实际执行查询的加载器
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String query, Long targetId, Supplier<T> loader) {
+        CacheKey key = new CacheKey(query, targetId, currentDataScope());
+        long now = System.nanoTime();
+        CacheEntry fresh = new CacheEntry(new CompletableFuture<>(), now + ttlNanos);
+
+        CacheEntry current = cache.compute(key,
+                (k, existing) -> existing != null && existing.isUsable(now) ? existing : fresh);
+
+        if (current == fresh) {
+            // 当前线程负责加载，其余线程等待同一个 future
+            evictExpiredIfFull(now);
+            try {
+                T value = loader.get();
+                fresh.future().complete(value);
+                return value;
+            } catch (Throwable e) {
+                // 任何异常（含 Error 与绕过编译检查抛出的受检异常）都必须完成 future，否则等待者永远阻塞
+                cache.remove(key, fresh);
+                fresh.future().completeExceptionally(e);
+                throw rethrow(e);
+            }
+        }
+
+        log.debug("统计查询命中缓存: query={}, targetId={}", query, targetId);
+        try {
+            return (T) current.future().join();
+        } catch (CompletionException e) {
+            throw rethrow(e.getCause() != null ? e.getCause() : e);
+        }
+    }
+
+    /**
+     * 失效全部缓存
+     */
+    public void invalidateAll() {
+        int size = cache.size();
+        cache.clear();
+        log.info("统计查询缓存已失效: entries={}", size);
+    }
+
+    /**
+     * 失效指定查询的全部缓存
+     */
+    public void invalidate(String query) {
+        cache.keySet().removeIf(key -> key.query().equals(query));
+    }
+
+    /**
+     * 缓存条目超过上限时清理已过期条目
+     */
+    private void evictExpiredIfFull(long now) {
+        if (cache.size() > maxEntries) {
+            cache.values().removeIf(entry -> entry.future().isDone() && !entry.isUsable(now));
+        }
+    }
+
+    private static RuntimeException rethrow(Throwable e) {
+        if (e instanceof RuntimeException runtime) {
+            return runtime;
+        }
+        if (e instanceof Error error) {
+            throw error;
+        }
+        return new CompletionException(e);
+    }
+
+    /**
+     * 当前请求的数据权限标识（不同数据权限的查询结果不能共用）
+     */
+    private static String currentDataScope() {
+        DataScopeContext context = SecurityContextHolder.getDataScopeContext();
+        if (context == null || context.getScopeType() == null) {
+            return "NONE";
+        }
+
+        return switch (context.getScopeType()) {
+            case ALL -> "ALL:" + context.getHospitalId();
+            case DEPT -> "DEPT:" + context.getDeptId();
+            case SUPERVISED, SELF -> context.getScopeType().name() + ":" + context.getUserId();
+        };
+    }
+}
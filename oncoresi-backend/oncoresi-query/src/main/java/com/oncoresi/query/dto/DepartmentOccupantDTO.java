@@ -0,0 +1,32 @@
+package com.oncoresi.query.dto;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+
+/**
+ * 科室在岗学员DTO（查询模型）
+ */
+@Data
+public class DepartmentOccupantDTO {
+
+    /**
+     * 学员ID
+     */
+    private Long traineeId;
+
+    /**
+     * 学员姓名
+     */
+    private String traineeName;
+
+    /**
+     * 轮转开始日期
+     */
+    private LocalDate startDate;
+
+    /**
+     * 轮转结束日期
+     */
+    private LocalDate endDate;
+}
@@ -0,0 +1,64 @@
+package com.oncoresi.query.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * 科室绩效周期报表DTO（查询模型）
+ * 用于月度/季度/年度报表和科室排名
+ */
+@Data
+public class DepartmentPerformanceDTO {
+
+    /**
+     * 科室ID
+     */
+    private Long departmentId;
+
+    /**
+     * 科室名称
+     */
+    private String departmentName;
+
+    /**
+     * 周期类型（DAY/MONTH/QUARTER/YEAR）
+     */
+    private String periodType;
+
+    /**
+     * 周期起始日期
+     */
+    private LocalDate periodStart;
+
+    /**
+     * 出勤率（百分比）
+     */
+    private BigDecimal attendanceRate;
+
+    /**
+     * 考试人次
+     */
+    private Integer examCount;
+
+    /**
+     * 考试平均分
+     */
+    private BigDecimal avgExamScore;
+
+    /**
+     * 考试通过率（百分比）
+     */
+    private BigDecimal examPassRate;
+
+    /**
+     * 课程完成人次
+     */
+    private Integer completedCourseCount;
+
+    /**
+     * 科室排名（按考试平均分、通过率排序）
+     */
+    private Integer rank;
+}
@@ -0,0 +1,42 @@
+package com.oncoresi.query.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 全院培训统计汇总DTO（按科室并行计算后合并）
+ */
+@Data
+public class HospitalStatisticsSummaryDTO {
+
+    /**
+     * 医院ID
+     */
+    private Long hospitalId;
+
+    /**
+     * 科室总数
+     */
+    private Integer departmentCount;
+
+    /**
+     * 学员统计明细（按科室名称、学员姓名排序，未分配科室的学员在最后）
+     */
+    private List<TrainingStatisticsDTO> trainees;
+
+    /**
+     * 超时或失败、未计入结果的科室ID
+     */
+    private List<Long> failedDepartmentIds;
+
+    /**
+     * 未分配本院科室的学员切片是否超时或失败（未计入结果）
+     */
+    private boolean unassignedFailed;
+
+    /**
+     * 是否为部分结果（存在未完成的科室）
+     */
+    private boolean partial;
+}
@@ -0,0 +1,27 @@
+package com.oncoresi.query.dto;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+
+/**
+ * 科室空余窗口DTO（查询模型）
+ */
+@Data
+public class OccupancyWindowDTO {
+
+    /**
+     * 窗口开始日期
+     */
+    private LocalDate startDate;
+
+    /**
+     * 窗口结束日期
+     */
+    private LocalDate endDate;
+
+    /**
+     * 窗口天数
+     */
+    private Long days;
+}
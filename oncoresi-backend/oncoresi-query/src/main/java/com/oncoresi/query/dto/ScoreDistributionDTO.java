@@ -0,0 +1,64 @@
+package com.oncoresi.query.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 成绩分布DTO（查询模型）
+ */
+@Data
+public class ScoreDistributionDTO {
+
+    /**
+     * 分组维度（EXAM/DEPARTMENT/COHORT）
+     */
+    private String dimension;
+
+    /**
+     * 参与合并的分组ID
+     */
+    private List<Long> groupIds;
+
+    /**
+     * 总人次
+     */
+    private Long totalCount;
+
+    /**
+     * 平均分
+     */
+    private BigDecimal mean;
+
+    /**
+     * 中位数
+     */
+    private Integer median;
+
+    /**
+     * 25 百分位
+     */
+    private Integer p25;
+
+    /**
+     * 75 百分位
+     */
+    private Integer p75;
+
+    /**
+     * 90 百分位
+     */
+    private Integer p90;
+
+    /**
+     * 各等级人数（优秀/良好/中等/及格/不及格）
+     */
+    private Map<String, Long> gradeBands;
+
+    /**
+     * 0-100 分各分数人数
+     */
+    private long[] buckets;
+}
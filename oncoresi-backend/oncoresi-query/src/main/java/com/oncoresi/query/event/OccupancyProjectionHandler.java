@@ -0,0 +1,113 @@
+package com.oncoresi.query.event;
+
+import com.oncoresi.domain.event.CohortPlanClonedEvent;
+import com.oncoresi.domain.event.RotationAddedEvent;
+import com.oncoresi.query.service.DepartmentOccupancyService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.rocketmq.spring.annotation.MessageModel;
+import org.apache.rocketmq.spring.annotation.RocketMQMessageListener;
+import org.apache.rocketmq.spring.core.RocketMQListener;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * 科室在岗时间轴投影处理器
+ */
+@Slf4j
+public class OccupancyProjectionHandler {
+
+    /**
+     * 轮转添加 → 持久化轮转记录（集群消费，只写一次）
+     */
+    @Component
+    @RequiredArgsConstructor
+    @ConditionalOnProperty(name = "rocketmq.name-server")
+    @RocketMQMessageListener(
+            topic = "domain-events",
+            selectorExpression = "ROTATION_ADDED",
+            consumerGroup = "occupancy-projection-consumer"
+    )
+    public static class OccupancyProjection implements RocketMQListener<RotationAddedEvent> {
+
+        private final DepartmentOccupancyService departmentOccupancyService;
+
+        @Override
+        public void onMessage(RotationAddedEvent event) {
+            departmentOccupancyService.persist(event);
+
+            log.debug("轮转已写入科室在岗记录: departmentId={}, traineeId={}",
+                    event.departmentId(), event.traineeId());
+        }
+    }
+
+    /**
+     * 轮转添加 → 更新本节点时间轴
+     * <p>
+     * 时间轴是每个节点的本地索引，因此使用广播模式，保证所有节点都收到增量
+     */
+    @Component
+    @RequiredArgsConstructor
+    @ConditionalOnProperty(name = "rocketmq.name-server")
+    @RocketMQMessageListener(
+            topic = "domain-events",
+            selectorExpression = "ROTATION_ADDED",
+            consumerGroup = "occupancy-index-consumer",
+            messageModel = MessageModel.BROADCASTING
+    )
+    public static class OccupancyIndexHandler implements RocketMQListener<RotationAddedEvent> {
+
+        private final DepartmentOccupancyService departmentOccupancyService;
+
+        @Override
+        public void onMessage(RotationAddedEvent event) {
+            departmentOccupancyService.index(event);
+        }
+    }
+
+    /**
+     * 届次计划克隆 → 批量持久化整份计划的轮转记录
+     */
+    @Component
+    @RequiredArgsConstructor
+    @ConditionalOnProperty(name = "rocketmq.name-server")
+    @RocketMQMessageListener(
+            topic = "domain-events",
+            selectorExpression = "COHORT_PLAN_CLONED",
+            consumerGroup = "occupancy-cohort-projection-consumer"
+    )
+    public static class CohortOccupancyProjection implements RocketMQListener<CohortPlanClonedEvent> {
+
+        private final DepartmentOccupancyService departmentOccupancyService;
+
+        @Override
+        public void onMessage(CohortPlanClonedEvent event) {
+            departmentOccupancyService.persistPlan(event.planId());
+        }
+    }
+
+    /**
+     * 届次计划克隆 → 将整份计划的轮转加入本节点时间轴（广播）
+     */
+    @Component
+    @RequiredArgsConstructor
+    @ConditionalOnProperty(name = "rocketmq.name-server")
+    @RocketMQMessageListener(
+            topic = "domain-events",
+            selectorExpression = "COHORT_PLAN_CLONED",
+            consumerGroup = "occupancy-cohort-index-consumer",
+            messageModel = MessageModel.BROADCASTING
+    )
+    public static class CohortOccupancyIndexHandler implements RocketMQListener<CohortPlanClonedEvent> {
+
+        private final DepartmentOccupancyService departmentOccupancyService;
+
+        @Override
+        public void onMessage(CohortPlanClonedEvent event) {
+            departmentOccupancyService.indexPlan(event.planId());
+
+            log.debug("届次计划轮转已加入科室时间轴: planId={}, rotations={}",
+                    event.planId(), event.rotationCount());
+        }
+    }
+}
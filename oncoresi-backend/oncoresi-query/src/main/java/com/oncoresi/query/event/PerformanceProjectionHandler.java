@@ -0,0 +1,152 @@
+package com.oncoresi.query.event;
+
+import com.oncoresi.domain.event.CourseCompletedEvent;
+import com.oncoresi.domain.event.ExamCompletedEvent;
+import com.oncoresi.domain.event.ExamScoreChangedEvent;
+import com.oncoresi.query.service.PerformanceRollupService;
+import com.oncoresi.query.service.ScoreDistributionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.rocketmq.spring.annotation.RocketMQMessageListener;
+import org.apache.rocketmq.spring.core.RocketMQListener;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * 绩效分析读模型投影处理器
+ * 订阅考核、学习相关领域事件，增量维护绩效汇总数据（重复投递由 ProcessedEventLog 去重）
+ */
+@Slf4j
+public class PerformanceProjectionHandler {
+
+    /**
+     * 考试完成 → 累加科室考试人次、总分、通过人次
+     */
+    @Component
+    @RequiredArgsConstructor
+    @ConditionalOnProperty(name = "rocketmq.name-server")
+    @RocketMQMessageListener(
+            topic = "domain-events",
+            selectorExpression = "EXAM_COMPLETED",
+            consumerGroup = "performance-exam-consumer"
+    )
+    public static class ExamCompletedProjection implements RocketMQListener<ExamCompletedEvent> {
+
+        private final PerformanceRollupService performanceRollupService;
+
+        @Override
+        public void onMessage(ExamCompletedEvent event) {
+            performanceRollupService.recordExam(
+                    event.examId(),
+                    event.traineeId(),
+                    event.scoredDate(),
+                    event.score().score(),
+                    event.score().passed()
+            );
+
+            log.debug("考试成绩已计入绩效汇总: examId={}, traineeId={}", event.examId(), event.traineeId());
+        }
+    }
+
+    /**
+     * 考试成绩变更 → 在原成绩所在的桶内撤销旧的总分、通过人次并计入新成绩
+     */
+    @Component
+    @RequiredArgsConstructor
+    @ConditionalOnProperty(name = "rocketmq.name-server")
+    @RocketMQMessageListener(
+            topic = "domain-events",
+            selectorExpression = "EXAM_SCORE_CHANGED",
+            consumerGroup = "performance-exam-score-consumer"
+    )
+    public static class ExamScoreChangedProjection implements RocketMQListener<ExamScoreChangedEvent> {
+
+        private final PerformanceRollupService performanceRollupService;
+
+        @Override
+        public void onMessage(ExamScoreChangedEvent event) {
+            performanceRollupService.recordExamScoreChanged(
+                    event.changeId(),
+                    event.traineeId(),
+                    event.submitTime().toLocalDate(),
+                    event.previousScore().score(),
+                    event.previousScore().passed(),
+                    event.score().score(),
+                    event.score().passed()
+            );
+
+            log.debug("考试成绩变更已计入绩效汇总: examId={}, traineeId={}", event.examId(), event.traineeId());
+        }
+    }
+
+    /**
+     * 考试完成 → 成绩计入考试/科室/入培年度分布直方图
+     */
+    @Component
+    @RequiredArgsConstructor
+    @ConditionalOnProperty(name = "rocketmq.name-server")
+    @RocketMQMessageListener(
+            topic = "domain-events",
+            selectorExpression = "EXAM_COMPLETED",
+            consumerGroup = "score-histogram-consumer"
+    )
+    public static class ScoreHistogramProjection implements RocketMQListener<ExamCompletedEvent> {
+
+        private final ScoreDistributionService scoreDistributionService;
+
+        @Override
+        public void onMessage(ExamCompletedEvent event) {
+            scoreDistributionService.recordScore(event.examId(), event.traineeId(), event.score().score());
+
+            log.debug("考试成绩已计入成绩分布: examId={}, traineeId={}", event.examId(), event.traineeId());
+        }
+    }
+
+    /**
+     * 考试成绩变更 → 旧分数计数 -1、新分数计数 +1
+     */
+    @Component
+    @RequiredArgsConstructor
+    @ConditionalOnProperty(name = "rocketmq.name-server")
+    @RocketMQMessageListener(
+            topic = "domain-events",
+            selectorExpression = "EXAM_SCORE_CHANGED",
+            consumerGroup = "score-histogram-change-consumer"
+    )
+    public static class ScoreHistogramChangeProjection implements RocketMQListener<ExamScoreChangedEvent> {
+
+        private final ScoreDistributionService scoreDistributionService;
+
+        @Override
+        public void onMessage(ExamScoreChangedEvent event) {
+            scoreDistributionService.recordScoreChange(event.changeId(), event.examId(), event.traineeId(),
+                    event.previousScore().score(), event.score().score());
+
+            log.debug("考试成绩变更已计入成绩分布: examId={}, traineeId={}", event.examId(), event.traineeId());
+        }
+    }
+
+    /**
+     * 课程完成 → 累加科室课程完成人次
+     */
+    @Component
+    @RequiredArgsConstructor
+    @ConditionalOnProperty(name = "rocketmq.name-server")
+    @RocketMQMessageListener(
+            topic = "domain-events",
+            selectorExpression = "COURSE_COMPLETED",
+            consumerGroup = "performance-course-consumer"
+    )
+    public static class CourseCompletedProjection implements RocketMQListener<CourseCompletedEvent> {
+
+        private final PerformanceRollupService performanceRollupService;
+
+        @Override
+        public void onMessage(CourseCompletedEvent event) {
+            performanceRollupService.recordCourseCompleted(event.courseId(), event.traineeId(),
+                    event.occurredOn().toLocalDate());
+
+            log.debug("课程完成已计入绩效汇总: courseId={}, traineeId={}", event.courseId(), event.traineeId());
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.oncoresi.query.event;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * 读模型投影的已处理事件记录
+ * <p>
+ * RocketMQ 至少投递一次，同一事件可能重复到达；累加型投影在自己的事务内先登记事件，
+ * 登记成功（首次处理）才累加，重复投递登记失败直接跳过。
+ * 事件键取业务上的唯一标识（如 考试ID + 学员ID），同一业务事实重复发布也只计一次。
+ */
+@Component
+@RequiredArgsConstructor
+public class ProcessedEventLog {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 登记事件（须在投影的事务内调用，投影回滚时登记一并回滚）
+     *
+     * @param consumer 投影名称（不同投影各自登记）
+     * @param eventKey 事件键
+     * @return 首次登记为 true，已处理过为 false
+     */
+    public boolean markProcessed(String consumer, String eventKey) {
+        return jdbcTemplate.update("""
+                INSERT INTO projection_processed_event (consumer, event_key) VALUES (?, ?)
+                ON DUPLICATE KEY UPDATE NOTHING
+                """, consumer, eventKey) > 0;
+    }
+}
@@ -0,0 +1,44 @@
+package com.oncoresi.query.event;
+
+import com.oncoresi.query.cache.StatisticsQueryCache;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.rocketmq.common.message.MessageExt;
+import org.apache.rocketmq.spring.annotation.MessageModel;
+import org.apache.rocketmq.spring.annotation.RocketMQMessageListener;
+import org.apache.rocketmq.spring.core.RocketMQListener;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * 统计缓存失效事件处理器
+ */
+@Slf4j
+public class StatisticsCacheEventHandler {
+
+    /**
+     * 学员注册、角色变更会改变科室/全院学员名单，收到后失效统计缓存
+     * <p>
+     * 缓存是每个节点的本地缓存，因此使用广播模式，保证所有节点都收到失效通知
+     */
+    @Component
+    @RequiredArgsConstructor
+    @ConditionalOnProperty(name = "rocketmq.name-server")
+    @RocketMQMessageListener(
+            topic = "domain-events",
+            selectorExpression = "USER_REGISTERED || ROLE_ASSIGNED",
+            consumerGroup = "statistics-cache-consumer",
+            messageModel = MessageModel.BROADCASTING
+    )
+    public static class StatisticsCacheInvalidationHandler implements RocketMQListener<MessageExt> {
+
+        private final StatisticsQueryCache statisticsQueryCache;
+
+        @Override
+        public void onMessage(MessageExt message) {
+            log.debug("收到统计缓存失效事件: type={}", message.getTags());
+
+            statisticsQueryCache.invalidateAll();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.oncoresi.query.mapper;
+
+import com.oncoresi.query.dto.TrainingStatisticsDTO;
+import org.springframework.jdbc.IncorrectResultSetColumnCountException;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * 培训统计行映射器（按列下标映射，无反射）
+ * <p>
+ * 替代 BeanPropertyRowMapper：后者每行都要按列名匹配属性、通过反射调用 setter 并做类型转换，
+ * 这里直接按固定列顺序读取，要求 SQL 的 SELECT 列顺序与下方常量保持一致。
+ */
+public final class TrainingStatisticsRowMapper implements RowMapper<TrainingStatisticsDTO> {
+
+    /**
+     * 单例（无状态，线程安全）
+     */
+    public static final TrainingStatisticsRowMapper INSTANCE = new TrainingStatisticsRowMapper();
+
+    private static final int TRAINEE_ID = 1;
+    private static final int TRAINEE_NAME = 2;
+    private static final int DEPARTMENT_NAME = 3;
+    private static final int ATTENDANCE_COUNT = 4;
+    private static final int TOTAL_DAYS = 5;
+    private static final int ATTENDANCE_RATE = 6;
+    private static final int EXAM_COUNT = 7;
+    private static final int AVG_EXAM_SCORE = 8;
+    private static final int EXAM_PASS_RATE = 9;
+    private static final int COMPLETED_COURSE_COUNT = 10;
+    private static final int TOTAL_COURSE_COUNT = 11;
+    private static final int COURSE_COMPLETION_RATE = 12;
+    private static final int OVERALL_SCORE = 13;
+    private static final int RATING = 14;
+
+    /**
+     * 期望的列数
+     */
+    public static final int COLUMN_COUNT = RATING;
+
+    private TrainingStatisticsRowMapper() {
+    }
+
+    @Override
+    public TrainingStatisticsDTO mapRow(ResultSet rs, int rowNum) throws SQLException {
+        // 只在首行校验列数，防止 SQL 调整后列顺序错位
+        if (rowNum == 0) {
+            int actual = rs.getMetaData().getColumnCount();
+            if (actual != COLUMN_COUNT) {
+                throw new IncorrectResultSetColumnCountException(COLUMN_COUNT, actual);
+            }
+        }
+
+        TrainingStatisticsDTO dto = new TrainingStatisticsDTO();
+        dto.setTraineeId(getLong(rs, TRAINEE_ID));
+        dto.setTraineeName(rs.getString(TRAINEE_NAME));
+        dto.setDepartmentName(rs.getString(DEPARTMENT_NAME));
+        dto.setAttendanceCount(getInteger(rs, ATTENDANCE_COUNT));
+        dto.setTotalDays(getInteger(rs, TOTAL_DAYS));
+        dto.setAttendanceRate(rs.getBigDecimal(ATTENDANCE_RATE));
+        dto.setExamCount(getInteger(rs, EXAM_COUNT));
+        dto.setAvgExamScore(rs.getBigDecimal(AVG_EXAM_SCORE));
+        dto.setExamPassRate(rs.getBigDecimal(EXAM_PASS_RATE));
+        dto.setCompletedCourseCount(getInteger(rs, COMPLETED_COURSE_COUNT));
+        dto.setTotalCourseCount(getInteger(rs, TOTAL_COURSE_COUNT));
+        dto.setCourseCompletionRate(rs.getBigDecimal(COURSE_COMPLETION_RATE));
+        dto.setOverallScore(rs.getBigDecimal(OVERALL_SCORE));
+        dto.setRating(rs.getString(RATING));
+        return dto;
+    }
+
+    /**
+     * 读取可空整数列（与 BeanPropertyRowMapper 对包装类型的处理一致，NULL 映射为 null）
+     */
+    private static Integer getInteger(ResultSet rs, int index) throws SQLException {
+        int value = rs.getInt(index);
+        return rs.wasNull() ? null : value;
+    }
+
+    /**
+     * 读取可空长整数列
+     */
+    private static Long getLong(ResultSet rs, int index) throws SQLException {
+        long value = rs.getLong(index);
+        return rs.wasNull() ? null : value;
+    }
+}
@@ -0,0 +1,57 @@
+package com.oncoresi.query.rollup;
+
+/**
+ * 汇总指标增量（可加合并）
+ * 各字段均为计数或求和，因此任意两个桶可以直接相加合并
+ */
+public record RollupMetrics(
+        int attendanceDays,
+        int attendanceTotal,
+        int examCount,
+        int examPassCount,
+        long examScoreSum,
+        int courseCompletedCount
+) {
+
+    /**
+     * 一次考勤记录
+     */
+    public static RollupMetrics attendance(boolean attended) {
+        return new RollupMetrics(attended ? 1 : 0, 1, 0, 0, 0, 0);
+    }
+
+    /**
+     * 一次考试成绩
+     */
+    public static RollupMetrics exam(int score, boolean passed) {
+        return new RollupMetrics(0, 0, 1, passed ? 1 : 0, score, 0);
+    }
+
+    /**
+     * 一次考试成绩变更（撤销旧成绩、计入新成绩，考试人次不变）
+     */
+    public static RollupMetrics examScoreChange(int previousScore, boolean previousPassed, int score, boolean passed) {
+        return new RollupMetrics(0, 0, 0, (passed ? 1 : 0) - (previousPassed ? 1 : 0), score - previousScore, 0);
+    }
+
+    /**
+     * 一次课程完成
+     */
+    public static RollupMetrics courseCompleted() {
+        return new RollupMetrics(0, 0, 0, 0, 0, 1);
+    }
+
+    /**
+     * 合并两个桶
+     */
+    public RollupMetrics merge(RollupMetrics other) {
+        return new RollupMetrics(
+                attendanceDays + other.attendanceDays,
+                attendanceTotal + other.attendanceTotal,
+                examCount + other.examCount,
+                examPassCount + other.examPassCount,
+                examScoreSum + other.examScoreSum,
+                courseCompletedCount + other.courseCompletedCount
+        );
+    }
+}
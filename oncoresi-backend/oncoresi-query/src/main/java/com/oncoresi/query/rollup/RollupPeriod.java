@@ -0,0 +1,50 @@
+package com.oncoresi.query.rollup;
+
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+/**
+ * 汇总周期
+ * DAY 为基础桶，其余周期由日桶合并得到
+ */
+public enum RollupPeriod {
+
+    DAY("日"),
+    MONTH("月度"),
+    QUARTER("季度"),
+    YEAR("年度");
+
+    private final String displayName;
+
+    RollupPeriod(String displayName) {
+        this.displayName = displayName;
+    }
+
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * 计算日期所属周期桶的起始日期
+     */
+    public LocalDate bucketStart(LocalDate date) {
+        return switch (this) {
+            case DAY -> date;
+            case MONTH -> date.withDayOfMonth(1);
+            case QUARTER -> LocalDate.of(date.getYear(), ((date.getMonthValue() - 1) / 3) * 3 + 1, 1);
+            case YEAR -> date.with(TemporalAdjusters.firstDayOfYear());
+        };
+    }
+
+    /**
+     * 计算周期桶的结束日期（含）
+     */
+    public LocalDate bucketEnd(LocalDate bucketStart) {
+        return switch (this) {
+            case DAY -> bucketStart;
+            case MONTH -> bucketStart.plusMonths(1).minusDays(1);
+            case QUARTER -> bucketStart.plusMonths(3).minusDays(1);
+            case YEAR -> bucketStart.plusYears(1).minusDays(1);
+        };
+    }
+}
@@ -0,0 +1,129 @@
+package com.oncoresi.query.service;
+
+import com.oncoresi.domain.exception.DomainException;
+import com.oncoresi.infra.security.DataScopeContext;
+import com.oncoresi.infra.security.DataScopeContext.DataScopeType;
+import com.oncoresi.infra.security.SecurityContextHolder;
+import com.oncoresi.query.analytics.ScoreDimension;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 统计查询的数据权限校验
+ * <p>
+ * 统计读模型通过 JdbcTemplate 或内存结构查询，不经过 MyBatis 数据权限拦截器，
+ * 按路径或参数中的医院、科室、考试查询前需要显式校验当前用户的数据权限：
+ * 全院权限限本院（未关联医院时不限），科室权限限本科室，带教与个人权限不能查看统计。
+ * 没有数据权限上下文（内部调用）时不限制。
+ */
+@Component
+@RequiredArgsConstructor
+public class DataScopeGuard {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 校验可访问整个医院的数据
+     */
+    public void checkHospital(Long hospitalId) {
+        DataScopeContext context = SecurityContextHolder.getDataScopeContext();
+        if (context == null) {
+            return;
+        }
+
+        boolean allowed = context.getScopeType() == DataScopeType.ALL
+                && (context.getHospitalId() == null || context.getHospitalId().equals(hospitalId));
+        if (!allowed) {
+            throw DomainException.of("无权查看该医院的统计数据: " + hospitalId);
+        }
+    }
+
+    /**
+     * 校验可访问该科室的数据
+     */
+    public void checkDepartment(Long deptId) {
+        checkDepartments(List.of(deptId));
+    }
+
+    /**
+     * 校验可访问全部科室的数据
+     */
+    public void checkDepartments(Collection<Long> deptIds) {
+        DataScopeContext context = SecurityContextHolder.getDataScopeContext();
+        if (context == null || deptIds.isEmpty()) {
+            return;
+        }
+
+        boolean allowed = switch (context.getScopeType()) {
+            case ALL -> context.getHospitalId() == null || countOutside(
+                    "SELECT count(*) FROM unnest(?) AS d(id) "
+                            + "LEFT JOIN sys_department sd ON sd.id = d.id "
+                            + "WHERE sd.hospital_id IS DISTINCT FROM ?",
+                    deptIds, context.getHospitalId()) == 0;
+            case DEPT -> deptIds.stream().allMatch(id -> Objects.equals(id, context.getDeptId()));
+            case SUPERVISED, SELF -> false;
+        };
+        if (!allowed) {
+            throw DomainException.of("无权查看该科室的统计数据: " + deptIds);
+        }
+    }
+
+    /**
+     * 校验可访问考试的成绩数据：考试不属于医院或科室，要求全部答卷的学员都在数据权限内
+     */
+    public void checkExams(Collection<Long> examIds) {
+        DataScopeContext context = SecurityContextHolder.getDataScopeContext();
+        if (context == null || examIds.isEmpty()) {
+            return;
+        }
+
+        boolean allowed = switch (context.getScopeType()) {
+            case ALL -> context.getHospitalId() == null || countOutside(
+                    "SELECT count(*) FROM exam_submission s LEFT JOIN sys_user u ON u.id = s.trainee_id "
+                            + "WHERE s.exam_id = ANY (?) AND u.hospital_id IS DISTINCT FROM ?",
+                    examIds, context.getHospitalId()) == 0;
+            case DEPT -> countOutside(
+                    "SELECT count(*) FROM exam_submission s LEFT JOIN sys_user u ON u.id = s.trainee_id "
+                            + "WHERE s.exam_id = ANY (?) AND u.dept_id IS DISTINCT FROM ?",
+                    examIds, context.getDeptId()) == 0;
+            case SUPERVISED, SELF -> false;
+        };
+        if (!allowed) {
+            throw DomainException.of("考试包含数据权限以外学员的成绩，无权查看: " + examIds);
+        }
+    }
+
+    /**
+     * 校验可访问成绩分布的分组
+     * 入培年度分组跨医院、科室累计，只有不限医院的全院权限可以查看
+     */
+    public void checkScoreGroups(ScoreDimension dimension, Collection<Long> groupIds) {
+        switch (dimension) {
+            case EXAM -> checkExams(groupIds);
+            case DEPARTMENT -> checkDepartments(groupIds);
+            case COHORT -> {
+                DataScopeContext context = SecurityContextHolder.getDataScopeContext();
+                if (context != null && (context.getScopeType() != DataScopeType.ALL
+                        || context.getHospitalId() != null)) {
+                    throw DomainException.of("入培年度成绩分布跨医院统计，无权查看");
+                }
+            }
+        }
+    }
+
+    private long countOutside(String sql, Collection<Long> ids, Long scopeId) {
+        Long count = jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql);
+            ps.setArray(1, con.createArrayOf("bigint", ids.toArray()));
+            ps.setObject(2, scopeId);
+            return ps;
+        }, rs -> rs.next() ? rs.getLong(1) : 0L);
+        return count != null ? count : 0;
+    }
+}
@@ -0,0 +1,327 @@
+package com.oncoresi.query.service;
+
+import com.oncoresi.domain.event.RotationAddedEvent;
+import com.oncoresi.query.analytics.OccupancyTimeline;
+import com.oncoresi.query.analytics.OccupancyTimeline.Occupant;
+import com.oncoresi.query.dto.DepartmentOccupantDTO;
+import com.oncoresi.query.dto.OccupancyWindowDTO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 科室在岗时间轴服务（CQRS - 读模型）
+ * <p>
+ * 每个节点在启动时从轮转表加载进程内的科室时间轴，之后由轮转事件按（计划, 学员）重新读取轮转表对账：
+ * 新增的轮转加入时间轴，已删除或改期的轮转移除，因此结束日期变更、删除和整份计划重写都能反映到时间轴上。
+ * 对账在按计划分段的锁内读取并应用，后到的对账总是读到更新的已提交数据，事件乱序或重复投递不影响结果；
+ * 启动加载期间到达的事件先记下，加载完成后再对账，不会被加载的旧快照覆盖。
+ * dept_rotation_occupancy 以同样方式对账，供报表按科室查询。
+ * <p>
+ * “某日在岗学员”“区间峰值”“空余窗口”均在时间轴上以对数复杂度完成；查询按数据权限限制可访问的科室
+ * （时间轴在内存中，不经过数据权限拦截器，由 DataScopeGuard 显式校验）。
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DepartmentOccupancyService {
+
+    /**
+     * 对账锁分段数（同一计划的对账串行执行）
+     */
+    private static final int LOCK_STRIPES = 64;
+
+    private static final String ROTATION_SELECT =
+            "SELECT trainee_id, dept_id, start_date, end_date FROM training_rotation WHERE plan_id = ?";
+
+    private static final String UPSERT_SQL = """
+            INSERT INTO dept_rotation_occupancy (trainee_id, dept_id, start_date, end_date, plan_id, rotation_id)
+            SELECT trainee_id, dept_id, start_date, end_date, plan_id, id
+            FROM training_rotation WHERE plan_id = ?%s
+            ON DUPLICATE KEY UPDATE
+                end_date = EXCLUDED.end_date,
+                plan_id = EXCLUDED.plan_id,
+                rotation_id = EXCLUDED.rotation_id
+            """;
+
+    private static final String DELETE_STALE_SQL = """
+            DELETE FROM dept_rotation_occupancy o
+            WHERE o.plan_id = ?%s
+              AND NOT EXISTS (SELECT 1 FROM training_rotation r
+                              WHERE r.plan_id = o.plan_id AND r.trainee_id = o.trainee_id
+                                AND r.dept_id = o.dept_id AND r.start_date = o.start_date)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final DataScopeGuard dataScopeGuard;
+
+    private final Map<Long, OccupancyTimeline> timelines = new ConcurrentHashMap<>();
+
+    /**
+     * 时间轴中每个（计划, 学员）当前已索引的轮转，对账时与轮转表比较
+     */
+    private final Map<PlanTrainee, Set<Placement>> placements = new ConcurrentHashMap<>();
+
+    private final Object[] stripes = createStripes();
+
+    /**
+     * 启动加载期间到达的对账请求（学员为空表示整份计划；为 null 表示不在加载中）
+     */
+    private Set<PlanTrainee> deferred = new HashSet<>();
+
+    private record PlanTrainee(Long planId, Long traineeId) {
+    }
+
+    private record Placement(Long deptId, Occupant occupant) {
+    }
+
+    /**
+     * 启动时从轮转表构建时间轴，再补做加载期间到达的对账
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        int[] loaded = {0};
+        Map<PlanTrainee, Set<Placement>> snapshot = new HashMap<>();
+        jdbcTemplate.query("SELECT plan_id, trainee_id, dept_id, start_date, end_date FROM training_rotation", rs -> {
+            Long traineeId = rs.getLong(2);
+            snapshot.computeIfAbsent(new PlanTrainee(rs.getLong(1), traineeId), key -> new HashSet<>())
+                    .add(new Placement(rs.getLong(3), new Occupant(traineeId,
+                            rs.getDate(4).toLocalDate(), rs.getDate(5).toLocalDate())));
+            loaded[0]++;
+        });
+        snapshot.forEach((key, current) -> {
+            synchronized (stripe(key.planId())) {
+                apply(key, current);
+            }
+        });
+
+        Set<PlanTrainee> pending;
+        synchronized (this) {
+            pending = deferred;
+            deferred = null;
+        }
+        pending.forEach(key -> reconcileIndex(key.planId(), key.traineeId()));
+
+        log.info("科室在岗时间轴已加载: departments={}, rotations={}, deferred={}",
+                timelines.size(), loaded[0], pending.size());
+    }
+
+    /**
+     * 按轮转表对账学员在该计划中的在岗记录
+     */
+    public void persist(RotationAddedEvent event) {
+        reconcileTable(event.planId(), event.traineeId());
+    }
+
+    /**
+     * 按轮转表对账整份计划的在岗记录（届次计划克隆只发布汇总事件，明细从轮转表读取）
+     */
+    public void persistPlan(Long planId) {
+        int rows = reconcileTable(planId, null);
+
+        log.info("计划轮转已写入科室在岗记录: planId={}, rows={}", planId, rows);
+    }
+
+    /**
+     * 按轮转表对账整份计划在本节点时间轴中的轮转
+     */
+    public void indexPlan(Long planId) {
+        reconcileIndex(planId, null);
+    }
+
+    /**
+     * 按轮转表对账学员在该计划中的轮转
+     */
+    public void index(RotationAddedEvent event) {
+        reconcileIndex(event.planId(), event.traineeId());
+    }
+
+    /**
+     * 对账持久化的在岗记录：写入新增或改期的轮转，删除轮转表中已不存在的记录
+     *
+     * @param traineeId 为空表示整份计划
+     * @return 写入的记录数
+     */
+    private int reconcileTable(Long planId, Long traineeId) {
+        String filter = traineeId == null ? "" : " AND trainee_id = ?";
+        Object[] args = traineeId == null ? new Object[]{planId} : new Object[]{planId, traineeId};
+        int rows = jdbcTemplate.update(UPSERT_SQL.formatted(filter), args);
+        int deleted = jdbcTemplate.update(DELETE_STALE_SQL.formatted(traineeId == null ? "" : " AND o.trainee_id = ?"),
+                args);
+        if (deleted > 0) {
+            log.debug("已删除失效的科室在岗记录: planId={}, traineeId={}, rows={}", planId, traineeId, deleted);
+        }
+        return rows;
+    }
+
+    /**
+     * 对账本节点时间轴（在计划分段锁内读取轮转表并应用差异）
+     *
+     * @param traineeId 为空表示整份计划
+     */
+    private void reconcileIndex(Long planId, Long traineeId) {
+        synchronized (this) {
+            if (deferred != null) {
+                deferred.add(new PlanTrainee(planId, traineeId));
+                return;
+            }
+        }
+
+        synchronized (stripe(planId)) {
+            Map<PlanTrainee, Set<Placement>> current = new HashMap<>();
+            if (traineeId == null) {
+                placements.keySet().stream()
+                        .filter(key -> key.planId().equals(planId))
+                        .forEach(key -> current.put(key, new HashSet<>()));
+                jdbcTemplate.query(ROTATION_SELECT, rs -> {
+                    addPlacement(current, planId, rs);
+                }, planId);
+            } else {
+                current.put(new PlanTrainee(planId, traineeId), new HashSet<>());
+                jdbcTemplate.query(ROTATION_SELECT + " AND trainee_id = ?", rs -> {
+                    addPlacement(current, planId, rs);
+                }, planId, traineeId);
+            }
+            current.forEach(this::apply);
+        }
+    }
+
+    private static void addPlacement(Map<PlanTrainee, Set<Placement>> current, Long planId, ResultSet rs)
+            throws SQLException {
+        Long traineeId = rs.getLong(1);
+        current.computeIfAbsent(new PlanTrainee(planId, traineeId), key -> new HashSet<>())
+                .add(new Placement(rs.getLong(2), new Occupant(traineeId,
+                        rs.getDate(3).toLocalDate(), rs.getDate(4).toLocalDate())));
+    }
+
+    /**
+     * 将（计划, 学员）的已索引轮转替换为 current（调用方持有计划分段锁）
+     */
+    private void apply(PlanTrainee key, Set<Placement> current) {
+        Set<Placement> previous = placements.getOrDefault(key, Set.of());
+        for (Placement placement : previous) {
+            if (!current.contains(placement)) {
+                OccupancyTimeline timeline = timelines.get(placement.deptId());
+                if (timeline != null) {
+                    timeline.remove(placement.occupant());
+                }
+            }
+        }
+        for (Placement placement : current) {
+            if (!previous.contains(placement)) {
+                timelines.computeIfAbsent(placement.deptId(), id -> new OccupancyTimeline())
+                        .add(placement.occupant());
+            }
+        }
+
+        if (current.isEmpty()) {
+            placements.remove(key);
+        } else {
+            placements.put(key, current);
+        }
+    }
+
+    private Object stripe(Long planId) {
+        return stripes[Math.floorMod(planId.hashCode(), LOCK_STRIPES)];
+    }
+
+    private static Object[] createStripes() {
+        Object[] locks = new Object[LOCK_STRIPES];
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new Object();
+        }
+        return locks;
+    }
+
+    /**
+     * 查询某日在科室轮转的学员
+     */
+    public List<DepartmentOccupantDTO> getOccupants(Long deptId, LocalDate date) {
+        dataScopeGuard.checkDepartment(deptId);
+        OccupancyTimeline timeline = timelines.get(deptId);
+        if (timeline == null) {
+            return List.of();
+        }
+
+        List<Occupant> occupants = timeline.occupantsOn(date);
+        Map<Long, String> names = loadTraineeNames(occupants);
+
+        List<DepartmentOccupantDTO> result = new ArrayList<>(occupants.size());
+        for (Occupant occupant : occupants) {
+            DepartmentOccupantDTO dto = new DepartmentOccupantDTO();
+            dto.setTraineeId(occupant.traineeId());
+            dto.setTraineeName(names.get(occupant.traineeId()));
+            dto.setStartDate(occupant.startDate());
+            dto.setEndDate(occupant.endDate());
+            result.add(dto);
+        }
+        result.sort(Comparator.comparing(DepartmentOccupantDTO::getStartDate)
+                .thenComparing(DepartmentOccupantDTO::getTraineeId));
+        return result;
+    }
+
+    /**
+     * 查询日期范围内科室在岗人数峰值
+     */
+    public int getPeakOccupancy(Long deptId, LocalDate from, LocalDate to) {
+        dataScopeGuard.checkDepartment(deptId);
+        OccupancyTimeline timeline = timelines.get(deptId);
+        return timeline == null ? 0 : timeline.peak(from, to);
+    }
+
+    /**
+     * 查询日期范围内仍可再接收 seats 名学员的连续窗口
+     *
+     * @param capacity 科室同时在岗学员上限
+     * @param seats    需要的空位数
+     */
+    public List<OccupancyWindowDTO> getFreeWindows(Long deptId, LocalDate from, LocalDate to,
+                                                   int capacity, int seats) {
+        dataScopeGuard.checkDepartment(deptId);
+        OccupancyTimeline timeline = timelines.getOrDefault(deptId, new OccupancyTimeline());
+
+        List<OccupancyWindowDTO> result = new ArrayList<>();
+        for (OccupancyTimeline.Window window : timeline.windowsAtMost(from, to, capacity - seats)) {
+            OccupancyWindowDTO dto = new OccupancyWindowDTO();
+            dto.setStartDate(window.startDate());
+            dto.setEndDate(window.endDate());
+            dto.setDays(ChronoUnit.DAYS.between(window.startDate(), window.endDate()) + 1);
+            result.add(dto);
+        }
+        return result;
+    }
+
+    private Map<Long, String> loadTraineeNames(List<Occupant> occupants) {
+        if (occupants.isEmpty()) {
+            return Map.of();
+        }
+
+        List<Long> traineeIds = occupants.stream().map(Occupant::traineeId).distinct().toList();
+        String placeholders = String.join(", ", Collections.nCopies(traineeIds.size(), "?"));
+
+        Map<Long, String> names = new HashMap<>();
+        jdbcTemplate.query("SELECT id, real_name FROM sys_user WHERE id IN (" + placeholders + ")",
+                rs -> {
+                    names.put(rs.getLong(1), rs.getString(2));
+                }, traineeIds.toArray());
+        return names;
+    }
+}
@@ -0,0 +1,148 @@
+package com.oncoresi.query.service;
+
+import com.oncoresi.query.dto.HospitalStatisticsSummaryDTO;
+import com.oncoresi.query.dto.TrainingStatisticsDTO;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * 全院统计按科室并行计算服务
+ * <p>
+ * 每个科室的统计切片在独立的虚拟线程上计算，并发度受信号量限制（与连接池大小匹配），
+ * 所有切片共享一个截止时间：超时或失败的科室记入 failedDepartmentIds，其余结果照常合并返回。
+ * 没有科室（或科室不属于本院）的学员单独作为一个切片，合并结果与全院顺序查询（HOSPITAL_STATISTICS_SQL）一致：
+ * 各科室按科室名称排序依次拼接（每个切片内按学员姓名排序），未分配科室的学员在最后。
+ * <p>
+ * 说明：Java 21 中 StructuredTaskScope 仍为预览特性，这里使用虚拟线程执行器 + 统一截止时间实现同样的
+ * “全部派发、统一收集、超时取消”语义，避免全局开启 --enable-preview。
+ */
+@Slf4j
+@Service
+public class HospitalStatisticsFanOutService {
+
+    private final TrainingStatisticsQueryService trainingStatisticsQueryService;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * 限制同时访问数据库的切片数，避免耗尽连接池
+     */
+    private final Semaphore concurrencyLimit;
+
+    private final Duration sliceTimeout;
+
+    public HospitalStatisticsFanOutService(TrainingStatisticsQueryService trainingStatisticsQueryService,
+                                           JdbcTemplate jdbcTemplate,
+                                           @Value("${oncoresi.query.fan-out.max-concurrency:8}") int maxConcurrency,
+                                           @Value("${oncoresi.query.fan-out.slice-timeout:PT5S}") Duration sliceTimeout) {
+        this.trainingStatisticsQueryService = trainingStatisticsQueryService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.concurrencyLimit = new Semaphore(maxConcurrency);
+        this.sliceTimeout = sliceTimeout;
+    }
+
+    /**
+     * 并行计算全院培训统计汇总（数据权限由调用方按医院校验，切片不读取数据权限上下文）
+     */
+    public HospitalStatisticsSummaryDTO getHospitalSummary(Long hospitalId) {
+        // 科室顺序由数据库按科室名称排序，与顺序查询的排序规则（含中文排序规则）一致
+        List<Long> departmentIds = jdbcTemplate.queryForList(
+                "SELECT id FROM sys_department WHERE hospital_id = ? ORDER BY dept_name, id", Long.class, hospitalId);
+
+        Map<Long, Future<List<TrainingStatisticsDTO>>> slices = new LinkedHashMap<>();
+        for (Long departmentId : departmentIds) {
+            slices.put(departmentId, executor.submit(() -> computeSlice(
+                    () -> trainingStatisticsQueryService.getHospitalDepartmentSlice(hospitalId, departmentId))));
+        }
+        Future<List<TrainingStatisticsDTO>> unassigned = executor.submit(() -> computeSlice(
+                () -> trainingStatisticsQueryService.getHospitalUnassignedSlice(hospitalId)));
+
+        long deadline = System.nanoTime() + sliceTimeout.toNanos();
+        List<TrainingStatisticsDTO> trainees = new ArrayList<>();
+        List<Long> failedDepartmentIds = new ArrayList<>();
+
+        for (Map.Entry<Long, Future<List<TrainingStatisticsDTO>>> slice : slices.entrySet()) {
+            Long departmentId = slice.getKey();
+            Future<List<TrainingStatisticsDTO>> future = slice.getValue();
+            try {
+                long remaining = Math.max(0, deadline - System.nanoTime());
+                trainees.addAll(future.get(remaining, TimeUnit.NANOSECONDS));
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                failedDepartmentIds.add(departmentId);
+                log.warn("科室统计切片超时: hospitalId={}, departmentId={}", hospitalId, departmentId);
+            } catch (ExecutionException e) {
+                failedDepartmentIds.add(departmentId);
+                log.error("科室统计切片失败: hospitalId={}, departmentId={}", hospitalId, departmentId, e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                slices.values().forEach(f -> f.cancel(true));
+                unassigned.cancel(true);
+                throw new IllegalStateException("全院统计计算被中断", e);
+            }
+        }
+
+        boolean unassignedFailed = false;
+        try {
+            long remaining = Math.max(0, deadline - System.nanoTime());
+            trainees.addAll(unassigned.get(remaining, TimeUnit.NANOSECONDS));
+        } catch (TimeoutException e) {
+            unassigned.cancel(true);
+            unassignedFailed = true;
+            log.warn("未分配科室学员统计切片超时: hospitalId={}", hospitalId);
+        } catch (ExecutionException e) {
+            unassignedFailed = true;
+            log.error("未分配科室学员统计切片失败: hospitalId={}", hospitalId, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            unassigned.cancel(true);
+            throw new IllegalStateException("全院统计计算被中断", e);
+        }
+
+        HospitalStatisticsSummaryDTO summary = new HospitalStatisticsSummaryDTO();
+        summary.setHospitalId(hospitalId);
+        summary.setDepartmentCount(departmentIds.size());
+        summary.setTrainees(trainees);
+        summary.setFailedDepartmentIds(failedDepartmentIds);
+        summary.setUnassignedFailed(unassignedFailed);
+        summary.setPartial(!failedDepartmentIds.isEmpty() || unassignedFailed);
+        return summary;
+    }
+
+    /**
+     * 在并发度限制内计算单个切片
+     */
+    private List<TrainingStatisticsDTO> computeSlice(Supplier<List<TrainingStatisticsDTO>> slice)
+            throws InterruptedException {
+        concurrencyLimit.acquire();
+        try {
+            return slice.get();
+        } finally {
+            concurrencyLimit.release();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,176 @@
+package com.oncoresi.query.service;
+
+import com.oncoresi.query.analytics.DailyRollupColumnStore;
+import com.oncoresi.query.dto.DepartmentPerformanceDTO;
+import com.oncoresi.query.rollup.RollupMetrics;
+import com.oncoresi.query.rollup.RollupPeriod;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 绩效即席分析服务（CQRS - 分析读模型）
+ * <p>
+ * 定期从 perf_dept_rollup 的日桶增量加载到进程内列式快照，
+ * 跨科室对比、趋势分析等重聚合查询只扫描本地快照，不占用 OLTP 数据库资源。
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PerformanceAnalyticsService {
+
+    /**
+     * 增量加载的回看窗口：now() 取的是事务开始时间，晚提交的事务可能带较早的 update_time，
+     * 因此每次从水位线往前多读一段（按主键覆盖写入，重复读取无副作用）
+     */
+    private static final Duration REFRESH_OVERLAP = Duration.ofMinutes(2);
+
+    private static final int FETCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final DailyRollupColumnStore store = new DailyRollupColumnStore();
+
+    /**
+     * 已加载数据的最大 update_time
+     */
+    private volatile Timestamp watermark = new Timestamp(0);
+
+    /**
+     * 增量刷新分析快照
+     */
+    @Scheduled(fixedDelayString = "${oncoresi.query.analytics.refresh-interval:60000}")
+    public void refresh() {
+        Timestamp since = new Timestamp(Math.max(0, watermark.getTime() - REFRESH_OVERLAP.toMillis()));
+        Timestamp[] maxSeen = {watermark};
+        int[] loaded = {0};
+        long[] values = new long[DailyRollupColumnStore.METRIC_COUNT];
+
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement("""
+                SELECT dept_id, period_start, attendance_days, attendance_total, exam_count,
+                       exam_pass_count, exam_score_sum, course_completed_count, update_time
+                FROM perf_dept_rollup
+                WHERE period_type = 'DAY' AND update_time >= ?
+                """, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(FETCH_SIZE);
+            ps.setTimestamp(1, since);
+            return ps;
+        }, rs -> {
+            values[DailyRollupColumnStore.ATTENDANCE_DAYS] = rs.getInt(3);
+            values[DailyRollupColumnStore.ATTENDANCE_TOTAL] = rs.getInt(4);
+            values[DailyRollupColumnStore.EXAM_COUNT] = rs.getInt(5);
+            values[DailyRollupColumnStore.EXAM_PASS_COUNT] = rs.getInt(6);
+            values[DailyRollupColumnStore.EXAM_SCORE_SUM] = rs.getLong(7);
+            values[DailyRollupColumnStore.COURSE_COMPLETED_COUNT] = rs.getInt(8);
+            store.upsert(rs.getLong(1), rs.getDate(2).toLocalDate(), values);
+
+            Timestamp updateTime = rs.getTimestamp(9);
+            if (updateTime.after(maxSeen[0])) {
+                maxSeen[0] = updateTime;
+            }
+            loaded[0]++;
+        });
+
+        watermark = maxSeen[0];
+        if (loaded[0] > 0) {
+            log.debug("绩效分析快照已刷新: loadedRows={}, totalRows={}, watermark={}",
+                    loaded[0], store.size(), watermark);
+        }
+    }
+
+    /**
+     * 跨科室对比：统计全院各科室在日期范围内的汇总指标（含排名）
+     */
+    public List<DepartmentPerformanceDTO> compareDepartments(Long hospitalId, LocalDate from, LocalDate to) {
+        Map<Long, String> departments = loadDepartmentNames(hospitalId);
+        Map<Long, long[]> totals = new HashMap<>();
+
+        store.scan(null, from, to, (deptId, epochDay, metrics, row) -> {
+            if (departments.containsKey(deptId)) {
+                accumulate(totals.computeIfAbsent(deptId, id -> new long[DailyRollupColumnStore.METRIC_COUNT]),
+                        metrics, row);
+            }
+        });
+
+        List<DepartmentPerformanceDTO> result = new ArrayList<>(departments.size());
+        departments.forEach((deptId, deptName) -> result.add(PerformanceRollupService.toReportRow(
+                deptId, deptName, RollupPeriod.DAY, from,
+                toMetrics(totals.getOrDefault(deptId, new long[DailyRollupColumnStore.METRIC_COUNT])))));
+        PerformanceRollupService.rank(result);
+
+        return result;
+    }
+
+    /**
+     * 科室趋势分析：按周期（日/月/季/年）分桶返回指标序列
+     */
+    public List<DepartmentPerformanceDTO> getDepartmentTrend(Long deptId, RollupPeriod period,
+                                                             LocalDate from, LocalDate to) {
+        TreeMap<LocalDate, long[]> buckets = new TreeMap<>();
+
+        store.scan(deptId, from, to, (id, epochDay, metrics, row) -> accumulate(
+                buckets.computeIfAbsent(period.bucketStart(LocalDate.ofEpochDay(epochDay)),
+                        start -> new long[DailyRollupColumnStore.METRIC_COUNT]),
+                metrics, row));
+
+        String deptName = loadDepartmentName(deptId);
+        List<DepartmentPerformanceDTO> trend = new ArrayList<>(buckets.size());
+        buckets.forEach((bucketStart, totals) -> trend.add(PerformanceRollupService.toReportRow(
+                deptId, deptName, period, bucketStart, toMetrics(totals))));
+
+        return trend;
+    }
+
+    /**
+     * 累加一行指标
+     */
+    private static void accumulate(long[] totals, long[][] metrics, int row) {
+        for (int m = 0; m < DailyRollupColumnStore.METRIC_COUNT; m++) {
+            totals[m] += metrics[m][row];
+        }
+    }
+
+    private static RollupMetrics toMetrics(long[] totals) {
+        return new RollupMetrics(
+                (int) totals[DailyRollupColumnStore.ATTENDANCE_DAYS],
+                (int) totals[DailyRollupColumnStore.ATTENDANCE_TOTAL],
+                (int) totals[DailyRollupColumnStore.EXAM_COUNT],
+                (int) totals[DailyRollupColumnStore.EXAM_PASS_COUNT],
+                totals[DailyRollupColumnStore.EXAM_SCORE_SUM],
+                (int) totals[DailyRollupColumnStore.COURSE_COMPLETED_COUNT]
+        );
+    }
+
+    /**
+     * 加载医院的科室名称（科室表很小，按主键/索引读取）
+     */
+    private Map<Long, String> loadDepartmentNames(Long hospitalId) {
+        Map<Long, String> departments = new LinkedHashMap<>();
+        jdbcTemplate.query("SELECT id, dept_name FROM sys_department WHERE hospital_id = ? ORDER BY id",
+                rs -> {
+                    departments.put(rs.getLong(1), rs.getString(2));
+                }, hospitalId);
+        return departments;
+    }
+
+    private String loadDepartmentName(Long deptId) {
+        List<String> names = jdbcTemplate.queryForList(
+                "SELECT dept_name FROM sys_department WHERE id = ?", String.class, deptId);
+        return names.isEmpty() ? null : names.get(0);
+    }
+}
@@ -0,0 +1,268 @@
+package com.oncoresi.query.service;
+
+import com.oncoresi.query.dto.DepartmentPerformanceDTO;
+import com.oncoresi.query.event.ProcessedEventLog;
+import com.oncoresi.query.rollup.RollupMetrics;
+import com.oncoresi.query.rollup.RollupPeriod;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 科室绩效汇总服务（CQRS - 读模型）
+ * <p>
+ * 维护 科室 × 周期 的预聚合桶：每条业务事件以增量方式累加到日桶，
+ * 同时合并进所属的月/季/年桶，报表查询只需读取对应周期的几十行汇总数据，无需扫描明细。
+ * <p>
+ * 事件至少投递一次：每类增量在同一事务内按业务键登记已处理事件，重复投递不会重复累加。
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PerformanceRollupService {
+
+    private static final String UPSERT_SQL = """
+            INSERT INTO perf_dept_rollup (dept_id, period_type, period_start,
+                attendance_days, attendance_total, exam_count, exam_pass_count,
+                exam_score_sum, course_completed_count)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+            ON DUPLICATE KEY UPDATE
+                attendance_days = perf_dept_rollup.attendance_days + EXCLUDED.attendance_days,
+                attendance_total = perf_dept_rollup.attendance_total + EXCLUDED.attendance_total,
+                exam_count = perf_dept_rollup.exam_count + EXCLUDED.exam_count,
+                exam_pass_count = perf_dept_rollup.exam_pass_count + EXCLUDED.exam_pass_count,
+                exam_score_sum = perf_dept_rollup.exam_score_sum + EXCLUDED.exam_score_sum,
+                course_completed_count = perf_dept_rollup.course_completed_count + EXCLUDED.course_completed_count,
+                update_time = now()
+            """;
+
+    private static final String CONSUMER = "perf-rollup";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final ProcessedEventLog processedEventLog;
+
+    /**
+     * 记录学员考试成绩（每名学员每场考试计一次）
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public void recordExam(Long examId, Long traineeId, LocalDate date, int score, boolean passed) {
+        recordOnce("EXAM:" + examId + ":" + traineeId, traineeId, date, RollupMetrics.exam(score, passed));
+    }
+
+    /**
+     * 记录学员考试成绩变更：撤销旧成绩的总分与通过人次并计入新成绩（每次变更按变更ID计一次）
+     *
+     * @param date 与原成绩相同的计入日期，补偿落在原成绩所在的周期桶
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public void recordExamScoreChanged(String changeId, Long traineeId, LocalDate date,
+                                       int previousScore, boolean previousPassed, int score, boolean passed) {
+        recordOnce("EXAM_SCORE:" + changeId, traineeId, date,
+                RollupMetrics.examScoreChange(previousScore, previousPassed, score, passed));
+    }
+
+    /**
+     * 记录学员课程完成（每名学员每门课程计一次）
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public void recordCourseCompleted(Long courseId, Long traineeId, LocalDate date) {
+        recordOnce("COURSE:" + courseId + ":" + traineeId, traineeId, date, RollupMetrics.courseCompleted());
+    }
+
+    /**
+     * 记录学员考勤（每名学员每天计一次）
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public void recordAttendance(Long traineeId, LocalDate date, boolean attended) {
+        recordOnce("ATTENDANCE:" + traineeId + ":" + date, traineeId, date, RollupMetrics.attendance(attended));
+    }
+
+    /**
+     * 将增量累加到科室的日桶及其所属的月/季/年桶
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public void record(Long deptId, LocalDate date, RollupMetrics delta) {
+        List<Object[]> batchArgs = new ArrayList<>(RollupPeriod.values().length);
+        for (RollupPeriod period : RollupPeriod.values()) {
+            batchArgs.add(new Object[]{
+                    deptId,
+                    period.name(),
+                    Date.valueOf(period.bucketStart(date)),
+                    delta.attendanceDays(),
+                    delta.attendanceTotal(),
+                    delta.examCount(),
+                    delta.examPassCount(),
+                    delta.examScoreSum(),
+                    delta.courseCompletedCount()
+            });
+        }
+
+        jdbcTemplate.batchUpdate(UPSERT_SQL, batchArgs);
+    }
+
+    /**
+     * 查询全院各科室在指定周期的绩效报表（含排名）
+     *
+     * @param hospitalId 医院ID
+     * @param period     周期类型
+     * @param date       周期内任意日期
+     */
+    public List<DepartmentPerformanceDTO> getDepartmentReport(Long hospitalId, RollupPeriod period, LocalDate date) {
+        String sql = """
+            SELECT
+                d.id AS dept_id,
+                d.dept_name,
+                COALESCE(r.attendance_days, 0) AS attendance_days,
+                COALESCE(r.attendance_total, 0) AS attendance_total,
+                COALESCE(r.exam_count, 0) AS exam_count,
+                COALESCE(r.exam_pass_count, 0) AS exam_pass_count,
+                COALESCE(r.exam_score_sum, 0) AS exam_score_sum,
+                COALESCE(r.course_completed_count, 0) AS course_completed_count
+            FROM sys_department d
+            LEFT JOIN perf_dept_rollup r
+                ON r.dept_id = d.id AND r.period_type = ? AND r.period_start = ?
+            WHERE d.hospital_id = ?
+            """;
+
+        LocalDate periodStart = period.bucketStart(date);
+        List<DepartmentPerformanceDTO> report = jdbcTemplate.query(sql, (rs, rowNum) -> {
+            RollupMetrics metrics = new RollupMetrics(
+                    rs.getInt("attendance_days"),
+                    rs.getInt("attendance_total"),
+                    rs.getInt("exam_count"),
+                    rs.getInt("exam_pass_count"),
+                    rs.getLong("exam_score_sum"),
+                    rs.getInt("course_completed_count")
+            );
+            return toReportRow(rs.getLong("dept_id"), rs.getString("dept_name"), period, periodStart, metrics);
+        }, period.name(), Date.valueOf(periodStart), hospitalId);
+
+        rank(report);
+        return report;
+    }
+
+    /**
+     * 由日桶重新合并生成指定日期范围内的月/季/年桶
+     * 用于历史数据回填或修复，正常情况下增量维护即可
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public void rebuildDerivedBuckets(LocalDate from, LocalDate to) {
+        rebuild(RollupPeriod.MONTH, "month", from, to);
+        rebuild(RollupPeriod.QUARTER, "quarter", from, to);
+        rebuild(RollupPeriod.YEAR, "year", from, to);
+        log.info("科室绩效汇总桶重建完成: from={}, to={}", from, to);
+    }
+
+    /**
+     * 按周期合并日桶
+     */
+    private void rebuild(RollupPeriod period, String truncUnit, LocalDate from, LocalDate to) {
+        LocalDate start = period.bucketStart(from);
+        LocalDate end = period.bucketEnd(period.bucketStart(to));
+
+        jdbcTemplate.update(
+                "DELETE FROM perf_dept_rollup WHERE period_type = ? AND period_start BETWEEN ? AND ?",
+                period.name(), Date.valueOf(start), Date.valueOf(end)
+        );
+
+        jdbcTemplate.update("""
+            INSERT INTO perf_dept_rollup (dept_id, period_type, period_start,
+                attendance_days, attendance_total, exam_count, exam_pass_count,
+                exam_score_sum, course_completed_count)
+            SELECT
+                dept_id,
+                ?,
+                CAST(date_trunc('%s', period_start) AS DATE),
+                SUM(attendance_days),
+                SUM(attendance_total),
+                SUM(exam_count),
+                SUM(exam_pass_count),
+                SUM(exam_score_sum),
+                SUM(course_completed_count)
+            FROM perf_dept_rollup
+            WHERE period_type = 'DAY' AND period_start BETWEEN ? AND ?
+            GROUP BY dept_id, CAST(date_trunc('%s', period_start) AS DATE)
+            """.formatted(truncUnit, truncUnit),
+                period.name(), Date.valueOf(start), Date.valueOf(end)
+        );
+    }
+
+    /**
+     * 事件首次处理时按学员所属科室记录增量，重复投递时忽略
+     */
+    private void recordOnce(String eventKey, Long traineeId, LocalDate date, RollupMetrics delta) {
+        if (!processedEventLog.markProcessed(CONSUMER, eventKey)) {
+            log.debug("重复事件已忽略: eventKey={}", eventKey);
+            return;
+        }
+        recordForTrainee(traineeId, date, delta);
+    }
+
+    /**
+     * 按学员所属科室记录增量（学员未分配科室时忽略）
+     */
+    private void recordForTrainee(Long traineeId, LocalDate date, RollupMetrics delta) {
+        List<Long> deptIds = jdbcTemplate.queryForList(
+                "SELECT dept_id FROM sys_user WHERE id = ? AND dept_id IS NOT NULL", Long.class, traineeId);
+        if (deptIds.isEmpty()) {
+            log.warn("学员未分配科室，跳过绩效汇总: traineeId={}", traineeId);
+            return;
+        }
+
+        record(deptIds.get(0), date, delta);
+    }
+
+    /**
+     * 按考试平均分、通过率降序排名
+     */
+    static void rank(List<DepartmentPerformanceDTO> report) {
+        report.sort((a, b) -> {
+            int byScore = b.getAvgExamScore().compareTo(a.getAvgExamScore());
+            return byScore != 0 ? byScore : b.getExamPassRate().compareTo(a.getExamPassRate());
+        });
+        for (int i = 0; i < report.size(); i++) {
+            report.get(i).setRank(i + 1);
+        }
+    }
+
+    /**
+     * 汇总指标转换为报表行
+     */
+    static DepartmentPerformanceDTO toReportRow(Long deptId, String deptName, RollupPeriod period,
+                                                        LocalDate periodStart, RollupMetrics metrics) {
+        DepartmentPerformanceDTO dto = new DepartmentPerformanceDTO();
+        dto.setDepartmentId(deptId);
+        dto.setDepartmentName(deptName);
+        dto.setPeriodType(period.name());
+        dto.setPeriodStart(periodStart);
+        dto.setAttendanceRate(percentage(metrics.attendanceDays(), metrics.attendanceTotal()));
+        dto.setExamCount(metrics.examCount());
+        dto.setAvgExamScore(metrics.examCount() == 0 ? BigDecimal.ZERO.setScale(2)
+                : BigDecimal.valueOf(metrics.examScoreSum())
+                        .divide(BigDecimal.valueOf(metrics.examCount()), 2, RoundingMode.HALF_UP));
+        dto.setExamPassRate(percentage(metrics.examPassCount(), metrics.examCount()));
+        dto.setCompletedCourseCount(metrics.courseCompletedCount());
+        return dto;
+    }
+
+    /**
+     * 计算百分比（保留2位小数）
+     */
+    private static BigDecimal percentage(long numerator, long denominator) {
+        if (denominator == 0) {
+            return BigDecimal.ZERO.setScale(2);
+        }
+        return BigDecimal.valueOf(numerator * 100L)
+                .divide(BigDecimal.valueOf(denominator), 2, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,182 @@
+package com.oncoresi.query.service;
+
+import com.oncoresi.query.analytics.ScoreDimension;
+import com.oncoresi.query.analytics.ScoreHistogram;
+import com.oncoresi.query.dto.ScoreDistributionDTO;
+import com.oncoresi.query.event.ProcessedEventLog;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 成绩分布服务（CQRS - 读模型）
+ * <p>
+ * 按 考试 / 科室 / 入培年度 维护 0-100 分的计数直方图（每个分组至多 101 行），
+ * 考试完成事件只做计数 +1，成绩变更事件将旧分数计数 -1、新分数计数 +1；任意分组层级（单场考试、多个科室、全院）的分布
+ * 由计数槽相加得到，百分位、中位数、等级分布都不需要回读成绩明细。
+ * <p>
+ * 每名学员每场考试只计一次：计数前在同一事务内登记已处理事件，事件重复投递时不重复计数。
+ * <p>
+ * 注意：系统中尚无学员入培年度字段，入培年度维度近似取学员账号的创建年度（账号在入培报到时开通）；
+ * 补录、迁移或提前开通的账号会被计入开通当年。
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ScoreDistributionService {
+
+    private static final String UPSERT_SQL = """
+            INSERT INTO perf_score_histogram (dim_type, dim_id, score, hit_count)
+            VALUES (?, ?, ?, ?)
+            ON DUPLICATE KEY UPDATE
+                hit_count = perf_score_histogram.hit_count + EXCLUDED.hit_count,
+                update_time = now()
+            """;
+
+    private static final String CONSUMER = "score-histogram";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final ProcessedEventLog processedEventLog;
+
+    /**
+     * 记录一次考试成绩（同时计入考试、科室、入培年度三个维度；同一学员同一场考试重复记录时忽略）
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public void recordScore(Long examId, Long traineeId, int score) {
+        if (!processedEventLog.markProcessed(CONSUMER, "EXAM:" + examId + ":" + traineeId)) {
+            log.debug("重复的成绩事件已忽略: examId={}, traineeId={}", examId, traineeId);
+            return;
+        }
+
+        List<Object[]> batchArgs = new ArrayList<>(ScoreDimension.values().length);
+        for (Object[] group : groupsOf(examId, traineeId)) {
+            batchArgs.add(new Object[]{group[0], group[1], score, 1});
+        }
+        jdbcTemplate.batchUpdate(UPSERT_SQL, batchArgs);
+    }
+
+    /**
+     * 记录一次成绩变更：各维度旧分数计数 -1、新分数计数 +1（每次变更按变更ID计一次）
+     */
+    @Transactional(rollbackFor = Exception.class)
+    public void recordScoreChange(String changeId, Long examId, Long traineeId, int previousScore, int score) {
+        if (!processedEventLog.markProcessed(CONSUMER, "EXAM_SCORE:" + changeId)) {
+            log.debug("重复的成绩变更事件已忽略: examId={}, traineeId={}, changeId={}", examId, traineeId, changeId);
+            return;
+        }
+        if (previousScore == score) {
+            return;
+        }
+
+        List<Object[]> batchArgs = new ArrayList<>(ScoreDimension.values().length * 2);
+        for (Object[] group : groupsOf(examId, traineeId)) {
+            batchArgs.add(new Object[]{group[0], group[1], previousScore, -1});
+            batchArgs.add(new Object[]{group[0], group[1], score, 1});
+        }
+        jdbcTemplate.batchUpdate(UPSERT_SQL, batchArgs);
+    }
+
+    /**
+     * 成绩所属的分组（维度, 分组ID）：考试、学员所属科室、入培年度
+     */
+    private List<Object[]> groupsOf(Long examId, Long traineeId) {
+        List<Object[]> groups = new ArrayList<>(ScoreDimension.values().length);
+        groups.add(new Object[]{ScoreDimension.EXAM.name(), examId});
+
+        // 入培年度近似为账号创建年度（见类注释）
+        jdbcTemplate.query(
+                "SELECT dept_id, EXTRACT(YEAR FROM create_time) FROM sys_user WHERE id = ?",
+                rs -> {
+                    long deptId = rs.getLong(1);
+                    if (!rs.wasNull()) {
+                        groups.add(new Object[]{ScoreDimension.DEPARTMENT.name(), deptId});
+                    }
+                    groups.add(new Object[]{ScoreDimension.COHORT.name(), rs.getLong(2)});
+                }, traineeId);
+
+        if (groups.size() == 1) {
+            log.warn("学员信息不存在，成绩仅计入考试维度: examId={}, traineeId={}", examId, traineeId);
+        }
+        return groups;
+    }
+
+    /**
+     * 查询一个或多个分组合并后的成绩分布
+     *
+     * @param dimension 分组维度
+     * @param groupIds  分组ID（考试ID / 科室ID / 入培年度）
+     */
+    public ScoreDistributionDTO getDistribution(ScoreDimension dimension, List<Long> groupIds) {
+        return toDistribution(dimension, groupIds, loadHistogram(dimension, groupIds));
+    }
+
+    /**
+     * 查询全院成绩分布（合并全院各科室直方图）
+     */
+    public ScoreDistributionDTO getHospitalDistribution(Long hospitalId) {
+        List<Long> departmentIds = jdbcTemplate.queryForList(
+                "SELECT id FROM sys_department WHERE hospital_id = ?", Long.class, hospitalId);
+        return getDistribution(ScoreDimension.DEPARTMENT, departmentIds);
+    }
+
+    /**
+     * 读取并合并分组的计数槽
+     */
+    private ScoreHistogram loadHistogram(ScoreDimension dimension, List<Long> groupIds) {
+        ScoreHistogram histogram = new ScoreHistogram();
+        if (groupIds.isEmpty()) {
+            return histogram;
+        }
+
+        String placeholders = String.join(", ", Collections.nCopies(groupIds.size(), "?"));
+        Object[] args = new Object[groupIds.size() + 1];
+        args[0] = dimension.name();
+        for (int i = 0; i < groupIds.size(); i++) {
+            args[i + 1] = groupIds.get(i);
+        }
+
+        jdbcTemplate.query(
+                "SELECT score, hit_count FROM perf_score_histogram WHERE dim_type = ? AND dim_id IN ("
+                        + placeholders + ")",
+                rs -> {
+                    histogram.add(rs.getInt(1), rs.getLong(2));
+                }, args);
+
+        return histogram;
+    }
+
+    private static ScoreDistributionDTO toDistribution(ScoreDimension dimension, List<Long> groupIds,
+                                                       ScoreHistogram histogram) {
+        ScoreDistributionDTO dto = new ScoreDistributionDTO();
+        dto.setDimension(dimension.name());
+        dto.setGroupIds(groupIds);
+        dto.setBuckets(histogram.toArray());
+
+        long total = histogram.totalCount();
+        dto.setTotalCount(total);
+        dto.setMean(BigDecimal.valueOf(histogram.mean()).setScale(2, RoundingMode.HALF_UP));
+        if (total > 0) {
+            dto.setMedian(histogram.median());
+            dto.setP25(histogram.percentile(25));
+            dto.setP75(histogram.percentile(75));
+            dto.setP90(histogram.percentile(90));
+        }
+
+        Map<String, Long> gradeBands = new LinkedHashMap<>();
+        histogram.gradeBands().forEach((grade, count) -> gradeBands.put(grade.getDisplayName(), count));
+        dto.setGradeBands(gradeBands);
+
+        return dto;
+    }
+}
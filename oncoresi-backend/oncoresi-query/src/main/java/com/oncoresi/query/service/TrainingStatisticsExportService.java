@@ -0,0 +1,187 @@
+package com.oncoresi.query.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+
+/**
+ * 培训统计流式导出服务（CQRS - 读模型）
+ * <p>
+ * 使用只进游标 + fetchSize 逐批拉取结果行，边读边写入输出流，
+ * 不在内存中物化整个结果集，导出 1 千行与 100 万行的堆占用基本一致。
+ * <p>
+ * 注意：openGauss/PostgreSQL 驱动只有在关闭自动提交时才会按 fetchSize 使用服务端游标，
+ * 因此导出方法必须运行在（只读）事务中。
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TrainingStatisticsExportService {
+
+    /**
+     * 每次从数据库拉取的行数
+     */
+    private static final int FETCH_SIZE = 1000;
+
+    /**
+     * SXSSF 内存中保留的行数，超出部分刷写到临时文件
+     */
+    private static final int XLSX_WINDOW_SIZE = 200;
+
+    /**
+     * 导出表头（与 HOSPITAL_STATISTICS_SQL 的列顺序一致）
+     */
+    private static final String[] HEADERS = {
+            "学员ID", "学员姓名", "科室名称", "出勤天数", "总天数", "出勤率(%)",
+            "考试次数", "考试平均分", "考试通过率(%)", "课程完成数", "总课程数",
+            "课程完成率(%)", "综合评分", "评级"
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 以 CSV 格式流式导出全院培训统计
+     *
+     * @return 导出的数据行数
+     */
+    @Transactional(readOnly = true)
+    public long exportHospitalStatisticsCsv(Long hospitalId, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+
+        // UTF-8 BOM，保证 Excel 直接打开时中文不乱码
+        writer.write('\uFEFF');
+        writeCsvLine(writer, HEADERS);
+
+        long[] rowCount = {0};
+        String[] values = new String[HEADERS.length];
+        streamHospitalRows(hospitalId, rs -> {
+            for (int i = 0; i < values.length; i++) {
+                values[i] = rs.getString(i + 1);
+            }
+            try {
+                writeCsvLine(writer, values);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            rowCount[0]++;
+        });
+
+        writer.flush();
+        log.info("全院培训统计CSV导出完成: hospitalId={}, rows={}", hospitalId, rowCount[0]);
+        return rowCount[0];
+    }
+
+    /**
+     * 以 XLSX 格式流式导出全院培训统计
+     *
+     * @return 导出的数据行数
+     */
+    @Transactional(readOnly = true)
+    public long exportHospitalStatisticsXlsx(Long hospitalId, OutputStream out) throws IOException {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(XLSX_WINDOW_SIZE);
+        workbook.setCompressTempFiles(true);
+
+        try {
+            Sheet sheet = workbook.createSheet("全院培训统计");
+            Row header = sheet.createRow(0);
+            for (int i = 0; i < HEADERS.length; i++) {
+                header.createCell(i).setCellValue(HEADERS[i]);
+            }
+
+            int[] rowIndex = {1};
+            streamHospitalRows(hospitalId, rs -> {
+                Row row = sheet.createRow(rowIndex[0]++);
+                for (int i = 0; i < HEADERS.length; i++) {
+                    writeCell(row.createCell(i), rs.getObject(i + 1));
+                }
+            });
+
+            workbook.write(out);
+            out.flush();
+
+            long rowCount = rowIndex[0] - 1L;
+            log.info("全院培训统计XLSX导出完成: hospitalId={}, rows={}", hospitalId, rowCount);
+            return rowCount;
+        } finally {
+            // 删除 SXSSF 产生的临时文件
+            workbook.dispose();
+            workbook.close();
+        }
+    }
+
+    /**
+     * 使用只进游标逐行回调全院统计数据
+     */
+    private void streamHospitalRows(Long hospitalId, RowCallbackHandler handler) {
+        try {
+            jdbcTemplate.query(con -> {
+                PreparedStatement ps = con.prepareStatement(
+                        TrainingStatisticsQueryService.HOSPITAL_STATISTICS_SQL,
+                        ResultSet.TYPE_FORWARD_ONLY,
+                        ResultSet.CONCUR_READ_ONLY
+                );
+                ps.setFetchSize(FETCH_SIZE);
+                ps.setLong(1, hospitalId);
+                return ps;
+            }, handler);
+        } catch (UncheckedIOException e) {
+            // 客户端中断下载等写出失败，直接终止导出
+            log.warn("全院培训统计导出中断: hospitalId={}, reason={}", hospitalId, e.getCause().getMessage());
+            throw e;
+        }
+    }
+
+    /**
+     * 写入单元格（数值列保持数值类型，便于在 Excel 中直接计算）
+     */
+    private static void writeCell(Cell cell, Object value) {
+        if (value == null) {
+            cell.setBlank();
+        } else if (value instanceof Number number) {
+            cell.setCellValue(number.doubleValue());
+        } else {
+            cell.setCellValue(value.toString());
+        }
+    }
+
+    /**
+     * 写入一行 CSV（RFC 4180 转义）
+     */
+    private static void writeCsvLine(Writer writer, String[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            String value = values[i];
+            if (value == null) {
+                continue;
+            }
+            if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                    || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+                writer.write('"');
+                writer.write(value.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(value);
+            }
+        }
+        writer.write("\r\n");
+    }
+}
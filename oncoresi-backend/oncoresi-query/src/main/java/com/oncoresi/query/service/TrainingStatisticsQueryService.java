@@ -1,9 +1,10 @@
 package com.oncoresi.query.service;
 
+import com.oncoresi.query.cache.StatisticsQueryCache;
 import com.oncoresi.query.dto.TrainingStatisticsDTO;
+import com.oncoresi.query.mapper.TrainingStatisticsRowMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.jdbc.core.BeanPropertyRowMapper;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 
@@ -12,19 +13,17 @@ import java.util.List;
 /**
  * 培训统计查询服务（CQRS - 读模型）
  * 使用原生SQL进行复杂查询，不走领域模型
+ * 所有统计SQL的SELECT列顺序必须与 TrainingStatisticsRowMapper 保持一致
  */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class TrainingStatisticsQueryService {
 
-    private final JdbcTemplate jdbcTemplate;
-
     /**
-     * 查询学员培训统计数据
+     * 学员统计列与关联（各统计查询共用，后接 WHERE 条件）
      */
-    public TrainingStatisticsDTO getTraineeStatistics(Long traineeId) {
-        String sql = """
+    private static final String TRAINEE_STATISTICS_SELECT = """
             SELECT
                 u.id AS traineeId,
                 u.real_name AS traineeName,
@@ -41,23 +40,44 @@ public class TrainingStatisticsQueryService {
                 0.00 AS overallScore,
                 '待评价' AS rating
             FROM sys_user u
+            INNER JOIN sys_user_role ur ON u.id = ur.user_id
+            INNER JOIN sys_role r ON ur.role_id = r.id
             LEFT JOIN sys_department d ON u.dept_id = d.id
-            WHERE u.id = ?
             """;
 
-        List<TrainingStatisticsDTO> results = jdbcTemplate.query(
-                sql,
-                new BeanPropertyRowMapper<>(TrainingStatisticsDTO.class),
-                traineeId
-        );
+    /**
+     * 全院学员统计SQL（按科室、姓名排序），查询与流式导出共用
+     */
+    static final String HOSPITAL_STATISTICS_SQL = TRAINEE_STATISTICS_SELECT + """
+            WHERE u.hospital_id = ? AND r.code = 'TRAINEE'
+            ORDER BY d.dept_name, u.real_name
+            """;
 
-        return results.isEmpty() ? null : results.get(0);
-    }
+    /**
+     * 全院统计的科室切片（与 HOSPITAL_STATISTICS_SQL 相同条件限定到一个科室）
+     */
+    private static final String HOSPITAL_DEPARTMENT_SLICE_SQL = TRAINEE_STATISTICS_SELECT + """
+            WHERE u.hospital_id = ? AND u.dept_id = ? AND r.code = 'TRAINEE'
+            ORDER BY u.real_name
+            """;
 
     /**
-     * 查询科室所有学员的统计数据
+     * 全院统计的未分配科室切片（没有科室或科室不属于本院的学员）
      */
-    public List<TrainingStatisticsDTO> getDepartmentStatistics(Long departmentId) {
+    private static final String HOSPITAL_UNASSIGNED_SLICE_SQL = TRAINEE_STATISTICS_SELECT + """
+            WHERE u.hospital_id = ? AND r.code = 'TRAINEE'
+              AND (u.dept_id IS NULL OR u.dept_id NOT IN (SELECT id FROM sys_department WHERE hospital_id = ?))
+            ORDER BY d.dept_name, u.real_name
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final StatisticsQueryCache statisticsQueryCache;
+
+    /**
+     * 查询学员培训统计数据
+     */
+    public TrainingStatisticsDTO getTraineeStatistics(Long traineeId) {
         String sql = """
             SELECT
                 u.id AS traineeId,
@@ -75,23 +95,58 @@ public class TrainingStatisticsQueryService {
                 0.00 AS overallScore,
                 '待评价' AS rating
             FROM sys_user u
-            INNER JOIN sys_user_role ur ON u.id = ur.user_id
-            INNER JOIN sys_role r ON ur.role_id = r.id
             LEFT JOIN sys_department d ON u.dept_id = d.id
-            WHERE d.id = ? AND r.code = 'TRAINEE'
+            WHERE u.id = ?
             """;
 
-        return jdbcTemplate.query(
+        List<TrainingStatisticsDTO> results = jdbcTemplate.query(
                 sql,
-                new BeanPropertyRowMapper<>(TrainingStatisticsDTO.class),
-                departmentId
+                TrainingStatisticsRowMapper.INSTANCE,
+                traineeId
         );
+
+        return results.isEmpty() ? null : results.get(0);
+    }
+
+    /**
+     * 查询科室所有学员的统计数据（带缓存，返回的列表只读）
+     */
+    public List<TrainingStatisticsDTO> getDepartmentStatistics(Long departmentId) {
+        return statisticsQueryCache.get("department", departmentId,
+                () -> List.copyOf(queryDepartmentStatistics(departmentId)));
     }
 
     /**
-     * 查询全院培训统计汇总
+     * 查询全院培训统计汇总（带缓存，返回的列表只读）
      */
     public List<TrainingStatisticsDTO> getHospitalStatistics(Long hospitalId) {
+        return statisticsQueryCache.get("hospital", hospitalId,
+                () -> List.copyOf(queryHospitalStatistics(hospitalId)));
+    }
+
+    /**
+     * 查询全院统计中一个科室的学员（带缓存，返回的列表只读）
+     * 与 getDepartmentStatistics 不同，只包含本院学员，按学员姓名排序
+     */
+    public List<TrainingStatisticsDTO> getHospitalDepartmentSlice(Long hospitalId, Long departmentId) {
+        return statisticsQueryCache.get("hospital-department", departmentId,
+                () -> List.copyOf(jdbcTemplate.query(HOSPITAL_DEPARTMENT_SLICE_SQL,
+                        TrainingStatisticsRowMapper.INSTANCE, hospitalId, departmentId)));
+    }
+
+    /**
+     * 查询全院统计中未分配本院科室的学员（带缓存，返回的列表只读）
+     */
+    public List<TrainingStatisticsDTO> getHospitalUnassignedSlice(Long hospitalId) {
+        return statisticsQueryCache.get("hospital-unassigned", hospitalId,
+                () -> List.copyOf(jdbcTemplate.query(HOSPITAL_UNASSIGNED_SLICE_SQL,
+                        TrainingStatisticsRowMapper.INSTANCE, hospitalId, hospitalId)));
+    }
+
+    /**
+     * 查询科室学员统计（直接访问数据库）
+     */
+    private List<TrainingStatisticsDTO> queryDepartmentStatistics(Long departmentId) {
         String sql = """
             SELECT
                 u.id AS traineeId,
@@ -112,13 +167,23 @@ public class TrainingStatisticsQueryService {
             INNER JOIN sys_user_role ur ON u.id = ur.user_id
             INNER JOIN sys_role r ON ur.role_id = r.id
             LEFT JOIN sys_department d ON u.dept_id = d.id
-            WHERE u.hospital_id = ? AND r.code = 'TRAINEE'
-            ORDER BY d.dept_name, u.real_name
+            WHERE d.id = ? AND r.code = 'TRAINEE'
             """;
 
         return jdbcTemplate.query(
                 sql,
-                new BeanPropertyRowMapper<>(TrainingStatisticsDTO.class),
+                TrainingStatisticsRowMapper.INSTANCE,
+                departmentId
+        );
+    }
+
+    /**
+     * 查询全院学员统计（直接访问数据库）
+     */
+    private List<TrainingStatisticsDTO> queryHospitalStatistics(Long hospitalId) {
+        return jdbcTemplate.query(
+                HOSPITAL_STATISTICS_SQL,
+                TrainingStatisticsRowMapper.INSTANCE,
                 hospitalId
         );
     }
@@ -0,0 +1,19 @@
+package com.oncoresi.types.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+/**
+ * 自适应考试作答请求DTO（作答当前题）
+ */
+@Data
+public class AdaptiveAnswerRequest {
+
+    @NotNull(message = "题目ID不能为空")
+    private Long questionId;
+
+    /**
+     * 作答（选项字母；判断题为 对/错）
+     */
+    private String answer;
+}
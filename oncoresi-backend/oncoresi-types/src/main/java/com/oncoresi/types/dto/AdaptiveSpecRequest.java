@@ -0,0 +1,42 @@
+package com.oncoresi.types.dto;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+/**
+ * 自适应考试规则请求DTO
+ */
+@Data
+public class AdaptiveSpecRequest {
+
+    @NotBlank(message = "学科不能为空")
+    private String subject;
+
+    /**
+     * 课程类别（为空表示不限）
+     */
+    private String category;
+
+    /**
+     * 作答题数下限（默认 5）
+     */
+    @Min(value = 1, message = "作答题数下限必须大于0")
+    private Integer minItems = 5;
+
+    @NotNull(message = "作答题数上限不能为空")
+    @Min(value = 1, message = "作答题数上限必须大于0")
+    @Max(value = 200, message = "作答题数上限不能超过200")
+    private Integer maxItems;
+
+    /**
+     * 目标标准误（默认 0.3，约相当于信度 0.91）
+     */
+    @DecimalMin(value = "0.05", message = "目标标准误必须在0.05-0.95之间")
+    @DecimalMax(value = "0.95", message = "目标标准误必须在0.05-0.95之间")
+    private Double targetStandardError = 0.3;
+}
@@ -0,0 +1,62 @@
+package com.oncoresi.types.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 自适应考试作答进度响应DTO（未结束时为当前题，结束后为成绩）
+ */
+@Data
+@AllArgsConstructor
+public class AdaptiveStepResponse {
+
+    private Boolean finished;
+
+    /**
+     * 已作答题数
+     */
+    private Integer answeredCount;
+
+    /**
+     * 能力估计（标准正态尺度，0 为平均水平）
+     */
+    private Double theta;
+
+    /**
+     * 测量标准误
+     */
+    private Double standardError;
+
+    /**
+     * 成绩（结束后有值）
+     */
+    private Integer score;
+
+    /**
+     * 当前题（结束后为空，不含正确答案）
+     */
+    private Item item;
+
+    /**
+     * 当前题
+     */
+    @Data
+    @AllArgsConstructor
+    public static class Item {
+
+        /**
+         * 题号（从1开始）
+         */
+        private Integer questionNo;
+
+        private Long questionId;
+
+        private String type;
+
+        private String stem;
+
+        private List<String> options;
+    }
+}
@@ -0,0 +1,40 @@
+package com.oncoresi.types.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 标准答案录入请求DTO（按题号顺序）
+ */
+@Data
+public class AnswerKeyRequest {
+
+    @NotEmpty(message = "标准答案不能为空")
+    @Valid
+    private List<Item> items;
+
+    /**
+     * 单题标准答案
+     */
+    @Data
+    public static class Item {
+
+        @NotNull(message = "题型不能为空")
+        @Pattern(regexp = "SINGLE_CHOICE|MULTIPLE_CHOICE|TRUE_FALSE", message = "题型无效")
+        private String type;
+
+        @NotBlank(message = "正确选项不能为空")
+        private String correctOptions;
+
+        @NotNull(message = "分值不能为空")
+        @Min(value = 1, message = "分值必须大于0")
+        private Integer points;
+    }
+}
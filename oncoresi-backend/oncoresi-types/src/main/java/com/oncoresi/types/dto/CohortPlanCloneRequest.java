@@ -0,0 +1,25 @@
+package com.oncoresi.types.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 按模板生成届次培训计划请求DTO
+ */
+@Data
+public class CohortPlanCloneRequest {
+
+    @NotBlank(message = "计划名称不能为空")
+    private String planName;
+
+    @NotNull(message = "开始日期不能为空")
+    private LocalDate startDate;
+
+    @NotEmpty(message = "学员不能为空")
+    private List<Long> traineeIds;
+}
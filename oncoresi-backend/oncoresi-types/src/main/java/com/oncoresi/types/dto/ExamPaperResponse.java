@@ -0,0 +1,43 @@
+package com.oncoresi.types.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 考生试卷响应DTO（不含正确答案）
+ */
+@Data
+@AllArgsConstructor
+public class ExamPaperResponse {
+
+    private Long examId;
+
+    private Integer totalPoints;
+
+    private List<Item> items;
+
+    /**
+     * 试卷中的一道题
+     */
+    @Data
+    @AllArgsConstructor
+    public static class Item {
+
+        /**
+         * 题号（从1开始，对应答案列表的顺序）
+         */
+        private Integer questionNo;
+
+        private Long questionId;
+
+        private String type;
+
+        private String stem;
+
+        private List<String> options;
+
+        private Integer points;
+    }
+}
@@ -0,0 +1,16 @@
+package com.oncoresi.types.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 交卷请求DTO（成绩由服务端评分，不接收客户端成绩）
+ */
+@Data
+public class ExamSubmitRequest {
+
+    @NotNull(message = "答案不能为空")
+    private List<String> answers;
+}
@@ -0,0 +1,42 @@
+package com.oncoresi.types.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 考试概况响应DTO
+ */
+@Data
+@AllArgsConstructor
+public class ExamSummaryResponse {
+
+    private Long examId;
+
+    private String examName;
+
+    /**
+     * 考试状态：DRAFT, PUBLISHED, IN_PROGRESS, COMPLETED, CANCELLED
+     */
+    private String status;
+
+    private LocalDateTime startTime;
+
+    private LocalDateTime endTime;
+
+    /**
+     * 已交卷人数
+     */
+    private Long submittedCount;
+
+    /**
+     * 及格人数
+     */
+    private Long passedCount;
+
+    /**
+     * 通过率（百分比）
+     */
+    private Double passRate;
+}
@@ -0,0 +1,81 @@
+package com.oncoresi.types.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 题目统计响应DTO（比率为 0-1 的小数，无人作答或无法计算时为空）
+ */
+@Data
+@AllArgsConstructor
+public class ItemStatisticsResponse {
+
+    private Long questionId;
+
+    private String type;
+
+    private String stem;
+
+    /**
+     * 作答人数
+     */
+    private Long responses;
+
+    /**
+     * 答对率（难度）
+     */
+    private Double correctRate;
+
+    /**
+     * 点二列相关系数（与总成绩的相关）
+     */
+    private Double pointBiserial;
+
+    /**
+     * 区分度指数（高分组答对率 - 低分组答对率）
+     */
+    private Double discrimination;
+
+    /**
+     * 高分组（总成绩前27%）答对率
+     */
+    private Double upperCorrectRate;
+
+    /**
+     * 低分组（总成绩后27%）答对率
+     */
+    private Double lowerCorrectRate;
+
+    /**
+     * 未作答率
+     */
+    private Double blankRate;
+
+    private List<Option> options;
+
+    /**
+     * 选项统计
+     */
+    @Data
+    @AllArgsConstructor
+    public static class Option {
+
+        /**
+         * 选项（A-H；判断题为 对/错）
+         */
+        private String option;
+
+        /**
+         * 是否正确选项
+         */
+        private Boolean correct;
+
+        private Double pickRate;
+
+        private Double upperPickRate;
+
+        private Double lowerPickRate;
+    }
+}
@@ -0,0 +1,73 @@
+package com.oncoresi.types.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 随机组卷请求DTO
+ */
+@Data
+public class PaperAssembleRequest {
+
+    @NotEmpty(message = "组卷分层不能为空")
+    @Valid
+    private List<Stratum> strata;
+
+    @NotNull(message = "目标难度不能为空")
+    @DecimalMin(value = "1.0", message = "目标难度必须在1-5之间")
+    @DecimalMax(value = "5.0", message = "目标难度必须在1-5之间")
+    private Double targetDifficulty;
+
+    /**
+     * 平均难度允许偏差（默认 0.1）
+     */
+    @DecimalMin(value = "0.0", message = "难度偏差不能为负数")
+    private Double tolerance = 0.1;
+
+    /**
+     * 最近多少天内用过的题目不再抽取（默认 0，不限制）
+     */
+    @Min(value = 0, message = "冷却天数不能为负数")
+    private Integer cooldownDays = 0;
+
+    /**
+     * 是否组一份全体考生共用的试卷（考生个人的题目与选项顺序自动打乱，默认 false）
+     */
+    private Boolean shared = false;
+
+    /**
+     * 逐人组卷的考生（共用试卷时忽略）
+     */
+    private List<Long> traineeIds;
+
+    /**
+     * 随机种子（为空时随机生成）
+     */
+    private Long seed;
+
+    /**
+     * 组卷分层（条件为空表示不限）
+     */
+    @Data
+    public static class Stratum {
+
+        private String subject;
+
+        private String category;
+
+        private String type;
+
+        private Integer difficulty;
+
+        @NotNull(message = "抽题数量不能为空")
+        @Min(value = 1, message = "抽题数量必须大于0")
+        private Integer count;
+    }
+}
@@ -0,0 +1,19 @@
+package com.oncoresi.types.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+/**
+ * 练习作答请求DTO
+ */
+@Data
+public class PracticeAnswerRequest {
+
+    @NotNull(message = "题目ID不能为空")
+    private Long questionId;
+
+    /**
+     * 作答（选项字母；判断题为 对/错）
+     */
+    private String answer;
+}
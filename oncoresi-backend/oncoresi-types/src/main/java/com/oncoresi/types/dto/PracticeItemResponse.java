@@ -0,0 +1,32 @@
+package com.oncoresi.types.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 练习题目响应DTO（不含正确答案）
+ */
+@Data
+@AllArgsConstructor
+public class PracticeItemResponse {
+
+    private Long questionId;
+
+    private String type;
+
+    private String stem;
+
+    private List<String> options;
+
+    /**
+     * 是否为到期复习题（否则为新题）
+     */
+    private Boolean review;
+
+    /**
+     * 连续答对次数（新题为 0）
+     */
+    private Integer repetitions;
+}
@@ -0,0 +1,31 @@
+package com.oncoresi.types.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 练习结果响应DTO
+ */
+@Data
+@AllArgsConstructor
+public class PracticeResultResponse {
+
+    private Boolean correct;
+
+    /**
+     * 正确答案
+     */
+    private String correctOptions;
+
+    /**
+     * 复习间隔（天）
+     */
+    private Integer intervalDays;
+
+    /**
+     * 下次复习时间
+     */
+    private LocalDateTime dueTime;
+}
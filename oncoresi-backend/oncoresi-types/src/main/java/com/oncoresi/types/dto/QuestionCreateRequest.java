@@ -0,0 +1,47 @@
+package com.oncoresi.types.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 录入题目请求DTO
+ */
+@Data
+public class QuestionCreateRequest {
+
+    @NotBlank(message = "学科不能为空")
+    private String subject;
+
+    @NotBlank(message = "课程类别不能为空")
+    private String category;
+
+    @NotNull(message = "题型不能为空")
+    @Pattern(regexp = "SINGLE_CHOICE|MULTIPLE_CHOICE|TRUE_FALSE", message = "题型无效")
+    private String type;
+
+    @NotNull(message = "难度不能为空")
+    @Min(value = 1, message = "难度必须在1-5之间")
+    @Max(value = 5, message = "难度必须在1-5之间")
+    private Integer difficulty;
+
+    @NotBlank(message = "题干不能为空")
+    private String stem;
+
+    /**
+     * 选项（判断题可为空）
+     */
+    private List<String> options;
+
+    @NotBlank(message = "正确选项不能为空")
+    private String correctOptions;
+
+    @NotNull(message = "分值不能为空")
+    @Min(value = 1, message = "分值必须大于0")
+    private Integer points;
+}
@@ -0,0 +1,81 @@
+package com.oncoresi.types.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 轮转自动排班请求DTO
+ */
+@Data
+public class RotationScheduleRequest {
+
+    @NotEmpty(message = "学员不能为空")
+    private List<Long> traineeIds;
+
+    @NotEmpty(message = "必修科室不能为空")
+    @Valid
+    private List<Requirement> requirements;
+
+    /**
+     * 科室同时在岗学员上限（科室ID -> 人数，未配置的科室不限）
+     */
+    private Map<Long, Integer> departmentCapacities;
+
+    /**
+     * 带教老师（配置了带教老师的科室，容量同时受带教能力限制）
+     */
+    @Valid
+    private List<Supervisor> supervisors;
+
+    /**
+     * 搜索时间预算（秒，默认 5）
+     */
+    @Min(value = 1, message = "时间预算至少1秒")
+    @Max(value = 30, message = "时间预算最多30秒")
+    private Integer timeBudgetSeconds = 5;
+
+    /**
+     * 必修科室及轮转时长
+     */
+    @Data
+    public static class Requirement {
+
+        @NotNull(message = "科室ID不能为空")
+        private Long departmentId;
+
+        @NotNull(message = "轮转天数不能为空")
+        @Min(value = 1, message = "轮转天数必须大于0")
+        private Integer durationDays;
+    }
+
+    /**
+     * 带教老师可带教时段
+     */
+    @Data
+    public static class Supervisor {
+
+        @NotNull(message = "带教老师ID不能为空")
+        private Long supervisorId;
+
+        @NotNull(message = "科室ID不能为空")
+        private Long departmentId;
+
+        @NotNull(message = "带教人数上限不能为空")
+        @Min(value = 1, message = "带教人数上限必须大于0")
+        private Integer maxTrainees;
+
+        @NotNull(message = "可带教开始日期不能为空")
+        private LocalDate startDate;
+
+        @NotNull(message = "可带教结束日期不能为空")
+        private LocalDate endDate;
+    }
+}
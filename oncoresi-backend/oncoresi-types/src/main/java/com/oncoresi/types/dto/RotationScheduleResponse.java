@@ -0,0 +1,32 @@
+package com.oncoresi.types.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * 轮转自动排班结果响应DTO
+ */
+@Data
+@AllArgsConstructor
+public class RotationScheduleResponse {
+
+    /**
+     * 写入计划的轮转数
+     */
+    private Integer rotationCount;
+
+    /**
+     * 超出科室有效容量的人天数（0 表示满足容量约束）
+     */
+    private Integer capacityOverloadDays;
+
+    /**
+     * 未能分配带教老师的轮转数
+     */
+    private Integer unassignedSupervisors;
+
+    /**
+     * 是否满足全部容量与带教约束
+     */
+    private Boolean feasible;
+}